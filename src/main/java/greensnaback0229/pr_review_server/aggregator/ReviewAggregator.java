@@ -4,6 +4,7 @@ import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
 import greensnaback0229.pr_review_server.feature.FeatureMemoryRepository;
 import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
 import greensnaback0229.pr_review_server.llm.dto.MemorySuggestion;
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
 import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /**
@@ -33,10 +35,13 @@ public class ReviewAggregator {
     public AggregatedReview aggregate(String feature, ReviewResponse reviewResponse) {
         log.info("Aggregating review for feature: {}", feature);
         
+        List<ReviewFinding> findings = reviewResponse.getFindings() != null ? reviewResponse.getFindings() : List.of();
         AggregatedReview.AggregatedReviewBuilder builder = AggregatedReview.builder()
                 .feature(feature)
-                .review(reviewResponse.getReview())
-                .reviewedAt(LocalDateTime.now());
+                .review(renderReview(reviewResponse.getReview(), findings))
+                .findings(findings)
+                .reviewedAt(LocalDateTime.now())
+                .truncated(reviewResponse.isNeedMoreContext());
         
         // LLM이 제안한 Feature Memory 업데이트
         if (reviewResponse.getMemorySuggestion() != null) {
@@ -47,6 +52,42 @@ public class ReviewAggregator {
         return builder.build();
     }
     
+    /**
+     * 총평 뒤에 구조화된 지적 사항을 우선순위 순으로 붙임
+     *
+     * @param review 리뷰 총평
+     * @param findings 지적 사항
+     * @return 게시할 리뷰 본문
+     */
+    private String renderReview(String review, List<ReviewFinding> findings) {
+        if (findings.isEmpty()) {
+            return review;
+        }
+        
+        StringBuilder rendered = new StringBuilder(review != null ? review.strip() : "");
+        rendered.append("\n\n### 지적 사항\n");
+        findings.stream()
+                .sorted(Comparator.comparingInt(finding -> severityOrder(finding.getSeverity())))
+                .forEach(finding -> {
+                    rendered.append("- **[").append(finding.getSeverity()).append("]** `").append(finding.getPath());
+                    if (finding.getLine() != null) {
+                        rendered.append(":").append(finding.getLine());
+                    }
+                    rendered.append("` ").append(finding.getMessage()).append("\n");
+                });
+        return rendered.toString().strip();
+    }
+    
+    private static int severityOrder(String severity) {
+        if ("CRITICAL".equalsIgnoreCase(severity)) {
+            return 0;
+        }
+        if ("MAJOR".equalsIgnoreCase(severity)) {
+            return 1;
+        }
+        return 2;
+    }
+    
     /**
      * 여러 기능의 리뷰 결과를 병합하여 집계
      *
@@ -75,6 +116,32 @@ public class ReviewAggregator {
         return merged.toString();
     }
     
+    /**
+     * 리뷰 진행 중 게시할 중간 결과 (끝난 기능의 리뷰와 남은 기능 목록)
+     *
+     * @param completed 리뷰가 끝난 기능의 결과 (주 기능 먼저)
+     * @param pending 아직 리뷰 중인 기능
+     * @param total 리뷰할 전체 기능 수
+     * @return 중간 결과 내용
+     */
+    public String renderProgress(List<AggregatedReview> completed, List<String> pending, int total) {
+        StringBuilder progress = new StringBuilder();
+        progress.append("> ⏳ 리뷰 진행 중입니다 (").append(total - pending.size()).append("/").append(total)
+                .append(" 기능 완료)");
+        if (!pending.isEmpty()) {
+            progress.append(" - 남은 기능: ").append(String.join(", ", pending));
+        }
+        progress.append("\n\n");
+
+        for (AggregatedReview review : completed) {
+            progress.append("## ").append(review.getFeature()).append(" 기능\n\n");
+            progress.append(review.getReview()).append("\n\n");
+            progress.append("---\n\n");
+        }
+
+        return progress.toString().strip();
+    }
+
     /**
      * LLM의 제안을 기반으로 Feature Memory 업데이트
      *
@@ -1,12 +1,15 @@
 package greensnaback0229.pr_review_server.aggregator.dto;
 
 import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 집계된 리뷰 결과
@@ -27,6 +30,12 @@ public class AggregatedReview {
      */
     private String review;
     
+    /**
+     * 구조화된 지적 사항 (구조화 응답을 쓰지 않았으면 비어 있음)
+     */
+    @Builder.Default
+    private List<ReviewFinding> findings = new ArrayList<>();
+    
     /**
      * 리뷰 수행 시각
      */
@@ -37,4 +46,10 @@ public class AggregatedReview {
      * LLM이 학습한 새로운 지식이 있을 경우에만 포함
      */
     private FeatureMemory updatedMemory;
+    
+    /**
+     * 추가 파일 요청이 남은 채로(최대 라운드/마감 시각) 끝난 리뷰인지 여부
+     * 같은 입력이라도 다음에는 끝까지 리뷰할 수 있으므로 메모이제이션하지 않음
+     */
+    private boolean truncated;
 }
@@ -1,15 +1,33 @@
 package greensnaback0229.pr_review_server.collector;
 
+import greensnaback0229.pr_review_server.collector.content.BoundedFileReader;
+import greensnaback0229.pr_review_server.collector.content.ContentInterner;
+import greensnaback0229.pr_review_server.collector.diff.UnifiedDiffParser;
+import greensnaback0229.pr_review_server.collector.dto.ChangedFile;
 import greensnaback0229.pr_review_server.collector.dto.CollectedCode;
 import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.github.GitHubCallPriority;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kohsuke.github.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 /**
@@ -20,7 +38,30 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CodeCollector {
     
-    private final GitHub github;
+    private static final String MISSING_PATCH_NOTE =
+            "(GitHub API가 diff를 제공하지 않은 대용량 변경입니다: %d줄 변경)";
+    
+    private final GitHubCallScheduler scheduler;
+    private final GraphQlFileFetcher graphQlFileFetcher;
+    private final BoundedFileReader fileReader;
+    
+    /**
+     * 전체 파일 조회 방식 (REST: 파일마다 contents API, GRAPHQL: 배치 쿼리)
+     */
+    @Value("${review.collector.fetch-mode:REST}")
+    private FetchMode fetchMode = FetchMode.REST;
+    
+    /**
+     * REST 모드에서 동시에 조회할 최대 파일 수
+     */
+    @Value("${review.collector.fetch-parallelism:4}")
+    private int fetchParallelism = 4;
+    
+    /**
+     * 변경분 파일이 이만큼 이상이면 전체 리뷰 (compare API는 파일 목록을 300개까지만 반환하여 잘릴 수 있음)
+     */
+    @Value("${review.incremental.max-delta-files:300}")
+    private int maxDeltaFiles = 300;
     
     /**
      * PR의 변경된 파일들의 diff를 수집
@@ -32,22 +73,25 @@ public class CodeCollector {
      */
     public List<FileContent> collectChangedFiles(String repoFullName, int prNumber, List<String> filteredPaths) {
         try {
-            GHRepository repo = github.getRepository(repoFullName);
-            GHPullRequest pr = repo.getPullRequest(prNumber);
-            
             List<FileContent> changedFiles = new ArrayList<>();
             
             // PR의 변경된 파일들을 리스트로 가져옴
-            List<GHPullRequestFileDetail> files = pr.listFiles().toList();
+            List<GHPullRequestFileDetail> files = scheduler.execute(GitHubCallPriority.URGENT, repoFullName,
+                    gh -> gh.getRepository(repoFullName).getPullRequest(prNumber).listFiles().toList());
             
             for (GHPullRequestFileDetail file : files) {
                 String filePath = file.getFilename();
                 
                 // filteredPaths에 포함된 파일만 수집
                 if (filteredPaths.contains(filePath)) {
+                    String patch = file.getPatch(); // GitHub API가 제공하는 diff
+                    if (patch == null) {
+                        patch = missingPatchNote(filePath, file.getChanges());
+                    }
+                    
                     FileContent fileContent = FileContent.builder()
                             .path(filePath)
-                            .diff(file.getPatch()) // GitHub API가 제공하는 diff
+                            .diff(patch)
                             .type(FileContent.FileType.CHANGED)
                             .build();
                     
@@ -64,6 +108,61 @@ public class CodeCollector {
         }
     }
     
+    /**
+     * 두 커밋 사이의 변경분 diff를 수집 (compare API)
+     * 마지막으로 리뷰한 커밋 이후에 추가된 커밋만 리뷰할 때 사용
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param fromSha 마지막으로 리뷰한 커밋 SHA
+     * @param toSha 현재 head 커밋 SHA
+     * @return 변경분 파일 목록, fromSha가 toSha의 조상이 아니거나(force-push, rebase 등),
+     *         base 브랜치를 병합한 커밋이 있거나(base의 변경이 PR 변경으로 섞임), 파일 목록이 잘렸을 수 있으면 empty
+     */
+    public Optional<List<FileContent>> collectDelta(String repoFullName, String fromSha, String toSha) {
+        try {
+            GHCompare compare = scheduler.execute(GitHubCallPriority.URGENT, repoFullName,
+                    gh -> gh.getRepository(repoFullName).getCompare(fromSha, toSha));
+            
+            if (compare.getStatus() != GHCompare.Status.ahead && compare.getStatus() != GHCompare.Status.identical) {
+                log.info("Cannot review delta {}..{} ({}), falling back to full review",
+                        fromSha, toSha, compare.getStatus());
+                return Optional.empty();
+            }
+            if (compare.getCommits() != null && Arrays.stream(compare.getCommits())
+                    .anyMatch(commit -> commit.getParentSHA1s().size() > 1)) {
+                log.info("Delta {}..{} contains a merge commit, falling back to full review", fromSha, toSha);
+                return Optional.empty();
+            }
+            if (compare.getFiles().length >= maxDeltaFiles) {
+                log.info("Delta {}..{} has {} files (list may be truncated), falling back to full review",
+                        fromSha, toSha, compare.getFiles().length);
+                return Optional.empty();
+            }
+            
+            List<FileContent> deltaFiles = new ArrayList<>();
+            for (GHCommit.File file : compare.getFiles()) {
+                String patch = file.getPatch();
+                if (patch == null) {
+                    patch = missingPatchNote(file.getFileName(), file.getLinesChanged());
+                }
+                
+                deltaFiles.add(FileContent.builder()
+                        .path(file.getFileName())
+                        .diff(patch)
+                        .type(FileContent.FileType.CHANGED)
+                        .build());
+            }
+            
+            log.info("Collected delta {}..{}: {} files", fromSha, toSha, deltaFiles.size());
+            return Optional.of(deltaFiles);
+            
+        } catch (IOException e) {
+            // 이전 커밋이 force-push로 사라진 경우 등
+            log.warn("Failed to compare {}..{} in {}: {}", fromSha, toSha, repoFullName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+    
     /**
      * 핵심 파일들의 전체 코드를 수집
      *
@@ -73,7 +172,21 @@ public class CodeCollector {
      * @return 수집된 핵심 파일 목록
      */
     public List<FileContent> collectCoreFiles(String repoFullName, String branch, List<String> coreFilePaths) {
-        return collectFiles(repoFullName, branch, coreFilePaths, FileContent.FileType.CORE);
+        return collectCoreFiles(repoFullName, branch, coreFilePaths, new ContentInterner());
+    }
+    
+    /**
+     * 핵심 파일들의 전체 코드를 수집 (같은 리뷰에서 이미 조회한 파일은 재사용)
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param branch 브랜치명 (보통 PR의 base 브랜치)
+     * @param coreFilePaths 핵심 파일 경로 리스트
+     * @param contents 리뷰 단위 파일 내용 저장소
+     * @return 수집된 핵심 파일 목록
+     */
+    public List<FileContent> collectCoreFiles(String repoFullName, String branch, List<String> coreFilePaths,
+                                              ContentInterner contents) {
+        return collectFiles(repoFullName, branch, coreFilePaths, FileContent.FileType.CORE, contents);
     }
     
     /**
@@ -85,46 +198,170 @@ public class CodeCollector {
      * @return 수집된 추가 파일 목록
      */
     public List<FileContent> collectAdditionalFiles(String repoFullName, String branch, List<String> additionalFilePaths) {
-        return collectFiles(repoFullName, branch, additionalFilePaths, FileContent.FileType.ADDITIONAL);
+        return collectAdditionalFiles(repoFullName, branch, additionalFilePaths, new ContentInterner());
+    }
+    
+    /**
+     * 추가 요청된 파일들의 전체 코드를 수집 (같은 리뷰에서 이미 조회한 파일은 재사용)
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param branch 브랜치명
+     * @param additionalFilePaths 추가 요청 파일 경로 리스트
+     * @param contents 리뷰 단위 파일 내용 저장소
+     * @return 수집된 추가 파일 목록
+     */
+    public List<FileContent> collectAdditionalFiles(String repoFullName, String branch, List<String> additionalFilePaths,
+                                                    ContentInterner contents) {
+        return collectFiles(repoFullName, branch, additionalFilePaths, FileContent.FileType.ADDITIONAL, contents);
     }
     
     /**
      * 지정된 파일들의 전체 코드를 수집 (공통 로직)
+     * 이미 조회한 파일은 저장소에서 꺼내고, 나머지만 조회한 뒤 요청 순서대로 반환
+     */
+    private List<FileContent> collectFiles(String repoFullName, String branch, List<String> filePaths,
+                                           FileContent.FileType type, ContentInterner contents) {
+        Map<String, FileContent> found = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String filePath : filePaths) {
+            contents.find(branch, filePath, type).ifPresentOrElse(
+                    file -> found.put(filePath, file),
+                    () -> missing.add(filePath));
+        }
+        if (!found.isEmpty()) {
+            log.info("Reusing {} already collected files: {}", found.size(), found.keySet());
+        }
+        
+        for (FileContent file : fetchFiles(repoFullName, branch, missing, type)) {
+            contents.intern(branch, file);
+            found.put(file.getPath(), file);
+        }
+        return filePaths.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * 지정된 파일들을 GitHub에서 조회
      */
-    private List<FileContent> collectFiles(String repoFullName, String branch, List<String> filePaths, FileContent.FileType type) {
+    private List<FileContent> fetchFiles(String repoFullName, String branch, List<String> filePaths,
+                                         FileContent.FileType type) {
+        if (filePaths.isEmpty()) {
+            return List.of();
+        }
+        if (fetchMode == FetchMode.GRAPHQL) {
+            try {
+                return graphQlFileFetcher.fetchFiles(repoFullName, branch, filePaths, type);
+            } catch (IOException e) {
+                log.error("Failed to collect files via GraphQL from: {}", repoFullName, e);
+                throw new RuntimeException("Failed to collect files", e);
+            }
+        }
+        
         try {
-            GHRepository repo = github.getRepository(repoFullName);
-            List<FileContent> files = new ArrayList<>();
+            GHRepository repo = scheduler.execute(GitHubCallPriority.URGENT, repoFullName,
+                    gh -> gh.getRepository(repoFullName));
+            if (filePaths.size() == 1 || fetchParallelism <= 1) {
+                List<FileContent> files = new ArrayList<>();
+                for (String filePath : filePaths) {
+                    fetchFile(repo, branch, filePath, type).ifPresent(files::add);
+                }
+                return files;
+            }
+            return fetchFilesInParallel(repo, branch, filePaths, type);
             
+        } catch (IOException e) {
+            log.error("Failed to access repository: {}", repoFullName, e);
+            throw new RuntimeException("Failed to collect files", e);
+        }
+    }
+    
+    /**
+     * 파일마다 contents API 호출을 동시에 최대 fetch-parallelism개까지 실행 (요청 순서 유지)
+     */
+    private List<FileContent> fetchFilesInParallel(GHRepository repo, String branch, List<String> filePaths,
+                                                   FileContent.FileType type) {
+        Semaphore permits = new Semaphore(fetchParallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Optional<FileContent>>> futures = new ArrayList<>();
             for (String filePath : filePaths) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return fetchFile(repo, branch, filePath, type);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            
+            List<FileContent> files = new ArrayList<>();
+            for (Future<Optional<FileContent>> future : futures) {
                 try {
-                    // 파일 내용 가져오기
-                    GHContent content = repo.getFileContent(filePath, branch);
-                    String fileContent = content.getContent(); // Base64 디코딩된 내용
-                    
-                    FileContent file = FileContent.builder()
-                            .path(filePath)
-                            .content(fileContent)
-                            .type(type)
-                            .build();
-                    
-                    files.add(file);
-                    log.info("Collected {} file: {}", type, filePath);
-                    
-                } catch (IOException e) {
-                    log.warn("Failed to collect file: {} ({})", filePath, e.getMessage());
-                    // 개별 파일 실패는 무시하고 계속 진행
+                    future.get().ifPresent(files::add);
+                } catch (ExecutionException e) {
+                    log.warn("Failed to collect file: {}", e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while collecting files", e);
                 }
             }
-            
             return files;
+        }
+    }
+    
+    /**
+     * 파일 하나의 전체 코드 조회
+     *
+     * @return 조회된 파일, 바이너리이거나 조회에 실패하면 empty (개별 파일 실패는 무시하고 계속 진행)
+     */
+    private Optional<FileContent> fetchFile(GHRepository repo, String branch, String filePath,
+                                            FileContent.FileType type) {
+        try {
+            // 파일 내용 가져오기
+            GHContent content = scheduler.execute(GitHubCallPriority.URGENT, repo.getRoot(),
+                    gh -> repo.getFileContent(filePath, branch));
+            String fileContent = readContent(repo, content, filePath, type);
+            if (fileContent == null) {
+                return Optional.empty(); // 바이너리 파일
+            }
+            
+            log.info("Collected {} file: {}", type, filePath);
+            return Optional.of(FileContent.builder()
+                    .path(filePath)
+                    .content(fileContent)
+                    .sha(content.getSha())
+                    .type(type)
+                    .build());
             
         } catch (IOException e) {
-            log.error("Failed to access repository: {}", repoFullName, e);
-            throw new RuntimeException("Failed to collect files", e);
+            log.warn("Failed to collect file: {} ({})", filePath, e.getMessage());
+            return Optional.empty();
         }
     }
     
+    /**
+     * 파일 크기에 따라 내용을 읽음
+     * 한도 이내면 응답에 포함된 Base64 내용을 그대로 쓰고,
+     * 한도를 넘으면 전체를 String으로 만들지 않고 스트림으로 읽으며 축약
+     *
+     * @return 파일 내용, 바이너리 파일이면 null
+     */
+    private String readContent(GHRepository repo, GHContent content, String filePath,
+                               FileContent.FileType type) throws IOException {
+        if (content.getSize() <= fileReader.getMaxBytes()) {
+            String text = content.getContent(); // Base64 디코딩된 내용
+            return text != null ? fileReader.limit(text, filePath, type) : null;
+        }
+        
+        return scheduler.execute(GitHubCallPriority.URGENT, repo.getRoot(), gh -> {
+            try (InputStream in = content.read()) {
+                return fileReader.read(in, filePath, type);
+            }
+        });
+    }
+    
     /**
      * 전체 코드 수집 - 변경 파일 + 핵심 파일
      *
@@ -147,6 +384,41 @@ public class CodeCollector {
                 .build();
     }
     
+    /**
+     * 이미 수집된 변경 파일(스트리밍 diff 등)과 핵심 파일로 전체 코드 구성
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param branch 브랜치명 (base branch)
+     * @param changedFiles 수집된 변경 파일
+     * @param coreFilePaths 핵심 파일 경로
+     * @return 수집된 모든 코드
+     */
+    public CollectedCode collectAll(String repoFullName, String branch,
+                                     List<FileContent> changedFiles, List<String> coreFilePaths) {
+        return collectAll(repoFullName, branch, changedFiles, coreFilePaths, new ContentInterner());
+    }
+    
+    /**
+     * 이미 수집된 변경 파일과 핵심 파일로 전체 코드 구성 (같은 리뷰에서 이미 조회한 핵심 파일은 재사용)
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param branch 브랜치명 (base branch)
+     * @param changedFiles 수집된 변경 파일
+     * @param coreFilePaths 핵심 파일 경로
+     * @param contents 리뷰 단위 파일 내용 저장소
+     * @return 수집된 모든 코드
+     */
+    public CollectedCode collectAll(String repoFullName, String branch, List<FileContent> changedFiles,
+                                     List<String> coreFilePaths, ContentInterner contents) {
+        List<FileContent> coreFiles = collectCoreFiles(repoFullName, branch, coreFilePaths, contents);
+        
+        return CollectedCode.builder()
+                .changedFiles(new ArrayList<>(changedFiles))
+                .coreFiles(coreFiles)
+                .additionalFiles(new ArrayList<>())
+                .build();
+    }
+    
     /**
      * PR에서 변경된 모든 파일 경로 조회 (필터링 전)
      * 
@@ -155,12 +427,32 @@ public class CodeCollector {
      * @return 변경된 파일 경로 리스트
      */
     public List<String> getChangedFilePaths(String repoFullName, int prNumber) {
+        return getChangedFiles(repoFullName, prNumber).stream()
+                .map(ChangedFile::getPath)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * PR에서 변경된 모든 파일의 메타데이터 조회 (필터링 전, diff 제외)
+     * 
+     * @param repoFullName 저장소 풀네임
+     * @param prNumber PR 번호
+     * @return 변경 파일 메타데이터 리스트
+     */
+    public List<ChangedFile> getChangedFiles(String repoFullName, int prNumber) {
         try {
-            GHRepository repo = github.getRepository(repoFullName);
-            GHPullRequest pr = repo.getPullRequest(prNumber);
+            List<GHPullRequestFileDetail> files = scheduler.execute(GitHubCallPriority.URGENT, repoFullName,
+                    gh -> gh.getRepository(repoFullName).getPullRequest(prNumber).listFiles().toList());
             
-            return pr.listFiles().toList().stream()
-                    .map(GHPullRequestFileDetail::getFilename)
+            return files.stream()
+                    .map(file -> ChangedFile.builder()
+                            .path(file.getFilename())
+                            .previousPath(file.getPreviousFilename())
+                            .status(file.getStatus())
+                            .additions(file.getAdditions())
+                            .deletions(file.getDeletions())
+                            .patchHead(patchHead(file))
+                            .build())
                     .collect(Collectors.toList());
                     
         } catch (IOException e) {
@@ -168,4 +460,37 @@ public class CodeCollector {
             throw new RuntimeException("Failed to get changed file paths", e);
         }
     }
+    
+    /**
+     * 새 파일 patch의 앞부분 (목록 응답에 이미 포함된 patch를 잘라 쓰므로 추가 호출 없음)
+     */
+    private String patchHead(GHPullRequestFileDetail file) {
+        if (!"added".equals(file.getStatus()) || file.getPatch() == null) {
+            return null;
+        }
+        return file.getPatch().lines()
+                .limit(ChangedFile.PATCH_HEAD_LINES + 1)
+                .collect(Collectors.joining("\n"));
+    }
+    
+    /**
+     * GitHub가 patch를 주지 않은 파일의 안내 문구
+     * 변경 줄이 없으면 이름/권한만 바뀐 경우, 있으면 대용량이라 생략된 경우
+     */
+    private String missingPatchNote(String filePath, int changes) {
+        if (changes == 0) {
+            return UnifiedDiffParser.NO_HUNK_NOTE;
+        }
+        // 대용량 파일은 patch가 생략됨 (전체 diff가 필요하면 streaming-diff 모드 사용)
+        log.warn("GitHub did not return a patch for {} ({} changes)", filePath, changes);
+        return String.format(MISSING_PATCH_NOTE, changes);
+    }
+    
+    /**
+     * 전체 파일 조회 방식
+     */
+    public enum FetchMode {
+        REST,       // 파일마다 contents API 호출
+        GRAPHQL     // object(expression) 배치 쿼리
+    }
 }
@@ -0,0 +1,219 @@
+package greensnaback0229.pr_review_server.collector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import greensnaback0229.pr_review_server.collector.content.BoundedFileReader;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.github.GitHubCallPriority;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
+import greensnaback0229.pr_review_server.github.GitHubHttpClient;
+import greensnaback0229.pr_review_server.github.GitHubRateLimitException;
+import greensnaback0229.pr_review_server.github.PooledGitHubClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GraphQL로 여러 파일을 한 번에 조회하는 컴포넌트
+ * 파일마다 REST 호출 + Base64 디코딩을 하는 대신,
+ * object(expression: "ref:path") 별칭을 묶어 몇 번의 쿼리로 조회
+ * 크기를 미리 조회하는 왕복 없이 본문과 Blob 크기를 함께 받고,
+ * 응답이 크기 상한을 넘으면 그 크기를 보고 다음 배치의 파일 수를 줄이며
+ * 큰 응답으로 요청이 실패하면 배치를 반으로 나누어 다시 조회
+ */
+@Slf4j
+@Component
+public class GraphQlFileFetcher {
+
+    private static final String BLOB_FIELDS = "{ ... on Blob { oid byteSize isBinary isTruncated text } }";
+
+    /**
+     * 응답에서 파일 하나가 본문 외에 차지하는 크기 (별칭, oid, 필드 이름 등)
+     */
+    private static final int FILE_OVERHEAD_BYTES = 200;
+
+    private final GitHubCallScheduler scheduler;
+    private final GitHubHttpClient httpClient;
+    private final BoundedFileReader fileReader;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String graphqlUrl;
+    private final long maxResponseBytes;
+    private final int maxFilesPerBatch;
+
+    public GraphQlFileFetcher(
+            GitHubCallScheduler scheduler,
+            GitHubHttpClient httpClient,
+            BoundedFileReader fileReader,
+            @Value("${github.graphql-url:https://api.github.com/graphql}") String graphqlUrl,
+            @Value("${review.collector.graphql.max-response-bytes:1048576}") long maxResponseBytes,
+            @Value("${review.collector.graphql.max-files-per-batch:50}") int maxFilesPerBatch
+    ) {
+        this.scheduler = scheduler;
+        this.httpClient = httpClient;
+        this.fileReader = fileReader;
+        this.graphqlUrl = graphqlUrl;
+        this.maxResponseBytes = maxResponseBytes;
+        this.maxFilesPerBatch = Math.max(1, maxFilesPerBatch);
+    }
+
+    /**
+     * 지정된 ref의 파일들을 GraphQL 배치 쿼리로 조회
+     * 존재하지 않거나 바이너리인 파일은 제외
+     *
+     * @param repoFullName 저장소 풀네임 (owner/repo)
+     * @param ref 브랜치명 또는 SHA
+     * @param filePaths 조회할 파일 경로
+     * @param type 결과 파일 타입
+     * @return 조회된 파일 목록 (요청 순서 유지)
+     * @throws IOException GraphQL 요청 실패 시
+     */
+    public List<FileContent> fetchFiles(String repoFullName, String ref, List<String> filePaths,
+                                        FileContent.FileType type) throws IOException {
+        List<FileContent> files = new ArrayList<>();
+        int batchSize = maxFilesPerBatch;
+
+        for (int from = 0; from < filePaths.size(); ) {
+            List<String> batch = filePaths.subList(from, Math.min(filePaths.size(), from + batchSize));
+            long responseBytes = fetchBatch(repoFullName, ref, batch, type, files);
+            batchSize = nextBatchSize(responseBytes, batch.size());
+            from += batch.size();
+        }
+
+        return files;
+    }
+
+    /**
+     * 직전 응답의 파일당 평균 크기로 다음 배치의 파일 수 결정 (1 ~ max-files-per-batch)
+     * 큰 파일이 몰린 응답 다음에는 줄이고, 작은 파일이면 다시 늘림
+     *
+     * @param responseBytes 직전 응답의 예상 크기 (Blob 크기 + 파일별 부가 크기)
+     * @param fileCount 직전 배치의 파일 수
+     * @return 다음 배치의 파일 수
+     */
+    int nextBatchSize(long responseBytes, int fileCount) {
+        long averageBytes = Math.max(1, responseBytes / Math.max(1, fileCount));
+        return (int) Math.max(1, Math.min(maxFilesPerBatch, maxResponseBytes / averageBytes));
+    }
+
+    /**
+     * 배치 하나의 본문 조회
+     * 응답이 너무 커서 요청이 실패하면(Rate Limit 제외) 반으로 나누어 다시 조회
+     *
+     * @param files 조회된 파일을 추가할 목록
+     * @return 응답의 예상 크기 (Blob 크기 + 파일별 부가 크기)
+     */
+    private long fetchBatch(String repoFullName, String ref, List<String> batch, FileContent.FileType type,
+                            List<FileContent> files) throws IOException {
+        String[] ownerAndName = repoFullName.split("/", 2);
+        ObjectNode payload = buildPayload(ownerAndName[0], ownerAndName[1], ref, batch, BLOB_FIELDS);
+        JsonNode repository;
+        try {
+            repository = scheduler.executeWithClient(GitHubCallPriority.URGENT, repoFullName,
+                    client -> query(client, payload));
+        } catch (GitHubRateLimitException e) {
+            throw e;
+        } catch (IOException e) {
+            if (batch.size() == 1) {
+                throw e;
+            }
+            int half = batch.size() / 2;
+            log.warn("GraphQL query for {} files failed, splitting batch: {}", batch.size(), e.getMessage());
+            return fetchBatch(repoFullName, ref, batch.subList(0, half), type, files)
+                    + fetchBatch(repoFullName, ref, batch.subList(half, batch.size()), type, files);
+        }
+
+        long responseBytes = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            String path = batch.get(i);
+            JsonNode blob = repository.path("f" + i);
+            responseBytes += FILE_OVERHEAD_BYTES;
+            if (blob.isMissingNode() || blob.isNull() || !blob.has("oid")) {
+                log.warn("File not found via GraphQL: {}@{}", path, ref);
+                continue;
+            }
+            if (blob.path("isBinary").asBoolean(false) || blob.path("text").isNull()) {
+                log.info("Skipping binary or unreadable file: {}", path);
+                continue;
+            }
+            responseBytes += blob.path("byteSize").asLong();
+            if (blob.path("isTruncated").asBoolean(false)) {
+                log.warn("GraphQL returned truncated text for {} ({} bytes)", path, blob.path("byteSize").asLong());
+            }
+            String text = fileReader.limit(blob.path("text").asText(), path, type);
+            if (text == null) {
+                continue;
+            }
+
+            files.add(FileContent.builder()
+                    .path(path)
+                    .content(text)
+                    .sha(blob.path("oid").asText())
+                    .type(type)
+                    .build());
+            log.info("Collected {} file via GraphQL: {}", type, path);
+        }
+        if (responseBytes > maxResponseBytes && batch.size() > 1) {
+            log.info("GraphQL response for {} files was about {} bytes, shrinking next batches",
+                    batch.size(), responseBytes);
+        }
+        return responseBytes;
+    }
+
+    private ObjectNode buildPayload(String owner, String name, String ref, List<String> batch, String fields) {
+        StringBuilder declarations = new StringBuilder("$owner: String!, $name: String!");
+        StringBuilder selections = new StringBuilder();
+        ObjectNode variables = objectMapper.createObjectNode()
+                .put("owner", owner)
+                .put("name", name);
+
+        for (int i = 0; i < batch.size(); i++) {
+            // 경로는 쿼리 문자열이 아닌 변수로 전달하여 이스케이프 문제를 피함
+            declarations.append(", $e").append(i).append(": String!");
+            selections.append(" f").append(i).append(": object(expression: $e").append(i).append(") ")
+                    .append(fields);
+            variables.put("e" + i, ref + ":" + batch.get(i));
+        }
+
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("query", "query(" + declarations + ") { repository(owner: $owner, name: $name) {"
+                + selections + " } }");
+        payload.set("variables", variables);
+        return payload;
+    }
+
+    private JsonNode query(PooledGitHubClient client, ObjectNode payload) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(graphqlUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(payload)));
+
+        // GraphQL은 REST와 별도의 포인트 예산을 사용하므로 core 예산에는 반영하지 않음
+        HttpResponse<InputStream> response = httpClient.send(client, request, false);
+        JsonNode body;
+        try (InputStream stream = response.body()) {
+            body = objectMapper.readTree(stream);
+        }
+
+        JsonNode errors = body.path("errors");
+        for (JsonNode error : errors) {
+            if ("RATE_LIMITED".equals(error.path("type").asText())) {
+                throw GitHubRateLimitException.fromHeaders(response.statusCode(),
+                        header -> response.headers().firstValue(header).orElse(null), false);
+            }
+        }
+
+        JsonNode repository = body.path("data").path("repository");
+        if (repository.isMissingNode() || repository.isNull()) {
+            throw new IOException("GraphQL query failed: " + (errors.isMissingNode() ? body : errors));
+        }
+        return repository;
+    }
+}
@@ -0,0 +1,244 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 파일 내용을 크기 한도 안에서 읽는 컴포넌트
+ * - 앞부분에 NUL 바이트가 있으면 바이너리로 판단하여 제외
+ * - 한도를 넘는 파일은 앞/뒤만 남기고 중략 표시 (뒷부분은 고정 크기 링 버퍼로 유지)
+ * - 한도를 넘는 핵심(CORE) 파일은 선언부 개요로 축약
+ * 어떤 경우에도 한도의 몇 배 이상을 메모리에 올리지 않음
+ */
+@Slf4j
+@Component
+public class BoundedFileReader {
+
+    static final String TRUNCATION_MARKER = "\n... (중략: %d바이트 생략) ...\n";
+    static final String OUTLINE_NOTE = "(원본 %d바이트가 크기 한도를 넘어 선언부 개요만 포함)\n";
+
+    private final int maxBytes;
+    private final int binarySniffBytes;
+    private final SourceOutliner outliner = new SourceOutliner();
+
+    public BoundedFileReader(
+            @Value("${review.collector.max-file-bytes:65536}") int maxBytes,
+            @Value("${review.collector.binary-sniff-bytes:8000}") int binarySniffBytes
+    ) {
+        this.maxBytes = maxBytes;
+        this.binarySniffBytes = binarySniffBytes;
+    }
+
+    /**
+     * 파일 하나의 최대 바이트 수
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * 스트림을 크기 한도 안에서 읽음
+     *
+     * @param in 파일 내용 스트림 (닫지 않음)
+     * @param path 파일 경로
+     * @param type 파일 타입 (CORE면 한도 초과 시 개요로 축약)
+     * @return 읽은 내용, 바이너리 파일이면 null
+     * @throws IOException 읽기 실패 시
+     */
+    public String read(InputStream in, String path, FileContent.FileType type) throws IOException {
+        byte[] head = in.readNBytes(maxBytes);
+        if (isBinary(head)) {
+            log.info("Skipping binary file: {}", path);
+            return null;
+        }
+
+        int next = in.read();
+        if (next < 0) {
+            return new String(head, StandardCharsets.UTF_8);
+        }
+
+        InputStream rest = new SequenceInputStream(new ByteArrayInputStream(new byte[]{(byte) next}), in);
+        if (type == FileContent.FileType.CORE) {
+            return outline(head, rest, path);
+        }
+        log.info("Truncating oversized file: {}", path);
+        return truncate(head, rest);
+    }
+
+    /**
+     * 이미 메모리에 있는 내용(GraphQL 응답 등)에 같은 한도를 적용
+     *
+     * @return 한도가 적용된 내용, 바이너리 파일이면 null
+     */
+    public String limit(String text, String path, FileContent.FileType type) {
+        if (text.length() * 3L <= maxBytes && text.indexOf('\0') < 0) {
+            return text; // UTF-8로 최대 3바이트/문자이므로 확실히 한도 이내
+        }
+        try {
+            return read(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), path, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 스트림이므로 발생하지 않음
+        }
+    }
+
+    /**
+     * 한도 때문에 축약(중략 또는 개요)된 내용인지 여부
+     * 축약된 내용은 줄 번호가 원본과 맞지 않으므로 줄 단위 처리에서 제외해야 함
+     */
+    public static boolean isReduced(String content) {
+        return content.startsWith(OUTLINE_NOTE.substring(0, OUTLINE_NOTE.indexOf('%')))
+                || content.contains(TRUNCATION_MARKER.substring(0, TRUNCATION_MARKER.indexOf('%')));
+    }
+
+    private boolean isBinary(byte[] head) {
+        int limit = Math.min(head.length, binarySniffBytes);
+        for (int i = 0; i < limit; i++) {
+            if (head[i] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String outline(byte[] head, InputStream rest, String path) throws IOException {
+        long[] total = {head.length};
+        InputStream counted = new FilterInputStream(rest) {
+            @Override
+            public int read() throws IOException {
+                int b = super.read();
+                if (b >= 0) {
+                    total[0]++;
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                int n = super.read(buffer, offset, length);
+                if (n > 0) {
+                    total[0] += n;
+                }
+                return n;
+            }
+        };
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new SequenceInputStream(new ByteArrayInputStream(head), counted), StandardCharsets.UTF_8));
+        String outline = outliner.outline(reader, path);
+        log.info("Reduced oversized core file to outline: {} ({} bytes)", path, total[0]);
+
+        String result = String.format(OUTLINE_NOTE, total[0]) + outline;
+        byte[] bytes = result.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= maxBytes) {
+            return result;
+        }
+        // 개요도 한도를 넘으면 일반 파일처럼 앞/뒤만 유지
+        return truncate(Arrays.copyOf(bytes, maxBytes),
+                new ByteArrayInputStream(bytes, maxBytes, bytes.length - maxBytes));
+    }
+
+    /**
+     * 앞부분(한도의 2/3)과 뒷부분(나머지)만 남기고 가운데를 중략 표시로 대체
+     * 가능하면 줄 경계에서, 아니면 UTF-8 문자 경계에서 자름
+     */
+    private String truncate(byte[] head, InputStream rest) throws IOException {
+        int headKeep = maxBytes * 2 / 3;
+        TailBuffer tail = new TailBuffer(maxBytes - headKeep);
+        tail.write(head, headKeep, head.length - headKeep);
+
+        byte[] chunk = new byte[8192];
+        int n;
+        while ((n = rest.read(chunk)) > 0) {
+            tail.write(chunk, 0, n);
+        }
+
+        int headEnd = lineBoundaryBefore(head, headKeep);
+        byte[] tailBytes = tail.toArray();
+        int tailStart = lineBoundaryAfter(tailBytes);
+        long omitted = headKeep - headEnd + tail.written - (tailBytes.length - tailStart);
+
+        return new String(head, 0, headEnd, StandardCharsets.UTF_8)
+                + String.format(TRUNCATION_MARKER, omitted)
+                + new String(tailBytes, tailStart, tailBytes.length - tailStart, StandardCharsets.UTF_8);
+    }
+
+    private static int lineBoundaryBefore(byte[] bytes, int end) {
+        for (int i = end - 1; i > 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        // 줄바꿈이 없으면(minified 등) 잘리는 위치가 문자 중간이 되지 않도록 조정
+        int index = Math.min(end, bytes.length);
+        while (index > 0 && index < bytes.length && isContinuation(bytes[index])) {
+            index--;
+        }
+        return index;
+    }
+
+    private static int lineBoundaryAfter(byte[] bytes) {
+        for (int i = 0; i < bytes.length; i++) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        int index = 0;
+        while (index < bytes.length && isContinuation(bytes[index])) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isContinuation(byte b) {
+        return (b & 0xC0) == 0x80;
+    }
+
+    /**
+     * 마지막 N바이트만 유지하는 링 버퍼
+     */
+    private static class TailBuffer {
+        private final byte[] buffer;
+        private int position;
+        private long written;
+
+        private TailBuffer(int capacity) {
+            this.buffer = new byte[Math.max(1, capacity)];
+        }
+
+        private void write(byte[] bytes, int offset, int length) {
+            if (length >= buffer.length) {
+                System.arraycopy(bytes, offset + length - buffer.length, buffer, 0, buffer.length);
+                position = 0;
+            } else {
+                int first = Math.min(length, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, first);
+                System.arraycopy(bytes, offset + first, buffer, 0, length - first);
+                position = (position + length) % buffer.length;
+            }
+            written += length;
+        }
+
+        private byte[] toArray() {
+            if (written < buffer.length) {
+                return Arrays.copyOf(buffer, position);
+            }
+            byte[] result = new byte[buffer.length];
+            System.arraycopy(buffer, position, result, 0, buffer.length - position);
+            System.arraycopy(buffer, 0, result, buffer.length - position, position);
+            return result;
+        }
+    }
+}
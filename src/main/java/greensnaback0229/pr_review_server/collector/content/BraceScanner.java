@@ -0,0 +1,59 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+/**
+ * 중괄호 언어 소스에서 문자열/주석 밖의 중괄호만 골라내는 줄 단위 스캐너
+ * 블록 주석은 여러 줄에 걸칠 수 있으므로 줄 사이 상태를 유지
+ */
+class BraceScanner {
+
+    private boolean inBlockComment;
+
+    /**
+     * 현재 줄 시작 시점에 블록 주석 안인지 여부
+     */
+    boolean isInBlockComment() {
+        return inBlockComment;
+    }
+
+    /**
+     * 한 줄을 스캔하여 문자열/주석 밖의 중괄호를 순서대로 반환 (예: "{}{")
+     */
+    String braces(String line) {
+        StringBuilder braces = new StringBuilder();
+        char quote = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            char next = i + 1 < line.length() ? line.charAt(i + 1) : 0;
+
+            if (inBlockComment) {
+                if (c == '*' && next == '/') {
+                    inBlockComment = false;
+                    i++;
+                }
+            } else if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '/' && next == '/') {
+                break;
+            } else if (c == '/' && next == '*') {
+                inBlockComment = true;
+                i++;
+            } else if (c == '"' || c == '\'' || c == '`') {
+                quote = c;
+            } else if (c == '{' || c == '}') {
+                braces.append(c);
+            }
+        }
+        return braces.toString();
+    }
+
+    /**
+     * 주석으로 시작하는 줄인지 여부 (trim된 줄 기준)
+     */
+    static boolean isCommentStart(String trimmed) {
+        return trimmed.startsWith("//") || trimmed.startsWith("/*") || trimmed.startsWith("*");
+    }
+}
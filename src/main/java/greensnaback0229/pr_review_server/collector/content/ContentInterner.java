@@ -0,0 +1,249 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 한 번의 PR 리뷰 동안 조회한 파일 내용과 diff를 보관하는 리뷰 단위 작업 공간
+ * - 파일 내용은 blob SHA 기준으로 한 번만 보관하여, 같은 파일이 여러 기능의 핵심 파일로 쓰여도 GitHub에서 한 번만 읽음
+ * - 내용은 중복된 String 대신 UTF-8 byte[] 하나로 유지
+ * - spill 한도가 지정되면 힙에 보관한 양이 한도를 넘는 내용/diff는 임시 파일에 쓰고,
+ *   프롬프트를 만들 때 memory-mapped 영역에서 읽음
+ * 리뷰마다 새로 생성하고 리뷰가 끝나면 close()로 임시 파일까지 정리 (try-with-resources)
+ */
+@Slf4j
+public class ContentInterner implements AutoCloseable {
+
+    /**
+     * ref:path → blob 키 (blob SHA, SHA를 모르면 ref:path 자체)
+     */
+    private final Map<String, String> keyByLocation = new ConcurrentHashMap<>();
+
+    /**
+     * blob 키 → 보관된 UTF-8 내용
+     */
+    private final Map<String, Stored> contentByKey = new ConcurrentHashMap<>();
+
+    private final long spillThresholdBytes;
+    private final Path spillDirectory;
+    private long heapBytes;
+    private long spilledBytes;
+    private Path spillFile;
+    private FileChannel spillChannel;
+    private volatile boolean closed;
+
+    /**
+     * 모든 내용을 힙에 보관하는 작업 공간
+     */
+    public ContentInterner() {
+        this(0, null);
+    }
+
+    /**
+     * @param spillThresholdBytes 힙에 보관할 최대 바이트 수 (0 이하면 모두 힙에 보관)
+     * @param spillDirectory 임시 파일을 만들 디렉터리 (null이면 시스템 임시 디렉터리)
+     */
+    public ContentInterner(long spillThresholdBytes, Path spillDirectory) {
+        this.spillThresholdBytes = spillThresholdBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    /**
+     * 조회한 파일 내용을 보관
+     * 축약된 내용은 파일 타입마다 결과가 달라(핵심 파일은 개요, 그 외는 앞/뒤) 보관하지 않음
+     *
+     * @param ref 파일을 읽은 브랜치명 또는 SHA
+     * @param file 조회된 파일 (content 포함)
+     */
+    public void intern(String ref, FileContent file) {
+        String content = file.getContent();
+        if (closed || content == null || BoundedFileReader.isReduced(content)) {
+            // 리뷰가 끝난 뒤 도착한 미리 조회 결과 등은 보관하지 않음
+            return;
+        }
+        String location = location(ref, file.getPath());
+        String key = file.getSha() != null ? file.getSha() : location;
+        contentByKey.computeIfAbsent(key, k -> store(content));
+        keyByLocation.put(location, key);
+    }
+
+    /**
+     * 이미 조회한 파일이면 보관된 내용으로 FileContent 생성
+     * 임시 파일에 보관된 내용은 getContent() 시점에 읽음
+     *
+     * @param ref 브랜치명 또는 SHA
+     * @param path 파일 경로
+     * @param type 결과 파일 타입
+     * @return 보관된 파일, 아직 조회하지 않았으면 empty
+     */
+    public Optional<FileContent> find(String ref, String path, FileContent.FileType type) {
+        String key = keyByLocation.get(location(ref, path));
+        Stored stored = key != null ? contentByKey.get(key) : null;
+        if (stored == null) {
+            return Optional.empty();
+        }
+        FileContent.FileContentBuilder file = FileContent.builder()
+                .path(path)
+                .sha(key.equals(location(ref, path)) ? null : key)
+                .type(type);
+        return Optional.of(stored.bytes != null
+                ? file.content(stored.text()).build()
+                : file.contentLoader(stored::text).build());
+    }
+
+    /**
+     * 힙 한도를 넘었으면 변경 파일의 diff를 임시 파일로 내보낸 사본 반환 (diff는 getDiff() 시점에 읽음)
+     *
+     * @param changed 변경 파일 (diff 포함)
+     * @return 한도 이내면 그대로, 넘으면 diff를 임시 파일에서 읽는 사본
+     */
+    public FileContent spillDiff(FileContent changed) {
+        String diff = changed.getDiff();
+        if (closed || diff == null) {
+            return changed;
+        }
+        Stored stored = store(diff);
+        if (stored.bytes != null) {
+            return changed; // 힙에 보관되는 크기면 원본 String을 그대로 사용
+        }
+        return FileContent.builder()
+                .path(changed.getPath())
+                .diffLoader(stored::text)
+                .type(changed.getType())
+                .build();
+    }
+
+    /**
+     * 보관 중인 서로 다른 내용(blob) 수
+     */
+    public int size() {
+        return contentByKey.size();
+    }
+
+    /**
+     * 보관 중인 내용의 총 바이트 수 (힙 + 임시 파일)
+     */
+    public synchronized long retainedBytes() {
+        return heapBytes + spilledBytes;
+    }
+
+    /**
+     * 임시 파일에 보관 중인 바이트 수
+     */
+    public synchronized long spilledBytes() {
+        return spilledBytes;
+    }
+
+    /**
+     * 임시 파일을 닫고 삭제
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (spillChannel == null) {
+            return;
+        }
+        try {
+            spillChannel.close();
+            Files.deleteIfExists(spillFile);
+            log.info("Removed review spill file {} ({} bytes)", spillFile, spilledBytes);
+        } catch (IOException e) {
+            log.warn("Failed to remove review spill file {}: {}", spillFile, e.getMessage());
+        } finally {
+            spillChannel = null;
+        }
+    }
+
+    /**
+     * 힙 한도 이내면 byte[]로, 넘으면 임시 파일 끝에 추가하여 보관
+     * close()와 같은 잠금 안에서 closed를 확인하므로, 닫힌 뒤에는 임시 파일을 다시 만들지 않고 힙에 둠
+     */
+    private synchronized Stored store(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (closed) {
+            return new Stored(bytes, 0, bytes.length);
+        }
+        if (spillThresholdBytes <= 0 || heapBytes + bytes.length <= spillThresholdBytes) {
+            heapBytes += bytes.length;
+            return new Stored(bytes, 0, bytes.length);
+        }
+
+        try {
+            FileChannel channel = spillChannel();
+            long offset = channel.size();
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+            spilledBytes += bytes.length;
+            return new Stored(null, offset, bytes.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill review content to disk", e);
+        }
+    }
+
+    private FileChannel spillChannel() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Review workspace is already closed");
+        }
+        if (spillChannel == null) {
+            Path directory = spillDirectory != null ? Files.createDirectories(spillDirectory) : null;
+            spillFile = directory != null
+                    ? Files.createTempFile(directory, "review-", ".spill")
+                    : Files.createTempFile("review-", ".spill");
+            // DELETE_ON_CLOSE: 프로세스가 비정상 종료되어도 파일이 남지 않도록 (Linux에서는 열자마자 unlink)
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.DELETE_ON_CLOSE);
+            log.info("Review working set exceeded {} bytes, spilling to {}", spillThresholdBytes, spillFile);
+        }
+        return spillChannel;
+    }
+
+    private synchronized String readSpilled(long offset, int length) {
+        if (spillChannel == null) {
+            throw new IllegalStateException("Review workspace is already closed");
+        }
+        try {
+            MappedByteBuffer mapped = spillChannel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+            return StandardCharsets.UTF_8.decode(mapped).toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read spilled review content", e);
+        }
+    }
+
+    private static String location(String ref, String path) {
+        return ref + ":" + path;
+    }
+
+    /**
+     * 보관된 내용 (bytes가 null이면 임시 파일의 offset부터 length바이트)
+     */
+    private final class Stored {
+        private final byte[] bytes;
+        private final long offset;
+        private final int length;
+
+        private Stored(byte[] bytes, long offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private String text() {
+            return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : readSpilled(offset, length);
+        }
+    }
+}
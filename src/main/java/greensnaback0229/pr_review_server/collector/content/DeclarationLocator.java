@@ -0,0 +1,143 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import greensnaback0229.pr_review_server.collector.diff.LineRange;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 소스에서 주어진 줄들을 감싸는 선언(메서드, 생성자, 초기화 블록 등)의 범위를 찾는 유틸리티
+ * SourceOutliner와 같은 괄호 깊이 휴리스틱을 사용하며, 타입 본문 바로 아래의 블록을 선언 단위로 봄
+ */
+public class DeclarationLocator {
+
+    /**
+     * 각 줄을 감싸는 선언 범위를 찾아 겹치거나 맞닿은 범위를 합쳐 반환
+     * 선언 안에 있지 않은 줄(필드, import 등)은 그 줄만 포함
+     *
+     * @param content 소스 전체
+     * @param path 파일 경로 (확장자로 언어 판단)
+     * @param lines 1부터 시작하는 줄 번호
+     * @return 줄 번호 순으로 정렬된 범위
+     */
+    public List<LineRange> enclosingDeclarations(String content, String path, Collection<Integer> lines) {
+        String[] source = content.split("\n", -1);
+        List<LineRange> declarations = path.endsWith(".py") ? pythonDeclarations(source) : braceDeclarations(source);
+
+        List<LineRange> spans = new ArrayList<>();
+        for (int line : lines) {
+            if (line < 1 || line > source.length) {
+                continue;
+            }
+            spans.add(declarations.stream()
+                    .filter(declaration -> declaration.contains(line))
+                    .findFirst()
+                    .orElse(new LineRange(line, line)));
+        }
+        return merge(spans);
+    }
+
+    /**
+     * 타입 본문 바로 아래(또는 최상위)에서 열린 중괄호 블록을 선언으로 수집
+     * 선언의 시작은 블록을 연 문장의 첫 줄 (어노테이션과 여러 줄 시그니처 포함)
+     */
+    private List<LineRange> braceDeclarations(String[] source) {
+        List<LineRange> declarations = new ArrayList<>();
+        Deque<Boolean> braces = new ArrayDeque<>();
+        Deque<Integer> starts = new ArrayDeque<>();
+        BraceScanner scanner = new BraceScanner();
+        int statementStart = -1;
+
+        for (int i = 0; i < source.length; i++) {
+            int lineNumber = i + 1;
+            String line = source[i];
+            String trimmed = line.strip();
+            boolean commentLine = scanner.isInBlockComment() || BraceScanner.isCommentStart(trimmed);
+            boolean memberLevel = !braces.contains(Boolean.FALSE);
+
+            if (memberLevel && statementStart < 0 && !commentLine && !trimmed.isEmpty()) {
+                statementStart = lineNumber;
+            }
+
+            boolean container = !commentLine && SourceOutliner.CONTAINER_DECLARATION.matcher(line).find();
+            for (char brace : scanner.braces(line).toCharArray()) {
+                if (brace == '{') {
+                    boolean member = !braces.contains(Boolean.FALSE);
+                    braces.push(container && member);
+                    starts.push(member && statementStart > 0 ? statementStart : lineNumber);
+                    container = false;
+                } else if (!braces.isEmpty()) {
+                    boolean wasContainer = braces.pop();
+                    int start = starts.pop();
+                    if (!wasContainer && !braces.contains(Boolean.FALSE)) {
+                        declarations.add(new LineRange(start, lineNumber));
+                    }
+                }
+            }
+
+            if (memberLevel && (trimmed.endsWith(";") || trimmed.endsWith("{") || trimmed.endsWith("}"))) {
+                statementStart = -1;
+            }
+        }
+        return declarations;
+    }
+
+    /**
+     * def/class 줄부터 들여쓰기가 같거나 얕은 다음 줄 직전까지를 선언으로 수집 (가장 안쪽 def 기준)
+     */
+    private List<LineRange> pythonDeclarations(String[] source) {
+        List<LineRange> declarations = new ArrayList<>();
+        for (int i = 0; i < source.length; i++) {
+            String trimmed = source[i].strip();
+            if (!trimmed.startsWith("def ") && !trimmed.startsWith("async def ")) {
+                continue;
+            }
+            int indent = indentOf(source[i]);
+            int start = i;
+            while (start > 0 && source[start - 1].strip().startsWith("@")) {
+                start--;
+            }
+            int end = i;
+            for (int j = i + 1; j < source.length; j++) {
+                if (source[j].isBlank()) {
+                    continue;
+                }
+                if (indentOf(source[j]) <= indent) {
+                    break;
+                }
+                end = j;
+            }
+            declarations.add(new LineRange(start + 1, end + 1));
+        }
+        // 중첩 함수는 바깥 함수가 먼저 매칭되도록 시작 순서 유지 (바깥 def가 앞에 있음)
+        return declarations;
+    }
+
+    private static int indentOf(String line) {
+        int indent = 0;
+        while (indent < line.length() && Character.isWhitespace(line.charAt(indent))) {
+            indent++;
+        }
+        return indent;
+    }
+
+    private static List<LineRange> merge(List<LineRange> spans) {
+        List<LineRange> sorted = new ArrayList<>(spans);
+        sorted.sort(Comparator.comparingInt(LineRange::getStart));
+
+        List<LineRange> merged = new ArrayList<>();
+        for (LineRange span : sorted) {
+            LineRange last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (last != null && span.getStart() <= last.getEnd() + 1) {
+                merged.set(merged.size() - 1, new LineRange(last.getStart(), Math.max(last.getEnd(), span.getEnd())));
+            } else {
+                merged.add(span);
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,98 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.regex.Pattern;
+
+/**
+ * 크기 한도를 넘는 소스 파일을 선언부 개요로 줄이는 유틸리티
+ * 한 줄씩 읽으면서 타입/메서드/필드 선언만 남기고 메서드 본문은 "{ ... }"로 접음
+ * 파서 없이 괄호 깊이만 추적하는 휴리스틱이므로 중괄호 언어(Java, Kotlin, TS 등)와 Python만 대상
+ */
+public class SourceOutliner {
+
+    private static final String COLLAPSED_BODY = " ... }";
+    static final Pattern CONTAINER_DECLARATION = Pattern.compile(
+            "\\b(class|interface|enum|record|object|namespace|struct|trait|impl)\\b");
+    private static final Pattern PYTHON_DECLARATION = Pattern.compile(
+            "^\\s*(import |from |class |def |async def |@).*");
+
+    /**
+     * 소스를 읽어 선언부 개요 생성
+     *
+     * @param reader 소스 입력 (끝까지 읽음)
+     * @param path 파일 경로 (확장자로 언어 판단)
+     * @return 선언부 개요
+     * @throws IOException 입력 읽기 실패 시
+     */
+    public String outline(BufferedReader reader, String path) throws IOException {
+        return path.endsWith(".py") ? outlinePython(reader) : outlineBraces(reader);
+    }
+
+    private String outlinePython(BufferedReader reader) throws IOException {
+        StringBuilder outline = new StringBuilder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            boolean topLevelAssignment = !line.isEmpty() && !Character.isWhitespace(line.charAt(0))
+                    && line.contains("=");
+            if (PYTHON_DECLARATION.matcher(line).matches() || topLevelAssignment) {
+                outline.append(line).append('\n');
+            }
+        }
+        return outline.toString();
+    }
+
+    private String outlineBraces(BufferedReader reader) throws IOException {
+        StringBuilder outline = new StringBuilder();
+        // 열린 중괄호마다 타입 본문(true)인지 메서드/초기화 블록 본문(false)인지 기록
+        Deque<Boolean> braces = new ArrayDeque<>();
+        BraceScanner scanner = new BraceScanner();
+        boolean pendingContainer = false;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            boolean visible = !braces.contains(Boolean.FALSE);
+            boolean commentLine = scanner.isInBlockComment() || BraceScanner.isCommentStart(line.strip());
+            boolean container = pendingContainer || (!commentLine && CONTAINER_DECLARATION.matcher(line).find());
+            int collapsedBefore = countCollapsed(braces);
+
+            boolean opening = container;
+            for (char brace : scanner.braces(line).toCharArray()) {
+                if (brace == '{') {
+                    // 한 줄에서 처음 여는 중괄호만 타입 본문일 수 있음
+                    braces.push(opening && !braces.contains(Boolean.FALSE));
+                    opening = false;
+                } else if (!braces.isEmpty()) {
+                    braces.pop();
+                }
+            }
+            if (!commentLine && container && !line.contains("{") && !line.strip().endsWith(";")) {
+                pendingContainer = true; // 선언과 여는 중괄호가 다른 줄에 있는 경우
+            } else if (line.contains("{")) {
+                pendingContainer = false;
+            }
+
+            if (!visible || commentLine || line.isBlank()) {
+                continue;
+            }
+            outline.append(line);
+            if (countCollapsed(braces) > collapsedBefore) {
+                outline.append(COLLAPSED_BODY);
+            }
+            outline.append('\n');
+        }
+        return outline.toString();
+    }
+
+    private static int countCollapsed(Deque<Boolean> braces) {
+        int count = 0;
+        for (Boolean brace : braces) {
+            if (!brace) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,59 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * hunk 안의 한 줄
+ */
+@Getter
+@AllArgsConstructor
+public class DiffLine {
+
+    /**
+     * 줄 종류
+     */
+    private final Type type;
+
+    /**
+     * 앞의 표시 문자(' ', '+', '-', '\')를 제외한 내용
+     */
+    private final String text;
+
+    /**
+     * base 파일 기준 줄 번호 (추가된 줄은 삽입 위치 바로 다음 줄 번호)
+     */
+    private final int oldLine;
+
+    /**
+     * head 파일 기준 줄 번호 (삭제된 줄은 삭제 위치 바로 다음 줄 번호)
+     */
+    private final int newLine;
+
+    /**
+     * 추가 또는 삭제된 줄인지 여부
+     */
+    public boolean isChange() {
+        return type == Type.ADDED || type == Type.REMOVED;
+    }
+
+    /**
+     * unified diff 형식의 한 줄로 변환
+     */
+    public String toPatchLine() {
+        return type.marker + text;
+    }
+
+    public enum Type {
+        CONTEXT(' '),
+        ADDED('+'),
+        REMOVED('-'),
+        NO_NEWLINE('\\');   // "\ No newline at end of file"
+
+        private final char marker;
+
+        Type(char marker) {
+            this.marker = marker;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * 파일 하나의 파싱된 patch
+ */
+@Getter
+@AllArgsConstructor
+public class FilePatch {
+
+    private final String path;
+
+    private final List<Hunk> hunks;
+
+    /**
+     * hunk가 없을 때의 원본 텍스트 (바이너리/이름 변경/생략된 patch 안내 문구)
+     */
+    private final String note;
+
+    /**
+     * base 파일에서 변경의 영향을 받은 줄 번호
+     * 삭제된 줄은 그 줄, 추가된 줄은 삽입 위치 바로 앞 줄 (파일 맨 앞이면 1)
+     */
+    public SortedSet<Integer> touchedOldLines() {
+        SortedSet<Integer> lines = new TreeSet<>();
+        for (Hunk hunk : hunks) {
+            for (DiffLine line : hunk.getLines()) {
+                if (line.getType() == DiffLine.Type.REMOVED) {
+                    lines.add(line.getOldLine());
+                } else if (line.getType() == DiffLine.Type.ADDED) {
+                    lines.add(Math.max(1, line.getOldLine() - 1));
+                }
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * 조건을 만족하는 hunk만 남긴 patch
+     */
+    public FilePatch filter(Predicate<Hunk> condition) {
+        return new FilePatch(path, hunks.stream().filter(condition).toList(), note);
+    }
+
+    /**
+     * hunk를 그대로 unified diff로 생성
+     *
+     * @return patch 텍스트
+     */
+    public String toPatch() {
+        if (hunks.isEmpty()) {
+            return note;
+        }
+
+        List<String> out = new ArrayList<>();
+        for (Hunk hunk : hunks) {
+            out.add(hunk.header());
+            hunk.getLines().forEach(line -> out.add(line.toPatchLine()));
+        }
+        return String.join("\n", out);
+    }
+
+    /**
+     * 변경 줄 주변의 context를 지정한 줄 수로 줄여 unified diff로 다시 생성
+     * 줄인 뒤 떨어지게 된 변경은 별도 hunk로 나뉨
+     *
+     * @param contextLines 변경 줄 앞뒤로 유지할 context 줄 수
+     * @return patch 텍스트
+     */
+    public String toPatch(int contextLines) {
+        if (hunks.isEmpty()) {
+            return note;
+        }
+
+        List<String> out = new ArrayList<>();
+        for (Hunk hunk : hunks) {
+            for (Hunk trimmed : trim(hunk, contextLines)) {
+                out.add(trimmed.header());
+                trimmed.getLines().forEach(line -> out.add(line.toPatchLine()));
+            }
+        }
+        return String.join("\n", out);
+    }
+
+    private static List<Hunk> trim(Hunk hunk, int contextLines) {
+        List<DiffLine> lines = hunk.getLines();
+        List<Hunk> result = new ArrayList<>();
+
+        int index = 0;
+        while (index < lines.size()) {
+            // 다음 변경 그룹의 시작 찾기
+            int firstChange = nextChange(lines, index);
+            if (firstChange < 0) {
+                break;
+            }
+            // 사이의 context가 2 * contextLines 이하이면 같은 그룹으로 묶음
+            int lastChange = firstChange;
+            int next;
+            while ((next = nextChange(lines, lastChange + 1)) >= 0
+                    && contextBetween(lines, lastChange, next) <= 2 * contextLines) {
+                lastChange = next;
+            }
+
+            int from = Math.max(index, firstChange - contextLines);
+            int to = Math.min(lines.size() - 1, lastChange + contextLines);
+            // "\ No newline" 표시는 바로 앞 줄에 붙어 있으므로 함께 포함
+            if (to + 1 < lines.size() && lines.get(to + 1).getType() == DiffLine.Type.NO_NEWLINE) {
+                to++;
+            }
+            result.add(slice(hunk, lines.subList(from, to + 1)));
+            index = to + 1;
+        }
+        return result;
+    }
+
+    private static int nextChange(List<DiffLine> lines, int from) {
+        for (int i = from; i < lines.size(); i++) {
+            if (lines.get(i).isChange()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int contextBetween(List<DiffLine> lines, int from, int to) {
+        int count = 0;
+        for (int i = from + 1; i < to; i++) {
+            if (lines.get(i).getType() == DiffLine.Type.CONTEXT) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Hunk slice(Hunk hunk, List<DiffLine> lines) {
+        int oldCount = 0;
+        int newCount = 0;
+        for (DiffLine line : lines) {
+            if (line.getType() != DiffLine.Type.ADDED && line.getType() != DiffLine.Type.NO_NEWLINE) {
+                oldCount++;
+            }
+            if (line.getType() != DiffLine.Type.REMOVED && line.getType() != DiffLine.Type.NO_NEWLINE) {
+                newCount++;
+            }
+        }
+        DiffLine first = lines.get(0);
+        // 줄 수가 0인 쪽은 git 관례대로 삽입/삭제 위치의 앞 줄 번호를 사용
+        int oldStart = oldCount == 0 ? first.getOldLine() - 1 : first.getOldLine();
+        int newStart = newCount == 0 ? first.getNewLine() - 1 : first.getNewLine();
+        return new Hunk(oldStart, oldCount, newStart, newCount, hunk.getSection(), List.copyOf(lines));
+    }
+}
@@ -0,0 +1,248 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.collector.dto.NormalizedChanges;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 공백, import 순서, 줄바꿈만 바뀐 hunk를 찾아내는 컴포넌트
+ * 삭제/추가된 줄만 비교하고 context 줄은 보지 않으며,
+ * 공백을 제외한 글자 수가 다르면 문자열을 만들지 않고 바로 판정 (대부분의 실제 변경은 여기서 끝남)
+ * - 문자열/문자 리터럴 안의 공백은 값이므로 그대로 비교
+ * - 들여쓰기가 의미를 갖는 파일(Python, YAML, Makefile 등)은 줄 단위로 비교하고 앞쪽 들여쓰기를 유지
+ */
+@Component
+public class FormattingNormalizer {
+
+    /**
+     * 들여쓰기가 의미를 갖는 파일 확장자
+     */
+    private static final Set<String> INDENT_SENSITIVE_EXTENSIONS = Set.of(
+            "py", "pyi", "pyx", "yml", "yaml", "mk", "haml", "pug", "jade", "sass", "styl", "coffee", "nim");
+
+    /**
+     * 들여쓰기가 의미를 갖는 파일 이름 (확장자 없음)
+     */
+    private static final Set<String> INDENT_SENSITIVE_FILE_NAMES = Set.of("Makefile", "GNUmakefile", "makefile");
+
+    private final PatchParser patchParser = new PatchParser();
+
+    /**
+     * 변경 파일에서 포맷팅 전용 hunk를 제외
+     *
+     * @param changedFiles 변경 파일 (diff 포함)
+     * @return 리뷰할 변경과 파일별 생략된 hunk 수
+     */
+    public NormalizedChanges normalize(List<FileContent> changedFiles) {
+        List<FileContent> reviewable = new ArrayList<>();
+        Map<String, Integer> formattingOnly = new LinkedHashMap<>();
+
+        for (FileContent file : changedFiles) {
+            FilePatch patch = patchParser.parse(file.getPath(), file.getDiff());
+            FilePatch substantive = patch.filter(hunk -> !isFormattingOnly(file.getPath(), hunk));
+            int skipped = patch.getHunks().size() - substantive.getHunks().size();
+
+            if (skipped == 0) {
+                reviewable.add(file);
+                continue;
+            }
+            formattingOnly.put(file.getPath(), skipped);
+            if (!substantive.getHunks().isEmpty()) {
+                reviewable.add(FileContent.builder()
+                        .path(file.getPath())
+                        .diff(substantive.toPatch())
+                        .type(file.getType())
+                        .build());
+            }
+        }
+
+        return NormalizedChanges.builder()
+                .reviewableFiles(reviewable)
+                .formattingOnlyHunks(formattingOnly)
+                .build();
+    }
+
+    /**
+     * hunk의 변경이 공백/줄바꿈/import 순서 변경뿐인지 판단
+     * import 줄은 정렬된 목록끼리, 나머지 줄은 리터럴 밖의 공백을 제거한 글자 흐름끼리 비교
+     *
+     * @param path hunk가 속한 파일 경로 (들여쓰기가 의미를 갖는 파일인지 판단)
+     * @param hunk 비교할 hunk
+     */
+    public boolean isFormattingOnly(String path, Hunk hunk) {
+        boolean indentSensitive = isIndentSensitive(path);
+        List<String> removed = new ArrayList<>();
+        List<String> added = new ArrayList<>();
+        List<String> removedImports = new ArrayList<>();
+        List<String> addedImports = new ArrayList<>();
+        int removedChars = 0;
+        int addedChars = 0;
+
+        for (DiffLine line : hunk.getLines()) {
+            if (!line.isChange()) {
+                continue;
+            }
+            boolean isRemoved = line.getType() == DiffLine.Type.REMOVED;
+            String text = line.getText();
+            if (isImport(text)) {
+                (isRemoved ? removedImports : addedImports).add(indentSensitive
+                        ? leadingWhitespace(text) + collapseWhitespace(text)
+                        : collapseWhitespace(text));
+            } else if (isRemoved) {
+                removed.add(text);
+                removedChars += nonWhitespaceLength(text);
+            } else {
+                added.add(text);
+                addedChars += nonWhitespaceLength(text);
+            }
+        }
+
+        // 빠른 판정: 공백 외 글자 수가 다르면 실제 변경
+        if (removedChars != addedChars || removedImports.size() != addedImports.size()) {
+            return false;
+        }
+        removedImports.sort(null);
+        addedImports.sort(null);
+        if (!removedImports.equals(addedImports)) {
+            return false;
+        }
+        return indentSensitive ? sameLinesKeepingIndent(removed, added) : sameNonWhitespace(removed, added);
+    }
+
+    /**
+     * 들여쓰기가 의미를 갖는 파일인지 여부
+     */
+    static boolean isIndentSensitive(String path) {
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        if (INDENT_SENSITIVE_FILE_NAMES.contains(fileName)) {
+            return true;
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot >= 0 && INDENT_SENSITIVE_EXTENSIONS.contains(fileName.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 들여쓰기가 의미를 갖는 파일의 비교: 빈 줄을 뺀 줄끼리 하나씩 짝지어 들여쓰기가 같고
+     * 나머지가 리터럴 밖의 공백만 다른 경우에만 동일 (줄 합치기/나누기, 들여쓰기 변경은 실제 변경)
+     */
+    private static boolean sameLinesKeepingIndent(List<String> left, List<String> right) {
+        List<String> a = left.stream().filter(line -> !line.isBlank()).toList();
+        List<String> b = right.stream().filter(line -> !line.isBlank()).toList();
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!leadingWhitespace(a.get(i)).equals(leadingWhitespace(b.get(i)))
+                    || !sameNonWhitespace(List.of(a.get(i)), List.of(b.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String leadingWhitespace(String text) {
+        int end = 0;
+        while (end < text.length() && Character.isWhitespace(text.charAt(end))) {
+            end++;
+        }
+        return text.substring(0, end);
+    }
+
+    private static boolean isImport(String text) {
+        String trimmed = text.strip();
+        return trimmed.startsWith("import ") || trimmed.startsWith("from ") && trimmed.contains(" import ")
+                || trimmed.startsWith("#include ") || trimmed.startsWith("using ") && trimmed.endsWith(";");
+    }
+
+    private static int nonWhitespaceLength(String text) {
+        int count = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String collapseWhitespace(String text) {
+        return text.strip().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 두 줄 목록을 리터럴 밖의 공백을 건너뛰며 한 글자씩 비교 (줄바꿈 위치가 달라도 같은 글자 흐름이면 동일)
+     */
+    private static boolean sameNonWhitespace(List<String> left, List<String> right) {
+        CharCursor a = new CharCursor(left);
+        CharCursor b = new CharCursor(right);
+        while (true) {
+            int x = a.next();
+            int y = b.next();
+            if (x != y) {
+                return false;
+            }
+            if (x < 0) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 여러 줄에 걸쳐 공백이 아닌 글자를 순서대로 돌려주는 커서
+     * 따옴표(", ', `) 안에서는 공백과 줄바꿈도 글자로 돌려줌
+     * (주석의 아포스트로피 등으로 리터럴을 잘못 인식하면 더 엄격하게 비교할 뿐이므로 안전)
+     */
+    private static class CharCursor {
+        private final List<String> lines;
+        private int line;
+        private int index;
+
+        /**
+         * 열려 있는 리터럴의 따옴표 (리터럴 밖이면 0)
+         */
+        private char quote;
+        private boolean escaped;
+
+        private CharCursor(List<String> lines) {
+            this.lines = lines;
+        }
+
+        private int next() {
+            while (line < lines.size()) {
+                String text = lines.get(line);
+                while (index < text.length()) {
+                    char c = text.charAt(index++);
+                    if (quote != 0) {
+                        if (escaped) {
+                            escaped = false;
+                        } else if (c == '\\') {
+                            escaped = true;
+                        } else if (c == quote) {
+                            quote = 0;
+                        }
+                        return c;
+                    }
+                    if (c == '"' || c == '\'' || c == '`') {
+                        quote = c;
+                        return c;
+                    }
+                    if (!Character.isWhitespace(c)) {
+                        return c;
+                    }
+                }
+                line++;
+                index = 0;
+                if (quote != 0) {
+                    return '\n';
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * patch의 hunk 하나 ("@@ -oldStart,oldCount +newStart,newCount @@ section")
+ */
+@Getter
+@AllArgsConstructor
+public class Hunk {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final int oldStart;
+    private final int oldCount;
+    private final int newStart;
+    private final int newCount;
+
+    /**
+     * 헤더 뒤에 git이 붙이는 구역 정보 (보통 둘러싼 메서드 시그니처, 없으면 빈 문자열)
+     */
+    private final String section;
+
+    private final List<DiffLine> lines;
+
+    /**
+     * base 파일에서 이 hunk가 차지하는 범위 (삭제 없는 순수 추가면 삽입 위치 한 줄)
+     */
+    public LineRange getOldRange() {
+        return new LineRange(oldStart, oldStart + Math.max(oldCount, 1) - 1);
+    }
+
+    /**
+     * head 파일에서 이 hunk가 차지하는 범위 (추가 없는 순수 삭제면 삭제 위치 한 줄)
+     */
+    public LineRange getNewRange() {
+        return new LineRange(newStart, newStart + Math.max(newCount, 1) - 1);
+    }
+
+    /**
+     * 줄 번호와 context, 공백 차이에 영향받지 않는 hunk 지문 (git patch-id와 같은 방식에 파일 경로를 더함)
+     * rebase나 cherry-pick으로 위치만 바뀐 같은 변경은 같은 지문을 가지고,
+     * "+}" 같은 흔한 hunk라도 다른 파일의 hunk와는 지문이 겹치지 않음
+     *
+     * @param path hunk가 속한 파일 경로
+     */
+    public String fingerprint(String path) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((path + "\n").getBytes(StandardCharsets.UTF_8));
+            for (DiffLine line : lines) {
+                if (line.isChange()) {
+                    String normalized = WHITESPACE.matcher(line.getText()).replaceAll("");
+                    digest.update((line.toPatchLine().charAt(0) + normalized + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 추가/삭제된 줄의 공백을 제외한 글자 수 (지문을 재사용해도 될 만큼 구별되는 hunk인지 판단)
+     */
+    public int changedCharacters() {
+        return lines.stream()
+                .filter(DiffLine::isChange)
+                .mapToInt(line -> WHITESPACE.matcher(line.getText()).replaceAll("").length())
+                .sum();
+    }
+
+    /**
+     * unified diff 형식의 hunk 헤더
+     */
+    public String header() {
+        return "@@ -" + oldStart + "," + oldCount + " +" + newStart + "," + newCount + " @@"
+                + (section.isEmpty() ? "" : " " + section);
+    }
+}
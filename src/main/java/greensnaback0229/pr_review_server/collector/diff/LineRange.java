@@ -0,0 +1,32 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * 1부터 시작하는 닫힌 줄 범위 [start, end]
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+@AllArgsConstructor
+public class LineRange {
+    private final int start;
+    private final int end;
+
+    /**
+     * 범위가 포함하는 줄 수
+     */
+    public int length() {
+        return end - start + 1;
+    }
+
+    /**
+     * 줄이 범위 안에 있는지 여부
+     */
+    public boolean contains(int line) {
+        return line >= start && line <= end;
+    }
+}
@@ -0,0 +1,92 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 파일 하나의 patch 문자열(GitHub REST API의 patch 필드 형식)을 FilePatch로 파싱
+ */
+public class PatchParser {
+
+    private static final Pattern HUNK_HEADER =
+            Pattern.compile("^@@ -(\\d+)(?:,(\\d+))? \\+(\\d+)(?:,(\\d+))? @@ ?(.*)$");
+
+    /**
+     * patch 파싱
+     *
+     * @param path 파일 경로
+     * @param patch patch 문자열 (hunk가 없으면 안내 문구로 취급)
+     * @return 파싱된 patch
+     */
+    public FilePatch parse(String path, String patch) {
+        List<Hunk> hunks = new ArrayList<>();
+        if (patch == null) {
+            return new FilePatch(path, hunks, "");
+        }
+
+        int oldStart = 0, oldCount = 0, newStart = 0, newCount = 0;
+        String section = "";
+        List<DiffLine> lines = null;
+        int oldLine = 0;
+        int newLine = 0;
+        int oldRemaining = 0;
+        int newRemaining = 0;
+
+        for (String line : patch.split("\n", -1)) {
+            Matcher header = HUNK_HEADER.matcher(line);
+            if (header.matches()) {
+                if (lines != null) {
+                    hunks.add(new Hunk(oldStart, oldCount, newStart, newCount, section, lines));
+                }
+                oldStart = Integer.parseInt(header.group(1));
+                oldCount = header.group(2) != null ? Integer.parseInt(header.group(2)) : 1;
+                newStart = Integer.parseInt(header.group(3));
+                newCount = header.group(4) != null ? Integer.parseInt(header.group(4)) : 1;
+                section = header.group(5).strip();
+                lines = new ArrayList<>();
+                // 줄 수가 0이면 시작 번호는 삽입/삭제 위치의 앞 줄을 가리킴
+                oldLine = oldCount == 0 ? oldStart + 1 : oldStart;
+                newLine = newCount == 0 ? newStart + 1 : newStart;
+                oldRemaining = oldCount;
+                newRemaining = newCount;
+                continue;
+            }
+            if (lines == null) {
+                continue; // 첫 hunk 이전의 내용은 무시
+            }
+            if (line.startsWith("\\")) {
+                lines.add(new DiffLine(DiffLine.Type.NO_NEWLINE, line.substring(1), oldLine, newLine));
+                continue;
+            }
+            if (oldRemaining <= 0 && newRemaining <= 0) {
+                continue; // 헤더에 명시된 줄 수를 모두 읽은 뒤의 내용 (patch 끝의 개행 등)
+            }
+
+            // 끝의 공백이 제거되어 빈 문자열이 된 context 줄도 context로 취급
+            char marker = line.isEmpty() ? ' ' : line.charAt(0);
+            String text = line.isEmpty() ? "" : line.substring(1);
+            switch (marker) {
+                case '+' -> {
+                    lines.add(new DiffLine(DiffLine.Type.ADDED, text, oldLine, newLine++));
+                    newRemaining--;
+                }
+                case '-' -> {
+                    lines.add(new DiffLine(DiffLine.Type.REMOVED, text, oldLine++, newLine));
+                    oldRemaining--;
+                }
+                default -> {
+                    lines.add(new DiffLine(DiffLine.Type.CONTEXT, text, oldLine++, newLine++));
+                    oldRemaining--;
+                    newRemaining--;
+                }
+            }
+        }
+        if (lines != null) {
+            hunks.add(new Hunk(oldStart, oldCount, newStart, newCount, section, lines));
+        }
+
+        return new FilePatch(path, hunks, hunks.isEmpty() ? patch : "");
+    }
+}
@@ -0,0 +1,78 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.github.GitHubCallPriority;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
+import greensnaback0229.pr_review_server.github.GitHubHttpClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * PR의 unified diff(application/vnd.github.diff)를 한 번에 스트리밍으로 받아 파일별 patch로 나누는 컴포넌트
+ * listFiles()와 달리 전체 파일 목록을 메모리에 올리지 않고, 대용량 파일의 patch도 누락되지 않음
+ */
+@Slf4j
+@Component
+public class PrDiffStreamer {
+
+    private static final String DIFF_MEDIA_TYPE = "application/vnd.github.diff";
+
+    private final GitHubCallScheduler scheduler;
+    private final String apiUrl;
+    private final GitHubHttpClient httpClient;
+    private final UnifiedDiffParser parser = new UnifiedDiffParser();
+
+    public PrDiffStreamer(
+            GitHubCallScheduler scheduler,
+            GitHubHttpClient httpClient,
+            @Value("${github.api-url:https://api.github.com}") String apiUrl
+    ) {
+        this.scheduler = scheduler;
+        this.apiUrl = apiUrl;
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * PR diff를 스트리밍하며 보관 대상 파일의 patch를 파싱되는 즉시 전달
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param prNumber PR 번호
+     * @param retain 경로를 보고 patch를 보관할지 결정하는 조건
+     * @param sink 보관 대상 파일의 patch를 받는 콜백
+     * @return PR의 모든 변경 파일 경로
+     */
+    public List<String> streamChangedFiles(String repoFullName, int prNumber,
+                                           Predicate<String> retain, Consumer<FileContent> sink) {
+        try {
+            List<String> paths = scheduler.executeWithClient(GitHubCallPriority.URGENT, repoFullName, client -> {
+                HttpRequest.Builder request = HttpRequest.newBuilder(
+                                URI.create(apiUrl + "/repos/" + repoFullName + "/pulls/" + prNumber))
+                        .header("Accept", DIFF_MEDIA_TYPE)
+                        .GET();
+                HttpResponse<InputStream> response = httpClient.send(client, request, true);
+                try (Reader reader = new InputStreamReader(response.body(), StandardCharsets.UTF_8)) {
+                    return parser.parse(reader, retain, sink);
+                }
+            });
+            log.info("Streamed diff of {}/#{}: {} changed files", repoFullName, prNumber, paths.size());
+            return paths;
+
+        } catch (IOException e) {
+            log.error("Failed to stream diff from PR: {}/{}", repoFullName, prNumber, e);
+            throw new RuntimeException("Failed to stream changed files", e);
+        }
+    }
+}
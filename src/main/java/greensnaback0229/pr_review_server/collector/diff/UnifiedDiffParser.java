@@ -0,0 +1,150 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * git unified diff 스트리밍 파서
+ * PR 전체 diff를 한 줄씩 읽으면서 파일 단위 patch로 나누고, 파일 하나가 끝날 때마다 전달
+ * 보관 대상이 아닌 파일의 hunk는 버리므로 메모리 사용량은 보관하는 hunk 크기에만 비례
+ */
+public class UnifiedDiffParser {
+
+    private static final String FILE_HEADER = "diff --git ";
+    public static final String BINARY_NOTE = "(바이너리 파일 변경)";
+    public static final String NO_HUNK_NOTE = "(내용 변경 없음: 이름 또는 권한 변경)";
+    private static final Pattern HUNK_HEADER = Pattern.compile("^@@ -\\d+(?:,(\\d+))? \\+\\d+(?:,(\\d+))? @@.*");
+
+    /**
+     * diff를 파싱하여 보관 대상 파일의 patch를 전달
+     *
+     * @param diff unified diff 입력
+     * @param retain 경로를 보고 patch를 보관할지 결정하는 조건
+     * @param sink 보관 대상 파일의 patch를 받는 콜백 (GitHub REST API의 patch 필드와 같은 hunk 형식)
+     * @return diff에 포함된 모든 변경 파일 경로
+     * @throws IOException 입력 읽기 실패 시
+     */
+    public List<String> parse(Reader diff, Predicate<String> retain, Consumer<FileContent> sink) throws IOException {
+        BufferedReader reader = diff instanceof BufferedReader buffered ? buffered : new BufferedReader(diff);
+        List<String> paths = new ArrayList<>();
+
+        FileState current = null;
+        int oldRemaining = 0;
+        int newRemaining = 0;
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // hunk 본문: 헤더에 명시된 줄 수만큼은 메타데이터처럼 보여도 내용으로 취급
+            if (oldRemaining > 0 || newRemaining > 0) {
+                char marker = line.isEmpty() ? ' ' : line.charAt(0);
+                if (marker == '-') {
+                    oldRemaining--;
+                } else if (marker == '+') {
+                    newRemaining--;
+                } else if (marker != '\\') {
+                    oldRemaining--;
+                    newRemaining--;
+                }
+                current.append(line);
+                continue;
+            }
+
+            if (line.startsWith(FILE_HEADER)) {
+                finish(current, retain, paths, sink);
+                current = new FileState(pathFromHeader(line));
+                continue;
+            }
+            if (current == null) {
+                continue; // 첫 파일 헤더 이전의 내용은 무시
+            }
+
+            Matcher hunk = HUNK_HEADER.matcher(line);
+            if (hunk.matches()) {
+                if (current.retained == null) {
+                    current.retained = retain.test(current.path);
+                }
+                oldRemaining = hunk.group(1) != null ? Integer.parseInt(hunk.group(1)) : 1;
+                newRemaining = hunk.group(2) != null ? Integer.parseInt(hunk.group(2)) : 1;
+                current.append(line);
+            } else if (line.startsWith("\\")) {
+                current.append(line); // "\ No newline at end of file"
+            } else {
+                current.header(line);
+            }
+        }
+
+        finish(current, retain, paths, sink);
+        return paths;
+    }
+
+    private void finish(FileState file, Predicate<String> retain, List<String> paths, Consumer<FileContent> sink) {
+        if (file == null) {
+            return;
+        }
+        paths.add(file.path);
+
+        // hunk가 없는 파일(바이너리, 모드 변경, 내용 없는 rename)은 여기서 경로 기준으로 판단
+        boolean retained = file.retained != null ? file.retained : retain.test(file.path);
+        if (!retained) {
+            return;
+        }
+
+        sink.accept(FileContent.builder()
+                .path(file.path)
+                .diff(file.patch.isEmpty() ? (file.binary ? BINARY_NOTE : NO_HUNK_NOTE) : file.patch.toString())
+                .type(FileContent.FileType.CHANGED)
+                .build());
+    }
+
+    /**
+     * "diff --git a/old b/new" 헤더에서 새 경로 추출 (rename/+++ 줄이 나오면 갱신됨)
+     */
+    private static String pathFromHeader(String line) {
+        String rest = line.substring(FILE_HEADER.length());
+        int index = rest.lastIndexOf(" b/");
+        return index >= 0 ? rest.substring(index + 3) : rest;
+    }
+
+    /**
+     * 파싱 중인 파일 하나의 상태
+     */
+    private static class FileState {
+        private String path;
+        private boolean binary;
+        private Boolean retained;
+        private final StringBuilder patch = new StringBuilder();
+
+        private FileState(String path) {
+            this.path = path;
+        }
+
+        private void header(String line) {
+            if (line.startsWith("+++ b/")) {
+                path = line.substring(6);
+            } else if (line.startsWith("rename to ")) {
+                path = line.substring(10);
+            } else if (line.startsWith("Binary files ") || line.equals("GIT binary patch")) {
+                binary = true;
+            }
+        }
+
+        private void append(String line) {
+            if (Boolean.FALSE.equals(retained)) {
+                return;
+            }
+            if (!patch.isEmpty()) {
+                patch.append('\n');
+            }
+            patch.append(line);
+        }
+    }
+}
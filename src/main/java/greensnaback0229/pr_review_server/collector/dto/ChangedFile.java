@@ -0,0 +1,58 @@
+package greensnaback0229.pr_review_server.collector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * PR 변경 파일의 메타데이터 (diff 제외)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangedFile {
+    /**
+     * 새 파일의 patch 중 보관할 앞부분 줄 수 (생성 파일 표시 확인용)
+     */
+    public static final int PATCH_HEAD_LINES = 10;
+
+    /**
+     * 파일 경로
+     */
+    private String path;
+    
+    /**
+     * 이름 변경 전 경로 (rename이 아니면 null)
+     */
+    private String previousPath;
+    
+    /**
+     * 변경 상태 (added, modified, removed, renamed 등)
+     */
+    private String status;
+    
+    /**
+     * 추가된 줄 수
+     */
+    private int additions;
+    
+    /**
+     * 삭제된 줄 수
+     */
+    private int deletions;
+    
+    /**
+     * 새로 추가된 파일의 patch 앞부분 (hunk 헤더 포함 최대 PATCH_HEAD_LINES + 1줄, 그 외 파일은 null)
+     * diff를 따로 받지 않는 REST 모드에서도 "@generated" 같은 표시를 추가 호출 없이 확인하기 위함
+     */
+    private String patchHead;
+    
+    /**
+     * 내용 변경 없이 이름만 바뀐 파일인지 여부
+     */
+    public boolean isRenameOnly() {
+        return "renamed".equals(status) && additions == 0 && deletions == 0;
+    }
+}
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.util.function.Supplier;
+
 /**
  * 파일 내용을 담는 DTO
  */
@@ -28,11 +30,40 @@ public class FileContent {
      */
     private String diff;
     
+    /**
+     * blob SHA (핵심 파일이나 추가 요청 파일용, 같은 내용인지 비교할 때 사용)
+     */
+    private String sha;
+    
+    /**
+     * 임시 파일로 내보낸 diff를 필요할 때 읽는 로더 (diff가 null일 때만 사용)
+     */
+    private transient Supplier<String> diffLoader;
+    
+    /**
+     * 임시 파일로 내보낸 내용을 필요할 때 읽는 로더 (content가 null일 때만 사용)
+     */
+    private transient Supplier<String> contentLoader;
+    
     /**
      * 파일 타입 (CHANGED: 변경됨, CORE: 핵심파일, ADDITIONAL: 추가요청)
      */
     private FileType type;
     
+    /**
+     * 파일 전체 내용 (임시 파일로 내보낸 경우 읽어서 반환)
+     */
+    public String getContent() {
+        return content == null && contentLoader != null ? contentLoader.get() : content;
+    }
+    
+    /**
+     * 파일 변경 diff (임시 파일로 내보낸 경우 읽어서 반환)
+     */
+    public String getDiff() {
+        return diff == null && diffLoader != null ? diffLoader.get() : diff;
+    }
+    
     public enum FileType {
         CHANGED,      // 변경된 파일 (diff만 포함)
         CORE,         // 핵심 파일 (전체 코드)
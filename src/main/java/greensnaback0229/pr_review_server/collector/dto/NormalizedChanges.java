@@ -0,0 +1,39 @@
+package greensnaback0229.pr_review_server.collector.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 포맷팅 전용 hunk를 걸러낸 변경 파일
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class NormalizedChanges {
+    /**
+     * 리뷰할 변경 파일 (포맷팅 전용 hunk는 제외된 diff)
+     */
+    @Builder.Default
+    private List<FileContent> reviewableFiles = new ArrayList<>();
+    
+    /**
+     * 파일별로 생략된 포맷팅 전용 hunk 수
+     */
+    @Builder.Default
+    private Map<String, Integer> formattingOnlyHunks = new LinkedHashMap<>();
+    
+    /**
+     * 모든 변경이 포맷팅 전용인지 여부
+     */
+    public boolean isFormattingOnly() {
+        return reviewableFiles.isEmpty() && !formattingOnlyHunks.isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package greensnaback0229.pr_review_server.collector.index;
+
+import greensnaback0229.pr_review_server.collector.CodeCollector;
+import greensnaback0229.pr_review_server.collector.content.ContentInterner;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 변경된 Java 파일이 import하는 저장소 내부 타입을 찾는 컴포넌트
+ * 파일별 import 목록(경로 → 의존 경로)을 (저장소, base 커밋)별로 캐시하여
+ * 같은 base에서 다시 리뷰할 때는 GitHub 조회 없이 의존 관계를 계산
+ */
+@Slf4j
+@Component
+public class ImportGraphService {
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    private final RepoIndexService repoIndexService;
+    private final CodeCollector codeCollector;
+    private final int maxCached;
+
+    /**
+     * repo@commitSha → (파일 경로 → 저장소 내부 의존 경로) (접근 순서 LRU)
+     */
+    private final Map<String, Map<String, List<String>>> graphs;
+
+    public ImportGraphService(
+            RepoIndexService repoIndexService,
+            CodeCollector codeCollector,
+            @Value("${review.index.max-cached:16}") int maxCached
+    ) {
+        this.repoIndexService = repoIndexService;
+        this.codeCollector = codeCollector;
+        this.maxCached = maxCached;
+        this.graphs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Map<String, List<String>>> eldest) {
+                return size() > ImportGraphService.this.maxCached;
+            }
+        };
+    }
+
+    /**
+     * 변경된 Java 파일들의 직접 의존 파일 (base의 import + 이번 변경에서 추가된 import)
+     * 여러 변경 파일이 참조하는 파일일수록 앞에 옴
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param ref base 브랜치명 또는 SHA
+     * @param changedFiles 변경 파일 (diff 포함)
+     * @param contents 리뷰 단위 파일 내용 저장소
+     * @return 의존 파일 경로 (변경 파일 자신은 제외)
+     */
+    public List<String> directDependencies(String repoFullName, String ref, List<FileContent> changedFiles,
+                                           ContentInterner contents) {
+        List<FileContent> javaFiles = changedFiles.stream()
+                .filter(file -> file.getPath().endsWith(JAVA_EXTENSION))
+                .toList();
+        if (javaFiles.isEmpty()) {
+            return List.of();
+        }
+
+        RepoIndex index;
+        try {
+            index = repoIndexService.getIndex(repoFullName, ref);
+        } catch (IOException e) {
+            log.warn("Cannot index {}@{} for import graph: {}", repoFullName, ref, e.getMessage());
+            return List.of();
+        }
+        Map<String, List<String>> graph = graph(repoFullName + "@" + index.getCommitSha());
+
+        // base에서 아직 import를 읽지 않은 파일만 조회 (base에 없는 새 파일은 빈 목록으로 기록)
+        List<String> unknown = javaFiles.stream()
+                .map(FileContent::getPath)
+                .filter(path -> !graph.containsKey(path))
+                .toList();
+        if (!unknown.isEmpty()) {
+            for (FileContent base : codeCollector.collectAdditionalFiles(repoFullName, ref, unknown, contents)) {
+                graph.put(base.getPath(), resolveAll(index, JavaImports.parse(base.getContent())));
+            }
+            unknown.forEach(path -> graph.putIfAbsent(path, List.of()));
+        }
+
+        Set<String> changedPaths = changedFiles.stream().map(FileContent::getPath).collect(Collectors.toSet());
+        Map<String, Integer> referenceCounts = new LinkedHashMap<>();
+        for (FileContent file : javaFiles) {
+            List<String> dependencies = new ArrayList<>(graph.get(file.getPath()));
+            if (file.getDiff() != null) {
+                dependencies.addAll(resolveAll(index, JavaImports.parseAdded(file.getDiff())));
+            }
+            dependencies.stream()
+                    .distinct()
+                    .filter(path -> !changedPaths.contains(path))
+                    .forEach(path -> referenceCounts.merge(path, 1, Integer::sum));
+        }
+
+        List<String> ordered = new ArrayList<>(referenceCounts.keySet());
+        ordered.sort(Comparator.comparing(referenceCounts::get, Comparator.reverseOrder()));
+        log.info("Direct dependencies of {} changed Java files: {}", javaFiles.size(), ordered);
+        return ordered;
+    }
+
+    private Map<String, List<String>> graph(String key) {
+        synchronized (graphs) {
+            return graphs.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+    }
+
+    private static List<String> resolveAll(RepoIndex index, List<String> typeNames) {
+        return typeNames.stream()
+                .map(typeName -> JavaImports.resolve(index, typeName))
+                .flatMap(java.util.Optional::stream)
+                .distinct()
+                .toList();
+    }
+}
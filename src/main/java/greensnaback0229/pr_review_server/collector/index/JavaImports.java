@@ -0,0 +1,97 @@
+package greensnaback0229.pr_review_server.collector.index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Java 소스의 import 선언을 읽어 저장소 경로로 해석하는 유틸리티
+ * 파서 없이 줄 단위로 import 문만 보고, 첫 타입 선언이 나오면 읽기를 멈춤
+ */
+public final class JavaImports {
+
+    private static final Pattern IMPORT = Pattern.compile("^\\s*import\\s+(static\\s+)?([\\w.]+)(\\.\\*)?\\s*;");
+    private static final Pattern TYPE_START = Pattern.compile(
+            "^\\s*(public |protected |private |abstract |final |sealed |@)*\\s*(class|interface|enum|record|@interface)\\b");
+
+    private JavaImports() {
+    }
+
+    /**
+     * 소스의 import 대상 (와일드카드 import 제외, static import는 소속 타입)
+     *
+     * @param content Java 소스
+     * @return 정규화된 타입 이름 (선언 순서, 중복 제거)
+     */
+    public static List<String> parse(String content) {
+        Set<String> imports = new LinkedHashSet<>();
+        for (String line : content.split("\n")) {
+            if (TYPE_START.matcher(line).find()) {
+                break;
+            }
+            importedType(line).ifPresent(imports::add);
+        }
+        return new ArrayList<>(imports);
+    }
+
+    /**
+     * diff에서 추가된 import 대상
+     *
+     * @param diff unified diff
+     * @return 정규화된 타입 이름 (중복 제거)
+     */
+    public static List<String> parseAdded(String diff) {
+        Set<String> imports = new LinkedHashSet<>();
+        for (String line : diff.split("\n")) {
+            if (line.startsWith("+") && !line.startsWith("+++")) {
+                importedType(line.substring(1)).ifPresent(imports::add);
+            }
+        }
+        return new ArrayList<>(imports);
+    }
+
+    /**
+     * 정규화된 타입 이름을 저장소 경로로 해석
+     * 중첩 타입(com.example.Outer.Inner)은 바깥 타입의 파일로 해석
+     *
+     * @param index 저장소 경로 색인
+     * @param typeName 정규화된 타입 이름
+     * @return 저장소 경로, 저장소 밖의 타입(JDK, 라이브러리)이면 empty
+     */
+    public static Optional<String> resolve(RepoIndex index, String typeName) {
+        String name = typeName;
+        while (true) {
+            List<String> candidates = index.resolve(name);
+            if (!candidates.isEmpty()) {
+                return Optional.of(candidates.get(0));
+            }
+            int lastDot = name.lastIndexOf('.');
+            int previousDot = lastDot > 0 ? name.lastIndexOf('.', lastDot - 1) : -1;
+            if (lastDot < 0 || !Character.isUpperCase(name.charAt(previousDot + 1))) {
+                return Optional.empty(); // 바깥 타입이 없음 (패키지 이름까지 올라옴)
+            }
+            name = name.substring(0, lastDot);
+        }
+    }
+
+    private static Optional<String> importedType(String line) {
+        Matcher matcher = IMPORT.matcher(line);
+        if (!matcher.find()) {
+            return Optional.empty();
+        }
+        String name = matcher.group(2);
+        boolean wildcard = matcher.group(3) != null;
+        if (matcher.group(1) != null) {
+            // static import는 멤버(또는 와일드카드)를 뺀 소속 타입
+            if (!wildcard) {
+                name = name.substring(0, Math.max(name.lastIndexOf('.'), 0));
+            }
+            return name.isEmpty() ? Optional.empty() : Optional.of(name);
+        }
+        return wildcard ? Optional.empty() : Optional.of(name);
+    }
+}
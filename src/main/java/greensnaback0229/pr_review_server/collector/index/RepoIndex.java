@@ -0,0 +1,139 @@
+package greensnaback0229.pr_review_server.collector.index;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 한 커밋 시점의 저장소 파일 경로 색인
+ * LLM이 "FileName.java", "OrderService", "com.example.OrderService"처럼 요청한 파일을
+ * 트리를 다시 탐색하지 않고 저장소 경로로 해석하기 위해 사용
+ * - 파일명 → 경로 (경로 접미사 비교는 파일명으로 후보를 좁힌 뒤 수행)
+ * - Java 클래스명 → 경로
+ */
+public class RepoIndex {
+
+    private static final String JAVA_EXTENSION = ".java";
+
+    /**
+     * 색인한 커밋 SHA
+     */
+    @Getter
+    private final String commitSha;
+
+    private final Set<String> paths;
+    private final Map<String, List<String>> pathsByFileName = new HashMap<>();
+    private final Map<String, List<String>> pathsByClassName = new HashMap<>();
+
+    public RepoIndex(String commitSha, Collection<String> paths) {
+        this.commitSha = commitSha;
+        this.paths = new HashSet<>(paths.size() * 2);
+        paths.forEach(this::add);
+    }
+
+    /**
+     * 변경된 경로만 반영한 새 색인 생성 (이 색인은 그대로 유지)
+     *
+     * @param commitSha 새 커밋 SHA
+     * @param added 추가된 경로 (이름 변경의 새 경로 포함)
+     * @param removed 삭제된 경로 (이름 변경의 이전 경로 포함)
+     * @return 새 색인
+     */
+    public RepoIndex withChanges(String commitSha, Collection<String> added, Collection<String> removed) {
+        Set<String> updated = new HashSet<>(paths);
+        updated.removeAll(removed);
+        updated.addAll(added);
+        return new RepoIndex(commitSha, updated);
+    }
+
+    /**
+     * 요청된 파일 이름을 저장소 경로 후보로 해석
+     * 정확한 경로 → 경로 접미사 → Java 클래스명(단순/정규화 이름) 순으로 찾고,
+     * 후보가 여러 개면 테스트가 아닌 파일, 짧은 경로 순으로 정렬
+     *
+     * @param request LLM이 요청한 파일 (경로, 파일명, 클래스명)
+     * @return 경로 후보 (없으면 빈 리스트)
+     */
+    public List<String> resolve(String request) {
+        String name = request.strip().replace('\\', '/');
+        while (name.startsWith("/") || name.startsWith("./")) {
+            name = name.substring(name.startsWith("/") ? 1 : 2);
+        }
+        if (name.isEmpty()) {
+            return List.of();
+        }
+        if (paths.contains(name)) {
+            return List.of(name);
+        }
+
+        String suffix = "/" + name;
+        List<String> matches = pathsByFileName.getOrDefault(fileName(name), List.of()).stream()
+                .filter(path -> path.endsWith(suffix))
+                .toList();
+        if (matches.isEmpty() && !name.contains("/")) {
+            matches = resolveClassName(name);
+        }
+        return rank(matches);
+    }
+
+    /**
+     * 색인된 파일 수
+     */
+    public int size() {
+        return paths.size();
+    }
+
+    private List<String> resolveClassName(String name) {
+        String className = name.endsWith(JAVA_EXTENSION)
+                ? name.substring(0, name.length() - JAVA_EXTENSION.length())
+                : name;
+        int lastDot = className.lastIndexOf('.');
+        if (lastDot < 0) {
+            return pathsByClassName.getOrDefault(className, List.of());
+        }
+
+        // 정규화된 이름(com.example.Order)은 패키지 경로 접미사로 비교
+        String packageSuffix = "/" + className.replace('.', '/') + JAVA_EXTENSION;
+        return pathsByClassName.getOrDefault(className.substring(lastDot + 1), List.of()).stream()
+                .filter(path -> ("/" + path).endsWith(packageSuffix))
+                .toList();
+    }
+
+    private List<String> rank(List<String> matches) {
+        if (matches.size() <= 1) {
+            return matches;
+        }
+        List<String> ranked = new ArrayList<>(matches);
+        ranked.sort(Comparator.comparing(RepoIndex::isTestPath)
+                .thenComparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder()));
+        return ranked;
+    }
+
+    private void add(String path) {
+        if (!paths.add(path)) {
+            return;
+        }
+        String fileName = fileName(path);
+        pathsByFileName.computeIfAbsent(fileName, k -> new ArrayList<>(1)).add(path);
+        if (fileName.endsWith(JAVA_EXTENSION)) {
+            pathsByClassName.computeIfAbsent(fileName.substring(0, fileName.length() - JAVA_EXTENSION.length()),
+                    k -> new ArrayList<>(1)).add(path);
+        }
+    }
+
+    private static String fileName(String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    private static boolean isTestPath(String path) {
+        return path.contains("/test/") || path.startsWith("test/");
+    }
+}
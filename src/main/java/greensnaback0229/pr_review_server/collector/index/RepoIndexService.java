@@ -0,0 +1,195 @@
+package greensnaback0229.pr_review_server.collector.index;
+
+import greensnaback0229.pr_review_server.github.GitHubCallPriority;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
+import lombok.extern.slf4j.Slf4j;
+import org.kohsuke.github.GHCommit;
+import org.kohsuke.github.GHCompare;
+import org.kohsuke.github.GHRepository;
+import org.kohsuke.github.GHTree;
+import org.kohsuke.github.GHTreeEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * 저장소 파일 경로 색인을 (저장소, 커밋)별로 보관하는 컴포넌트
+ * 처음에는 재귀 트리 조회 한 번으로 색인을 만들고,
+ * 같은 저장소의 다른 커밋은 이전 색인에 compare 결과(추가/삭제/이름 변경)만 반영하여 생성
+ */
+@Slf4j
+@Component
+public class RepoIndexService {
+
+    private static final Pattern COMMIT_SHA = Pattern.compile("[0-9a-f]{40}");
+
+    private final GitHubCallScheduler scheduler;
+    private final int maxCached;
+    private final int incrementalMaxFiles;
+
+    /**
+     * repo@commitSha → 색인 (접근 순서 LRU)
+     */
+    private final Map<String, RepoIndex> indexes;
+
+    /**
+     * 저장소별 가장 최근에 만든 색인 (증분 갱신의 기준)
+     */
+    private final Map<String, RepoIndex> latestByRepo = new ConcurrentHashMap<>();
+
+    public RepoIndexService(
+            GitHubCallScheduler scheduler,
+            @Value("${review.index.max-cached:16}") int maxCached,
+            @Value("${review.index.incremental-max-files:300}") int incrementalMaxFiles
+    ) {
+        this.scheduler = scheduler;
+        this.maxCached = maxCached;
+        this.incrementalMaxFiles = incrementalMaxFiles;
+        this.indexes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RepoIndex> eldest) {
+                return size() > RepoIndexService.this.maxCached;
+            }
+        };
+    }
+
+    /**
+     * 요청된 파일 이름들을 저장소 경로로 해석 (후보가 여러 개면 가장 유력한 하나)
+     * 해석되지 않은 이름은 결과에서 제외
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param ref 브랜치명 또는 커밋 SHA
+     * @param requests LLM이 요청한 파일 이름
+     * @return 해석된 경로 (요청 순서, 중복 제거)
+     */
+    public List<String> resolve(String repoFullName, String ref, List<String> requests) {
+        RepoIndex index;
+        try {
+            index = getIndex(repoFullName, ref);
+        } catch (IOException e) {
+            log.warn("Failed to index {}@{}, using requested names as paths: {}", repoFullName, ref, e.getMessage());
+            return requests.stream().distinct().toList();
+        }
+
+        List<String> resolved = new ArrayList<>();
+        for (String request : requests) {
+            List<String> candidates = index.resolve(request);
+            if (candidates.isEmpty()) {
+                log.info("Requested file not found in {}@{}: {}", repoFullName, ref, request);
+                continue;
+            }
+            if (candidates.size() > 1) {
+                log.debug("Ambiguous request {} → {}, using {}", request, candidates, candidates.get(0));
+            }
+            if (!resolved.contains(candidates.get(0))) {
+                resolved.add(candidates.get(0));
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * ref 시점의 색인 조회 (없으면 생성)
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param ref 브랜치명 또는 커밋 SHA
+     * @return 색인
+     * @throws IOException GitHub 조회 실패 시
+     */
+    public RepoIndex getIndex(String repoFullName, String ref) throws IOException {
+        GHRepository repo = scheduler.execute(GitHubCallPriority.URGENT, repoFullName,
+                gh -> gh.getRepository(repoFullName));
+        String commitSha = COMMIT_SHA.matcher(ref).matches()
+                ? ref
+                : scheduler.execute(GitHubCallPriority.URGENT, repo.getRoot(), gh -> repo.getBranch(ref).getSHA1());
+
+        String key = repoFullName + "@" + commitSha;
+        synchronized (indexes) {
+            RepoIndex cached = indexes.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        RepoIndex previous = latestByRepo.get(repoFullName);
+        RepoIndex index = previous != null
+                ? update(repo, previous, commitSha).orElse(null)
+                : null;
+        if (index == null) {
+            index = build(repo, commitSha);
+        }
+
+        synchronized (indexes) {
+            indexes.put(key, index);
+        }
+        latestByRepo.put(repoFullName, index);
+        return index;
+    }
+
+    /**
+     * 재귀 트리 조회 한 번으로 전체 색인 생성
+     */
+    private RepoIndex build(GHRepository repo, String commitSha) throws IOException {
+        GHTree tree = scheduler.execute(GitHubCallPriority.URGENT, repo.getRoot(),
+                gh -> repo.getTreeRecursive(commitSha, 1));
+        if (tree.isTruncated()) {
+            log.warn("Tree of {}@{} is truncated, index is incomplete", repo.getFullName(), commitSha);
+        }
+
+        List<String> paths = new ArrayList<>();
+        for (GHTreeEntry entry : tree.getTree()) {
+            if ("blob".equals(entry.getType())) {
+                paths.add(entry.getPath());
+            }
+        }
+        log.info("Indexed {}@{} (tree {}): {} files", repo.getFullName(), commitSha, tree.getSha(), paths.size());
+        return new RepoIndex(commitSha, paths);
+    }
+
+    /**
+     * 이전 색인에서 새 커밋까지의 추가/삭제/이름 변경만 반영
+     * 새 커밋이 이전 커밋의 후손이 아니거나 변경 파일이 많으면(compare 결과가 잘릴 수 있음) empty
+     */
+    private Optional<RepoIndex> update(GHRepository repo, RepoIndex previous, String commitSha) {
+        try {
+            GHCompare compare = scheduler.execute(GitHubCallPriority.URGENT, repo.getRoot(),
+                    gh -> repo.getCompare(previous.getCommitSha(), commitSha));
+            GHCommit.File[] files = compare.getFiles();
+            if ((compare.getStatus() != GHCompare.Status.ahead && compare.getStatus() != GHCompare.Status.identical)
+                    || files.length >= incrementalMaxFiles) {
+                return Optional.empty();
+            }
+
+            List<String> added = new ArrayList<>();
+            List<String> removed = new ArrayList<>();
+            for (GHCommit.File file : files) {
+                switch (file.getStatus()) {
+                    case "added", "copied" -> added.add(file.getFileName());
+                    case "removed" -> removed.add(file.getFileName());
+                    case "renamed" -> {
+                        removed.add(file.getPreviousFilename());
+                        added.add(file.getFileName());
+                    }
+                    default -> {
+                        // 내용만 바뀐 파일은 경로 색인에 영향 없음
+                    }
+                }
+            }
+            log.info("Updated index of {} {}..{}: +{} -{}", repo.getFullName(),
+                    previous.getCommitSha(), commitSha, added.size(), removed.size());
+            return Optional.of(previous.withChanges(commitSha, added, removed));
+
+        } catch (IOException e) {
+            log.info("Cannot update index incrementally ({}), rebuilding", e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
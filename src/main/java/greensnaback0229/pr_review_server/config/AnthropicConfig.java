@@ -0,0 +1,36 @@
+package greensnaback0229.pr_review_server.config;
+
+import com.anthropic.client.AnthropicClient;
+import com.anthropic.client.okhttp.AnthropicOkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Anthropic API 클라이언트 설정
+ * 동기 요청(LlmClient)과 배치 요청(MessageBatchQueue)이 같은 클라이언트를 공유
+ */
+@Configuration
+public class AnthropicConfig {
+
+    @Value("${anthropic.api.key}")
+    private String apiKey;
+
+    /**
+     * API 주소 (비우면 기본 주소, 테스트에서는 로컬 스텁 주소)
+     */
+    @Value("${anthropic.api.base-url:}")
+    private String baseUrl;
+
+    @Bean
+    public AnthropicClient anthropicClient() {
+        // 재시도는 LlmCallExecutor가 retry-after와 회로 차단기 상태를 보고 처리
+        AnthropicOkHttpClient.Builder builder = AnthropicOkHttpClient.builder()
+                .apiKey(apiKey)
+                .maxRetries(0);
+        if (!baseUrl.isBlank()) {
+            builder.baseUrl(baseUrl);
+        }
+        return builder.build();
+    }
+}
@@ -1,45 +1,148 @@
 package greensnaback0229.pr_review_server.config;
 
+import greensnaback0229.pr_review_server.github.GitHubAppTokenProvider;
+import greensnaback0229.pr_review_server.github.GitHubClientPool;
+import greensnaback0229.pr_review_server.github.GitHubRateLimitException;
+import greensnaback0229.pr_review_server.github.PooledGitHubClient;
 import lombok.extern.slf4j.Slf4j;
 import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubAbuseLimitHandler;
 import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.GitHubRateLimitHandler;
+import org.kohsuke.github.authorization.AuthorizationProvider;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
 
 /**
  * GitHub API 클라이언트 설정
+ * 여러 PAT 또는 GitHub App 설치 토큰으로 클라이언트 풀을 구성
  */
 @Slf4j
 @Configuration
 public class GitHubConfig {
-    
-    @Value("${github.token}")
+
+    @Value("${github.token:}")
     private String githubToken;
-    
+
+    /**
+     * 추가 토큰 목록 (쉼표 구분)
+     */
+    @Value("${github.tokens:}")
+    private String[] githubTokens;
+
+    @Value("${github.api-url:https://api.github.com}")
+    private String apiUrl;
+
+    @Value("${github.app.id:}")
+    private String appId;
+
+    @Value("${github.app.private-key-path:}")
+    private String appPrivateKeyPath;
+
+    /**
+     * App 설치 ID 목록 (쉼표 구분)
+     */
+    @Value("${github.app.installation-ids:}")
+    private long[] appInstallationIds;
+
+    @Value("${github.app.token-refresh-before-seconds:300}")
+    private long tokenRefreshBeforeSeconds;
+
+    private GitHubClientPool clientPool;
+
     @Bean
-    public GitHub github() throws IOException {
-        // 토큰의 앞 10글자만 로그 (보안)
-        String tokenPreview = githubToken != null && githubToken.length() > 10 
-            ? githubToken.substring(0, 10) + "..." 
-            : "null or empty";
-        log.info("Initializing GitHub client with token: {}", tokenPreview);
-        
-        GitHub github = new GitHubBuilder()
-                .withOAuthToken(githubToken)
-                .build();
-        
-        // GitHub 연결 테스트
-        try {
-            String login = github.getMyself().getLogin();
-            log.info("GitHub client initialized successfully. Authenticated as: {}", login);
-        } catch (IOException e) {
-            log.error("Failed to authenticate with GitHub: {}", e.getMessage());
-            throw e;
+    public GitHubClientPool githubClientPool() throws IOException {
+        List<PooledGitHubClient> clients = new ArrayList<>();
+
+        Set<String> tokens = new LinkedHashSet<>();
+        if (githubToken != null && !githubToken.isBlank()) {
+            tokens.add(githubToken.trim());
+        }
+        Arrays.stream(githubTokens)
+                .map(String::trim)
+                .filter(token -> !token.isEmpty())
+                .forEach(tokens::add);
+
+        int index = 1;
+        for (String token : tokens) {
+            // 토큰의 앞 10글자만 로그 (보안)
+            String tokenPreview = token.length() > 10 ? token.substring(0, 10) + "..." : "(short token)";
+            log.info("Initializing GitHub client token-{} with token: {}", index, tokenPreview);
+
+            AuthorizationProvider authorization = () -> "token " + token;
+            clients.add(new PooledGitHubClient("token-" + index, buildClient(authorization), authorization));
+            index++;
+        }
+
+        if (appId != null && !appId.isBlank()) {
+            String privateKey = Files.readString(Path.of(appPrivateKeyPath));
+            for (long installationId : appInstallationIds) {
+                log.info("Initializing GitHub App client for installation: {}", installationId);
+
+                GitHubAppTokenProvider authorization = new GitHubAppTokenProvider(appId, installationId,
+                        privateKey, apiUrl, Duration.ofSeconds(tokenRefreshBeforeSeconds));
+                // 설치 토큰은 설치된 계정의 저장소에만 접근할 수 있으므로 그 계정의 호출에만 사용
+                clients.add(new PooledGitHubClient("app-installation-" + installationId,
+                        buildClient(authorization), authorization, authorization::coversOwner));
+            }
         }
-        
-        return github;
+
+        if (clients.isEmpty()) {
+            throw new IllegalStateException(
+                    "No GitHub credentials configured. Set github.token, github.tokens or github.app.*");
+        }
+
+        // 자격 증명 검증은 시작 후 백그라운드에서 수행 (validateCredentialsInBackground)
+        log.info("GitHub client pool initialized with {} credential(s)", clients.size());
+        this.clientPool = new GitHubClientPool(clients);
+        return clientPool;
+    }
+
+    /**
+     * 애플리케이션 시작 후 백그라운드에서 자격 증명 검증
+     * 시작 과정이 GitHub 응답을 기다리며 블로킹되지 않도록 별도 스레드에서 실행
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateCredentialsInBackground() {
+        if (clientPool == null) {
+            return;
+        }
+        Thread.ofVirtual()
+                .name("github-credential-validator")
+                .start(clientPool::validateCredentials);
+    }
+
+    private GitHub buildClient(AuthorizationProvider authorization) throws IOException {
+        return new GitHubBuilder()
+                .withEndpoint(apiUrl)
+                .withAuthorizationProvider(authorization)
+                // Rate Limit 대기는 GitHubCallScheduler가 담당하므로 클라이언트 내부에서 블로킹하지 않음
+                .withRateLimitHandler(new GitHubRateLimitHandler() {
+                    @Override
+                    public void onError(GitHubConnectorResponse response) throws IOException {
+                        throw GitHubRateLimitException.fromResponse(response, false);
+                    }
+                })
+                .withAbuseLimitHandler(new GitHubAbuseLimitHandler() {
+                    @Override
+                    public void onError(GitHubConnectorResponse response) throws IOException {
+                        throw GitHubRateLimitException.fromResponse(response, true);
+                    }
+                })
+                .build();
     }
 }
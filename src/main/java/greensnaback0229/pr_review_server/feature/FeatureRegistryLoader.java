@@ -3,11 +3,12 @@ package greensnaback0229.pr_review_server.feature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.github.GitHubCallPriority;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kohsuke.github.GHContent;
 import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -25,7 +26,7 @@ public class FeatureRegistryLoader {
     
     private static final String REGISTRY_PATH = ".github/pr-review/feature-registry.yml";
     private final ObjectMapper yamlMapper = new ObjectMapper(new YAMLFactory());
-    private final GitHub github;
+    private final GitHubCallScheduler scheduler;
 
     /**
      * GitHub 저장소에서 feature-registry.yml 파일을 읽어와 FeatureDefinition Map으로 변환
@@ -52,23 +53,23 @@ public class FeatureRegistryLoader {
         log.info("Loading feature registry from repository: {} (branch: {})", repoFullName, branch != null ? branch : "default");
         
         try {
-            GHRepository repository = github.getRepository(repoFullName);
+            GHRepository repository = scheduler.execute(GitHubCallPriority.URGENT, repoFullName,
+                    gh -> gh.getRepository(repoFullName));
             log.info("Successfully got repository: {}", repository.getFullName());
             
-            GHContent fileContent;
-            if (branch != null) {
-                fileContent = repository.getFileContent(REGISTRY_PATH, branch);
-                log.info("Successfully got file content from: {} (branch: {})", REGISTRY_PATH, branch);
-            } else {
-                fileContent = repository.getFileContent(REGISTRY_PATH);
-                log.info("Successfully got file content from: {} (default branch)", REGISTRY_PATH);
-            }
+            GHContent fileContent = scheduler.execute(GitHubCallPriority.URGENT, repository.getRoot(), gh -> branch != null
+                    ? repository.getFileContent(REGISTRY_PATH, branch)
+                    : repository.getFileContent(REGISTRY_PATH));
+            log.info("Successfully got file content from: {} (branch: {})",
+                    REGISTRY_PATH, branch != null ? branch : "default");
             
-            try (InputStream inputStream = fileContent.read()) {
-                Map<String, FeatureDefinition> result = parseYaml(inputStream);
-                log.info("Successfully parsed {} features", result.size());
-                return result;
-            }
+            Map<String, FeatureDefinition> result = scheduler.execute(GitHubCallPriority.URGENT, repository.getRoot(), gh -> {
+                try (InputStream inputStream = fileContent.read()) {
+                    return parseYaml(inputStream);
+                }
+            });
+            log.info("Successfully parsed {} features", result.size());
+            return result;
         } catch (IOException e) {
             log.error("Failed to load feature registry from {} (branch: {}): {}", 
                     repoFullName, branch != null ? branch : "default", e.getMessage(), e);
@@ -99,6 +100,8 @@ public class FeatureRegistryLoader {
                     .description((String) featureData.get("description"))
                     .paths((java.util.List<String>) featureData.get("paths"))
                     .coreFiles((java.util.List<String>) featureData.get("coreFiles"))
+                    .criticality((String) featureData.get("criticality"))
+                    .provider((String) featureData.get("provider"))
                     .build();
             
             result.put(featureName, definition);
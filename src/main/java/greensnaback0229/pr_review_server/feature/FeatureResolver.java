@@ -61,21 +61,49 @@ public class FeatureResolver {
             return List.of();
         }
         
-        List<String> paths = definition.get().getPaths();
         List<String> relatedFiles = new ArrayList<>();
         
         for (String changedFile : changedFiles) {
-            for (String path : paths) {
-                if (changedFile.startsWith(path)) {
-                    relatedFiles.add(changedFile);
-                    break;
-                }
+            if (matchesPaths(definition.get(), changedFile)) {
+                relatedFiles.add(changedFile);
             }
         }
         
         return relatedFiles;
     }
 
+    /**
+     * 파일 경로가 속한 모든 기능 조회
+     * diff 스트리밍 중 파일을 파싱되는 즉시 기능별로 분배할 때 사용
+     * 
+     * @param filePath 파일 경로
+     * @return 파일이 속한 기능 식별자 목록
+     */
+    public List<String> findFeaturesForFile(String filePath) {
+        List<String> features = new ArrayList<>();
+        for (FeatureDefinition definition : registry.getAllFeatures()) {
+            if (matchesPaths(definition, filePath)) {
+                features.add(definition.getName());
+            }
+        }
+        return features;
+    }
+
+    /**
+     * 파일 경로가 기능의 paths 중 하나로 시작하는지 확인
+     */
+    private boolean matchesPaths(FeatureDefinition definition, String filePath) {
+        if (definition.getPaths() == null) {
+            return false;
+        }
+        for (String path : definition.getPaths()) {
+            if (filePath.startsWith(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * 기능의 핵심 파일 목록 조회
      * 
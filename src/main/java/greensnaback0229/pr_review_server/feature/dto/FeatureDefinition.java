@@ -33,4 +33,15 @@ public class FeatureDefinition {
      * 변경 여부와 무관하게 LLM이 참조해야 할 파일
      */
     private List<String> coreFiles;
+    
+    /**
+     * 기능 중요도 (HIGH, NORMAL, LOW, 없으면 NORMAL)
+     * HIGH면 변경 크기와 무관하게 기본 모델로 리뷰, LOW면 빠른 모델의 CRITICAL 지적이 있을 때만 기본 모델로 다시 리뷰
+     */
+    private String criticality;
+    
+    /**
+     * 이 기능의 리뷰에 사용할 LLM 제공자 이름 (예: openai-compatible, 없으면 저장소/기본 설정)
+     */
+    private String provider;
 }
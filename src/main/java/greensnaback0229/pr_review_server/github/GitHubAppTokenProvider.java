@@ -0,0 +1,187 @@
+package greensnaback0229.pr_review_server.github;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kohsuke.github.GHAppInstallation;
+import org.kohsuke.github.GHAppInstallationToken;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.GitHubBuilder;
+import org.kohsuke.github.authorization.AuthorizationProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * GitHub App 설치 토큰 제공자
+ * App 개인키로 서명한 JWT로 설치 토큰을 발급받아 캐싱하고, 만료 전에 미리 갱신
+ */
+@Slf4j
+public class GitHubAppTokenProvider implements AuthorizationProvider {
+
+    private final String appId;
+    private final long installationId;
+    private final PrivateKey privateKey;
+    private final String apiUrl;
+    private final Duration refreshBefore;
+
+    private String token;
+    private Instant expiresAt = Instant.EPOCH;
+
+    /**
+     * 이 설치가 속한 계정(사용자/조직) 이름 (토큰을 처음 발급받을 때 함께 조회)
+     */
+    private String accountLogin;
+
+    public GitHubAppTokenProvider(String appId, long installationId, String privateKeyPem,
+                                  String apiUrl, Duration refreshBefore) {
+        this.appId = appId;
+        this.installationId = installationId;
+        this.privateKey = parsePrivateKey(privateKeyPem);
+        this.apiUrl = apiUrl;
+        this.refreshBefore = refreshBefore;
+    }
+
+    /**
+     * 캐싱된 설치 토큰을 Authorization 헤더 값으로 반환 (만료 임박 시 갱신)
+     *
+     * @return "token ..." 형식의 헤더 값
+     * @throws IOException 토큰 발급 실패 시
+     */
+    @Override
+    public synchronized String getEncodedAuthorization() throws IOException {
+        if (token == null || Instant.now().isAfter(expiresAt.minus(refreshBefore))) {
+            refresh();
+        }
+        return "token " + token;
+    }
+
+    /**
+     * 저장소 소유자가 이 설치의 계정인지 확인 (계정을 아직 모르면 토큰을 발급받으며 조회)
+     *
+     * @param owner 저장소 소유자 이름
+     * @return 설치된 계정의 저장소면 true, 계정을 조회하지 못했으면 false
+     */
+    public synchronized boolean coversOwner(String owner) {
+        if (accountLogin == null) {
+            try {
+                refresh();
+            } catch (IOException e) {
+                log.warn("Failed to look up account of GitHub App installation {}: {}", installationId, e.getMessage());
+                return false;
+            }
+        }
+        return owner.equalsIgnoreCase(accountLogin);
+    }
+
+    /**
+     * JWT로 인증한 App 클라이언트를 통해 설치 토큰 재발급
+     */
+    private void refresh() throws IOException {
+        GitHub appClient = new GitHubBuilder()
+                .withEndpoint(apiUrl)
+                .withJwtToken(createJwt(Instant.now()))
+                .build();
+
+        GHAppInstallation installation = appClient.getApp().getInstallationById(installationId);
+        if (installation.getAccount() != null) {
+            accountLogin = installation.getAccount().getLogin();
+        }
+        GHAppInstallationToken installationToken = installation.createToken().create();
+
+        this.token = installationToken.getToken();
+        this.expiresAt = installationToken.getExpiresAt().toInstant();
+        log.info("Refreshed GitHub App installation token for installation {} (expires at {})",
+                installationId, expiresAt);
+    }
+
+    /**
+     * App 인증용 JWT 생성 (RS256, 최대 유효기간 10분)
+     *
+     * @param now 발급 시각
+     * @return 서명된 JWT
+     */
+    String createJwt(Instant now) throws IOException {
+        // 서버 간 시계 오차를 고려해 발급 시각을 1분 앞당김
+        String header = base64Url("{\"alg\":\"RS256\",\"typ\":\"JWT\"}");
+        String payload = base64Url(String.format("{\"iat\":%d,\"exp\":%d,\"iss\":\"%s\"}",
+                now.minusSeconds(60).getEpochSecond(), now.plusSeconds(540).getEpochSecond(), appId));
+        String signingInput = header + "." + payload;
+
+        try {
+            Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(privateKey);
+            signature.update(signingInput.getBytes(StandardCharsets.US_ASCII));
+            return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature.sign());
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Failed to sign GitHub App JWT", e);
+        }
+    }
+
+    private static String base64Url(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * PEM 개인키 파싱
+     * GitHub가 발급하는 PKCS#1 형식("BEGIN RSA PRIVATE KEY")은 PKCS#8로 감싸서 읽음
+     */
+    static PrivateKey parsePrivateKey(String pem) {
+        boolean pkcs1 = pem.contains("BEGIN RSA PRIVATE KEY");
+        String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        byte[] der = Base64.getDecoder().decode(base64);
+
+        try {
+            byte[] pkcs8 = pkcs1 ? wrapPkcs1(der) : der;
+            return KeyFactory.getInstance("RSA").generatePrivate(new PKCS8EncodedKeySpec(pkcs8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid GitHub App private key", e);
+        }
+    }
+
+    /**
+     * PKCS#1 RSAPrivateKey를 PKCS#8 PrivateKeyInfo 구조로 감쌈
+     */
+    private static byte[] wrapPkcs1(byte[] pkcs1) {
+        byte[] rsaAlgorithmId = {
+                0x02, 0x01, 0x00,                                           // version
+                0x30, 0x0D, 0x06, 0x09, 0x2A, (byte) 0x86, 0x48, (byte) 0x86,
+                (byte) 0xF7, 0x0D, 0x01, 0x01, 0x01, 0x05, 0x00              // rsaEncryption OID
+        };
+
+        ByteArrayOutputStream octetString = new ByteArrayOutputStream();
+        octetString.write(0x04);
+        writeLength(octetString, pkcs1.length);
+        octetString.writeBytes(pkcs1);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.writeBytes(rsaAlgorithmId);
+        body.writeBytes(octetString.toByteArray());
+
+        ByteArrayOutputStream sequence = new ByteArrayOutputStream();
+        sequence.write(0x30);
+        writeLength(sequence, body.size());
+        sequence.writeBytes(body.toByteArray());
+        return sequence.toByteArray();
+    }
+
+    private static void writeLength(ByteArrayOutputStream out, int length) {
+        if (length < 0x80) {
+            out.write(length);
+        } else if (length <= 0xFF) {
+            out.write(0x81);
+            out.write(length);
+        } else {
+            out.write(0x82);
+            out.write(length >> 8);
+            out.write(length & 0xFF);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package greensnaback0229.pr_review_server.github;
+
+import org.kohsuke.github.GitHub;
+
+import java.io.IOException;
+
+/**
+ * 스케줄러를 통해 실행되는 GitHub API 호출 단위
+ * Rate Limit으로 실패하면 대기 후 재실행될 수 있으므로 멱등적으로 작성해야 함
+ *
+ * @param <T> 호출 결과 타입
+ */
+@FunctionalInterface
+public interface GitHubCall<T> {
+
+    /**
+     * 주어진 GitHub 클라이언트로 호출 수행
+     *
+     * @param github 스케줄러가 선택한 GitHub 클라이언트
+     * @return 호출 결과
+     * @throws IOException GitHub API 호출 실패 시
+     */
+    T execute(GitHub github) throws IOException;
+}
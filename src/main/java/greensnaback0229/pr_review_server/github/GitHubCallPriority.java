@@ -0,0 +1,10 @@
+package greensnaback0229.pr_review_server.github;
+
+/**
+ * GitHub API 호출 우선순위
+ * Rate Limit 예산을 어떤 작업에 먼저 배분할지 결정
+ */
+public enum GitHubCallPriority {
+    URGENT,       // 리뷰 진행 중인 읽기/코멘트 작성 (남은 예산 전부 사용 가능)
+    BACKGROUND    // 사전 준비(pre-warming), 백필 등 (예약분을 남기고 속도 조절)
+}
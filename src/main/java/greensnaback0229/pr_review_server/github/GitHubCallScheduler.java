@@ -0,0 +1,214 @@
+package greensnaback0229.pr_review_server.github;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.HttpException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+/**
+ * GitHub API 호출 스케줄러
+ * 모든 GitHub 호출을 이 스케줄러를 통해 실행하여 토큰별 Rate Limit 예산을 추적하고,
+ * 호출마다 예산이 가장 많이 남은 토큰을 선택하며,
+ * 모든 토큰의 예산이 소진되면 리뷰를 실패시키는 대신 초기화 시각까지 대기 후 재시도
+ */
+@Slf4j
+@Component
+public class GitHubCallScheduler {
+
+    private final GitHubClientPool pool;
+    private final int backgroundReserve;
+    private final long maxWaitMillis;
+    private final int maxAttempts;
+
+    @Autowired
+    public GitHubCallScheduler(
+            GitHubClientPool pool,
+            @Value("${github.rate-limit.background-reserve:500}") int backgroundReserve,
+            @Value("${github.rate-limit.max-wait-seconds:900}") long maxWaitSeconds,
+            @Value("${github.rate-limit.max-attempts:3}") int maxAttempts
+    ) {
+        this.pool = pool;
+        this.backgroundReserve = backgroundReserve;
+        this.maxWaitMillis = maxWaitSeconds * 1000;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 단일 클라이언트와 기본 설정으로 스케줄러 생성 (테스트용)
+     *
+     * @param github GitHub 클라이언트
+     */
+    public GitHubCallScheduler(GitHub github) {
+        this(GitHubClientPool.of(github), 500, 900, 3);
+    }
+
+    /**
+     * 우선순위에 맞춰 GitHub 호출 실행
+     *
+     * @param priority 호출 우선순위
+     * @param call 실행할 호출
+     * @return 호출 결과
+     * @throws IOException 호출 실패 또는 최대 대기 시간 초과 시
+     */
+    public <T> T execute(GitHubCallPriority priority, GitHubCall<T> call) throws IOException {
+        return executeWithClient(priority, null, null, client -> call.execute(client.getGithub()));
+    }
+
+    /**
+     * 저장소에 접근할 수 있는 클라이언트로 GitHub 호출 실행
+     * App 설치 토큰은 설치된 계정의 저장소에만 접근할 수 있으므로 저장소를 지정하는 호출은 이 메서드를 사용
+     *
+     * @param priority 호출 우선순위
+     * @param repoFullName 호출 대상 저장소 (owner/repo)
+     * @param call 실행할 호출
+     * @return 호출 결과
+     * @throws IOException 호출 실패 또는 최대 대기 시간 초과 시
+     */
+    public <T> T execute(GitHubCallPriority priority, String repoFullName, GitHubCall<T> call) throws IOException {
+        return executeWithClient(priority, repoFullName, null, client -> call.execute(client.getGithub()));
+    }
+
+    /**
+     * 특정 클라이언트에서 GitHub 호출 실행
+     * 이미 조회한 GHRepository 등 특정 클라이언트에 묶인 객체를 사용하는 호출은
+     * 해당 객체의 root 클라이언트로 실행해야 예산이 올바르게 집계됨
+     *
+     * @param priority 호출 우선순위
+     * @param owner 호출에 사용되는 객체의 root 클라이언트 (null이면 풀에서 선택)
+     * @param call 실행할 호출
+     * @return 호출 결과
+     * @throws IOException 호출 실패 또는 최대 대기 시간 초과 시
+     */
+    public <T> T execute(GitHubCallPriority priority, GitHub owner, GitHubCall<T> call) throws IOException {
+        return executeWithClient(priority, null, owner, client -> call.execute(client.getGithub()));
+    }
+
+    /**
+     * 풀에서 선택된 클라이언트 자체를 받아 호출 실행
+     * GitHub 클라이언트가 지원하지 않는 요청(diff 미디어 타입 등)을 직접 HTTP로 보낼 때 사용하며,
+     * 호출 측에서 응답 헤더로 예산을 갱신하고 Rate Limit 응답은 GitHubRateLimitException으로 던져야 함
+     *
+     * @param priority 호출 우선순위
+     * @param call 실행할 호출
+     * @return 호출 결과
+     * @throws IOException 호출 실패 또는 최대 대기 시간 초과 시
+     */
+    public <T> T executeWithClient(GitHubCallPriority priority, PooledGitHubCall<T> call) throws IOException {
+        return executeWithClient(priority, null, null, call);
+    }
+
+    /**
+     * 저장소에 접근할 수 있는 클라이언트 자체를 받아 호출 실행
+     *
+     * @param priority 호출 우선순위
+     * @param repoFullName 호출 대상 저장소 (owner/repo)
+     * @param call 실행할 호출
+     * @return 호출 결과
+     * @throws IOException 호출 실패 또는 최대 대기 시간 초과 시
+     */
+    public <T> T executeWithClient(GitHubCallPriority priority, String repoFullName, PooledGitHubCall<T> call)
+            throws IOException {
+        return executeWithClient(priority, repoFullName, null, call);
+    }
+
+    private <T> T executeWithClient(GitHubCallPriority priority, String repoFullName, GitHub owner,
+                                    PooledGitHubCall<T> call) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            PooledGitHubClient client = pool.findByGitHub(owner)
+                    .orElseGet(() -> pool.select(priority, repoFullName, backgroundReserve,
+                            System.currentTimeMillis()));
+            RateLimitBudget budget = client.getBudget();
+            awaitBudget(budget, priority);
+
+            try {
+                T result = call.execute(client);
+                updateBudget(client);
+                return result;
+
+            } catch (IOException e) {
+                updateBudget(client);
+
+                long retryAt = rateLimitRetryAt(e);
+                if (retryAt < 0) {
+                    throw e;
+                }
+
+                budget.markExhausted(retryAt);
+                if (attempt >= maxAttempts) {
+                    log.error("GitHub rate limit retries exhausted for token {} ({} attempts)",
+                            budget.getTokenId(), attempt);
+                    throw e;
+                }
+                log.warn("GitHub rate limit hit for token {} (attempt {}/{}): {}",
+                        budget.getTokenId(), attempt, maxAttempts, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 스케줄러가 사용하는 클라이언트 풀 조회
+     *
+     * @return GitHubClientPool
+     */
+    public GitHubClientPool getPool() {
+        return pool;
+    }
+
+    /**
+     * 직전 응답의 Rate Limit으로 예산 갱신
+     * lastRateLimit()은 응답의 X-RateLimit-* 헤더에서 기록된 값만 돌려주므로 API 호출이 없음
+     * (getRateLimit()은 매번 GET /rate_limit을 호출하므로 사용하지 않음)
+     * GitHub 클라이언트를 거치지 않은 호출이면 이전 값이 남아 있지만, 예산은 더 최신 관측값만 반영함
+     */
+    private void updateBudget(PooledGitHubClient client) {
+        client.getBudget().update(client.getGithub().lastRateLimit());
+    }
+
+    /**
+     * 예산이 허용할 때까지 대기
+     */
+    private void awaitBudget(RateLimitBudget budget, GitHubCallPriority priority) throws IOException {
+        long delay = budget.reserveDelayMillis(priority, backgroundReserve, System.currentTimeMillis());
+        if (delay <= 0) {
+            return;
+        }
+        if (delay > maxWaitMillis) {
+            throw new GitHubRateLimitException(String.format(
+                    "GitHub rate limit wait of %d ms exceeds max wait of %d ms", delay, maxWaitMillis),
+                    System.currentTimeMillis() / 1000 + delay / 1000, false);
+        }
+
+        log.info("Waiting {} ms for GitHub rate limit budget of token {} ({} call, remaining: {})",
+                delay, budget.getTokenId(), priority, budget.getRemaining());
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for GitHub rate limit");
+        }
+    }
+
+    /**
+     * 예외가 Rate Limit 초과인 경우 다시 호출 가능한 시각 반환
+     *
+     * @return epoch seconds, Rate Limit 예외가 아니면 -1
+     */
+    private long rateLimitRetryAt(IOException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof GitHubRateLimitException rateLimitException) {
+                return rateLimitException.getRetryAtEpochSeconds();
+            }
+        }
+
+        // 핸들러를 거치지 않은 429 응답 (예: 외부에서 생성된 클라이언트)
+        if (e instanceof HttpException httpException && httpException.getResponseCode() == 429) {
+            return System.currentTimeMillis() / 1000 + 60;
+        }
+        return -1;
+    }
+}
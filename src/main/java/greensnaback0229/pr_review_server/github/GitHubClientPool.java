@@ -0,0 +1,115 @@
+package greensnaback0229.pr_review_server.github;
+
+import lombok.extern.slf4j.Slf4j;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.authorization.AuthorizationProvider;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * GitHub 클라이언트 풀
+ * 여러 토큰(PAT 또는 GitHub App 설치 토큰)에 요청을 분산하여 전체 API 처리량을 높임
+ * PAT는 서로 바꿔 쓸 수 있지만 App 설치 토큰은 설치된 계정의 저장소에만 쓸 수 있으므로 저장소 소유자로 후보를 거름
+ */
+@Slf4j
+public class GitHubClientPool {
+
+    private final List<PooledGitHubClient> clients;
+
+    public GitHubClientPool(List<PooledGitHubClient> clients) {
+        if (clients.isEmpty()) {
+            throw new IllegalArgumentException("GitHub client pool requires at least one credential");
+        }
+        this.clients = List.copyOf(clients);
+    }
+
+    /**
+     * 단일 클라이언트로 구성된 풀 생성
+     *
+     * @param github GitHub 클라이언트
+     * @return GitHubClientPool
+     */
+    public static GitHubClientPool of(GitHub github) {
+        return new GitHubClientPool(List.of(
+                new PooledGitHubClient("default", github, AuthorizationProvider.ANONYMOUS)));
+    }
+
+    /**
+     * 호출을 실행할 클라이언트 선택
+     * 대기 없이 호출 가능한 클라이언트 중 남은 예산이 가장 많은 것을 우선
+     *
+     * @param priority 호출 우선순위
+     * @param backgroundReserve 백그라운드 호출이 남겨둘 예산
+     * @param nowMillis 현재 시각 (epoch millis)
+     * @return 선택된 클라이언트
+     */
+    public PooledGitHubClient select(GitHubCallPriority priority, int backgroundReserve, long nowMillis) {
+        return select(priority, null, backgroundReserve, nowMillis);
+    }
+
+    /**
+     * 저장소에 접근할 수 있는 클라이언트 중 호출을 실행할 클라이언트 선택
+     * 대기 없이 호출 가능한 클라이언트 중 남은 예산이 가장 많은 것을 우선
+     *
+     * @param priority 호출 우선순위
+     * @param repoFullName 호출 대상 저장소 (null이면 모든 클라이언트가 후보)
+     * @param backgroundReserve 백그라운드 호출이 남겨둘 예산
+     * @param nowMillis 현재 시각 (epoch millis)
+     * @return 선택된 클라이언트
+     */
+    public PooledGitHubClient select(GitHubCallPriority priority, String repoFullName, int backgroundReserve,
+                                     long nowMillis) {
+        List<PooledGitHubClient> candidates = clients.stream()
+                .filter(PooledGitHubClient::isValid)
+                .filter(client -> repoFullName == null || client.canAccess(repoFullName))
+                .toList();
+        if (candidates.isEmpty()) {
+            // 접근 가능한 유효 클라이언트가 없으면 실제 오류(404/401)를 받도록 전체에서 선택
+            candidates = clients;
+        }
+
+        return candidates.stream()
+                .min(Comparator
+                        .comparingLong((PooledGitHubClient c) ->
+                                c.getBudget().estimateDelayMillis(priority, backgroundReserve, nowMillis))
+                        .thenComparing(c -> -c.getBudget().effectiveRemaining()))
+                .orElseThrow();
+    }
+
+    /**
+     * GitHub 객체(GHRepository 등)가 속한 클라이언트 조회
+     *
+     * @param github GitHub 객체의 root 클라이언트 (nullable)
+     * @return 풀에 속한 클라이언트 Optional
+     */
+    public Optional<PooledGitHubClient> findByGitHub(GitHub github) {
+        if (github == null) {
+            return Optional.empty();
+        }
+        return clients.stream()
+                .filter(client -> client.getGithub() == github)
+                .findFirst();
+    }
+
+    /**
+     * 모든 클라이언트의 자격 증명을 검증하여 유효 여부 갱신
+     * 네트워크 호출이 발생하므로 백그라운드에서 실행해야 함
+     */
+    public void validateCredentials() {
+        for (PooledGitHubClient client : clients) {
+            boolean valid = client.getGithub().isCredentialValid();
+            client.setValid(valid);
+            if (valid) {
+                log.info("GitHub credential {} is valid", client.getId());
+            } else {
+                log.error("GitHub credential {} is invalid and will not be used", client.getId());
+            }
+        }
+    }
+
+    public List<PooledGitHubClient> getClients() {
+        return clients;
+    }
+}
@@ -4,8 +4,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.kohsuke.github.GHIssueComment;
 import org.kohsuke.github.GHPullRequest;
-import org.kohsuke.github.GHRepository;
-import org.kohsuke.github.GitHub;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
@@ -18,7 +16,7 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class GitHubCommentService {
     
-    private final GitHub github;
+    private final GitHubCallScheduler scheduler;
     
     /**
      * PR에 리뷰 결과를 코멘트로 작성
@@ -26,21 +24,24 @@ public class GitHubCommentService {
      * @param repoFullName 저장소 풀네임 (예: owner/repo)
      * @param prNumber PR 번호
      * @param reviewContent 리뷰 내용
+     * @return 작성된 코멘트 (점진적 게시 모드에서 이후 수정에 사용)
      * @throws IOException GitHub API 호출 실패 시
      */
-    public void postReviewComment(String repoFullName, int prNumber, String reviewContent) throws IOException {
+    public GHIssueComment postReviewComment(String repoFullName, int prNumber, String reviewContent) throws IOException {
         log.info("Posting review comment to {}/#{}", repoFullName, prNumber);
         
         try {
-            GHRepository repository = github.getRepository(repoFullName);
-            GHPullRequest pullRequest = repository.getPullRequest(prNumber);
+            GHPullRequest pullRequest = scheduler.execute(GitHubCallPriority.URGENT, repoFullName,
+                    gh -> gh.getRepository(repoFullName).getPullRequest(prNumber));
             
             // 코멘트 작성
             String comment = formatReviewComment(reviewContent);
-            GHIssueComment postedComment = pullRequest.comment(comment);
+            GHIssueComment postedComment = scheduler.execute(GitHubCallPriority.URGENT, pullRequest.getRoot(),
+                    gh -> pullRequest.comment(comment));
             
             log.info("Successfully posted comment #{} to {}/#{}", 
                     postedComment.getId(), repoFullName, prNumber);
+            return postedComment;
             
         } catch (IOException e) {
             log.error("Failed to post comment to {}/{}: {}", 
@@ -49,6 +50,22 @@ public class GitHubCommentService {
         }
     }
     
+    /**
+     * 이미 작성한 리뷰 코멘트의 내용을 교체
+     *
+     * @param comment 작성된 코멘트
+     * @param reviewContent 새 리뷰 내용
+     * @throws IOException GitHub API 호출 실패 시
+     */
+    public void updateReviewComment(GHIssueComment comment, String reviewContent) throws IOException {
+        String body = formatReviewComment(reviewContent);
+        scheduler.execute(GitHubCallPriority.URGENT, comment.getRoot(), gh -> {
+            comment.update(body);
+            return null;
+        });
+        log.debug("Updated review comment #{}", comment.getId());
+    }
+    
     /**
      * 리뷰 내용을 GitHub 코멘트 형식으로 포맷팅
      *
@@ -0,0 +1,86 @@
+package greensnaback0229.pr_review_server.github;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * GitHub 클라이언트(github-api)가 지원하지 않는 요청을 직접 보내는 HTTP 클라이언트
+ * (diff 미디어 타입, GraphQL 등) 풀에서 선택된 자격 증명으로 인증하고,
+ * Rate Limit 응답은 스케줄러가 처리할 수 있도록 GitHubRateLimitException으로 변환
+ * GitHubCallScheduler.executeWithClient 안에서 호출해야 함
+ */
+@Component
+public class GitHubHttpClient {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    /**
+     * 요청 전송 후 성공(2xx) 응답 본문 스트림 반환
+     *
+     * @param client 스케줄러가 선택한 클라이언트
+     * @param request 인증 헤더를 제외한 요청
+     * @param trackCoreBudget 응답의 Rate Limit 헤더를 REST(core) 예산으로 반영할지 여부
+     *                        (GraphQL은 별도 예산이므로 false)
+     * @return 응답 (호출 측에서 body를 닫아야 함)
+     * @throws IOException 요청 실패, Rate Limit 초과 또는 2xx 이외의 응답 시
+     */
+    public HttpResponse<InputStream> send(PooledGitHubClient client, HttpRequest.Builder request,
+                                          boolean trackCoreBudget) throws IOException {
+        String authorization = client.getAuthorization() != null
+                ? client.getAuthorization().getEncodedAuthorization()
+                : null;
+        if (authorization != null) {
+            request.header("Authorization", authorization);
+        }
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while calling GitHub");
+        }
+
+        HttpHeaders headers = response.headers();
+        if (trackCoreBudget) {
+            updateBudget(client, headers);
+        }
+
+        int status = response.statusCode();
+        if (status >= 200 && status < 300) {
+            return response;
+        }
+        response.body().close();
+
+        boolean exhausted = headers.firstValue("X-RateLimit-Remaining").map("0"::equals).orElse(false);
+        if (status == 429 || (status == 403 && (exhausted || headers.firstValue("Retry-After").isPresent()))) {
+            throw GitHubRateLimitException.fromHeaders(status,
+                    name -> headers.firstValue(name).orElse(null), !exhausted);
+        }
+        throw new IOException("GitHub request to " + response.uri() + " failed with HTTP " + status);
+    }
+
+    private void updateBudget(PooledGitHubClient client, HttpHeaders headers) {
+        try {
+            int remaining = Integer.parseInt(headers.firstValue("X-RateLimit-Remaining").orElse("-1"));
+            int limit = Integer.parseInt(headers.firstValue("X-RateLimit-Limit").orElse("-1"));
+            long reset = Long.parseLong(headers.firstValue("X-RateLimit-Reset").orElse("0"));
+            if (remaining >= 0) {
+                client.getBudget().update(remaining, limit, reset);
+            }
+        } catch (NumberFormatException e) {
+            // 헤더 형식이 잘못된 경우 예산 갱신만 생략
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package greensnaback0229.pr_review_server.github;
+
+import lombok.Getter;
+import org.kohsuke.github.GHIOException;
+import org.kohsuke.github.connector.GitHubConnectorResponse;
+
+import java.util.function.Function;
+
+/**
+ * GitHub Rate Limit(primary/secondary)에 걸렸을 때 발생하는 예외
+ * 다시 호출해도 되는 시각을 함께 전달하여 스케줄러가 대기 후 재시도할 수 있게 함
+ */
+@Getter
+public class GitHubRateLimitException extends GHIOException {
+
+    /**
+     * 다시 호출 가능한 시각 (epoch seconds)
+     */
+    private final long retryAtEpochSeconds;
+
+    /**
+     * secondary(abuse) limit 여부
+     */
+    private final boolean secondary;
+
+    public GitHubRateLimitException(String message, long retryAtEpochSeconds, boolean secondary) {
+        super(message);
+        this.retryAtEpochSeconds = retryAtEpochSeconds;
+        this.secondary = secondary;
+    }
+
+    /**
+     * GitHub 응답 헤더(Retry-After, X-RateLimit-Reset)로부터 예외 생성
+     *
+     * @param response Rate Limit 응답
+     * @param secondary secondary(abuse) limit 여부
+     * @return GitHubRateLimitException
+     */
+    public static GitHubRateLimitException fromResponse(GitHubConnectorResponse response, boolean secondary) {
+        return fromHeaders(response.statusCode(), response::header, secondary);
+    }
+
+    /**
+     * 상태 코드와 응답 헤더로부터 예외 생성 (GitHub 클라이언트를 거치지 않는 HTTP 호출용)
+     *
+     * @param statusCode HTTP 상태 코드
+     * @param headers 헤더 이름으로 값을 조회하는 함수 (없으면 null)
+     * @param secondary secondary(abuse) limit 여부
+     * @return GitHubRateLimitException
+     */
+    public static GitHubRateLimitException fromHeaders(int statusCode, Function<String, String> headers,
+                                                       boolean secondary) {
+        long now = System.currentTimeMillis() / 1000;
+        long retryAt = now + 60; // 헤더가 없을 때 기본 1분 대기
+
+        String retryAfter = headers.apply("Retry-After");
+        String reset = headers.apply("X-RateLimit-Reset");
+        try {
+            if (retryAfter != null) {
+                retryAt = now + Long.parseLong(retryAfter.trim());
+            } else if (reset != null) {
+                retryAt = Long.parseLong(reset.trim());
+            }
+        } catch (NumberFormatException e) {
+            // 잘못된 헤더는 기본값 사용
+        }
+
+        String message = String.format("GitHub %s rate limit exceeded (HTTP %d), retry at %d",
+                secondary ? "secondary" : "primary", statusCode, retryAt);
+        return new GitHubRateLimitException(message, retryAt, secondary);
+    }
+}
@@ -0,0 +1,21 @@
+package greensnaback0229.pr_review_server.github;
+
+import java.io.IOException;
+
+/**
+ * 풀에서 선택된 클라이언트(인증 정보, 예산 포함)를 직접 사용하는 GitHub 호출 단위
+ *
+ * @param <T> 호출 결과 타입
+ */
+@FunctionalInterface
+public interface PooledGitHubCall<T> {
+
+    /**
+     * 주어진 클라이언트로 호출 수행
+     *
+     * @param client 스케줄러가 선택한 클라이언트
+     * @return 호출 결과
+     * @throws IOException 호출 실패 시
+     */
+    T execute(PooledGitHubClient client) throws IOException;
+}
@@ -0,0 +1,73 @@
+package greensnaback0229.pr_review_server.github;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.kohsuke.github.GitHub;
+import org.kohsuke.github.authorization.AuthorizationProvider;
+
+import java.util.function.Predicate;
+
+/**
+ * 토큰 풀에 속한 GitHub 클라이언트 하나
+ * 클라이언트, 인증 정보, 해당 토큰의 Rate Limit 예산을 함께 보관
+ */
+@Getter
+public class PooledGitHubClient {
+
+    /**
+     * 클라이언트 식별자 (예: token-1, app-installation-1234)
+     */
+    private final String id;
+
+    private final GitHub github;
+
+    /**
+     * Authorization 헤더 값 제공자 (GitHub 클라이언트를 거치지 않는 HTTP 호출용)
+     */
+    private final AuthorizationProvider authorization;
+
+    private final RateLimitBudget budget;
+
+    /**
+     * 저장소 소유자(계정) 이름으로 이 자격 증명이 접근할 수 있는지 판단
+     * PAT는 어느 저장소에나 쓸 수 있고, App 설치 토큰은 설치된 계정의 저장소에만 쓸 수 있음
+     */
+    @Getter(AccessLevel.NONE)
+    private final Predicate<String> coversOwner;
+
+    /**
+     * 자격 증명 유효 여부 (백그라운드 검증 결과)
+     */
+    private volatile boolean valid = true;
+
+    public PooledGitHubClient(String id, GitHub github, AuthorizationProvider authorization) {
+        this(id, github, authorization, owner -> true);
+    }
+
+    /**
+     * @param coversOwner 저장소 소유자 이름을 받아 접근 가능 여부를 반환 (App 설치 토큰용)
+     */
+    public PooledGitHubClient(String id, GitHub github, AuthorizationProvider authorization,
+                              Predicate<String> coversOwner) {
+        this.id = id;
+        this.github = github;
+        this.authorization = authorization;
+        this.coversOwner = coversOwner;
+        this.budget = new RateLimitBudget(id);
+    }
+
+    /**
+     * 저장소에 이 자격 증명으로 접근할 수 있는지 확인
+     *
+     * @param repoFullName 저장소 풀네임 (owner/repo)
+     * @return 접근 가능 여부
+     */
+    public boolean canAccess(String repoFullName) {
+        int slash = repoFullName.indexOf('/');
+        return coversOwner.test(slash < 0 ? repoFullName : repoFullName.substring(0, slash));
+    }
+
+    public void setValid(boolean valid) {
+        this.valid = valid;
+    }
+}
@@ -0,0 +1,166 @@
+package greensnaback0229.pr_review_server.github;
+
+import lombok.Getter;
+import org.kohsuke.github.GHRateLimit;
+
+/**
+ * 토큰 하나의 GitHub Rate Limit 예산
+ * 응답 헤더(X-RateLimit-Remaining/Reset)로 갱신되는 마지막 관측값을 보관
+ */
+@Getter
+public class RateLimitBudget {
+
+    /**
+     * 토큰 식별자 (로그용, 토큰 값 자체는 보관하지 않음)
+     */
+    private final String tokenId;
+
+    /**
+     * 남은 호출 수 (-1이면 아직 관측되지 않음)
+     */
+    private int remaining = -1;
+
+    /**
+     * 시간당 최대 호출 수
+     */
+    private int limit = -1;
+
+    /**
+     * 예산이 초기화되는 시각 (epoch seconds)
+     */
+    private long resetEpochSeconds;
+
+    /**
+     * 백그라운드 호출이 다음으로 실행 가능한 시각 (epoch millis)
+     */
+    private long nextBackgroundSlotMillis;
+
+    public RateLimitBudget(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    /**
+     * GitHub 클라이언트가 마지막으로 관측한 Rate Limit으로 갱신
+     *
+     * @param rateLimit GitHub.lastRateLimit() 결과 (nullable)
+     */
+    public synchronized void update(GHRateLimit rateLimit) {
+        if (rateLimit == null || rateLimit.getCore() == null) {
+            return;
+        }
+        GHRateLimit.Record core = rateLimit.getCore();
+        if (core.getLimit() <= 0) {
+            return; // UnknownLimitRecord (헤더 없는 응답)
+        }
+        apply(core.getRemaining(), core.getLimit(), core.getResetEpochSeconds());
+    }
+
+    /**
+     * 응답 헤더 값으로 직접 갱신 (GitHub 클라이언트를 거치지 않는 HTTP 호출용)
+     *
+     * @param remaining X-RateLimit-Remaining
+     * @param limit X-RateLimit-Limit
+     * @param resetEpochSeconds X-RateLimit-Reset
+     */
+    public synchronized void update(int remaining, int limit, long resetEpochSeconds) {
+        if (limit <= 0) {
+            return;
+        }
+        apply(remaining, limit, resetEpochSeconds);
+    }
+
+    /**
+     * 더 최신 관측값일 때만 반영
+     * 같은 reset 구간에서는 remaining이 줄어들기만 하므로, 순서가 뒤바뀐 응답이나
+     * 다른 경로로 이미 갱신된 값을 오래된 값으로 덮어쓰지 않음
+     */
+    private void apply(int remaining, int limit, long resetEpochSeconds) {
+        boolean newerWindow = resetEpochSeconds > this.resetEpochSeconds;
+        boolean sameWindow = resetEpochSeconds == this.resetEpochSeconds;
+        if (this.remaining >= 0 && !newerWindow && !(sameWindow && remaining <= this.remaining)) {
+            return;
+        }
+        this.remaining = remaining;
+        this.limit = limit;
+        this.resetEpochSeconds = resetEpochSeconds;
+    }
+
+    /**
+     * Rate Limit 초과 응답을 받은 경우 예산 소진으로 기록
+     *
+     * @param retryAtEpochSeconds 다시 호출 가능한 시각
+     */
+    public synchronized void markExhausted(long retryAtEpochSeconds) {
+        this.remaining = 0;
+        this.resetEpochSeconds = Math.max(resetEpochSeconds, retryAtEpochSeconds);
+    }
+
+    /**
+     * 토큰 선택 시 비교할 남은 예산 (아직 관측 전이면 최대값으로 간주)
+     *
+     * @return 남은 호출 수
+     */
+    public synchronized int effectiveRemaining() {
+        return remaining < 0 ? Integer.MAX_VALUE : remaining;
+    }
+
+    /**
+     * 주어진 우선순위의 호출이 실행되기까지 기다려야 하는 시간 추정 (슬롯 예약 없음)
+     *
+     * @param priority 호출 우선순위
+     * @param backgroundReserve 긴급 호출을 위해 남겨둘 예산
+     * @param nowMillis 현재 시각 (epoch millis)
+     * @return 대기 시간 (millis), 0이면 즉시 실행
+     */
+    public synchronized long estimateDelayMillis(GitHubCallPriority priority, int backgroundReserve, long nowMillis) {
+        long delay = budgetDelayMillis(priority, backgroundReserve, nowMillis);
+        if (delay != 0 || priority == GitHubCallPriority.URGENT || remaining < 0) {
+            return delay;
+        }
+        return Math.max(0, nextBackgroundSlotMillis - nowMillis);
+    }
+
+    /**
+     * 주어진 우선순위의 호출이 실행되기까지 기다려야 하는 시간 계산
+     * 백그라운드 호출은 예약분을 남기고 reset 시각까지 균등하게 분산되도록 슬롯을 예약함
+     *
+     * @param priority 호출 우선순위
+     * @param backgroundReserve 긴급 호출을 위해 남겨둘 예산
+     * @param nowMillis 현재 시각 (epoch millis)
+     * @return 대기 시간 (millis), 0이면 즉시 실행
+     */
+    public synchronized long reserveDelayMillis(GitHubCallPriority priority, int backgroundReserve, long nowMillis) {
+        long delay = budgetDelayMillis(priority, backgroundReserve, nowMillis);
+        if (delay != 0 || priority == GitHubCallPriority.URGENT || remaining < 0) {
+            return delay;
+        }
+
+        long resetMillis = resetEpochSeconds * 1000;
+        if (resetMillis <= nowMillis) {
+            return 0;
+        }
+
+        // 남은 시간 동안 예약분을 제외한 만큼만 쓰도록 간격을 둠
+        long interval = (resetMillis - nowMillis) / (remaining - backgroundReserve);
+        long slot = Math.max(nowMillis, nextBackgroundSlotMillis);
+        nextBackgroundSlotMillis = slot + interval;
+        return slot - nowMillis;
+    }
+
+    /**
+     * 예산 소진으로 인해 reset 시각까지 기다려야 하는 시간
+     */
+    private long budgetDelayMillis(GitHubCallPriority priority, int backgroundReserve, long nowMillis) {
+        if (remaining < 0) {
+            return 0; // 아직 관측 전이면 일단 호출해서 헤더를 받음
+        }
+
+        long resetMillis = resetEpochSeconds * 1000;
+        if (resetMillis <= nowMillis) {
+            return 0; // 이미 초기화 시각이 지남
+        }
+
+        int spendable = priority == GitHubCallPriority.URGENT ? remaining : remaining - backgroundReserve;
+        return spendable > 0 ? 0 : resetMillis - nowMillis;
+    }
+}
@@ -0,0 +1,255 @@
+package greensnaback0229.pr_review_server.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Co-change Index
+ * 병합된 변경(PR)마다 함께 바뀐 파일 쌍의 횟수를 저장소별로 누적하는 저장소
+ * 변경 파일이 주어지면 그 파일들과 자주 함께 바뀐 파일을 순위대로 반환
+ * - 같은 변경은 한 번만 반영 (변경 ID 기록, 저장소별 최근 max-recorded-changes개만 유지)
+ * - 파일이 너무 많은 변경(대규모 리팩터링, 일괄 포맷팅)은 관계를 흐리므로 반영하지 않음
+ * - 저장소별 파일 수가 max-tracked-files를 넘으면 가장 오래 바뀌지 않은 파일과 그 관계부터 제거
+ * - store-path가 지정되면 변경이 있을 때 flush-interval-ms마다 한 번 JSON 파일로 저장하고(종료 시에도 저장)
+ *   시작 시 다시 읽음
+ */
+@Slf4j
+@Repository
+public class CoChangeIndex {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path storePath;
+    private final int maxFilesPerChange;
+    private final int minSupport;
+    private final int maxTrackedFiles;
+    private final int maxRecordedChanges;
+
+    /**
+     * 저장소 → 파일 → 함께 바뀐 파일 → 횟수
+     */
+    private final Map<String, Map<String, Map<String, Integer>>> pairs = new HashMap<>();
+
+    /**
+     * 저장소 → 파일 → 반영된 변경에서 바뀐 횟수 (마지막으로 바뀐 순서 유지)
+     */
+    private final Map<String, Map<String, Integer>> changes = new HashMap<>();
+
+    /**
+     * 저장소 → 반영된 변경 ID (반영한 순서 유지)
+     */
+    private final Map<String, LinkedHashSet<String>> recorded = new HashMap<>();
+
+    /**
+     * 마지막 저장 이후 변경이 있는지 여부
+     */
+    private boolean dirty;
+
+    private final ScheduledExecutorService flusher;
+
+    public CoChangeIndex(
+            @Value("${review.co-change.store-path:}") String storePath,
+            @Value("${review.co-change.max-files-per-change:50}") int maxFilesPerChange,
+            @Value("${review.co-change.min-support:2}") int minSupport,
+            @Value("${review.co-change.max-tracked-files:5000}") int maxTrackedFiles,
+            @Value("${review.co-change.max-recorded-changes:2000}") int maxRecordedChanges,
+            @Value("${review.co-change.flush-interval-ms:30000}") long flushIntervalMillis
+    ) {
+        this.storePath = storePath == null || storePath.isBlank() ? null : Path.of(storePath);
+        this.maxFilesPerChange = maxFilesPerChange;
+        this.minSupport = minSupport;
+        this.maxTrackedFiles = maxTrackedFiles;
+        this.maxRecordedChanges = maxRecordedChanges;
+        if (this.storePath == null || flushIntervalMillis <= 0) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "co-change-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 저장된 파일이 있으면 읽어옴 (읽기 실패 시 빈 색인으로 시작)
+     */
+    @PostConstruct
+    public synchronized void load() {
+        if (storePath == null || !Files.exists(storePath)) {
+            return;
+        }
+        try {
+            Snapshot snapshot = objectMapper.readValue(storePath.toFile(), Snapshot.class);
+            pairs.putAll(snapshot.getPairs());
+            changes.putAll(snapshot.getChanges());
+            snapshot.getRecorded().forEach((repo, ids) -> recorded.put(repo, new LinkedHashSet<>(ids)));
+            log.info("Loaded co-change index of {} repositories from {}", recorded.size(), storePath);
+        } catch (IOException e) {
+            log.warn("Failed to load co-change index {}: {}", storePath, e.getMessage());
+        }
+    }
+
+    /**
+     * 병합된 변경 하나를 반영
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param changeId 변경 ID (PR 번호, 커밋 SHA 등)
+     * @param paths 함께 바뀐 파일 경로
+     * @return 새로 반영했으면 true, 이미 반영했거나 제외 대상이면 false
+     */
+    public synchronized boolean record(String repoFullName, String changeId, Collection<String> paths) {
+        LinkedHashSet<String> repoRecorded = recorded.computeIfAbsent(repoFullName, k -> new LinkedHashSet<>());
+        if (!repoRecorded.add(changeId)) {
+            return false;
+        }
+        while (repoRecorded.size() > maxRecordedChanges) {
+            repoRecorded.remove(repoRecorded.iterator().next());
+        }
+        dirty = true;
+        List<String> files = paths.stream().distinct().toList();
+        if (files.size() < 2 || files.size() > maxFilesPerChange) {
+            return false; // 관계가 없거나 너무 넓은 변경 (ID만 기록하여 다시 조회하지 않음)
+        }
+
+        Map<String, Map<String, Integer>> repoPairs = pairs.computeIfAbsent(repoFullName, k -> new HashMap<>());
+        Map<String, Integer> repoChanges = changes.computeIfAbsent(repoFullName, k -> new LinkedHashMap<>());
+        for (String file : files) {
+            // 다시 넣어 가장 최근에 바뀐 파일로 순서를 옮김
+            Integer count = repoChanges.remove(file);
+            repoChanges.put(file, count == null ? 1 : count + 1);
+            Map<String, Integer> partners = repoPairs.computeIfAbsent(file, k -> new HashMap<>());
+            for (String other : files) {
+                if (!other.equals(file)) {
+                    partners.merge(other, 1, Integer::sum);
+                }
+            }
+        }
+        while (repoChanges.size() > maxTrackedFiles) {
+            evict(repoPairs, repoChanges, repoChanges.keySet().iterator().next());
+        }
+        return true;
+    }
+
+    /**
+     * 파일 하나와 그 파일이 포함된 관계를 제거 (관계는 양방향으로 저장되어 있음)
+     */
+    private static void evict(Map<String, Map<String, Integer>> repoPairs, Map<String, Integer> repoChanges,
+                              String file) {
+        repoChanges.remove(file);
+        Map<String, Integer> partners = repoPairs.remove(file);
+        if (partners == null) {
+            return;
+        }
+        for (String other : partners.keySet()) {
+            Map<String, Integer> reverse = repoPairs.get(other);
+            if (reverse != null) {
+                reverse.remove(file);
+            }
+        }
+    }
+
+    /**
+     * 이미 반영한 변경인지 확인
+     */
+    public synchronized boolean isRecorded(String repoFullName, String changeId) {
+        Set<String> ids = recorded.get(repoFullName);
+        return ids != null && ids.contains(changeId);
+    }
+
+    /**
+     * 주어진 파일들과 자주 함께 바뀐 파일 (입력 파일 제외)
+     * 점수는 입력 파일별 신뢰도(함께 바뀐 횟수 / 입력 파일이 바뀐 횟수)의 합이며,
+     * 함께 바뀐 횟수가 min-support 미만인 관계는 우연으로 보고 제외
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param paths 변경 파일 경로
+     * @param limit 최대 반환 수
+     * @return 점수 순 파일 경로
+     */
+    public synchronized List<String> related(String repoFullName, Collection<String> paths, int limit) {
+        Map<String, Map<String, Integer>> repoPairs = pairs.getOrDefault(repoFullName, Map.of());
+        Map<String, Integer> repoChanges = changes.getOrDefault(repoFullName, Map.of());
+
+        Map<String, Double> scores = new HashMap<>();
+        for (String path : paths) {
+            int changed = repoChanges.getOrDefault(path, 0);
+            repoPairs.getOrDefault(path, Map.of()).forEach((other, count) -> {
+                if (count >= minSupport && !paths.contains(other)) {
+                    scores.merge(other, (double) count / changed, Double::sum);
+                }
+            });
+        }
+
+        List<String> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.comparing((String path) -> scores.get(path)).reversed()
+                .thenComparing(Comparator.naturalOrder()));
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    /**
+     * 마지막 저장 이후 변경이 있으면 JSON 파일로 저장
+     */
+    public synchronized void flush() {
+        if (storePath == null || !dirty) {
+            return;
+        }
+        try {
+            Path parent = storePath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // 쓰는 도중 종료되어도 기존 파일이 깨지지 않도록 임시 파일에 쓴 뒤 교체
+            Path temp = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new Snapshot(pairs, changes, recorded));
+            Files.move(temp, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            log.warn("Failed to persist co-change index {}: {}", storePath, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * 파일 저장 형식
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Snapshot {
+        private Map<String, Map<String, Map<String, Integer>>> pairs = new HashMap<>();
+        private Map<String, Map<String, Integer>> changes = new HashMap<>();
+        private Map<String, LinkedHashSet<String>> recorded = new HashMap<>();
+    }
+}
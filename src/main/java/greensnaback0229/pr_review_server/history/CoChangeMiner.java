@@ -0,0 +1,144 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.github.GitHubCallPriority;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.kohsuke.github.GHDirection;
+import org.kohsuke.github.GHIssueState;
+import org.kohsuke.github.GHPullRequest;
+import org.kohsuke.github.GHPullRequestFileDetail;
+import org.kohsuke.github.GHPullRequestQueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 병합된 PR의 변경 파일을 Co-change Index에 반영하는 컴포넌트
+ * - PR이 병합되면(webhook) 해당 PR을 백그라운드 스레드에서 반영 (webhook 응답은 GitHub 조회를 기다리지 않음)
+ * - 저장소를 처음 리뷰할 때 최근 병합된 PR을 백그라운드 우선순위로 한 번 백필
+ */
+@Slf4j
+@Component
+public class CoChangeMiner {
+
+    private final CoChangeIndex coChangeIndex;
+    private final GitHubCallScheduler scheduler;
+    private final boolean enabled;
+    private final int backfillMaxPullRequests;
+
+    private final Set<String> backfilledRepos = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "co-change-miner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CoChangeMiner(
+            CoChangeIndex coChangeIndex,
+            GitHubCallScheduler scheduler,
+            @Value("${review.co-change.enabled:true}") boolean enabled,
+            @Value("${review.co-change.backfill-max-prs:100}") int backfillMaxPullRequests
+    ) {
+        this.coChangeIndex = coChangeIndex;
+        this.scheduler = scheduler;
+        this.enabled = enabled;
+        this.backfillMaxPullRequests = backfillMaxPullRequests;
+    }
+
+    /**
+     * 병합된 PR의 변경 파일 반영을 백그라운드로 시작
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param prNumber PR 번호
+     */
+    public void recordMergedPullRequest(String repoFullName, int prNumber) {
+        if (!enabled || coChangeIndex.isRecorded(repoFullName, changeId(prNumber))) {
+            return;
+        }
+        executor.submit(() -> record(repoFullName, prNumber));
+    }
+
+    /**
+     * 병합된 PR의 변경 파일 반영 (실패하면 로그만 남김)
+     * 리뷰를 기다리게 하지 않도록 백필과 같이 백그라운드 우선순위로 조회
+     */
+    void record(String repoFullName, int prNumber) {
+        try {
+            List<String> paths = scheduler.execute(GitHubCallPriority.BACKGROUND, repoFullName,
+                    gh -> gh.getRepository(repoFullName).getPullRequest(prNumber).listFiles().toList()).stream()
+                    .map(GHPullRequestFileDetail::getFilename)
+                    .toList();
+            if (coChangeIndex.record(repoFullName, changeId(prNumber), paths)) {
+                log.info("Recorded co-changes of merged PR {}/#{}: {} files", repoFullName, prNumber, paths.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to record co-changes of merged PR {}/#{}: {}", repoFullName, prNumber, e.getMessage());
+        }
+    }
+
+    /**
+     * 이 저장소의 최근 병합 PR을 아직 백필하지 않았으면 백그라운드로 백필 시작 (프로세스당 한 번)
+     *
+     * @param repoFullName 저장소 풀네임
+     */
+    public void ensureBackfilled(String repoFullName) {
+        if (!enabled || backfillMaxPullRequests <= 0 || !backfilledRepos.add(repoFullName)) {
+            return;
+        }
+        executor.submit(() -> backfill(repoFullName));
+    }
+
+    /**
+     * 최근에 닫힌 PR 중 병합된 PR의 변경 파일 반영 (이미 반영한 PR은 건너뜀)
+     *
+     * @param repoFullName 저장소 풀네임
+     */
+    void backfill(String repoFullName) {
+        try {
+            List<GHPullRequest> pullRequests = scheduler.execute(GitHubCallPriority.BACKGROUND, repoFullName,
+                    gh -> gh.getRepository(repoFullName).queryPullRequests()
+                            .state(GHIssueState.CLOSED)
+                            .sort(GHPullRequestQueryBuilder.Sort.UPDATED)
+                            .direction(GHDirection.DESC)
+                            .list()
+                            .withPageSize(Math.min(backfillMaxPullRequests, 100))
+                            .iterator()
+                            .nextPage());
+
+            int recordedCount = 0;
+            for (GHPullRequest pr : pullRequests.subList(0, Math.min(backfillMaxPullRequests, pullRequests.size()))) {
+                String changeId = changeId(pr.getNumber());
+                if (pr.getMergedAt() == null || coChangeIndex.isRecorded(repoFullName, changeId)) {
+                    continue;
+                }
+                List<GHPullRequestFileDetail> files = scheduler.execute(GitHubCallPriority.BACKGROUND, pr.getRoot(),
+                        gh -> pr.listFiles().toList());
+                if (coChangeIndex.record(repoFullName, changeId,
+                        files.stream().map(GHPullRequestFileDetail::getFilename).toList())) {
+                    recordedCount++;
+                }
+            }
+            log.info("Backfilled co-changes of {}: {} merged PRs", repoFullName, recordedCount);
+
+        } catch (IOException e) {
+            log.warn("Failed to backfill co-changes of {}: {}", repoFullName, e.getMessage());
+            backfilledRepos.remove(repoFullName); // 다음 리뷰에서 다시 시도
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static String changeId(int prNumber) {
+        return "#" + prNumber;
+    }
+}
@@ -0,0 +1,109 @@
+package greensnaback0229.pr_review_server.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Hunk Fingerprint Store
+ * 기능별 hunk 지문 → 그 hunk에 대한 지적 내용을 저장하는 저장소
+ * rebase/force-push나 백포트 PR에서 내용이 같은 hunk는 LLM을 다시 호출하지 않고 기존 지적을 재사용
+ * - 항목 수 상한을 넘으면 가장 오래 사용되지 않은 지문부터 제거 (LRU)
+ * - 같은 지적 내용은 한 번만 저장하고 지문은 그 ID를 참조 (지적이 없던 hunk는 빈 문자열)
+ * - store-path가 지정되면 flush-interval-ms마다 변경분을 JSON 파일로 저장하고 시작 시 다시 읽음
+ */
+@Repository
+public class HunkFingerprintStore extends PersistentLruStore<String, HunkFingerprintStore.Snapshot> {
+
+    /**
+     * 지적 내용 ID → 지적 내용 (entries는 "기능|지문" → 지적 내용 ID)
+     */
+    private final Map<String, String> findings = new HashMap<>();
+
+    public HunkFingerprintStore(
+            @Value("${review.fingerprint.store-path:}") String storePath,
+            @Value("${review.fingerprint.max-entries:10000}") int maxEntries,
+            @Value("${review.fingerprint.flush-interval-ms:30000}") long flushIntervalMillis
+    ) {
+        super("hunk-fingerprint", new ObjectMapper(), Snapshot.class, storePath, maxEntries, flushIntervalMillis);
+    }
+
+    /**
+     * hunk 지문으로 이전 지적 내용 조회
+     *
+     * @param feature 기능 이름
+     * @param fingerprint hunk 지문
+     * @return 지적 내용 Optional
+     */
+    public synchronized Optional<String> find(String feature, String fingerprint) {
+        String findingId = entries.get(key(feature, fingerprint));
+        return Optional.ofNullable(findingId).map(findings::get);
+    }
+
+    /**
+     * hunk별 지적 내용 기록 (파일에는 다음 저장 때 반영)
+     *
+     * @param feature 기능 이름
+     * @param findingsByFingerprint hunk 지문 → 그 hunk에 대한 지적 내용 (지적이 없으면 빈 문자열)
+     */
+    public synchronized void record(String feature, Map<String, String> findingsByFingerprint) {
+        if (findingsByFingerprint.isEmpty()) {
+            return;
+        }
+        findingsByFingerprint.forEach((fingerprint, finding) -> {
+            String findingId = sha256(finding);
+            findings.put(findingId, finding);
+            entries.put(key(feature, fingerprint), findingId);
+        });
+        // 제거된 지문만 참조하던 지적 내용 정리
+        findings.keySet().retainAll(entries.values());
+        markDirty();
+    }
+
+    @Override
+    protected Snapshot snapshot() {
+        return new Snapshot(new LinkedHashMap<>(entries), new HashMap<>(findings));
+    }
+
+    @Override
+    protected void restore(Snapshot snapshot) {
+        findings.putAll(snapshot.getFindings());
+        snapshot.getHunks().forEach(entries::put);
+    }
+
+    private static String key(String feature, String fingerprint) {
+        return feature + "|" + fingerprint;
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * 파일 저장 형식 (hunks는 오래 사용되지 않은 순)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Snapshot {
+        private LinkedHashMap<String, String> hunks = new LinkedHashMap<>();
+        private Map<String, String> findings = new HashMap<>();
+    }
+}
@@ -0,0 +1,136 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.collector.diff.FilePatch;
+import greensnaback0229.pr_review_server.collector.diff.Hunk;
+import greensnaback0229.pr_review_server.collector.diff.PatchParser;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.history.dto.HunkReusePlan;
+import greensnaback0229.pr_review_server.history.dto.HunkReusePlan.PlannedHunk;
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 변경 파일의 hunk를 지문으로 조회하여 이전 지적을 재사용할 hunk와 새로 리뷰할 hunk로 나누는 컴포넌트
+ * hunk가 없는 변경(바이너리, 이름 변경 등)은 지문을 만들 수 없으므로 항상 새로 리뷰하고,
+ * "+}"나 import 한 줄처럼 너무 작은 hunk는 같은 내용이라도 맥락이 다를 수 있으므로 재사용하지 않음
+ */
+@Slf4j
+@Component
+public class HunkReusePlanner {
+
+    private final HunkFingerprintStore fingerprintStore;
+    private final PatchParser patchParser = new PatchParser();
+
+    /**
+     * 지문을 조회/기록할 hunk의 최소 크기 (추가/삭제된 줄의 공백 제외 글자 수)
+     */
+    private final int minChangedCharacters;
+
+    public HunkReusePlanner(
+            HunkFingerprintStore fingerprintStore,
+            @Value("${review.fingerprint.min-changed-chars:40}") int minChangedCharacters
+    ) {
+        this.fingerprintStore = fingerprintStore;
+        this.minChangedCharacters = minChangedCharacters;
+    }
+
+    /**
+     * 기능의 변경 파일을 재사용/신규로 분류
+     *
+     * @param feature 기능 이름
+     * @param changedFiles 변경 파일 (diff 포함)
+     * @return 분류 결과
+     */
+    public HunkReusePlan plan(String feature, List<FileContent> changedFiles) {
+        List<FileContent> remaining = new ArrayList<>();
+        List<PlannedHunk> plannedHunks = new ArrayList<>();
+        Set<String> reusedFindings = new LinkedHashSet<>();
+        int reusedHunks = 0;
+
+        for (FileContent file : changedFiles) {
+            FilePatch patch = patchParser.parse(file.getPath(), file.getDiff());
+            if (patch.getHunks().isEmpty()) {
+                remaining.add(file);
+                continue;
+            }
+
+            List<Hunk> newHunks = new ArrayList<>();
+            for (Hunk hunk : patch.getHunks()) {
+                if (hunk.changedCharacters() < minChangedCharacters) {
+                    newHunks.add(hunk);
+                    continue;
+                }
+                String fingerprint = hunk.fingerprint(file.getPath());
+                Optional<String> finding = fingerprintStore.find(feature, fingerprint);
+                if (finding.isPresent()) {
+                    if (!finding.get().isBlank()) {
+                        reusedFindings.add(finding.get());
+                    }
+                    reusedHunks++;
+                } else {
+                    newHunks.add(hunk);
+                    plannedHunks.add(new PlannedHunk(fingerprint, file.getPath(), hunk.getNewRange()));
+                }
+            }
+
+            if (newHunks.size() == patch.getHunks().size()) {
+                remaining.add(file);
+            } else if (!newHunks.isEmpty()) {
+                remaining.add(FileContent.builder()
+                        .path(file.getPath())
+                        .diff(patch.filter(newHunks::contains).toPatch())
+                        .type(file.getType())
+                        .build());
+            }
+        }
+
+        if (reusedHunks > 0) {
+            log.info("Reusing findings for {} previously reviewed hunks of feature {}", reusedHunks, feature);
+        }
+        return HunkReusePlan.builder()
+                .remainingFiles(remaining)
+                .newHunks(plannedHunks)
+                .reusedFindings(new ArrayList<>(reusedFindings))
+                .reusedHunkCount(reusedHunks)
+                .build();
+    }
+
+    /**
+     * 리뷰를 마친 새 hunk마다 그 hunk 범위에 속한 지적만 기록
+     * (줄 번호가 없는 지적은 특정 hunk에 속하지 않으므로 기록하지 않고, 지적이 없던 hunk는 빈 내용으로 기록)
+     *
+     * @param feature 기능 이름
+     * @param plan 리뷰 전에 만든 분류 결과
+     * @param findings 구조화된 지적 사항 (변경 후 파일 기준 줄 번호)
+     */
+    public void record(String feature, HunkReusePlan plan, List<ReviewFinding> findings) {
+        Map<String, String> findingsByFingerprint = new LinkedHashMap<>();
+        for (PlannedHunk hunk : plan.getNewHunks()) {
+            String rendered = findings.stream()
+                    .filter(finding -> hunk.getPath().equals(finding.getPath()))
+                    .filter(finding -> finding.getLine() != null && hunk.getNewRange().contains(finding.getLine()))
+                    .map(HunkReusePlanner::render)
+                    .collect(Collectors.joining("\n"));
+            findingsByFingerprint.put(hunk.getFingerprint(), rendered);
+        }
+        fingerprintStore.record(feature, findingsByFingerprint);
+    }
+
+    /**
+     * 재사용할 지적 한 줄 (rebase 후에는 줄 번호가 달라지므로 경로만 표시)
+     */
+    private static String render(ReviewFinding finding) {
+        return "- **[" + finding.getSeverity() + "]** `" + finding.getPath() + "` " + finding.getMessage();
+    }
+}
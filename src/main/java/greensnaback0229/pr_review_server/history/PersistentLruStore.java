@@ -0,0 +1,166 @@
+package greensnaback0229.pr_review_server.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 항목 수 상한이 있는 LRU 저장소의 공통 부분 (리뷰 결과, hunk 지문 저장소가 상속)
+ * - 항목 수 상한을 넘으면 가장 오래 사용되지 않은 항목부터 제거
+ * - store-path가 지정되면 변경이 있을 때 flush-interval-ms마다 한 번 JSON 파일로 저장하고(종료 시에도 저장)
+ *   시작 시 다시 읽음
+ * - 저장할 내용은 잠금 안에서 복사만 하고 파일 쓰기는 잠금 밖에서 하므로 저장 중에도 조회/기록이 막히지 않음
+ *
+ * @param <V> 항목 값 타입
+ * @param <S> 파일 저장 형식
+ */
+@Slf4j
+abstract class PersistentLruStore<V, S> {
+
+    private final String name;
+    private final ObjectMapper objectMapper;
+    private final Class<S> snapshotType;
+    private final Path storePath;
+
+    /**
+     * 키 → 값 (접근 순서 유지, 하위 클래스는 this로 동기화한 메서드 안에서만 사용)
+     */
+    protected final LinkedHashMap<String, V> entries;
+
+    /**
+     * 파일 쓰기가 동시에 두 번 일어나 오래된 내용이 나중에 쓰이지 않도록 하는 잠금
+     */
+    private final Object flushLock = new Object();
+
+    /**
+     * 마지막 저장 이후 변경이 있는지 여부
+     */
+    private boolean dirty;
+
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param name 로그와 저장 스레드 이름에 쓸 저장소 이름 (예: review-memo)
+     * @param objectMapper 파일 읽기/쓰기에 사용할 ObjectMapper
+     * @param snapshotType 파일 저장 형식
+     * @param storePath 파일 경로 (비우면 메모리에만 보관)
+     * @param maxEntries 최대 항목 수
+     * @param flushIntervalMillis 변경 내용을 파일로 저장하는 간격 (0 이하면 종료 시에만 저장)
+     */
+    protected PersistentLruStore(String name, ObjectMapper objectMapper, Class<S> snapshotType,
+                                 String storePath, int maxEntries, long flushIntervalMillis) {
+        this.name = name;
+        this.objectMapper = objectMapper;
+        this.snapshotType = snapshotType;
+        this.storePath = storePath == null || storePath.isBlank() ? null : Path.of(storePath);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        if (this.storePath == null || flushIntervalMillis <= 0) {
+            this.flusher = null;
+            return;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name + "-flush");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 현재 내용을 파일 저장 형식으로 복사 (잠금 안에서 호출됨)
+     */
+    protected abstract S snapshot();
+
+    /**
+     * 파일에서 읽은 내용을 반영 (잠금 안에서 호출됨, snapshot이 만든 순서대로 entries에 넣어야 LRU 순서가 유지됨)
+     */
+    protected abstract void restore(S snapshot);
+
+    /**
+     * 저장된 파일이 있으면 읽어옴 (읽기 실패 시 빈 저장소로 시작)
+     */
+    @PostConstruct
+    public synchronized void load() {
+        if (storePath == null || !Files.exists(storePath)) {
+            return;
+        }
+        try {
+            restore(objectMapper.readValue(storePath.toFile(), snapshotType));
+            log.info("Loaded {} {} entries from {}", entries.size(), name, storePath);
+        } catch (IOException e) {
+            log.warn("Failed to load {} store {}: {}", name, storePath, e.getMessage());
+        }
+    }
+
+    /**
+     * 변경을 기록하여 다음 저장 때 파일에 반영 (잠금 안에서 호출)
+     */
+    protected void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * 저장된 항목 수
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * 마지막 저장 이후 변경이 있으면 JSON 파일로 저장
+     */
+    public void flush() {
+        if (storePath == null) {
+            return;
+        }
+        synchronized (flushLock) {
+            S snapshot;
+            synchronized (this) {
+                if (!dirty) {
+                    return;
+                }
+                snapshot = snapshot();
+                dirty = false;
+            }
+            try {
+                Path parent = storePath.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                // 쓰는 도중 종료되어도 기존 파일이 깨지지 않도록 임시 파일에 쓴 뒤 교체
+                Path temp = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+                objectMapper.writeValue(temp.toFile(), snapshot);
+                Files.move(temp, storePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                synchronized (this) {
+                    dirty = true;
+                }
+                log.warn("Failed to persist {} store {}: {}", name, storePath, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        flush();
+    }
+}
@@ -0,0 +1,75 @@
+package greensnaback0229.pr_review_server.history;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import greensnaback0229.pr_review_server.history.dto.ReviewMemo;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * Review Memo Store
+ * 리뷰 입력 지문 → 기능 리뷰 결과를 저장하는 저장소
+ * - 항목 수 상한을 넘으면 가장 오래 사용되지 않은 결과부터 제거 (LRU)
+ * - store-path가 지정되면 flush-interval-ms마다 변경분을 JSON 파일로 저장하고 시작 시 다시 읽음
+ */
+@Repository
+public class ReviewMemoStore extends PersistentLruStore<ReviewMemo, ReviewMemoStore.Snapshot> {
+
+    public ReviewMemoStore(
+            @Value("${review.memo.store-path:}") String storePath,
+            @Value("${review.memo.max-entries:2000}") int maxEntries,
+            @Value("${review.memo.flush-interval-ms:30000}") long flushIntervalMillis
+    ) {
+        super("review-memo", new ObjectMapper()
+                        .findAndRegisterModules()
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+                Snapshot.class, storePath, maxEntries, flushIntervalMillis);
+    }
+
+    /**
+     * 입력 지문으로 리뷰 결과 조회
+     *
+     * @param key 리뷰 입력 지문
+     * @return 리뷰 결과 Optional
+     */
+    public synchronized Optional<ReviewMemo> find(String key) {
+        return Optional.ofNullable(entries.get(key));
+    }
+
+    /**
+     * 리뷰 결과 저장
+     *
+     * @param key 리뷰 입력 지문
+     * @param memo 리뷰 결과
+     */
+    public synchronized void save(String key, ReviewMemo memo) {
+        entries.put(key, memo);
+        markDirty();
+    }
+
+    @Override
+    protected Snapshot snapshot() {
+        return new Snapshot(new LinkedHashMap<>(entries));
+    }
+
+    @Override
+    protected void restore(Snapshot snapshot) {
+        snapshot.getMemos().forEach(entries::put);
+    }
+
+    /**
+     * 파일 저장 형식 (memos는 오래 사용되지 않은 순)
+     */
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    static class Snapshot {
+        private LinkedHashMap<String, ReviewMemo> memos = new LinkedHashMap<>();
+    }
+}
@@ -0,0 +1,236 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
+import greensnaback0229.pr_review_server.history.dto.ReviewMemo;
+import greensnaback0229.pr_review_server.prompt.PromptBuilder;
+import greensnaback0229.pr_review_server.prompt.dto.ReviewPrompt;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 기능 리뷰 결과 메모이제이션
+ * LLM 제공자, 기능 정의, 변경 diff, 핵심 파일 blob SHA, Feature Memory 버전, 프롬프트 버전이 모두 같으면
+ * 저장된 리뷰 결과를 재사용하고, 같은 입력의 리뷰가 동시에 들어오면 LLM은 한 번만 호출하여 결과를 공유
+ */
+@Slf4j
+@Component
+public class ReviewMemoizer {
+
+    private final ReviewMemoStore store;
+    private final boolean enabled;
+
+    /**
+     * 입력 지문 → 진행 중인 리뷰 (같은 입력의 동시 요청은 이 결과를 기다림)
+     */
+    private final Map<String, CompletableFuture<AggregatedReview>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong shared = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ReviewMemoizer(
+            ReviewMemoStore store,
+            @Value("${review.memo.enabled:true}") boolean enabled
+    ) {
+        this.store = store;
+        this.enabled = enabled;
+    }
+
+    /**
+     * 저장된 결과가 있으면 재사용하고, 없으면 리뷰를 실행하여 저장
+     *
+     * @param feature 기능 이름
+     * @param key 리뷰 입력 지문 ({@link #key})
+     * @param review 실제 리뷰 (LLM 호출)
+     * @return 리뷰 결과
+     */
+    public AggregatedReview memoize(String feature, String key, Supplier<AggregatedReview> review) {
+        return memoize(feature, key, null, review);
+    }
+
+    /**
+     * 저장된 결과가 있으면 재사용하고, 없으면 리뷰를 실행하여 저장
+     * 키는 리뷰 전 메모리로 만들지만 리뷰가 메모리를 갱신하면 같은 입력의 다음 리뷰는 갱신된 메모리로 키를 만드므로,
+     * 갱신된 메모리로 다시 만든 키로도 저장하여 다음 리뷰가 재사용할 수 있게 함
+     * 추가 파일 요청이 남은 채로 끝난 리뷰는 저장하지 않음
+     *
+     * @param feature 기능 이름
+     * @param key 리뷰 전 메모리로 만든 입력 지문 ({@link #key})
+     * @param keyWithMemory 메모리만 바꿔 입력 지문을 다시 만드는 함수 (null이면 원래 키로만 저장)
+     * @param review 실제 리뷰 (LLM 호출)
+     * @return 리뷰 결과
+     */
+    public AggregatedReview memoize(String feature, String key, Function<FeatureMemory, String> keyWithMemory,
+                                    Supplier<AggregatedReview> review) {
+        if (!enabled) {
+            return review.get();
+        }
+
+        Optional<ReviewMemo> memo = store.find(key);
+        if (memo.isPresent()) {
+            hits.incrementAndGet();
+            log.info("Reusing memoized review for feature {} ({})", feature, key);
+            return toReview(feature, memo.get());
+        }
+
+        CompletableFuture<AggregatedReview> flight = new CompletableFuture<>();
+        CompletableFuture<AggregatedReview> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            shared.incrementAndGet();
+            log.info("Waiting for identical in-flight review of feature {} ({})", feature, key);
+            return await(existing);
+        }
+
+        try {
+            // 앞선 요청이 방금 리뷰를 끝내고 저장했을 수 있으므로 다시 확인
+            memo = store.find(key);
+            AggregatedReview result;
+            if (memo.isPresent()) {
+                hits.incrementAndGet();
+                result = toReview(feature, memo.get());
+            } else {
+                misses.incrementAndGet();
+                result = review.get();
+                if (result != null && result.isTruncated()) {
+                    log.info("Not memoizing truncated review of feature {}", feature);
+                } else if (result != null) {
+                    save(key, keyWithMemory, result);
+                }
+            }
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * 결과를 입력 지문으로 저장하고, 리뷰가 메모리를 갱신했으면 갱신된 메모리로 만든 지문으로도 저장
+     */
+    private void save(String key, Function<FeatureMemory, String> keyWithMemory, AggregatedReview result) {
+        ReviewMemo memo = ReviewMemo.builder()
+                .review(result.getReview())
+                .findings(result.getFindings())
+                .reviewedAt(result.getReviewedAt())
+                .build();
+        store.save(key, memo);
+        if (keyWithMemory != null && result.getUpdatedMemory() != null) {
+            String updatedKey = keyWithMemory.apply(result.getUpdatedMemory());
+            if (!updatedKey.equals(key)) {
+                store.save(updatedKey, memo);
+            }
+        }
+    }
+
+    /**
+     * 리뷰 입력 지문 생성
+     *
+     * @param provider 리뷰할 LLM 제공자 이름
+     * @param definition 기능 정의
+     * @param memory 기능 메모리 (없으면 null)
+     * @param changedFiles 변경된 파일 (diff)
+     * @param coreFiles 핵심 파일 (blob SHA, 없으면 내용)
+     * @param systemPrompt 시스템 프롬프트
+     * @param prompt 최종 리뷰 프롬프트 (windowing/의존 파일/이전 리뷰 요약 등 설정에 따른 차이 반영)
+     * @return SHA-256 지문
+     */
+    public static String key(String provider, FeatureDefinition definition, FeatureMemory memory,
+                             List<FileContent> changedFiles, List<FileContent> coreFiles, String systemPrompt,
+                             ReviewPrompt prompt) {
+        StringBuilder input = new StringBuilder()
+                .append("prompt-version:").append(PromptBuilder.PROMPT_VERSION).append('\n')
+                .append("provider:").append(provider).append('\n')
+                .append("feature:").append(definition.getName())
+                .append('|').append(definition.getDescription())
+                .append('|').append(definition.getPaths())
+                .append('|').append(definition.getCoreFiles())
+                .append('|').append(definition.getCriticality())
+                .append('|').append(definition.getProvider()).append('\n')
+                .append("memory:").append(memoryVersion(memory)).append('\n');
+        changedFiles.stream()
+                .sorted(Comparator.comparing(FileContent::getPath))
+                .forEach(file -> input.append("changed:").append(file.getPath()).append(':')
+                        .append(sha256(String.valueOf(file.getDiff()))).append('\n'));
+        coreFiles.stream()
+                .sorted(Comparator.comparing(FileContent::getPath))
+                .forEach(file -> input.append("core:").append(file.getPath()).append(':')
+                        .append(file.getSha() != null ? file.getSha() : sha256(String.valueOf(file.getContent())))
+                        .append('\n'));
+        input.append("system:").append(sha256(systemPrompt)).append('\n')
+                .append("prompt:").append(sha256(prompt.getText())).append('\n');
+        return sha256(input.toString());
+    }
+
+    /**
+     * 기능 메모리 버전 (메모리 내용의 해시, 없으면 "none")
+     */
+    static String memoryVersion(FeatureMemory memory) {
+        if (memory == null) {
+            return "none";
+        }
+        return sha256(memory.getSummary() + "\n" + memory.getKeyPoints() + "\n" + memory.getRelatedFiles());
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getShared() {
+        return shared.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static AggregatedReview toReview(String feature, ReviewMemo memo) {
+        return AggregatedReview.builder()
+                .feature(feature)
+                .review(memo.getReview())
+                .findings(memo.getFindings())
+                .reviewedAt(memo.getReviewedAt())
+                .build();
+    }
+
+    private static AggregatedReview await(CompletableFuture<AggregatedReview> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private static String sha256(String text) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.history.dto.ReviewState;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Review State Repository
+ * PR별 마지막 리뷰 상태를 저장하고 조회하는 저장소
+ * 현재는 In-Memory 방식으로 구현 (추후 DB로 확장 가능)
+ */
+@Repository
+public class ReviewStateRepository {
+    
+    private final Map<String, ReviewState> stateStore = new ConcurrentHashMap<>();
+
+    /**
+     * 리뷰 상태 저장
+     * 
+     * @param state 저장할 ReviewState
+     */
+    public void save(ReviewState state) {
+        stateStore.put(key(state.getRepoFullName(), state.getPrNumber()), state);
+    }
+
+    /**
+     * PR의 마지막 리뷰 상태 조회
+     * 
+     * @param repoFullName 저장소 풀네임
+     * @param prNumber PR 번호
+     * @return ReviewState Optional
+     */
+    public Optional<ReviewState> find(String repoFullName, int prNumber) {
+        return Optional.ofNullable(stateStore.get(key(repoFullName, prNumber)));
+    }
+
+    /**
+     * PR의 리뷰 상태 삭제 (PR이 닫힌 경우)
+     * 
+     * @param repoFullName 저장소 풀네임
+     * @param prNumber PR 번호
+     */
+    public void delete(String repoFullName, int prNumber) {
+        stateStore.remove(key(repoFullName, prNumber));
+    }
+
+    private String key(String repoFullName, int prNumber) {
+        return repoFullName + "#" + prNumber;
+    }
+}
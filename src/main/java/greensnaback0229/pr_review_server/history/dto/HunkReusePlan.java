@@ -0,0 +1,61 @@
+package greensnaback0229.pr_review_server.history.dto;
+
+import greensnaback0229.pr_review_server.collector.diff.LineRange;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기능 하나의 변경 파일을 이전에 리뷰한 hunk와 새 hunk로 나눈 결과
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HunkReusePlan {
+    /**
+     * LLM에 보낼 변경 파일 (이전에 리뷰한 hunk는 제외된 diff)
+     */
+    @Builder.Default
+    private List<FileContent> remainingFiles = new ArrayList<>();
+    
+    /**
+     * 새로 리뷰할 hunk (리뷰 후 hunk별 지적 기록 대상)
+     */
+    @Builder.Default
+    private List<PlannedHunk> newHunks = new ArrayList<>();
+    
+    /**
+     * 재사용할 이전 지적 내용 (중복 제거됨, 지적이 없던 hunk는 포함하지 않음)
+     */
+    @Builder.Default
+    private List<String> reusedFindings = new ArrayList<>();
+    
+    /**
+     * 재사용된 hunk 수
+     */
+    private int reusedHunkCount;
+    
+    /**
+     * 모든 hunk가 이전에 리뷰된 경우 (LLM 호출 불필요)
+     */
+    public boolean isFullyReused() {
+        return remainingFiles.isEmpty() && reusedHunkCount > 0;
+    }
+    
+    /**
+     * 새로 리뷰할 hunk 하나 (지적 사항을 줄 번호로 hunk에 배정하기 위한 위치 정보)
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class PlannedHunk {
+        private final String fingerprint;
+        private final String path;
+        private final LineRange newRange;
+    }
+}
@@ -0,0 +1,38 @@
+package greensnaback0229.pr_review_server.history.dto;
+
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 기능 리뷰 결과 메모
+ * 리뷰 입력이 완전히 같으면 LLM을 다시 호출하지 않고 이 결과를 재사용
+ * (Feature Memory 업데이트는 처음 리뷰할 때 이미 반영되었으므로 저장하지 않음)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewMemo {
+    /**
+     * 게시한 리뷰 내용
+     */
+    private String review;
+
+    /**
+     * 구조화된 지적 사항
+     */
+    @Builder.Default
+    private List<ReviewFinding> findings = new ArrayList<>();
+
+    /**
+     * 처음 리뷰한 시각
+     */
+    private LocalDateTime reviewedAt;
+}
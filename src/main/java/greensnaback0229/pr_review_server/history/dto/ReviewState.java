@@ -0,0 +1,46 @@
+package greensnaback0229.pr_review_server.history.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * PR의 마지막 리뷰 상태
+ * 다음 synchronize 이벤트에서 마지막으로 리뷰한 커밋 이후의 변경분만 리뷰하기 위해 사용
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewState {
+    /**
+     * 저장소 풀네임 (owner/repo)
+     */
+    private String repoFullName;
+    
+    /**
+     * PR 번호
+     */
+    private int prNumber;
+    
+    /**
+     * 마지막으로 리뷰한 head 커밋 SHA
+     */
+    private String headSha;
+    
+    /**
+     * 기능별 마지막 리뷰 요약 (기능 이름 → 요약)
+     */
+    @Builder.Default
+    private Map<String, String> featureSummaries = new HashMap<>();
+    
+    /**
+     * 마지막 리뷰 시각
+     */
+    private LocalDateTime reviewedAt;
+}
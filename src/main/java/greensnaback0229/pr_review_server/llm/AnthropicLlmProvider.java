@@ -0,0 +1,269 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.anthropic.client.AnthropicClient;
+import com.anthropic.core.http.StreamResponse;
+import com.anthropic.helpers.MessageAccumulator;
+import com.anthropic.models.messages.CacheControlEphemeral;
+import com.anthropic.models.messages.ContentBlockParam;
+import com.anthropic.models.messages.Message;
+import com.anthropic.models.messages.MessageCreateParams;
+import com.anthropic.models.messages.MessageParam;
+import com.anthropic.models.messages.RawMessageStreamEvent;
+import com.anthropic.models.messages.TextBlockParam;
+import com.anthropic.models.messages.ToolChoiceTool;
+import com.anthropic.models.messages.ToolUseBlock;
+import com.fasterxml.jackson.databind.JsonNode;
+import greensnaback0229.pr_review_server.llm.dto.LlmMessage;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Claude API 제공자
+ * 프롬프트 캐시, 스트리밍, 구조화 응답, Message Batches, 재시도/hedge/회로 차단기를 사용
+ */
+@Slf4j
+@Component
+public class AnthropicLlmProvider implements LlmProvider {
+
+    static final String NAME = "anthropic";
+
+    private final AnthropicClient client;
+    private final ReviewResponseParser responseParser = new ReviewResponseParser();
+    private final LlmUsageTracker usageTracker;
+    private final MessageBatchQueue batchQueue;
+    private final LlmCallExecutor callExecutor;
+    private final ModelRouter modelRouter;
+
+    /**
+     * true면 시스템 프롬프트에 캐시 지점을 둠
+     */
+    private final boolean promptCaching;
+
+    /**
+     * true면 응답을 스트리밍으로 받아 추가 파일 요청 블록을 응답이 끝나기 전에 감지
+     */
+    private final boolean streaming;
+
+    /**
+     * true면 submit_review 도구 사용을 강제하여 리뷰/추가 파일 요청/메모리 제안을 스키마에 맞는 JSON으로 받음
+     */
+    @Getter
+    private final boolean structuredOutput;
+
+    public AnthropicLlmProvider(
+            AnthropicClient client,
+            @Value("${review.llm.prompt-caching:true}") boolean promptCaching,
+            @Value("${review.llm.streaming:true}") boolean streaming,
+            @Value("${review.llm.structured-output:true}") boolean structuredOutput,
+            LlmUsageTracker usageTracker,
+            MessageBatchQueue batchQueue,
+            LlmCallExecutor callExecutor,
+            ModelRouter modelRouter
+    ) {
+        this.client = client;
+        this.batchQueue = batchQueue;
+        this.callExecutor = callExecutor;
+        this.modelRouter = modelRouter;
+        this.promptCaching = promptCaching;
+        this.streaming = streaming;
+        this.structuredOutput = structuredOutput;
+        this.usageTracker = usageTracker;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    /**
+     * Claude API 요청 전송
+     * DEFERRED 요청은 배치로 제출하고, 나머지는 일시적인 오류를 재시도하며 동기/스트리밍으로 전송
+     */
+    @Override
+    public ReviewResponse send(String systemPrompt, List<LlmMessage> messages, LlmPriority priority,
+                               ModelRoute route, ReviewStreamListener listener) {
+        long start = System.nanoTime();
+        try {
+            MessageCreateParams.Builder params = MessageCreateParams.builder()
+                    .model(modelRouter.model(route))
+                    .maxTokens(modelRouter.maxTokens(route))
+                    .messages(messages.stream().map(AnthropicLlmProvider::toMessageParam).toList());
+            if (promptCaching) {
+                // 시스템 프롬프트는 모든 요청에서 같으므로 캐시 지점을 둠
+                params.systemOfTextBlockParams(List.of(TextBlockParam.builder()
+                        .text(systemPrompt)
+                        .cacheControl(CacheControlEphemeral.builder().build())
+                        .build()));
+            } else {
+                params.system(systemPrompt);
+            }
+            if (structuredOutput) {
+                params.addTool(ReviewTool.definition())
+                        .toolChoice(ToolChoiceTool.builder().name(ReviewTool.NAME).build());
+            }
+
+            MessageCreateParams request = params.build();
+            boolean batched = priority == LlmPriority.DEFERRED && batchQueue.isEnabled();
+            if (batched) {
+                // 급하지 않은 요청은 배치로 제출하고 결과가 나오면 이어서 진행
+                return toReviewResponse(awaitBatch(batchQueue.submit(request)), null, route, start);
+            }
+
+            // 일시적인 오류는 재시도, 지연되면 hedge (스트리밍은 리스너 부수 효과가 있어 hedge하지 않음)
+            return callExecutor.execute(!streaming, () -> {
+                if (!streaming) {
+                    return toReviewResponse(client.messages().create(request), null, route, start);
+                }
+                ToolInputReader toolInput = new ToolInputReader();
+                return toReviewResponse(receiveStreaming(request, listener, toolInput), toolInput, route, start);
+            });
+
+        } catch (LlmUnavailableException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("LLM request failed", e);
+            throw new RuntimeException("Failed to get review from LLM", e);
+        }
+    }
+
+    /**
+     * 대화 메시지를 Claude API 메시지로 변환 (캐시 블록에는 캐시 지점을 둠)
+     */
+    private static MessageParam toMessageParam(LlmMessage message) {
+        MessageParam.Builder param = MessageParam.builder()
+                .role(message.getRole() == LlmMessage.Role.ASSISTANT
+                        ? MessageParam.Role.ASSISTANT
+                        : MessageParam.Role.USER);
+        List<LlmMessage.Block> blocks = message.getBlocks();
+        if (blocks.size() == 1 && !blocks.get(0).isCached()) {
+            return param.content(blocks.get(0).getText()).build();
+        }
+        return param.contentOfBlockParams(blocks.stream()
+                        .map(block -> {
+                            TextBlockParam.Builder text = TextBlockParam.builder().text(block.getText());
+                            if (block.isCached()) {
+                                text.cacheControl(CacheControlEphemeral.builder().build());
+                            }
+                            return ContentBlockParam.ofText(text.build());
+                        })
+                        .toList())
+                .build();
+    }
+
+    /**
+     * 배치 결과를 큐의 대기 한도까지만 기다림
+     * 시간 안에 결과가 없거나 큐가 배치를 포기하면 리뷰를 대기열에서 나중에 다시 시도하도록 LlmUnavailableException으로 알림
+     */
+    private Message awaitBatch(CompletableFuture<Message> result) throws InterruptedException, ExecutionException {
+        long timeoutMillis = batchQueue.resultTimeoutMillis();
+        try {
+            return result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            result.cancel(false);
+            throw new LlmUnavailableException("Message batch result did not arrive within " + timeoutMillis + "ms",
+                    System.currentTimeMillis(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof LlmUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 응답을 ReviewResponse로 변환
+     *
+     * @param response Claude API 응답
+     * @param toolInput 스트리밍 중 도구 입력을 읽은 파서 (스트리밍이 아니면 null)
+     * @param route 요청을 보낸 모델 경로
+     * @param startNanos 요청을 시작한 시각 (재시도/배치 대기를 포함한 지연 시간 기록용)
+     * @return ReviewResponse
+     */
+    private ReviewResponse toReviewResponse(Message response, ToolInputReader toolInput,
+                                            ModelRoute route, long startNanos) {
+        usageTracker.record(route, response.usage(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        // 구조화 응답이면 도구 입력을 그대로 DTO로 변환
+        Optional<ToolUseBlock> toolUse = findToolUse(response);
+        if (toolUse.isPresent()) {
+            return toolInput != null
+                    ? toolInput.result()
+                    : ToolInputReader.read(toolUse.get()._input().convert(JsonNode.class).toString());
+        }
+
+        // 응답에서 needMoreContext, requestedFiles, reason 파싱
+        String content = extractContent(response);
+        return responseParser.parse(content);
+    }
+
+    /**
+     * 스트리밍으로 응답 수신
+     * 텍스트 조각을 리스너에 넘기고, 추가 파일 요청 블록이 완성되면 응답이 끝나기 전에 알림
+     *
+     * @param params 요청 파라미터
+     * @param listener 스트리밍 리스너
+     * @return 이벤트를 모아 만든 전체 응답
+     */
+    private Message receiveStreaming(MessageCreateParams params, ReviewStreamListener listener,
+                                     ToolInputReader toolInput) {
+        MessageAccumulator accumulator = MessageAccumulator.create();
+        StreamingReviewParser streamingParser = new StreamingReviewParser(responseParser);
+        try (StreamResponse<RawMessageStreamEvent> stream = client.messages().createStreaming(params)) {
+            stream.stream().forEach(event -> {
+                accumulator.accumulate(event);
+                event.contentBlockDelta().ifPresent(delta -> {
+                    delta.delta().text().ifPresent(textDelta -> {
+                        listener.onText(textDelta.text());
+                        streamingParser.append(textDelta.text()).ifPresent(requestedFiles ->
+                                notifyContextRequest(listener, requestedFiles));
+                    });
+                    // 구조화 응답: 도구 입력 JSON 조각
+                    delta.delta().inputJson().ifPresent(jsonDelta ->
+                            toolInput.append(jsonDelta.partialJson()).ifPresent(requestedFiles ->
+                                    notifyContextRequest(listener, requestedFiles)));
+                });
+            });
+        }
+        return accumulator.message();
+    }
+
+    private void notifyContextRequest(ReviewStreamListener listener, List<String> requestedFiles) {
+        log.info("LLM requested more context mid-stream: {}", requestedFiles);
+        listener.onContextRequest(requestedFiles);
+    }
+
+    /**
+     * 응답에서 submit_review 도구 호출 블록 조회
+     */
+    private Optional<ToolUseBlock> findToolUse(Message message) {
+        return message.content().stream()
+                .flatMap(block -> block.toolUse().stream())
+                .filter(toolUse -> ReviewTool.NAME.equals(toolUse.name()))
+                .findFirst();
+    }
+
+    /**
+     * Message에서 텍스트 컨텐츠 추출 (텍스트 블록이 여러 개면 이어 붙임)
+     *
+     * @param message Claude API 응답
+     * @return 텍스트 컨텐츠
+     */
+    private String extractContent(Message message) {
+        return message.content().stream()
+                .flatMap(block -> block.text().stream())
+                .map(textBlock -> textBlock.text())
+                .collect(Collectors.joining());
+    }
+}
@@ -0,0 +1,41 @@
+package greensnaback0229.pr_review_server.llm;
+
+import java.util.Arrays;
+
+/**
+ * 최근 LLM 호출 지연 시간 표본 (고정 크기 원형 버퍼)
+ * hedge 요청을 보낼 기준 지연(p95)을 구하는 데 사용
+ */
+class LatencyWindow {
+
+    private final long[] samples;
+    private int next = 0;
+    private int count = 0;
+
+    LatencyWindow(int size) {
+        this.samples = new long[Math.max(1, size)];
+    }
+
+    synchronized void record(long latencyMillis) {
+        samples[next] = latencyMillis;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+    }
+
+    /**
+     * 백분위 지연 시간
+     *
+     * @param percentile 0~1 (예: 0.95)
+     * @param minSamples 최소 표본 수
+     * @return 표본이 부족하면 -1
+     */
+    synchronized long percentile(double percentile, int minSamples) {
+        if (count < Math.max(1, minSamples)) {
+            return -1;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.min(Math.max(index, 0), count - 1)];
+    }
+}
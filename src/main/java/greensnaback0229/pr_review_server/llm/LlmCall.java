@@ -0,0 +1,18 @@
+package greensnaback0229.pr_review_server.llm;
+
+/**
+ * LlmCallExecutor를 통해 실행되는 LLM API 호출 단위
+ * 일시적인 오류로 재시도되거나 지연 시 중복(hedge) 요청으로 한 번 더 실행될 수 있으므로 멱등적으로 작성해야 함
+ *
+ * @param <T> 호출 결과 타입
+ */
+@FunctionalInterface
+public interface LlmCall<T> {
+
+    /**
+     * 호출 수행
+     *
+     * @return 호출 결과
+     */
+    T execute();
+}
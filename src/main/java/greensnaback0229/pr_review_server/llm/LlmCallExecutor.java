@@ -0,0 +1,274 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.anthropic.errors.AnthropicIoException;
+import com.anthropic.errors.AnthropicRetryableException;
+import com.anthropic.errors.AnthropicServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LLM API 호출 실행기
+ * 모든 LLM 호출을 이 실행기를 통해 실행하여
+ * 일시적인 오류(429/529/5xx, 네트워크)는 retry-after를 지키며 지터를 준 지수 백오프로 재시도하고,
+ * 응답이 최근 p95 지연보다 늦으면 같은 요청을 한 번 더 보내(hedge) 먼저 온 응답을 사용하며,
+ * 재시도를 소진한 실패가 이어지면 회로 차단기를 열어 API가 회복될 때까지 바로 LlmUnavailableException을 던짐
+ */
+@Slf4j
+@Component
+public class LlmCallExecutor {
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final boolean hedgeEnabled;
+    private final double hedgePercentile;
+    private final long hedgeMinDelayMillis;
+    private final int hedgeMinSamples;
+    private final LatencyWindow latencies;
+    private final LlmCircuitBreaker circuitBreaker;
+    private final ExecutorService hedgeExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    @Autowired
+    public LlmCallExecutor(
+            @Value("${review.llm.retry.max-attempts:4}") int maxAttempts,
+            @Value("${review.llm.retry.base-delay-ms:1000}") long baseDelayMillis,
+            @Value("${review.llm.retry.max-delay-ms:30000}") long maxDelayMillis,
+            @Value("${review.llm.hedge.enabled:false}") boolean hedgeEnabled,
+            @Value("${review.llm.hedge.percentile:0.95}") double hedgePercentile,
+            @Value("${review.llm.hedge.min-delay-ms:5000}") long hedgeMinDelayMillis,
+            @Value("${review.llm.hedge.min-samples:20}") int hedgeMinSamples,
+            @Value("${review.llm.circuit.failure-threshold:3}") int failureThreshold,
+            @Value("${review.llm.circuit.open-seconds:60}") long openSeconds
+    ) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.hedgeEnabled = hedgeEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.hedgeMinDelayMillis = hedgeMinDelayMillis;
+        this.hedgeMinSamples = hedgeMinSamples;
+        this.latencies = new LatencyWindow(200);
+        this.circuitBreaker = new LlmCircuitBreaker(failureThreshold, openSeconds * 1000);
+    }
+
+    /**
+     * 재시도 없이 바로 실행하는 실행기 (테스트용)
+     */
+    public static LlmCallExecutor direct() {
+        return new LlmCallExecutor(1, 0, 0, false, 0.95, 0, 1, Integer.MAX_VALUE, 0);
+    }
+
+    /**
+     * LLM 호출 실행
+     *
+     * @param hedgeable 중복 요청을 보내도 되는 호출인지 (스트리밍처럼 진행 중에 부수 효과가 있으면 false)
+     * @param call 실행할 호출
+     * @return 호출 결과
+     * @throws LlmUnavailableException 회로 차단기가 열려 있거나 일시적인 오류로 재시도를 모두 소진한 경우
+     */
+    public <T> T execute(boolean hedgeable, LlmCall<T> call) {
+        long now = System.currentTimeMillis();
+        if (!circuitBreaker.allowRequest(now)) {
+            rejected.incrementAndGet();
+            throw new LlmUnavailableException("LLM circuit breaker is open", circuitBreaker.retryAtMillis(now), null);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = hedgeable && hedgeEnabled ? executeHedged(call) : timed(call);
+                circuitBreaker.recordSuccess();
+                return result;
+
+            } catch (RuntimeException e) {
+                long retryAfter = retryAfterMillis(e);
+                if (retryAfter < 0) {
+                    // 요청 자체의 오류는 API 상태와 무관하므로 회로 차단기에 반영하지 않음
+                    circuitBreaker.releaseProbe(System.currentTimeMillis());
+                    throw e;
+                }
+                if (attempt >= maxAttempts) {
+                    circuitBreaker.recordFailure(System.currentTimeMillis());
+                    log.error("LLM retries exhausted ({} attempts, circuit {}): {}",
+                            attempt, circuitBreaker.getState(), e.getMessage());
+                    throw new LlmUnavailableException("LLM API unavailable after " + attempt + " attempts",
+                            circuitBreaker.retryAtMillis(System.currentTimeMillis()), e);
+                }
+
+                long delay = Math.max(retryAfter, backoffMillis(attempt));
+                retries.incrementAndGet();
+                log.warn("LLM call failed (attempt {}/{}), retrying in {} ms: {}",
+                        attempt, maxAttempts, delay, e.getMessage());
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new LlmUnavailableException("Interrupted while waiting to retry LLM call",
+                            System.currentTimeMillis(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 회로 차단기가 다시 호출을 허용할 시각까지 대기 (대기열에 넣은 리뷰를 다시 실행하기 전에 사용)
+     *
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     */
+    public void awaitAvailable() throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long delay = circuitBreaker.retryAtMillis(now) - now;
+        if (delay > 0) {
+            log.info("Waiting {} ms for LLM circuit breaker to allow requests", delay);
+            Thread.sleep(delay);
+        }
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+
+    public long getHedges() {
+        return hedges.get();
+    }
+
+    public long getHedgeWins() {
+        return hedgeWins.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public String getCircuitState() {
+        return circuitBreaker.getState().name();
+    }
+
+    /**
+     * 최근 지연 시간의 p95가 지나도 응답이 없으면 같은 요청을 한 번 더 보내고 먼저 성공한 응답 사용
+     */
+    private <T> T executeHedged(LlmCall<T> call) {
+        long threshold = latencies.percentile(hedgePercentile, hedgeMinSamples);
+        if (threshold < 0) {
+            return timed(call);
+        }
+        long hedgeDelay = Math.max(threshold, hedgeMinDelayMillis);
+
+        CompletableFuture<T> primary = CompletableFuture.supplyAsync(() -> timed(call), hedgeExecutor);
+        try {
+            return primary.get(hedgeDelay, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            hedges.incrementAndGet();
+            log.info("LLM call exceeded {} ms latency budget, sending hedged request", hedgeDelay);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmUnavailableException("Interrupted while waiting for LLM call",
+                    System.currentTimeMillis(), e);
+        }
+
+        CompletableFuture<T> hedge = CompletableFuture.supplyAsync(() -> timed(call), hedgeExecutor);
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> candidate : List.of(primary, hedge)) {
+            candidate.whenComplete((result, error) -> {
+                if (error == null) {
+                    if (winner.complete(result) && candidate == hedge) {
+                        hedgeWins.incrementAndGet();
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            return winner.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmUnavailableException("Interrupted while waiting for LLM call",
+                    System.currentTimeMillis(), e);
+        }
+    }
+
+    /**
+     * 호출 실행 후 성공한 호출의 지연 시간 기록
+     */
+    private <T> T timed(LlmCall<T> call) {
+        long start = System.nanoTime();
+        T result = call.execute();
+        latencies.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    /**
+     * 지터를 준 지수 백오프 (full jitter: 0 ~ min(최대, 기본 * 2^(시도-1)))
+     */
+    private long backoffMillis(int attempt) {
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * 재시도할 수 있는 오류면 서버가 요청한 대기 시간(없으면 0), 재시도하면 안 되는 오류면 -1
+     */
+    static long retryAfterMillis(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof AnthropicServiceException serviceException) {
+                int status = serviceException.statusCode();
+                if (status != 408 && status != 409 && status != 429 && status < 500) {
+                    return -1;
+                }
+                return retryAfterHeader(serviceException);
+            }
+            if (t instanceof AnthropicIoException || t instanceof AnthropicRetryableException) {
+                return 0;
+            }
+        }
+        return -1;
+    }
+
+    private static long retryAfterHeader(AnthropicServiceException exception) {
+        try {
+            List<String> millis = exception.headers().values("retry-after-ms");
+            if (!millis.isEmpty()) {
+                return Math.max(0, (long) Double.parseDouble(millis.get(0)));
+            }
+            List<String> seconds = exception.headers().values("retry-after");
+            if (!seconds.isEmpty()) {
+                return Math.max(0, (long) (Double.parseDouble(seconds.get(0)) * 1000));
+            }
+        } catch (NumberFormatException e) {
+            // HTTP 날짜 형식 등은 무시하고 백오프만 사용
+        }
+        return 0;
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+    }
+}
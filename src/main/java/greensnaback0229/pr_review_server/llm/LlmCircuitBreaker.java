@@ -0,0 +1,90 @@
+package greensnaback0229.pr_review_server.llm;
+
+/**
+ * LLM API 회로 차단기
+ * 재시도를 소진한 호출이 연속으로 일정 횟수 실패하면 열려서 일정 시간 동안 호출을 바로 거부하고,
+ * 시간이 지나면 한 호출만 시험 삼아 보내 성공하면 닫고 실패하면 다시 엶
+ */
+class LlmCircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openUntilMillis = 0;
+    private long probeStartedMillis = 0;
+
+    LlmCircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * 호출해도 되는지 확인 (열린 시간이 지났으면 시험 호출 하나만 허용)
+     *
+     * @param nowMillis 현재 시각
+     * @return 호출 가능 여부
+     */
+    synchronized boolean allowRequest(long nowMillis) {
+        return switch (state) {
+            case CLOSED -> true;
+            case HALF_OPEN -> false;
+            case OPEN -> {
+                if (nowMillis < openUntilMillis) {
+                    yield false;
+                }
+                state = State.HALF_OPEN;
+                probeStartedMillis = nowMillis;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    synchronized void recordFailure(long nowMillis) {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openUntilMillis = nowMillis + openMillis;
+        }
+    }
+
+    /**
+     * 재시도와 무관한 오류로 시험 호출이 끝났을 때 다른 호출이 다시 시험할 수 있게 되돌림
+     */
+    synchronized void releaseProbe(long nowMillis) {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openUntilMillis = nowMillis;
+        }
+    }
+
+    /**
+     * 다음 호출을 시도해 볼 수 있는 시각
+     * 닫혀 있으면 지금, 열려 있으면 열린 시간이 끝나는 시각,
+     * 시험 호출이 진행 중이면 그 호출의 결과를 기다릴 시각 (시험 시작 + 열린 시간, 이미 지났으면 지금 + 열린 시간)
+     */
+    synchronized long retryAtMillis(long nowMillis) {
+        return switch (state) {
+            case CLOSED -> nowMillis;
+            case OPEN -> Math.max(nowMillis, openUntilMillis);
+            case HALF_OPEN -> {
+                long probeDeadline = probeStartedMillis + openMillis;
+                yield probeDeadline > nowMillis ? probeDeadline : nowMillis + openMillis;
+            }
+        };
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+}
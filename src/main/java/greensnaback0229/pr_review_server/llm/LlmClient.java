@@ -1,13 +1,9 @@
 package greensnaback0229.pr_review_server.llm;
 
-import com.anthropic.client.AnthropicClient;
-import com.anthropic.client.okhttp.AnthropicOkHttpClient;
-import com.anthropic.models.messages.Message;
-import com.anthropic.models.messages.MessageCreateParams;
-import com.anthropic.models.messages.MessageParam;
-import com.anthropic.models.messages.Model;
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.llm.dto.LlmMessage;
 import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
-import lombok.extern.slf4j.Slf4j;
+import greensnaback0229.pr_review_server.prompt.dto.ReviewPrompt;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -16,40 +12,95 @@ import java.util.List;
 
 /**
  * LLM Client
- * Claude API를 호출하여 코드 리뷰를 수행
+ * 리뷰 대화를 구성하고 저장소/기능별로 선택한 LLM 제공자(LlmProvider)로 코드 리뷰를 요청
  */
-@Slf4j
 @Component
 public class LlmClient {
-    
-    private final AnthropicClient client;
-    
-    public LlmClient(@Value("${anthropic.api.key}") String apiKey) {
-        this.client = AnthropicOkHttpClient.builder()
-                .apiKey(apiKey)
-                .build();
+
+    private final LlmProviderRegistry providerRegistry;
+
+    /**
+     * true면 프롬프트의 안정적인 블록(기능 정보/메모리, 핵심 파일)에 캐시 지점을 둠
+     */
+    private final boolean promptCaching;
+
+    public LlmClient(
+            LlmProviderRegistry providerRegistry,
+            @Value("${review.llm.prompt-caching:true}") boolean promptCaching
+    ) {
+        this.providerRegistry = providerRegistry;
+        this.promptCaching = promptCaching;
+    }
+
+    /**
+     * 기능 리뷰에 사용할 제공자 (기능 정의 > 저장소 설정 > 기본 제공자)
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param definition 기능 정의
+     * @return LlmProvider
+     */
+    public LlmProvider provider(String repoFullName, FeatureDefinition definition) {
+        return providerRegistry.resolve(repoFullName, definition);
     }
 
     /**
-     * 리뷰 시작 (1차 요청)
-     * 
+     * 리뷰 시작 (1차 요청, 기본 제공자 사용)
+     *
      * @param systemPrompt 시스템 프롬프트
      * @param userMessage 사용자 메시지
      * @return ReviewResponse
      */
     public ReviewResponse startReview(String systemPrompt, String userMessage) {
-        List<MessageParam> messages = new ArrayList<>();
-        messages.add(MessageParam.builder()
-                .role(MessageParam.Role.USER)
-                .content(userMessage)
+        return providerRegistry.getDefault().send(systemPrompt, List.of(LlmMessage.user(userMessage)), LlmPriority.INTERACTIVE,
+                ModelRoute.STANDARD, ReviewStreamListener.NONE);
+    }
+
+    /**
+     * 리뷰 시작 (1차 요청, 안정적인 블록은 프롬프트 캐시 사용)
+     *
+     * @param provider 요청을 보낼 제공자
+     * @param systemPrompt 시스템 프롬프트
+     * @param prompt 캐시 블록과 나머지로 나뉜 사용자 메시지
+     * @param priority 요청 우선순위 (DEFERRED면 배치로 제출하고 결과가 나올 때까지 대기)
+     * @param route 요청을 보낼 모델 경로
+     * @param listener 스트리밍 중 부분 텍스트와 추가 파일 요청을 받을 리스너
+     * @return ReviewResponse
+     */
+    public ReviewResponse startReview(LlmProvider provider, String systemPrompt, ReviewPrompt prompt,
+                                      LlmPriority priority, ModelRoute route, ReviewStreamListener listener) {
+        return provider.send(systemPrompt, List.of(userMessage(prompt)), priority, route, listener);
+    }
+
+    /**
+     * 초기 리뷰 요청 메시지 생성 (대화 내역에 같은 블록 구성으로 넣어야 2차 요청에서도 캐시가 적중)
+     *
+     * @param prompt 캐시 블록과 나머지로 나뉜 사용자 메시지
+     * @return 사용자 메시지
+     */
+    public LlmMessage userMessage(ReviewPrompt prompt) {
+        if (!promptCaching) {
+            return LlmMessage.user(prompt.getText());
+        }
+
+        List<LlmMessage.Block> blocks = new ArrayList<>();
+        for (String cachedBlock : prompt.getCachedBlocks()) {
+            blocks.add(LlmMessage.Block.builder()
+                    .text(cachedBlock)
+                    .cached(true)
+                    .build());
+        }
+        blocks.add(LlmMessage.Block.builder()
+                .text(prompt.getContent())
                 .build());
-        
-        return sendRequest(systemPrompt, messages);
+        return LlmMessage.builder()
+                .role(LlmMessage.Role.USER)
+                .blocks(blocks)
+                .build();
     }
 
     /**
-     * 리뷰 계속하기 (2차+ 요청)
-     * 
+     * 리뷰 계속하기 (2차+ 요청, 기본 제공자 사용)
+     *
      * @param systemPrompt 시스템 프롬프트
      * @param conversationHistory 대화 내역
      * @param additionalContext 추가 컨텍스트
@@ -57,64 +108,37 @@ public class LlmClient {
      */
     public ReviewResponse continueReview(
             String systemPrompt,
-            List<MessageParam> conversationHistory,
+            List<LlmMessage> conversationHistory,
             String additionalContext
     ) {
-        List<MessageParam> messages = new ArrayList<>(conversationHistory);
-        messages.add(MessageParam.builder()
-                .role(MessageParam.Role.USER)
-                .content(additionalContext)
-                .build());
-        
-        return sendRequest(systemPrompt, messages);
+        return continueReview(providerRegistry.getDefault(), systemPrompt, conversationHistory, additionalContext,
+                LlmPriority.INTERACTIVE, ModelRoute.STANDARD, ReviewStreamListener.NONE);
     }
 
     /**
-     * Claude API 요청 전송
-     * 
+     * 리뷰 계속하기 (2차+ 요청, 스트리밍 리스너 사용)
+     *
+     * @param provider 요청을 보낼 제공자
      * @param systemPrompt 시스템 프롬프트
-     * @param messages 메시지 리스트
+     * @param conversationHistory 대화 내역
+     * @param additionalContext 추가 컨텍스트
+     * @param priority 요청 우선순위 (DEFERRED면 배치로 제출하고 결과가 나올 때까지 대기)
+     * @param route 요청을 보낼 모델 경로
+     * @param listener 스트리밍 중 부분 텍스트와 추가 파일 요청을 받을 리스너
      * @return ReviewResponse
      */
-    private ReviewResponse sendRequest(String systemPrompt, List<MessageParam> messages) {
-        try {
-            MessageCreateParams params = MessageCreateParams.builder()
-                    .model(Model.CLAUDE_SONNET_4_20250514)
-                    .maxTokens(4000L)
-                    .system(systemPrompt)
-                    .messages(messages)
-                    .build();
-            
-            Message response = client.messages().create(params);
-            
-            // 응답 파싱
-            String content = extractContent(response);
-            
-            // TODO: 응답에서 needMoreContext, requestedFiles, reason 파싱
-            return ReviewResponse.builder()
-                    .review(content)
-                    .needMoreContext(false)
-                    .requestedFiles(List.of())
-                    .reason(null)
-                    .build();
-            
-        } catch (Exception e) {
-            log.error("LLM request failed", e);
-            throw new RuntimeException("Failed to get review from LLM", e);
-        }
-    }
+    public ReviewResponse continueReview(
+            LlmProvider provider,
+            String systemPrompt,
+            List<LlmMessage> conversationHistory,
+            String additionalContext,
+            LlmPriority priority,
+            ModelRoute route,
+            ReviewStreamListener listener
+    ) {
+        List<LlmMessage> messages = new ArrayList<>(conversationHistory);
+        messages.add(LlmMessage.user(additionalContext));
 
-    /**
-     * Message에서 텍스트 컨텐츠 추출
-     * 
-     * @param message Claude API 응답
-     * @return 텍스트 컨텐츠
-     */
-    private String extractContent(Message message) {
-        return message.content().stream()
-                .flatMap(block -> block.text().stream())
-                .map(textBlock -> textBlock.text())
-                .findFirst()
-                .orElse("");
+        return provider.send(systemPrompt, messages, priority, route, listener);
     }
 }
@@ -0,0 +1,10 @@
+package greensnaback0229.pr_review_server.llm;
+
+/**
+ * LLM 요청 우선순위
+ * 응답을 바로 기다리는 리뷰와 늦게 받아도 되는 리뷰를 구분하여 대화형 Rate Limit을 아낌
+ */
+public enum LlmPriority {
+    INTERACTIVE,  // 열린 PR 리뷰 (동기 요청, 스트리밍)
+    DEFERRED      // Draft PR, 재리뷰, 백필 등 (Message Batches로 모아서 제출)
+}
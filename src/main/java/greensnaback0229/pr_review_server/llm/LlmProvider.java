@@ -0,0 +1,45 @@
+package greensnaback0229.pr_review_server.llm;
+
+import greensnaback0229.pr_review_server.llm.dto.LlmMessage;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+
+import java.util.List;
+
+/**
+ * 리뷰 요청을 실제로 처리하는 LLM 제공자
+ * 대화 내역은 제공자와 무관한 LlmMessage로 받고, 제공자가 자신의 API 형식으로 변환하여 전송
+ * 저장소/기능별로 다른 제공자를 쓸 수 있도록 LlmProviderRegistry가 이름으로 선택
+ */
+public interface LlmProvider {
+
+    /**
+     * 설정에서 제공자를 고를 때 쓰는 이름 (예: anthropic, openai-compatible)
+     */
+    String getName();
+
+    /**
+     * 리뷰를 스키마에 맞는 도구 입력으로 받는지 (false면 텍스트 응답 형식의 시스템 프롬프트 사용)
+     */
+    boolean isStructuredOutput();
+
+    /**
+     * 빠른 모델 경로에 기본 모델과 다른 모델을 쓰는지 (false면 라우팅하지 않고 항상 STANDARD로 리뷰)
+     */
+    default boolean hasFastModel() {
+        return true;
+    }
+
+    /**
+     * 리뷰 요청 전송
+     *
+     * @param systemPrompt 시스템 프롬프트
+     * @param messages 대화 내역 (마지막이 이번 사용자 메시지)
+     * @param priority 요청 우선순위 (지원하지 않는 제공자는 무시)
+     * @param route 모델 경로 (모델과 최대 출력 토큰을 결정)
+     * @param listener 스트리밍 리스너 (스트리밍하지 않는 제공자는 호출하지 않음)
+     * @return ReviewResponse
+     * @throws LlmUnavailableException 제공자가 일시적으로 요청을 처리할 수 없는 경우
+     */
+    ReviewResponse send(String systemPrompt, List<LlmMessage> messages, LlmPriority priority,
+                        ModelRoute route, ReviewStreamListener listener);
+}
@@ -0,0 +1,77 @@
+package greensnaback0229.pr_review_server.llm;
+
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * LLM 제공자 선택
+ * 기능 정의의 provider > 저장소별 설정 > 기본 제공자 순으로 리뷰 요청을 보낼 제공자를 정함
+ */
+@Slf4j
+@Component
+public class LlmProviderRegistry {
+
+    private final Map<String, LlmProvider> providers;
+    private final LlmProvider defaultProvider;
+
+    /**
+     * 저장소 풀네임 → 제공자 이름
+     */
+    private final Map<String, String> repositoryProviders = new HashMap<>();
+
+    public LlmProviderRegistry(
+            List<LlmProvider> providers,
+            @Value("${review.llm.provider.default:anthropic}") String defaultProvider,
+            @Value("${review.llm.provider.repositories:}") String[] repositories
+    ) {
+        this.providers = providers.stream()
+                .collect(Collectors.toMap(LlmProvider::getName, Function.identity()));
+        this.defaultProvider = this.providers.get(defaultProvider);
+        if (this.defaultProvider == null) {
+            throw new IllegalStateException("Unknown default LLM provider: " + defaultProvider
+                    + " (available: " + this.providers.keySet() + ")");
+        }
+        // "owner/repo=openai-compatible" 형식
+        Arrays.stream(repositories)
+                .map(String::strip)
+                .filter(entry -> entry.contains("="))
+                .forEach(entry -> repositoryProviders.put(
+                        entry.substring(0, entry.indexOf('=')).strip(),
+                        entry.substring(entry.indexOf('=') + 1).strip()));
+    }
+
+    /**
+     * 기능 리뷰에 사용할 제공자
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param definition 기능 정의 (provider가 있으면 우선, 없으면 null)
+     * @return 제공자 (이름이 등록되지 않았으면 기본 제공자)
+     */
+    public LlmProvider resolve(String repoFullName, FeatureDefinition definition) {
+        String name = definition != null && definition.getProvider() != null
+                ? definition.getProvider()
+                : repositoryProviders.get(repoFullName);
+        if (name == null) {
+            return defaultProvider;
+        }
+        LlmProvider provider = providers.get(name);
+        if (provider == null) {
+            log.warn("Unknown LLM provider {} for {}, using {}", name, repoFullName, defaultProvider.getName());
+            return defaultProvider;
+        }
+        return provider;
+    }
+
+    public LlmProvider getDefault() {
+        return defaultProvider;
+    }
+}
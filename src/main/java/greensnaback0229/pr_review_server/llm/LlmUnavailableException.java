@@ -0,0 +1,21 @@
+package greensnaback0229.pr_review_server.llm;
+
+import lombok.Getter;
+
+/**
+ * LLM API를 일시적으로 사용할 수 없을 때 발생하는 예외
+ * (재시도를 모두 소진했거나 회로 차단기가 열려 있는 경우) 리뷰를 버리지 않고 다시 시도할 수 있는 시각을 함께 전달
+ */
+@Getter
+public class LlmUnavailableException extends RuntimeException {
+
+    /**
+     * 다시 호출해 볼 수 있는 시각 (epoch millis)
+     */
+    private final long retryAtMillis;
+
+    public LlmUnavailableException(String message, long retryAtMillis, Throwable cause) {
+        super(message, cause);
+        this.retryAtMillis = retryAtMillis;
+    }
+}
@@ -0,0 +1,147 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.anthropic.models.messages.Usage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LLM 토큰 사용량 집계
+ * 요청별 입력/출력 토큰과 프롬프트 캐시 읽기/쓰기 토큰을 누적하여 캐시 효과를 확인하고,
+ * 모델 경로별 요청 수/토큰/지연 시간을 따로 누적하여 라우팅 효과를 확인
+ */
+@Slf4j
+@Component
+public class LlmUsageTracker {
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong inputTokens = new AtomicLong();
+    private final AtomicLong outputTokens = new AtomicLong();
+    private final AtomicLong cacheReadTokens = new AtomicLong();
+    private final AtomicLong cacheWriteTokens = new AtomicLong();
+    private final Map<ModelRoute, RouteStats> routes = new EnumMap<>(ModelRoute.class);
+
+    public LlmUsageTracker() {
+        for (ModelRoute route : ModelRoute.values()) {
+            routes.put(route, new RouteStats());
+        }
+    }
+
+    /**
+     * 응답 하나의 사용량 반영
+     *
+     * @param usage LLM 응답의 사용량
+     */
+    public void record(Usage usage) {
+        long cacheRead = usage.cacheReadInputTokens().orElse(0L);
+        long cacheWrite = usage.cacheCreationInputTokens().orElse(0L);
+        record(usage.inputTokens(), usage.outputTokens(), cacheRead, cacheWrite);
+    }
+
+    /**
+     * 모델 경로별 사용량과 지연 시간 반영 (전체 사용량에도 함께 반영)
+     *
+     * @param route 요청을 보낸 모델 경로
+     * @param usage LLM 응답의 사용량
+     * @param latencyMillis 요청부터 응답 완료까지 걸린 시간
+     */
+    public void record(ModelRoute route, Usage usage, long latencyMillis) {
+        record(route, usage.inputTokens(), usage.outputTokens(), usage.cacheReadInputTokens().orElse(0L),
+                usage.cacheCreationInputTokens().orElse(0L), latencyMillis);
+    }
+
+    /**
+     * 모델 경로별 토큰 사용량과 지연 시간 반영 (Claude 이외 제공자용)
+     *
+     * @param route 요청을 보낸 모델 경로
+     * @param input 캐시되지 않은 입력 토큰
+     * @param output 출력 토큰
+     * @param cacheRead 캐시에서 읽은 입력 토큰
+     * @param cacheWrite 캐시에 새로 쓴 입력 토큰
+     * @param latencyMillis 요청부터 응답 완료까지 걸린 시간
+     */
+    public void record(ModelRoute route, long input, long output, long cacheRead, long cacheWrite,
+                       long latencyMillis) {
+        RouteStats stats = routes.get(route);
+        stats.requests.incrementAndGet();
+        stats.tokens.addAndGet(input + output + cacheRead + cacheWrite);
+        stats.latencyMillis.addAndGet(latencyMillis);
+        log.info("LLM route {}: {} ms", route, latencyMillis);
+        record(input, output, cacheRead, cacheWrite);
+    }
+
+    /**
+     * 토큰 사용량 반영
+     *
+     * @param input 캐시되지 않은 입력 토큰
+     * @param output 출력 토큰
+     * @param cacheRead 캐시에서 읽은 입력 토큰
+     * @param cacheWrite 캐시에 새로 쓴 입력 토큰
+     */
+    public void record(long input, long output, long cacheRead, long cacheWrite) {
+        requests.incrementAndGet();
+        inputTokens.addAndGet(input);
+        outputTokens.addAndGet(output);
+        cacheReadTokens.addAndGet(cacheRead);
+        cacheWriteTokens.addAndGet(cacheWrite);
+        log.info("LLM usage: input={}, output={}, cacheRead={}, cacheWrite={} (cumulative cache hit ratio {}%)",
+                input, output, cacheRead, cacheWrite, Math.round(getCacheHitRatio() * 100));
+    }
+
+    /**
+     * 전체 입력 토큰 중 캐시에서 읽은 비율
+     */
+    public double getCacheHitRatio() {
+        long total = inputTokens.get() + cacheReadTokens.get() + cacheWriteTokens.get();
+        return total == 0 ? 0 : (double) cacheReadTokens.get() / total;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getInputTokens() {
+        return inputTokens.get();
+    }
+
+    public long getOutputTokens() {
+        return outputTokens.get();
+    }
+
+    public long getCacheReadTokens() {
+        return cacheReadTokens.get();
+    }
+
+    public long getCacheWriteTokens() {
+        return cacheWriteTokens.get();
+    }
+
+    public long getRouteRequests(ModelRoute route) {
+        return routes.get(route).requests.get();
+    }
+
+    /**
+     * 경로별 누적 토큰 (입력 + 출력 + 캐시 읽기/쓰기)
+     */
+    public long getRouteTokens(ModelRoute route) {
+        return routes.get(route).tokens.get();
+    }
+
+    /**
+     * 경로별 평균 지연 시간 (요청이 없으면 0)
+     */
+    public long getRouteAverageLatencyMillis(ModelRoute route) {
+        RouteStats stats = routes.get(route);
+        long count = stats.requests.get();
+        return count == 0 ? 0 : stats.latencyMillis.get() / count;
+    }
+
+    private static final class RouteStats {
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong tokens = new AtomicLong();
+        private final AtomicLong latencyMillis = new AtomicLong();
+    }
+}
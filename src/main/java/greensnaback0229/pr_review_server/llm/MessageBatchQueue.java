@@ -0,0 +1,292 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.anthropic.client.AnthropicClient;
+import com.anthropic.core.http.StreamResponse;
+import com.anthropic.models.messages.Message;
+import com.anthropic.models.messages.MessageCreateParams;
+import com.anthropic.models.messages.batches.BatchCreateParams;
+import com.anthropic.models.messages.batches.MessageBatch;
+import com.anthropic.models.messages.batches.MessageBatchIndividualResponse;
+import com.anthropic.models.messages.batches.MessageBatchResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 급하지 않은 LLM 요청을 모아 Message Batches로 제출하는 큐
+ * 요청은 일정 개수가 모이거나 일정 시간이 지나면 한 배치로 제출되고, 배치가 끝날 때까지 결과를 주기적으로 조회한 뒤
+ * custom_id로 원래 요청의 Future를 완료하여 기다리던 리뷰 파이프라인을 이어서 진행
+ */
+@Slf4j
+@Component
+public class MessageBatchQueue {
+
+    private final AnthropicClient client;
+    private final LlmCallExecutor callExecutor;
+    private final boolean enabled;
+
+    /**
+     * 이만큼 모이면 바로 제출
+     */
+    private final int maxRequests;
+
+    /**
+     * 첫 요청이 들어온 뒤 이 시간이 지나면 모인 만큼 제출
+     */
+    private final long flushIntervalMillis;
+
+    /**
+     * 제출한 배치의 상태 조회 간격
+     */
+    private final long pollIntervalMillis;
+
+    /**
+     * 제출한 배치를 기다리는 최대 시간 (넘으면 배치를 취소하고 요청을 실패 처리)
+     */
+    private final long maxWaitMillis;
+
+    /**
+     * 상태/결과 조회가 연속으로 이만큼 실패하면 요청을 실패 처리
+     */
+    private final int maxPollFailures;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, PendingRequest> pending = new LinkedHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "message-batch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * 배치 생성 전용 스레드
+     * 생성 요청은 재시도 대기(backoff)로 오래 걸릴 수 있으므로, 제출한 배치의 상태 조회 주기가 밀리지 않도록 분리
+     */
+    private final ExecutorService submitter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "message-batch-submit");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private ScheduledFuture<?> scheduledFlush;
+
+    public MessageBatchQueue(
+            AnthropicClient client,
+            LlmCallExecutor callExecutor,
+            @Value("${review.llm.batch.enabled:true}") boolean enabled,
+            @Value("${review.llm.batch.max-requests:100}") int maxRequests,
+            @Value("${review.llm.batch.flush-interval-ms:60000}") long flushIntervalMillis,
+            @Value("${review.llm.batch.poll-interval-ms:30000}") long pollIntervalMillis,
+            @Value("${review.llm.batch.max-wait-ms:86400000}") long maxWaitMillis,
+            @Value("${review.llm.batch.max-poll-failures:10}") int maxPollFailures
+    ) {
+        this.client = client;
+        this.callExecutor = callExecutor;
+        this.enabled = enabled;
+        this.maxRequests = Math.max(1, maxRequests);
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.maxPollFailures = Math.max(1, maxPollFailures);
+    }
+
+    /**
+     * 배치 모드 사용 여부 (꺼져 있으면 DEFERRED 요청도 동기 요청으로 처리)
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 요청 하나의 결과를 기다릴 최대 시간 (제출 주기 + 배치 대기 한도 + 조회 간격)
+     * 큐가 그 안에 결과나 실패를 전달하지 못하는 경우에 대비한 상한
+     */
+    public long resultTimeoutMillis() {
+        return flushIntervalMillis + maxWaitMillis + pollIntervalMillis;
+    }
+
+    /**
+     * 요청을 다음 배치에 추가
+     *
+     * @param params 동기 요청과 같은 요청 파라미터
+     * @return 배치가 끝나면 완료되는 응답
+     */
+    public CompletableFuture<Message> submit(MessageCreateParams params) {
+        String customId = "review-" + sequence.incrementAndGet();
+        CompletableFuture<Message> result = new CompletableFuture<>();
+        synchronized (this) {
+            pending.put(customId, new PendingRequest(params, result));
+            if (pending.size() >= maxRequests) {
+                scheduler.execute(this::flush);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 모인 요청을 꺼내 배치 생성 스레드로 넘김
+     */
+    void flush() {
+        Map<String, PendingRequest> requests;
+        synchronized (this) {
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+            if (pending.isEmpty()) {
+                return;
+            }
+            requests = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+        submitter.execute(() -> create(requests));
+    }
+
+    /**
+     * 모인 요청을 한 배치로 제출하고 상태 조회를 예약
+     */
+    private void create(Map<String, PendingRequest> requests) {
+        try {
+            BatchCreateParams.Builder batch = BatchCreateParams.builder();
+            requests.forEach((customId, request) -> batch.addRequest(BatchCreateParams.Request.builder()
+                    .customId(customId)
+                    .params(toBatchParams(request.params()))
+                    .build()));
+            BatchCreateParams params = batch.build();
+            MessageBatch created = callExecutor.execute(false, () -> client.messages().batches().create(params));
+            log.info("Submitted message batch {} with {} requests", created.id(), requests.size());
+            long submittedAt = System.currentTimeMillis();
+            scheduler.schedule(() -> poll(created.id(), requests, submittedAt, 0),
+                    pollIntervalMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.error("Failed to submit message batch of {} requests: {}", requests.size(), e.getMessage());
+            fail(requests, e);
+        }
+    }
+
+    /**
+     * 배치 상태 조회 (끝났으면 결과를 각 요청에 전달, 아니면 다시 예약)
+     * 대기 한도를 넘기거나 조회가 연속으로 실패하면 남은 요청을 LlmUnavailableException으로 실패 처리하여
+     * 기다리던 리뷰가 대기열에서 나중에 다시 시도되게 함
+     *
+     * @param submittedAt 배치를 제출한 시각 (epoch millis)
+     * @param failures 지금까지 연속으로 실패한 조회 횟수
+     */
+    private void poll(String batchId, Map<String, PendingRequest> requests, long submittedAt, int failures) {
+        try {
+            MessageBatch batch = client.messages().batches().retrieve(batchId);
+            if (!MessageBatch.ProcessingStatus.ENDED.equals(batch.processingStatus())) {
+                if (System.currentTimeMillis() - submittedAt > maxWaitMillis) {
+                    cancel(batchId);
+                    fail(requests, new LlmUnavailableException("Message batch " + batchId + " did not end within "
+                            + maxWaitMillis + "ms", System.currentTimeMillis(), null));
+                    return;
+                }
+                schedulePoll(batchId, requests, submittedAt, 0);
+                return;
+            }
+        } catch (Exception e) {
+            // 배치는 서버에 남아 있으므로 일시적인 조회 실패는 다음 주기에 다시 시도
+            log.warn("Failed to poll message batch {} ({} consecutive failures): {}",
+                    batchId, failures + 1, e.getMessage());
+            retryPoll(batchId, requests, submittedAt, failures, e);
+            return;
+        }
+
+        try (StreamResponse<MessageBatchIndividualResponse> results = client.messages().batches().resultsStreaming(batchId)) {
+            results.stream().forEach(response -> {
+                PendingRequest request = requests.remove(response.customId());
+                if (request == null) {
+                    return;
+                }
+                MessageBatchResult result = response.result();
+                if (result.succeeded().isPresent()) {
+                    request.result().complete(result.asSucceeded().message());
+                } else {
+                    request.result().completeExceptionally(new IllegalStateException(
+                            "Batch request " + response.customId() + " did not succeed: " + describe(result)));
+                }
+            });
+            log.info("Message batch {} ended", batchId);
+        } catch (Exception e) {
+            if (LlmCallExecutor.retryAfterMillis(e) >= 0) {
+                // 결과도 서버에 남아 있으므로 일시적인 오류면 남은 요청만 다음 주기에 다시 읽음
+                log.warn("Failed to read results of message batch {}, retrying: {}", batchId, e.getMessage());
+                retryPoll(batchId, requests, submittedAt, failures, e);
+                return;
+            }
+            log.error("Failed to read results of message batch {}: {}", batchId, e.getMessage());
+            fail(requests, e);
+            return;
+        }
+        fail(requests, new IllegalStateException("No result for request in message batch " + batchId));
+    }
+
+    private void schedulePoll(String batchId, Map<String, PendingRequest> requests, long submittedAt, int failures) {
+        scheduler.schedule(() -> poll(batchId, requests, submittedAt, failures), pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 조회 실패 한 번을 세고, 한도 이내면 다시 예약하고 넘으면 남은 요청을 실패 처리
+     */
+    private void retryPoll(String batchId, Map<String, PendingRequest> requests, long submittedAt,
+                           int failures, Exception cause) {
+        if (failures + 1 >= maxPollFailures) {
+            log.error("Giving up on message batch {} after {} failed polls", batchId, failures + 1);
+            fail(requests, new LlmUnavailableException("Failed to poll message batch " + batchId,
+                    System.currentTimeMillis() + pollIntervalMillis, cause));
+            return;
+        }
+        schedulePoll(batchId, requests, submittedAt, failures + 1);
+    }
+
+    /**
+     * 더 기다리지 않는 배치를 취소 (이미 끝났거나 취소에 실패해도 요청은 실패 처리하므로 결과만 로그로 남김)
+     */
+    private void cancel(String batchId) {
+        try {
+            client.messages().batches().cancel(batchId);
+            log.warn("Canceled message batch {} after waiting {}ms", batchId, maxWaitMillis);
+        } catch (Exception e) {
+            log.warn("Failed to cancel message batch {}: {}", batchId, e.getMessage());
+        }
+    }
+
+    private static void fail(Map<String, PendingRequest> requests, Throwable cause) {
+        requests.values().forEach(request -> request.result().completeExceptionally(cause));
+    }
+
+    private static BatchCreateParams.Request.Params toBatchParams(MessageCreateParams params) {
+        BatchCreateParams.Request.Params.Builder batchParams = BatchCreateParams.Request.Params.builder()
+                .model(params.model())
+                .maxTokens(params.maxTokens())
+                .messages(params.messages());
+        params.system().ifPresent(system -> system.string().ifPresentOrElse(
+                batchParams::system,
+                () -> system.textBlockParams().ifPresent(batchParams::systemOfTextBlockParams)));
+        params.tools().ifPresent(batchParams::tools);
+        params.toolChoice().ifPresent(batchParams::toolChoice);
+        return batchParams.build();
+    }
+
+    private static String describe(MessageBatchResult result) {
+        if (result.isErrored()) {
+            return "errored";
+        }
+        return result.isCanceled() ? "canceled" : "expired";
+    }
+
+    private record PendingRequest(MessageCreateParams params, CompletableFuture<Message> result) {
+    }
+}
@@ -0,0 +1,17 @@
+package greensnaback0229.pr_review_server.llm;
+
+/**
+ * LLM 요청을 보낼 모델 경로
+ */
+public enum ModelRoute {
+    /**
+     * 작거나 위험도가 낮은 변경의 1차 분류(triage)용 빠른 모델
+     * 지적할 문제가 보이면 STANDARD로 다시 리뷰
+     */
+    FAST,
+
+    /**
+     * 큰 변경, 중요한 기능, 위험한 파일을 리뷰하는 기본 모델
+     */
+    STANDARD
+}
@@ -0,0 +1,191 @@
+package greensnaback0229.pr_review_server.llm;
+
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import greensnaback0229.pr_review_server.triage.PathPatterns;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 기능 리뷰에 사용할 모델 선택
+ * 변경 줄 수, Feature Registry의 기능 중요도(criticality), 변경 파일 종류로 경로를 정하고
+ * 작거나 위험도가 낮은 변경은 빠른 모델로 먼저 분류한 뒤 문제가 보일 때만 기본 모델로 다시 리뷰
+ * (중요도 LOW 기능은 CRITICAL 지적이 보일 때만)
+ */
+@Slf4j
+@Component
+public class ModelRouter {
+
+    /**
+     * 항상 기본 모델로 리뷰하는 기능 중요도
+     */
+    static final String HIGH_CRITICALITY = "HIGH";
+
+    /**
+     * 빠른 모델의 MAJOR 지적은 그대로 쓰고 CRITICAL 지적만 기본 모델로 다시 리뷰하는 기능 중요도
+     */
+    static final String LOW_CRITICALITY = "LOW";
+
+    /**
+     * 텍스트 응답의 우선순위 표시 ("**[CRITICAL]**", "[Major]", "**Critical**:", "### 🔴 Major", "- Major: ..." 등)
+     * 텍스트 시스템 프롬프트는 "Critical, Major, Minor"로 안내하므로 대소문자를 구분하지 않고,
+     * 문장 중간의 단어("critical path" 등)는 표시로 보지 않도록 괄호/강조로 감싸였거나 줄 앞머리에 온 경우만 인정
+     */
+    private static final Pattern SEVERITY_MARKER = Pattern.compile(
+            "(?:[\\[(]|\\*\\*)\\s*(CRITICAL|MAJOR)\\s*(?:[\\])]|\\*\\*|:)"
+                    + "|^[\\s#>*-]*(?:\\S{1,2}\\s+)?(CRITICAL|MAJOR)\\s*(?::|$)",
+            Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+
+    private final boolean enabled;
+    private final String fastModel;
+    private final String standardModel;
+    private final long fastMaxTokens;
+    private final long standardMaxTokens;
+
+    /**
+     * 변경 줄 수(추가 + 삭제)가 이 이하이면 작은 변경
+     */
+    private final int smallChangeLines;
+
+    /**
+     * 이 패턴에 맞는 파일이 바뀌면 크기와 무관하게 기본 모델로 리뷰
+     */
+    private final PathPatterns riskyFiles;
+
+    private final AtomicLong escalations = new AtomicLong();
+
+    public ModelRouter(
+            @Value("${review.llm.routing.enabled:true}") boolean enabled,
+            @Value("${review.llm.routing.fast-model:claude-haiku-4-5}") String fastModel,
+            @Value("${review.llm.routing.standard-model:claude-sonnet-4-20250514}") String standardModel,
+            @Value("${review.llm.routing.fast-max-tokens:2000}") long fastMaxTokens,
+            @Value("${review.llm.routing.standard-max-tokens:4000}") long standardMaxTokens,
+            @Value("${review.llm.routing.small-change-lines:60}") int smallChangeLines,
+            @Value("${review.llm.routing.risky-files:**/*.sql,**/security/**,**/auth/**,**/*Security*.java,**/*.gradle,**/pom.xml,**/Dockerfile,**/*.tf}") String[] riskyFiles
+    ) {
+        this.enabled = enabled;
+        this.fastModel = fastModel;
+        this.standardModel = standardModel;
+        this.fastMaxTokens = fastMaxTokens;
+        this.standardMaxTokens = standardMaxTokens;
+        this.smallChangeLines = smallChangeLines;
+        this.riskyFiles = PathPatterns.of(riskyFiles);
+    }
+
+    /**
+     * 기능 리뷰의 첫 요청을 보낼 경로 결정
+     *
+     * @param definition 기능 정의 (criticality 사용)
+     * @param changedFiles 경로 → 프롬프트에 들어갈 diff
+     * @return 중요한 기능, 큰 변경, 위험한 파일이면 STANDARD, 아니면 FAST
+     */
+    public ModelRoute route(FeatureDefinition definition, Map<String, String> changedFiles) {
+        if (!enabled) {
+            return ModelRoute.STANDARD;
+        }
+        if (definition != null && HIGH_CRITICALITY.equalsIgnoreCase(definition.getCriticality())) {
+            log.info("Routing feature {} to standard model (criticality HIGH)", definition.getName());
+            return ModelRoute.STANDARD;
+        }
+        List<String> risky = changedFiles.keySet().stream().filter(riskyFiles::matches).toList();
+        if (!risky.isEmpty()) {
+            log.info("Routing to standard model (risky files: {})", risky);
+            return ModelRoute.STANDARD;
+        }
+        int lines = changedLines(changedFiles.values());
+        if (lines > smallChangeLines) {
+            log.info("Routing to standard model ({} changed lines)", lines);
+            return ModelRoute.STANDARD;
+        }
+        log.info("Routing to fast model for triage ({} changed lines)", lines);
+        return ModelRoute.FAST;
+    }
+
+    /**
+     * 빠른 모델의 1차 분류 결과를 기본 모델로 다시 리뷰해야 하는지 판단 (다시 리뷰하는 횟수를 집계)
+     * CRITICAL/MAJOR 지적이 있거나 추가 파일이 필요하다고 하면 기본 모델이 처음부터 다시 리뷰
+     * 중요도 LOW 기능은 CRITICAL 지적이나 추가 파일 요청이 있을 때만 다시 리뷰
+     *
+     * @param definition 기능 정의 (criticality 사용, null이면 NORMAL)
+     * @param triage 빠른 모델의 응답
+     * @return 기본 모델로 다시 리뷰해야 하면 true
+     */
+    public boolean shouldEscalate(FeatureDefinition definition, ReviewResponse triage) {
+        boolean lowCriticality = definition != null && LOW_CRITICALITY.equalsIgnoreCase(definition.getCriticality());
+        List<String> escalatingSeverities = lowCriticality ? List.of("CRITICAL") : List.of("CRITICAL", "MAJOR");
+        boolean escalate = triage.isNeedMoreContext() || hasFinding(triage, escalatingSeverities);
+        if (escalate) {
+            escalations.incrementAndGet();
+        }
+        return escalate;
+    }
+
+    /**
+     * 경로별 모델 이름
+     */
+    public String model(ModelRoute route) {
+        return route == ModelRoute.FAST ? fastModel : standardModel;
+    }
+
+    /**
+     * 경로별 최대 출력 토큰
+     */
+    public long maxTokens(ModelRoute route) {
+        return route == ModelRoute.FAST ? fastMaxTokens : standardMaxTokens;
+    }
+
+    public long getEscalations() {
+        return escalations.get();
+    }
+
+    /**
+     * 구조화 응답이면 지적 사항의 우선순위로, 아니면 리뷰 본문의 우선순위 표시로 판단
+     */
+    private static boolean hasFinding(ReviewResponse triage, List<String> severities) {
+        if (triage.getFindings() != null && !triage.getFindings().isEmpty()) {
+            return triage.getFindings().stream()
+                    .anyMatch(finding -> finding.getSeverity() != null
+                            && severities.contains(finding.getSeverity().toUpperCase()));
+        }
+        return triage.getReview() != null && textSeverities(triage.getReview()).stream().anyMatch(severities::contains);
+    }
+
+    /**
+     * 텍스트 리뷰 본문에 표시된 우선순위 (대문자)
+     */
+    static List<String> textSeverities(String review) {
+        List<String> severities = new ArrayList<>();
+        Matcher matcher = SEVERITY_MARKER.matcher(review);
+        while (matcher.find()) {
+            String severity = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            severities.add(severity.toUpperCase());
+        }
+        return severities;
+    }
+
+    /**
+     * diff의 추가/삭제 줄 수 (파일 헤더 "+++"/"---" 제외)
+     */
+    static int changedLines(Collection<String> diffs) {
+        int lines = 0;
+        for (String diff : diffs) {
+            if (diff == null) {
+                continue;
+            }
+            lines += (int) diff.lines()
+                    .filter(line -> (line.startsWith("+") && !line.startsWith("+++"))
+                            || (line.startsWith("-") && !line.startsWith("---")))
+                    .count();
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,230 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import greensnaback0229.pr_review_server.llm.dto.LlmMessage;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OpenAI 호환 Chat Completions API 제공자 (llama.cpp server, vLLM 등 같은 장비의 자체 호스팅 모델)
+ * 로컬 모델은 동시에 처리할 수 있는 요청 수가 적으므로 자체 동시 요청 상한과 타임아웃을 두고,
+ * 빈 자리를 기다리다 시간이 지나거나 서버가 과부하/응답 없음이면 LlmUnavailableException으로 나중에 다시 시도하게 함
+ * 서버 실패가 이어지면 자체 회로 차단기를 열어 다시 시도할 시각까지 요청을 보내지 않음
+ * 도구 호출 지원이 서버마다 달라 리뷰는 텍스트 응답 형식(추가 파일 요청 JSON 블록)으로 받음
+ */
+@Component
+public class OpenAiCompatibleLlmProvider implements LlmProvider {
+
+    static final String NAME = "openai-compatible";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ReviewResponseParser responseParser = new ReviewResponseParser();
+    private final LlmUsageTracker usageTracker;
+    private final ModelRouter modelRouter;
+    private final HttpClient httpClient;
+    private final URI endpoint;
+    private final String apiKey;
+    private final String model;
+    private final String fastModel;
+
+    /**
+     * fast-model을 따로 지정했는지 (아니면 빠른 경로도 같은 모델이므로 1차 분류/재리뷰를 하지 않음)
+     */
+    private final boolean separateFastModel;
+    private final Semaphore slots;
+
+    /**
+     * 빈 자리를 기다리는 최대 시간
+     */
+    private final long queueTimeoutMillis;
+
+    /**
+     * 요청 하나의 최대 응답 시간
+     */
+    private final Duration requestTimeout;
+
+    /**
+     * 서버 실패 후 다시 시도하기까지의 기본 대기 (Retry-After 헤더가 있으면 그 값)
+     */
+    private final long retryDelayMillis;
+    private final LlmCircuitBreaker circuitBreaker;
+
+    public OpenAiCompatibleLlmProvider(
+            LlmUsageTracker usageTracker,
+            ModelRouter modelRouter,
+            @Value("${review.llm.local.base-url:http://localhost:8080}") String baseUrl,
+            @Value("${review.llm.local.api-key:}") String apiKey,
+            @Value("${review.llm.local.model:local-model}") String model,
+            @Value("${review.llm.local.fast-model:}") String fastModel,
+            @Value("${review.llm.local.max-concurrency:2}") int maxConcurrency,
+            @Value("${review.llm.local.queue-timeout-ms:60000}") long queueTimeoutMillis,
+            @Value("${review.llm.local.connect-timeout-ms:5000}") long connectTimeoutMillis,
+            @Value("${review.llm.local.request-timeout-ms:300000}") long requestTimeoutMillis,
+            @Value("${review.llm.local.failure-threshold:3}") int failureThreshold,
+            @Value("${review.llm.local.retry-delay-ms:60000}") long retryDelayMillis
+    ) {
+        this.usageTracker = usageTracker;
+        this.modelRouter = modelRouter;
+        this.endpoint = URI.create(baseUrl.replaceAll("/+$", "") + "/v1/chat/completions");
+        this.apiKey = apiKey;
+        this.model = model;
+        this.separateFastModel = fastModel != null && !fastModel.isBlank();
+        this.fastModel = separateFastModel ? fastModel : model;
+        this.slots = new Semaphore(Math.max(1, maxConcurrency), true);
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMillis);
+        this.retryDelayMillis = retryDelayMillis;
+        this.circuitBreaker = new LlmCircuitBreaker(failureThreshold, retryDelayMillis);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isStructuredOutput() {
+        return false;
+    }
+
+    @Override
+    public boolean hasFastModel() {
+        return separateFastModel;
+    }
+
+    /**
+     * Chat Completions 요청 전송 (우선순위와 스트리밍 리스너는 사용하지 않음)
+     */
+    @Override
+    public ReviewResponse send(String systemPrompt, List<LlmMessage> messages, LlmPriority priority,
+                               ModelRoute route, ReviewStreamListener listener) {
+        long now = System.currentTimeMillis();
+        if (!circuitBreaker.allowRequest(now)) {
+            throw new LlmUnavailableException("Local LLM circuit breaker is open",
+                    circuitBreaker.retryAtMillis(now), null);
+        }
+        acquireSlot();
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(endpoint)
+                    .timeout(requestTimeout)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(requestBody(systemPrompt, messages, route))));
+            if (!apiKey.isBlank()) {
+                request.header("Authorization", "Bearer " + apiKey);
+            }
+
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status == 429 || status >= 500) {
+                completed = true;
+                throw unavailable("Local LLM returned " + status, retryAfterMillis(response), null);
+            }
+            completed = true;
+            circuitBreaker.recordSuccess();
+            if (status >= 400) {
+                throw new IllegalStateException("Local LLM request failed with " + status + ": " + response.body());
+            }
+
+            JsonNode body = objectMapper.readTree(response.body());
+            JsonNode usage = body.path("usage");
+            usageTracker.record(route, usage.path("prompt_tokens").asLong(), usage.path("completion_tokens").asLong(),
+                    0, 0, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            String content = body.path("choices").path(0).path("message").path("content").asText("");
+            return responseParser.parse(content);
+
+        } catch (HttpTimeoutException e) {
+            completed = true;
+            throw unavailable("Local LLM timed out after " + requestTimeout.toMillis() + " ms", Optional.empty(), e);
+        } catch (IOException e) {
+            completed = true;
+            throw unavailable("Local LLM is unreachable: " + e.getMessage(), Optional.empty(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmUnavailableException("Interrupted while waiting for local LLM",
+                    System.currentTimeMillis(), e);
+        } finally {
+            if (!completed) {
+                circuitBreaker.releaseProbe(System.currentTimeMillis());
+            }
+            slots.release();
+        }
+    }
+
+    /**
+     * 서버 실패를 회로 차단기에 기록하고, 다시 시도할 시각을 담은 예외 생성
+     * (Retry-After가 있으면 그 시각, 없으면 기본 대기 후, 회로가 열렸으면 열린 시간이 끝나는 시각 중 늦은 쪽)
+     */
+    private LlmUnavailableException unavailable(String message, Optional<Long> retryAfterMillis, Throwable cause) {
+        long now = System.currentTimeMillis();
+        circuitBreaker.recordFailure(now);
+        long retryAt = Math.max(now + retryAfterMillis.orElse(retryDelayMillis), circuitBreaker.retryAtMillis(now));
+        return new LlmUnavailableException(message, retryAt, cause);
+    }
+
+    /**
+     * Retry-After 헤더 (초 단위만 지원)
+     */
+    private static Optional<Long> retryAfterMillis(HttpResponse<String> response) {
+        return response.headers().firstValue("Retry-After")
+                .filter(value -> value.strip().matches("\\d+"))
+                .map(value -> TimeUnit.SECONDS.toMillis(Long.parseLong(value.strip())));
+    }
+
+    /**
+     * 요청 본문 생성 (시스템 프롬프트 + 대화 내역, 캐시 블록 등 여러 텍스트 블록은 하나로 이어 붙임)
+     */
+    ObjectNode requestBody(String systemPrompt, List<LlmMessage> messages, ModelRoute route) {
+        ObjectNode body = objectMapper.createObjectNode()
+                .put("model", route == ModelRoute.FAST ? fastModel : model)
+                .put("max_tokens", modelRouter.maxTokens(route))
+                .put("stream", false);
+        ArrayNode chat = body.putArray("messages");
+        chat.addObject().put("role", "system").put("content", systemPrompt);
+        for (LlmMessage message : messages) {
+            chat.addObject()
+                    .put("role", message.getRole() == LlmMessage.Role.ASSISTANT ? "assistant" : "user")
+                    .put("content", message.getText());
+        }
+        return body;
+    }
+
+    /**
+     * 빈 자리 확보 (서버 실패가 아니므로 회로 차단기에는 기록하지 않고, 기본 대기 후 다시 시도하게 함)
+     */
+    private void acquireSlot() {
+        try {
+            if (!slots.tryAcquire(queueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                circuitBreaker.releaseProbe(System.currentTimeMillis());
+                throw new LlmUnavailableException("Local LLM is busy (no free slot within "
+                        + queueTimeoutMillis + " ms)", System.currentTimeMillis() + retryDelayMillis, null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.releaseProbe(System.currentTimeMillis());
+            throw new LlmUnavailableException("Interrupted while waiting for local LLM slot",
+                    System.currentTimeMillis(), e);
+        }
+    }
+}
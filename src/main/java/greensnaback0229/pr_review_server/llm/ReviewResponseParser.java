@@ -0,0 +1,90 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LLM 응답 텍스트를 ReviewResponse로 변환하는 파서
+ * 시스템 프롬프트가 요청한 JSON 블록({"needMoreContext": ..., "requestedFiles": [...], "reason": ...})을 찾아
+ * 추가 파일 요청 정보를 읽고, 리뷰 본문에서는 그 블록을 제거
+ */
+@Slf4j
+class ReviewResponseParser {
+
+    private static final Pattern JSON_BLOCK = Pattern.compile("```json\\s*(\\{.*?})\\s*```", Pattern.DOTALL);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * 응답 텍스트 파싱
+     *
+     * @param content LLM 응답 텍스트
+     * @return 리뷰 응답 (JSON 블록이 없거나 깨졌으면 추가 요청 없음)
+     */
+    ReviewResponse parse(String content) {
+        Matcher matcher = JSON_BLOCK.matcher(content);
+        int start = -1;
+        int end = -1;
+        JsonNode control = null;
+        // 리뷰 본문의 코드 예시와 구분하기 위해 needMoreContext가 있는 마지막 블록을 사용
+        while (matcher.find()) {
+            JsonNode node = readControl(matcher.group(1));
+            if (node != null) {
+                control = node;
+                start = matcher.start();
+                end = matcher.end();
+            }
+        }
+        if (control == null) {
+            return ReviewResponse.builder()
+                    .review(content.strip())
+                    .needMoreContext(false)
+                    .requestedFiles(List.of())
+                    .build();
+        }
+
+        List<String> requestedFiles = requestedFiles(control);
+        String reason = control.path("reason").isTextual() ? control.path("reason").asText() : null;
+
+        return ReviewResponse.builder()
+                .review((content.substring(0, start) + content.substring(end)).strip())
+                .needMoreContext(control.path("needMoreContext").asBoolean(false) && !requestedFiles.isEmpty())
+                .requestedFiles(requestedFiles)
+                .reason(reason)
+                .build();
+    }
+
+    /**
+     * JSON 블록이 추가 파일 요청 블록이면 읽은 결과, 아니면 null
+     */
+    JsonNode readControl(String json) {
+        try {
+            JsonNode node = objectMapper.readTree(json);
+            return node != null && node.has("needMoreContext") ? node : null;
+        } catch (IOException e) {
+            log.debug("Ignoring malformed JSON block in LLM response: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 요청 블록의 파일 목록 (빈 항목 제외)
+     */
+    List<String> requestedFiles(JsonNode control) {
+        List<String> requestedFiles = new ArrayList<>();
+        control.path("requestedFiles").forEach(file -> {
+            if (file.isTextual() && !file.asText().isBlank()) {
+                requestedFiles.add(file.asText().strip());
+            }
+        });
+        return requestedFiles;
+    }
+}
@@ -0,0 +1,33 @@
+package greensnaback0229.pr_review_server.llm;
+
+import java.util.List;
+
+/**
+ * 스트리밍 응답 수신 중 호출되는 콜백
+ * 응답이 끝나기 전에 부분 텍스트를 받거나, 추가 파일 요청 블록이 나오는 즉시 다음 라운드 준비를 시작할 때 사용
+ * (콜백은 요청을 보낸 스레드에서 호출됨)
+ */
+public interface ReviewStreamListener {
+
+    /**
+     * 아무것도 하지 않는 리스너
+     */
+    ReviewStreamListener NONE = new ReviewStreamListener() {
+    };
+
+    /**
+     * 새로 받은 응답 텍스트
+     *
+     * @param delta 이번에 받은 텍스트 조각
+     */
+    default void onText(String delta) {
+    }
+
+    /**
+     * 응답 중에 추가 파일 요청 블록이 완성됨 (응답당 최대 한 번)
+     *
+     * @param requestedFiles LLM이 요청한 파일 (파일명 또는 클래스명)
+     */
+    default void onContextRequest(List<String> requestedFiles) {
+    }
+}
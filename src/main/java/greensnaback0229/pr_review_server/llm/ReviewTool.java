@@ -0,0 +1,68 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.anthropic.core.JsonValue;
+import com.anthropic.models.messages.Tool;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 리뷰 결과를 구조화하여 받기 위한 도구 정의
+ * 도구 사용을 강제하면 응답이 항상 아래 스키마를 따르는 JSON 입력으로 오므로 자유 텍스트를 다시 파싱할 필요가 없음
+ * 추가 파일 요청을 응답 앞부분에서 감지할 수 있도록 needMoreContext/requestedFiles를 먼저 두었음
+ */
+final class ReviewTool {
+
+    static final String NAME = "submit_review";
+
+    private ReviewTool() {
+    }
+
+    /**
+     * 도구 정의 (요청마다 같으므로 프롬프트 캐시 앞부분에 포함됨)
+     */
+    static Tool definition() {
+        Map<String, Object> stringArray = Map.of("type", "array", "items", Map.of("type", "string"));
+        return Tool.builder()
+                .name(NAME)
+                .description("코드 리뷰 결과를 제출합니다. 추가 파일이 필요하면 needMoreContext와 requestedFiles를 채우세요.")
+                .inputSchema(Tool.InputSchema.builder()
+                        .properties(Tool.InputSchema.Properties.builder()
+                                .putAdditionalProperty("needMoreContext", JsonValue.from(Map.of(
+                                        "type", "boolean",
+                                        "description", "리뷰를 마치기 위해 추가 파일이 필요한지 여부")))
+                                .putAdditionalProperty("requestedFiles", JsonValue.from(Map.of(
+                                        "type", "array",
+                                        "items", Map.of("type", "string"),
+                                        "description", "필요한 파일명 또는 클래스명")))
+                                .putAdditionalProperty("reason", JsonValue.from(Map.of(
+                                        "type", "string",
+                                        "description", "추가 파일이 필요한 이유")))
+                                .putAdditionalProperty("review", JsonValue.from(Map.of(
+                                        "type", "string",
+                                        "description", "리뷰 총평 (Markdown)")))
+                                .putAdditionalProperty("findings", JsonValue.from(Map.of(
+                                        "type", "array",
+                                        "items", Map.of(
+                                                "type", "object",
+                                                "properties", Map.of(
+                                                        "path", Map.of("type", "string"),
+                                                        "line", Map.of("type", "integer"),
+                                                        "severity", Map.of("type", "string",
+                                                                "enum", List.of("CRITICAL", "MAJOR", "MINOR")),
+                                                        "message", Map.of("type", "string")),
+                                                "required", List.of("path", "severity", "message")))))
+                                .putAdditionalProperty("memorySuggestion", JsonValue.from(Map.of(
+                                        "type", "object",
+                                        "description", "이 기능에 대해 다음 리뷰에서도 기억할 내용",
+                                        "properties", Map.of(
+                                                "summary", Map.of("type", "string"),
+                                                "keyPoints", stringArray,
+                                                "relatedFiles", stringArray),
+                                        "required", List.of("summary"))))
+                                .build())
+                        .required(List.of("needMoreContext", "review"))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,74 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 스트리밍으로 받은 응답 텍스트를 이어 붙이며 추가 파일 요청 블록을 찾는 파서
+ * 닫힌 ```json 블록만 검사하고 이미 검사한 부분은 다시 보지 않으므로 조각마다 전체를 다시 파싱하지 않음
+ * 최종 ReviewResponse는 응답이 끝난 뒤 ReviewResponseParser로 만듦
+ */
+class StreamingReviewParser {
+
+    private static final String FENCE_OPEN = "```json";
+    private static final String FENCE_CLOSE = "```";
+
+    private final ReviewResponseParser responseParser;
+    private final StringBuilder text = new StringBuilder();
+
+    /**
+     * 아직 검사하지 않은 위치 (이 앞의 블록은 이미 판정됨)
+     */
+    private int scanFrom = 0;
+    private boolean requestDetected = false;
+
+    StreamingReviewParser(ReviewResponseParser responseParser) {
+        this.responseParser = responseParser;
+    }
+
+    /**
+     * 텍스트 조각 추가
+     *
+     * @param delta 새로 받은 텍스트
+     * @return 이번 조각으로 추가 파일 요청 블록이 완성되었으면 요청 파일 목록 (응답당 최대 한 번)
+     */
+    Optional<List<String>> append(String delta) {
+        text.append(delta);
+        if (requestDetected) {
+            return Optional.empty();
+        }
+
+        while (true) {
+            int open = text.indexOf(FENCE_OPEN, scanFrom);
+            if (open < 0) {
+                // 여는 표시가 조각 경계에 걸렸을 수 있으므로 끝부분은 다음에 다시 검사
+                scanFrom = Math.max(scanFrom, text.length() - FENCE_OPEN.length());
+                return Optional.empty();
+            }
+            int close = text.indexOf(FENCE_CLOSE, open + FENCE_OPEN.length());
+            if (close < 0) {
+                scanFrom = open;
+                return Optional.empty();
+            }
+            scanFrom = close + FENCE_CLOSE.length();
+
+            JsonNode control = responseParser.readControl(text.substring(open + FENCE_OPEN.length(), close));
+            if (control != null && control.path("needMoreContext").asBoolean(false)) {
+                List<String> requestedFiles = responseParser.requestedFiles(control);
+                if (!requestedFiles.isEmpty()) {
+                    requestDetected = true;
+                    return Optional.of(requestedFiles);
+                }
+            }
+        }
+    }
+
+    /**
+     * 지금까지 받은 전체 텍스트
+     */
+    String getText() {
+        return text.toString();
+    }
+}
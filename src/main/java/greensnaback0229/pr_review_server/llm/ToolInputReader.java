@@ -0,0 +1,172 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import greensnaback0229.pr_review_server.llm.dto.MemorySuggestion;
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * submit_review 도구 입력을 조각 단위로 읽는 파서
+ * Jackson 논블로킹 파서로 받은 조각만 토큰화하고, 최상위 필드 값이 완성될 때마다 보관하므로
+ * 응답이 끝나기 전에 추가 파일 요청을 알 수 있고 끝난 뒤에도 전체를 다시 파싱하지 않음
+ */
+@Slf4j
+class ToolInputReader {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    /**
+     * 값이 완성된 최상위 필드
+     */
+    private final Map<String, JsonNode> fields = new LinkedHashMap<>();
+
+    private int depth = 0;
+    private String currentField;
+    private TokenBuffer currentValue;
+    private boolean requestDetected = false;
+
+    ToolInputReader() {
+        try {
+            this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * 도구 입력 JSON 조각 추가
+     *
+     * @param partialJson 새로 받은 JSON 조각
+     * @return 이번 조각으로 추가 파일 요청이 확정되었으면 요청 파일 목록 (최대 한 번)
+     */
+    Optional<List<String>> append(String partialJson) {
+        byte[] bytes = partialJson.getBytes(StandardCharsets.UTF_8);
+        try {
+            feeder.feedInput(bytes, 0, bytes.length);
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                consume(token);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Malformed tool input", e);
+        }
+        return detectRequest();
+    }
+
+    /**
+     * 입력이 끝난 뒤 ReviewResponse 생성
+     */
+    ReviewResponse result() {
+        feeder.endOfInput();
+        List<String> requestedFiles = stringList(fields.get("requestedFiles"));
+        JsonNode needMoreContext = fields.get("needMoreContext");
+
+        return ReviewResponse.builder()
+                .review(text(fields.get("review")))
+                .findings(convert(fields.get("findings"), ReviewFinding[].class)
+                        .map(List::of)
+                        .orElseGet(List::of))
+                .needMoreContext(needMoreContext != null && needMoreContext.asBoolean(false) && !requestedFiles.isEmpty())
+                .requestedFiles(requestedFiles)
+                .reason(text(fields.get("reason")))
+                .memorySuggestion(convert(fields.get("memorySuggestion"), MemorySuggestion.class)
+                        .filter(suggestion -> suggestion.getSummary() != null && !suggestion.getSummary().isBlank())
+                        .orElse(null))
+                .build();
+    }
+
+    /**
+     * 완성된 JSON 문자열 하나를 바로 변환
+     */
+    static ReviewResponse read(String json) {
+        ToolInputReader reader = new ToolInputReader();
+        reader.append(json);
+        return reader.result();
+    }
+
+    private void consume(JsonToken token) throws IOException {
+        if (currentValue != null) {
+            currentValue.copyCurrentEvent(parser);
+        }
+        switch (token) {
+            case START_OBJECT, START_ARRAY -> depth++;
+            case END_OBJECT, END_ARRAY -> depth--;
+            case FIELD_NAME -> {
+                if (depth == 1) {
+                    currentField = parser.currentName();
+                    currentValue = new TokenBuffer(parser);
+                }
+                return;
+            }
+            default -> {
+            }
+        }
+        // 최상위 필드 값이 끝나면 보관
+        if (currentValue != null && depth == 1) {
+            fields.put(currentField, objectMapper.readTree(currentValue.asParser()));
+            currentValue = null;
+            currentField = null;
+        }
+    }
+
+    private Optional<List<String>> detectRequest() {
+        if (requestDetected) {
+            return Optional.empty();
+        }
+        JsonNode needMoreContext = fields.get("needMoreContext");
+        List<String> requestedFiles = stringList(fields.get("requestedFiles"));
+        if (needMoreContext != null && needMoreContext.asBoolean(false) && !requestedFiles.isEmpty()) {
+            requestDetected = true;
+            return Optional.of(requestedFiles);
+        }
+        return Optional.empty();
+    }
+
+    private <T> Optional<T> convert(JsonNode node, Class<T> type) {
+        if (node == null || node.isNull()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(objectMapper.treeToValue(node, type));
+        } catch (IOException e) {
+            log.warn("Ignoring invalid {} in tool input: {}", type.getSimpleName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String text(JsonNode node) {
+        return node != null && node.isTextual() ? node.asText() : null;
+    }
+
+    private static List<String> stringList(JsonNode node) {
+        List<String> values = new ArrayList<>();
+        if (node != null) {
+            node.forEach(value -> {
+                if (value.isTextual() && !value.asText().isBlank()) {
+                    values.add(value.asText().strip());
+                }
+            });
+        }
+        return values;
+    }
+}
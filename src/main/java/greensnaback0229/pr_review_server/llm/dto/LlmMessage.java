@@ -0,0 +1,83 @@
+package greensnaback0229.pr_review_server.llm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 제공자와 무관한 대화 메시지 하나
+ * 각 LlmProvider가 자신의 API 형식으로 변환하여 전송 (캐시 지점을 지원하지 않는 제공자는 블록을 이어 붙임)
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LlmMessage {
+
+    public enum Role {
+        USER, ASSISTANT
+    }
+
+    /**
+     * 메시지 작성자
+     */
+    private Role role;
+
+    /**
+     * 텍스트 블록 (순서대로 이어 붙인 것이 메시지 전체)
+     */
+    private List<Block> blocks;
+
+    /**
+     * 메시지의 텍스트 블록 하나
+     */
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Block {
+        /**
+         * 블록 내용
+         */
+        private String text;
+
+        /**
+         * true면 이 블록까지를 프롬프트 캐시 지점으로 둠 (지원하는 제공자만)
+         */
+        private boolean cached;
+    }
+
+    /**
+     * 텍스트 하나로 된 사용자 메시지
+     */
+    public static LlmMessage user(String text) {
+        return of(Role.USER, text);
+    }
+
+    /**
+     * 텍스트 하나로 된 LLM 응답 메시지
+     */
+    public static LlmMessage assistant(String text) {
+        return of(Role.ASSISTANT, text);
+    }
+
+    /**
+     * 모든 블록을 빈 줄로 이어 붙인 텍스트
+     */
+    public String getText() {
+        return blocks.stream()
+                .map(Block::getText)
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    private static LlmMessage of(Role role, String text) {
+        return LlmMessage.builder()
+                .role(role)
+                .blocks(List.of(Block.builder().text(text).build()))
+                .build();
+    }
+}
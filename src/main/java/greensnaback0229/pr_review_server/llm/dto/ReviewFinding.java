@@ -0,0 +1,35 @@
+package greensnaback0229.pr_review_server.llm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * LLM이 구조화하여 돌려준 개별 지적 사항
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewFinding {
+    /**
+     * 지적 대상 파일 경로
+     */
+    private String path;
+    
+    /**
+     * 지적 대상 줄 번호 (변경 후 파일 기준, 특정 줄이 아니면 null)
+     */
+    private Integer line;
+    
+    /**
+     * 우선순위 (CRITICAL, MAJOR, MINOR)
+     */
+    private String severity;
+    
+    /**
+     * 지적 내용
+     */
+    private String message;
+}
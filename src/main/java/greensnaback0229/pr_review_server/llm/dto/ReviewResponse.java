@@ -3,6 +3,7 @@ package greensnaback0229.pr_review_server.llm.dto;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,6 +17,12 @@ public class ReviewResponse {
      */
     private String review;
     
+    /**
+     * 구조화된 지적 사항 (구조화 응답을 쓰지 않았거나 지적이 없으면 비어 있음)
+     */
+    @Builder.Default
+    private List<ReviewFinding> findings = new ArrayList<>();
+    
     /**
      * 추가 컨텍스트 필요 여부
      */
@@ -0,0 +1,168 @@
+package greensnaback0229.pr_review_server.prompt;
+
+import greensnaback0229.pr_review_server.collector.content.BoundedFileReader;
+import greensnaback0229.pr_review_server.collector.content.DeclarationLocator;
+import greensnaback0229.pr_review_server.collector.content.SourceOutliner;
+import greensnaback0229.pr_review_server.collector.diff.FilePatch;
+import greensnaback0229.pr_review_server.collector.diff.LineRange;
+import greensnaback0229.pr_review_server.collector.diff.PatchParser;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 프롬프트에 넣을 코드를 변경 주변으로 좁히는 컴포넌트
+ * - 변경 파일: patch를 파싱하여 context 줄 수를 줄인 diff
+ * - 변경된 핵심 파일: 변경된 줄을 감싸는 선언부만 (줄 번호 표시)
+ * - 변경되지 않은 핵심 파일: 선언부 개요
+ */
+@Slf4j
+@Component
+public class ContextWindower {
+
+    private static final String SPAN_HEADER = "// ... (%d-%d행)";
+    private static final String OUTLINE_HEADER = "// (이번 PR에서 변경되지 않은 파일: 선언부 개요)";
+
+    private final PatchParser patchParser = new PatchParser();
+    private final DeclarationLocator declarationLocator = new DeclarationLocator();
+    private final SourceOutliner outliner = new SourceOutliner();
+
+    /**
+     * diff의 변경 줄 앞뒤로 유지할 context 줄 수
+     */
+    @Value("${review.prompt.diff-context-lines:2}")
+    private int diffContextLines = 2;
+
+    /**
+     * 변경 파일의 diff를 파싱하여 context를 줄인 patch 맵 생성
+     *
+     * @param changedFiles 변경 파일 (diff 포함)
+     * @return 경로 → patch
+     */
+    public Map<String, String> windowChangedFiles(List<FileContent> changedFiles) {
+        return windowChangedFiles(changedFiles, List.of());
+    }
+
+    /**
+     * 변경 파일의 diff를 파싱하여 context를 줄인 patch 맵 생성
+     * 핵심 파일이기도 한 변경 파일은 주변 코드가 핵심 파일 섹션에 이미 있으므로 context 없이 변경 줄만 남김
+     *
+     * @param changedFiles 변경 파일 (diff 포함)
+     * @param coreFiles 같은 프롬프트에 들어갈 핵심 파일
+     * @return 경로 → patch
+     */
+    public Map<String, String> windowChangedFiles(List<FileContent> changedFiles, List<FileContent> coreFiles) {
+        Set<String> corePaths = coreFiles.stream()
+                .map(FileContent::getPath)
+                .collect(Collectors.toSet());
+
+        Map<String, String> windowed = new LinkedHashMap<>();
+        for (FileContent file : changedFiles) {
+            int contextLines = corePaths.contains(file.getPath()) ? 0 : diffContextLines;
+            windowed.put(file.getPath(), patchParser.parse(file.getPath(), file.getDiff()).toPatch(contextLines));
+        }
+        return windowed;
+    }
+
+    /**
+     * 핵심 파일 내용을 변경과 관련된 부분으로 좁힘
+     *
+     * @param coreFiles 핵심 파일 (base 브랜치 전체 코드)
+     * @param changedFiles 변경 파일 (diff 포함)
+     * @return 경로 → 좁혀진 코드
+     */
+    public Map<String, String> windowCoreFiles(List<FileContent> coreFiles, List<FileContent> changedFiles) {
+        Map<String, FileContent> changedByPath = changedFiles.stream()
+                .collect(Collectors.toMap(FileContent::getPath, Function.identity(), (a, b) -> a));
+
+        Map<String, String> windowed = new LinkedHashMap<>();
+        for (FileContent core : coreFiles) {
+            String content = core.getContent();
+            if (BoundedFileReader.isReduced(content)) {
+                windowed.put(core.getPath(), content); // 이미 축약됨 (줄 번호가 원본과 다름)
+                continue;
+            }
+
+            FileContent changed = changedByPath.get(core.getPath());
+            windowed.put(core.getPath(), changed != null
+                    ? enclosingDeclarations(core.getPath(), content, changed.getDiff())
+                    : OUTLINE_HEADER + "\n" + outline(core.getPath(), content));
+        }
+        return windowed;
+    }
+
+    /**
+     * 의존 파일을 선언부 개요로 줄여 토큰 예산 안에서 앞에서부터 채움
+     * 예산을 넘는 파일은 건너뛰고 다음(더 작은) 파일을 시도
+     *
+     * @param dependencies 의존 파일 (중요한 순서)
+     * @param tokenBudget 사용할 최대 토큰 수 (대략 4글자 = 1토큰으로 추정)
+     * @return 경로 → 선언부 개요
+     */
+    public Map<String, String> outlineDependencies(List<FileContent> dependencies, int tokenBudget) {
+        Map<String, String> outlines = new LinkedHashMap<>();
+        int remaining = tokenBudget;
+        for (FileContent dependency : dependencies) {
+            String content = dependency.getContent();
+            String outline = BoundedFileReader.isReduced(content) ? content : outline(dependency.getPath(), content);
+            int tokens = estimateTokens(outline);
+            if (tokens > remaining) {
+                log.debug("Dependency {} ({} tokens) exceeds remaining budget {}", dependency.getPath(), tokens, remaining);
+                continue;
+            }
+            outlines.put(dependency.getPath(), outline);
+            remaining -= tokens;
+        }
+        return outlines;
+    }
+
+    /**
+     * 대략적인 토큰 수 (4글자 = 1토큰)
+     */
+    static int estimateTokens(String text) {
+        return (text.length() + 3) / 4;
+    }
+
+    private String enclosingDeclarations(String path, String content, String diff) {
+        FilePatch patch = patchParser.parse(path, diff);
+        SortedSet<Integer> touched = patch.touchedOldLines();
+        if (touched.isEmpty()) {
+            return content; // hunk가 없는 변경 (안내 문구만 있는 경우)
+        }
+
+        String[] lines = content.split("\n", -1);
+        List<LineRange> spans = declarationLocator.enclosingDeclarations(content, path, touched);
+
+        StringBuilder window = new StringBuilder();
+        for (LineRange span : spans) {
+            window.append(String.format(SPAN_HEADER, span.getStart(), span.getEnd())).append('\n');
+            for (int line = span.getStart(); line <= span.getEnd() && line <= lines.length; line++) {
+                window.append(lines[line - 1]).append('\n');
+            }
+        }
+        log.debug("Windowed core file {}: {} of {} lines", path,
+                spans.stream().mapToInt(LineRange::length).sum(), lines.length);
+        return window.toString();
+    }
+
+    private String outline(String path, String content) {
+        try {
+            return outliner.outline(new BufferedReader(new StringReader(content)), path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // 메모리 입력이므로 발생하지 않음
+        }
+    }
+}
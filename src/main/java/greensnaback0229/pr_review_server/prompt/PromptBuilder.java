@@ -2,10 +2,15 @@ package greensnaback0229.pr_review_server.prompt;
 
 import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
 import greensnaback0229.pr_review_server.feature.dto.ResolvedFeature;
+import greensnaback0229.pr_review_server.prompt.dto.ReviewPrompt;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Prompt Builder
@@ -14,12 +19,61 @@ import java.util.Map;
 @Component
 public class PromptBuilder {
 
+    /**
+     * 프롬프트 템플릿 버전
+     * 템플릿의 의미가 바뀌면 올려서 이전 템플릿으로 만든 리뷰 메모를 재사용하지 않도록 함
+     */
+    public static final String PROMPT_VERSION = "1";
+
+    /**
+     * 확장자 → 코드 블록 언어 (없으면 확장자를 그대로 사용)
+     */
+    private static final Map<String, String> FENCE_LANGUAGES = Map.ofEntries(
+            Map.entry("kt", "kotlin"), Map.entry("kts", "kotlin"), Map.entry("py", "python"),
+            Map.entry("js", "javascript"), Map.entry("jsx", "jsx"), Map.entry("ts", "typescript"),
+            Map.entry("tsx", "tsx"), Map.entry("rb", "ruby"), Map.entry("rs", "rust"), Map.entry("cs", "csharp"),
+            Map.entry("yml", "yaml"), Map.entry("md", "markdown"), Map.entry("sh", "bash"),
+            Map.entry("gradle", "groovy"), Map.entry("h", "c"), Map.entry("hpp", "cpp"));
+
+    private static final String STRUCTURED_SYSTEM_PROMPT = """
+            당신은 전문 코드 리뷰어입니다.
+            
+            ## 역할
+            - 변경된 코드를 분석하여 문제점과 개선사항을 제시합니다.
+            - 버그, 성능 이슈, 보안 취약점, 코드 품질을 검토합니다.
+            
+            ## 리뷰 원칙
+            1. 구체적이고 실행 가능한 피드백 제공
+            2. 긍정적인 부분도 언급
+            3. 우선순위 명시 (CRITICAL, MAJOR, MINOR)
+            
+            ## 응답 형식
+            리뷰 결과는 항상 submit_review 도구로 제출하세요.
+            - review: 리뷰 총평 (Markdown)
+            - findings: 파일 경로, 줄 번호, 우선순위, 내용으로 나눈 개별 지적 사항
+            - 리뷰를 위해 추가 파일이 필요하면 needMoreContext를 true로 하고 requestedFiles와 reason을 채우세요.
+            - memorySuggestion: 이 기능에 대해 다음 리뷰에서도 기억할 요약, 핵심 내용, 함께 바뀌는 파일 (새로 알게 된 내용이 없으면 생략)
+            """;
+
     /**
      * 시스템 프롬프트 생성
      * 
      * @return 시스템 프롬프트
      */
     public String buildSystemPrompt() {
+        return buildSystemPrompt(false);
+    }
+
+    /**
+     * 시스템 프롬프트 생성
+     * 
+     * @param structuredOutput true면 응답 형식을 submit_review 도구 입력으로 안내 (JSON 블록 안내 대신)
+     * @return 시스템 프롬프트
+     */
+    public String buildSystemPrompt(boolean structuredOutput) {
+        if (structuredOutput) {
+            return STRUCTURED_SYSTEM_PROMPT;
+        }
         return """
                 당신은 전문 코드 리뷰어입니다.
                 
@@ -64,72 +118,279 @@ public class PromptBuilder {
             Map<String, String> changedFiles,
             Map<String, String> coreFilesContent
     ) {
+        return buildInitialPrompt(resolvedFeature, changedFiles, coreFilesContent, false);
+    }
+
+    /**
+     * 초기 리뷰 요청 프롬프트 생성
+     * 
+     * @param resolvedFeature 해석된 기능 정보
+     * @param changedFiles 변경된 파일과 diff 맵
+     * @param coreFilesContent 핵심 파일 코드 맵
+     * @param windowed 핵심 파일이 전체 코드가 아닌 변경 관련 선언부/개요로 좁혀졌는지 여부
+     * @return 사용자 메시지
+     */
+    public String buildInitialPrompt(
+            ResolvedFeature resolvedFeature,
+            Map<String, String> changedFiles,
+            Map<String, String> coreFilesContent,
+            boolean windowed
+    ) {
+        return buildInitialPrompt(resolvedFeature, changedFiles, coreFilesContent, windowed, null);
+    }
+
+    /**
+     * 초기 리뷰 요청 프롬프트 생성
+     * 
+     * @param resolvedFeature 해석된 기능 정보
+     * @param changedFiles 변경된 파일과 diff 맵
+     * @param coreFilesContent 핵심 파일 코드 맵
+     * @param windowed 핵심 파일이 전체 코드가 아닌 변경 관련 선언부/개요로 좁혀졌는지 여부
+     * @param previousReviewSummary 이전 리뷰 요약 (변경분/재사용되지 않은 hunk만 리뷰하는 경우, 아니면 null)
+     * @return 사용자 메시지
+     */
+    public String buildInitialPrompt(
+            ResolvedFeature resolvedFeature,
+            Map<String, String> changedFiles,
+            Map<String, String> coreFilesContent,
+            boolean windowed,
+            String previousReviewSummary
+    ) {
+        return buildInitialPrompt(resolvedFeature, changedFiles, coreFilesContent, windowed,
+                previousReviewSummary, Map.of());
+    }
+
+    /**
+     * 초기 리뷰 요청 프롬프트 생성
+     * 
+     * @param resolvedFeature 해석된 기능 정보
+     * @param changedFiles 변경된 파일과 diff 맵
+     * @param coreFilesContent 핵심 파일 코드 맵
+     * @param windowed 핵심 파일이 전체 코드가 아닌 변경 관련 선언부/개요로 좁혀졌는지 여부
+     * @param previousReviewSummary 이전 리뷰 요약 (변경분/재사용되지 않은 hunk만 리뷰하는 경우, 아니면 null)
+     * @param formattingOnlyHunks 파일별로 생략된 포맷팅 전용 hunk 수
+     * @return 사용자 메시지
+     */
+    public String buildInitialPrompt(
+            ResolvedFeature resolvedFeature,
+            Map<String, String> changedFiles,
+            Map<String, String> coreFilesContent,
+            boolean windowed,
+            String previousReviewSummary,
+            Map<String, Integer> formattingOnlyHunks
+    ) {
+        return buildInitialPrompt(resolvedFeature, changedFiles, coreFilesContent, windowed,
+                previousReviewSummary, formattingOnlyHunks, Map.of());
+    }
+
+    /**
+     * 초기 리뷰 요청 프롬프트 생성
+     * 
+     * @param resolvedFeature 해석된 기능 정보
+     * @param changedFiles 변경된 파일과 diff 맵
+     * @param coreFilesContent 핵심 파일 코드 맵
+     * @param windowed 핵심 파일이 전체 코드가 아닌 변경 관련 선언부/개요로 좁혀졌는지 여부
+     * @param previousReviewSummary 이전 리뷰 요약 (변경분/재사용되지 않은 hunk만 리뷰하는 경우, 아니면 null)
+     * @param formattingOnlyHunks 파일별로 생략된 포맷팅 전용 hunk 수
+     * @param dependencyOutlines 변경된 코드가 import하거나 자주 함께 바뀐 파일의 선언부 개요
+     * @return 사용자 메시지
+     */
+    public String buildInitialPrompt(
+            ResolvedFeature resolvedFeature,
+            Map<String, String> changedFiles,
+            Map<String, String> coreFilesContent,
+            boolean windowed,
+            String previousReviewSummary,
+            Map<String, Integer> formattingOnlyHunks,
+            Map<String, String> dependencyOutlines
+    ) {
+        return buildReviewPrompt(resolvedFeature, changedFiles, coreFilesContent, windowed,
+                previousReviewSummary, formattingOnlyHunks, dependencyOutlines).getText();
+    }
+
+    /**
+     * 초기 리뷰 요청 프롬프트를 캐시 가능한 블록으로 나누어 생성
+     * 요청마다 같은 부분이 앞에 오도록 기능 정보/메모리 → 핵심 파일 → (PR마다 다른) 이전 리뷰 요약, 관련 파일, diff 순으로 배치
+     * 
+     * @param resolvedFeature 해석된 기능 정보
+     * @param changedFiles 변경된 파일과 diff 맵
+     * @param coreFilesContent 핵심 파일 코드 맵
+     * @param windowed 핵심 파일이 전체 코드가 아닌 변경 관련 선언부/개요로 좁혀졌는지 여부
+     * @param previousReviewSummary 이전 리뷰 요약 (변경분/재사용되지 않은 hunk만 리뷰하는 경우, 아니면 null)
+     * @param formattingOnlyHunks 파일별로 생략된 포맷팅 전용 hunk 수
+     * @param dependencyOutlines 변경된 코드가 import하거나 자주 함께 바뀐 파일의 선언부 개요
+     * @return 캐시 블록과 나머지로 나뉜 사용자 메시지
+     */
+    public ReviewPrompt buildReviewPrompt(
+            ResolvedFeature resolvedFeature,
+            Map<String, String> changedFiles,
+            Map<String, String> coreFilesContent,
+            boolean windowed,
+            String previousReviewSummary,
+            Map<String, Integer> formattingOnlyHunks,
+            Map<String, String> dependencyOutlines
+    ) {
+        List<String> cachedBlocks = new ArrayList<>();
+        cachedBlocks.add(buildFeatureBlock(resolvedFeature));
+        if (!coreFilesContent.isEmpty()) {
+            cachedBlocks.add(buildCoreFilesBlock(coreFilesContent, windowed));
+        }
+        
         StringBuilder prompt = new StringBuilder();
         
-        // 기능 정보
-        prompt.append("# 기능 정보\n");
-        prompt.append("- 기능: ").append(resolvedFeature.getDefinition().getName()).append("\n");
-        prompt.append("- 설명: ").append(resolvedFeature.getDefinition().getDescription()).append("\n\n");
+        // 이전 리뷰 요약 (변경분 리뷰인 경우)
+        if (previousReviewSummary != null) {
+            prompt.append("# 이전 리뷰 요약\n");
+            prompt.append("이 변경의 일부는 이미 리뷰되었으며, 아래 변경된 파일에는 아직 리뷰되지 않은 변경만 포함되어 있습니다.\n");
+            prompt.append("이전 리뷰의 지적을 반복하지 말고, 새 변경분과 이전 지적의 해결 여부에 집중하세요.\n\n");
+            prompt.append(previousReviewSummary).append("\n\n");
+        }
         
-        // Feature Memory (있는 경우)
-        if (resolvedFeature.getMemory() != null) {
-            FeatureMemory memory = resolvedFeature.getMemory();
-            prompt.append("# 기능 메모리 (과거 지식)\n");
-            prompt.append("- 요약: ").append(memory.getSummary()).append("\n");
-            
-            if (memory.getKeyPoints() != null && !memory.getKeyPoints().isEmpty()) {
-                prompt.append("- 핵심 포인트:\n");
-                for (String point : memory.getKeyPoints()) {
-                    prompt.append("  * ").append(point).append("\n");
-                }
+        // 변경된 코드와 관련된 파일 (추가 파일 요청 없이 바로 확인할 수 있도록)
+        if (!dependencyOutlines.isEmpty()) {
+            prompt.append("# 관련 파일 (변경된 코드가 참조하거나 함께 자주 변경되는 파일의 선언부 개요)\n");
+            for (Map.Entry<String, String> entry : dependencyOutlines.entrySet()) {
+                prompt.append("## ").append(entry.getKey()).append("\n");
+                prompt.append("```").append(fenceLanguage(entry.getKey())).append("\n");
+                prompt.append(entry.getValue());
+                prompt.append("\n```\n\n");
             }
-            prompt.append("\n");
         }
         
         // 변경된 파일 diff
         prompt.append("# 변경된 파일\n");
         for (Map.Entry<String, String> entry : changedFiles.entrySet()) {
-            prompt.append("## ").append(entry.getKey()).append("\n");
+            prompt.append("## ").append(entry.getKey());
+            if (coreFilesContent.containsKey(entry.getKey())) {
+                prompt.append(" (주변 코드는 위 핵심 파일 섹션 참고)");
+            }
+            prompt.append("\n");
             prompt.append("```diff\n");
             prompt.append(entry.getValue());
             prompt.append("\n```\n\n");
         }
         
-        // 핵심 파일 전체 코드
-        if (!coreFilesContent.isEmpty()) {
-            prompt.append("# 핵심 파일 (전체 코드)\n");
-            for (Map.Entry<String, String> entry : coreFilesContent.entrySet()) {
-                prompt.append("## ").append(entry.getKey()).append("\n");
-                prompt.append("```java\n");
-                prompt.append(entry.getValue());
-                prompt.append("\n```\n\n");
-            }
+        // 포맷팅 전용 변경 (diff 대신 한 줄 안내)
+        if (!formattingOnlyHunks.isEmpty()) {
+            prompt.append("# 포맷팅 전용 변경 (생략됨)\n");
+            prompt.append("공백, import 순서, 줄바꿈만 바뀐 hunk는 diff에서 제외했습니다: ");
+            prompt.append(formattingOnlyHunks.entrySet().stream()
+                    .map(entry -> entry.getKey() + " " + entry.getValue() + "개")
+                    .collect(Collectors.joining(", ")));
+            prompt.append("\n\n");
         }
         
         prompt.append("위 코드를 리뷰해주세요. 추가로 필요한 파일이 있다면 요청해주세요.");
         
-        return prompt.toString();
+        return ReviewPrompt.builder()
+                .cachedBlocks(cachedBlocks)
+                .content(prompt.toString())
+                .build();
+    }
+
+    /**
+     * 기능 정보와 Feature Memory 블록 (같은 기능의 리뷰마다 동일)
+     */
+    private String buildFeatureBlock(ResolvedFeature resolvedFeature) {
+        StringBuilder block = new StringBuilder();
+        
+        // 기능 정보
+        block.append("# 기능 정보\n");
+        block.append("- 기능: ").append(resolvedFeature.getDefinition().getName()).append("\n");
+        block.append("- 설명: ").append(resolvedFeature.getDefinition().getDescription()).append("\n\n");
+        
+        // Feature Memory (있는 경우)
+        if (resolvedFeature.getMemory() != null) {
+            FeatureMemory memory = resolvedFeature.getMemory();
+            block.append("# 기능 메모리 (과거 지식)\n");
+            block.append("- 요약: ").append(memory.getSummary()).append("\n");
+            
+            if (memory.getKeyPoints() != null && !memory.getKeyPoints().isEmpty()) {
+                block.append("- 핵심 포인트:\n");
+                for (String point : memory.getKeyPoints()) {
+                    block.append("  * ").append(point).append("\n");
+                }
+            }
+            block.append("\n");
+        }
+        return block.toString();
+    }
+
+    /**
+     * 핵심 파일 블록 (같은 base에서 핵심 파일이 변경되지 않은 리뷰끼리 동일)
+     */
+    private String buildCoreFilesBlock(Map<String, String> coreFilesContent, boolean windowed) {
+        StringBuilder block = new StringBuilder();
+        block.append(windowed
+                ? "# 핵심 파일 (변경과 관련된 선언부, 나머지는 개요)\n"
+                : "# 핵심 파일 (전체 코드)\n");
+        Map<String, String> firstPathByContent = new HashMap<>();
+        for (Map.Entry<String, String> entry : coreFilesContent.entrySet()) {
+            block.append("## ").append(entry.getKey()).append("\n");
+            String samePath = firstPathByContent.putIfAbsent(entry.getValue(), entry.getKey());
+            if (samePath != null) {
+                // 같은 내용은 한 번만 보내고 앞의 파일을 가리킴
+                block.append("(").append(samePath).append("와 동일한 내용)\n\n");
+                continue;
+            }
+            block.append("```").append(fenceLanguage(entry.getKey())).append("\n");
+            block.append(entry.getValue());
+            block.append("\n```\n\n");
+        }
+        return block.toString();
     }
 
     /**
      * 추가 파일 제공 프롬프트 생성
+     * 제공하지 못한 파일은 이유와 함께 알려 같은 요청을 반복하지 않고 있는 정보로 리뷰를 마치게 함
      * 
      * @param requestedFilesContent 요청된 파일 내용 맵
+     * @param unresolvedFiles 저장소에서 찾지 못했거나 조회에 실패한 파일 이름
+     * @param alreadyProvidedFiles 이전 메시지에 이미 포함된 파일 경로
      * @return 사용자 메시지
      */
-    public String buildFollowUpPrompt(Map<String, String> requestedFilesContent) {
+    public String buildFollowUpPrompt(Map<String, String> requestedFilesContent, List<String> unresolvedFiles,
+                                      List<String> alreadyProvidedFiles) {
         StringBuilder prompt = new StringBuilder();
         
-        prompt.append("# 요청하신 추가 파일\n");
-        for (Map.Entry<String, String> entry : requestedFilesContent.entrySet()) {
-            prompt.append("## ").append(entry.getKey()).append("\n");
-            prompt.append("```java\n");
-            prompt.append(entry.getValue());
-            prompt.append("\n```\n\n");
+        if (!requestedFilesContent.isEmpty()) {
+            prompt.append("# 요청하신 추가 파일\n");
+            for (Map.Entry<String, String> entry : requestedFilesContent.entrySet()) {
+                prompt.append("## ").append(entry.getKey()).append("\n");
+                prompt.append("```").append(fenceLanguage(entry.getKey())).append("\n");
+                prompt.append(entry.getValue());
+                prompt.append("\n```\n\n");
+            }
+        }
+        if (!unresolvedFiles.isEmpty()) {
+            prompt.append("# 제공할 수 없는 파일\n");
+            prompt.append("저장소에서 찾을 수 없습니다: ").append(String.join(", ", unresolvedFiles)).append("\n\n");
+        }
+        if (!alreadyProvidedFiles.isEmpty()) {
+            prompt.append("# 이미 제공된 파일\n");
+            prompt.append("앞의 메시지에 이미 포함되어 있습니다: ").append(String.join(", ", alreadyProvidedFiles))
+                    .append("\n\n");
         }
         
-        prompt.append("이제 최종 리뷰를 진행해주세요.");
+        if (requestedFilesContent.isEmpty()) {
+            prompt.append("더 제공할 수 있는 파일이 없습니다. 지금까지 제공된 코드만으로 최종 리뷰를 진행해주세요.");
+        } else {
+            prompt.append("이제 최종 리뷰를 진행해주세요.");
+        }
         
         return prompt.toString();
     }
+
+    /**
+     * 파일 확장자에 맞는 코드 블록 언어 (확장자가 없으면 빈 문자열)
+     */
+    static String fenceLanguage(String path) {
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        if (dot < 0) {
+            return "";
+        }
+        String extension = fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        return FENCE_LANGUAGES.getOrDefault(extension, extension);
+    }
 }
@@ -0,0 +1,38 @@
+package greensnaback0229.pr_review_server.prompt.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 초기 리뷰 요청 프롬프트
+ * 같은 기능을 리뷰하는 요청마다 동일한 앞부분(기능 정보/메모리, 핵심 파일)은 블록별로 나누어
+ * 각 블록 끝에 프롬프트 캐시 지점을 둘 수 있게 하고, PR마다 달라지는 부분은 그 뒤에 둠
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReviewPrompt {
+    /**
+     * 캐시 대상 블록 (안정적인 순서대로: 기능 정보/메모리 → 핵심 파일)
+     */
+    @Builder.Default
+    private List<String> cachedBlocks = new ArrayList<>();
+
+    /**
+     * PR마다 달라지는 나머지 (이전 리뷰 요약, 관련 파일, diff)
+     */
+    private String content;
+
+    /**
+     * 블록 구분 없는 전체 프롬프트
+     */
+    public String getText() {
+        return String.join("", cachedBlocks) + content;
+    }
+}
@@ -0,0 +1,133 @@
+package greensnaback0229.pr_review_server.triage;
+
+import greensnaback0229.pr_review_server.collector.diff.UnifiedDiffParser;
+import greensnaback0229.pr_review_server.collector.dto.ChangedFile;
+import greensnaback0229.pr_review_server.triage.dto.TriageResult;
+import greensnaback0229.pr_review_server.triage.dto.TriageResult.SkipReason;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * LLM 리뷰 전에 리뷰할 가치가 없는 변경 파일을 걸러내는 컴포넌트
+ * lock 파일, 생성된 코드, vendor 디렉토리, 스냅샷, 내용 변경 없는 rename을 제외하고
+ * 제외된 파일은 리뷰 결과에 한 줄 요약으로만 남김
+ */
+@Slf4j
+@Component
+public class ChangeTriage {
+
+    private static final List<String> GENERATED_MARKERS = List.of("@generated", "DO NOT EDIT");
+    private static final Pattern NEW_FILE_HUNK = Pattern.compile("@@ -0,0 \\+1[ ,@]");
+
+    private final boolean enabled;
+    private final Map<SkipReason, PathPatterns> matchers = new LinkedHashMap<>();
+
+    public ChangeTriage(
+            @Value("${review.triage.enabled:true}") boolean enabled,
+            @Value("${review.triage.lockfiles:**/package-lock.json,**/yarn.lock,**/pnpm-lock.yaml,**/*.lock,**/*.lockfile,**/go.sum}") String[] lockfiles,
+            @Value("${review.triage.generated:**/generated/**,**/*.min.js,**/*.min.css,**/*.pb.go,**/*_pb2.py,**/*.g.dart}") String[] generated,
+            @Value("${review.triage.vendored:**/vendor/**,**/node_modules/**,**/third_party/**}") String[] vendored,
+            @Value("${review.triage.snapshots:**/__snapshots__/**,**/*.snap}") String[] snapshots,
+            @Value("${review.triage.skip-patterns:}") String[] custom
+    ) {
+        this.enabled = enabled;
+        matchers.put(SkipReason.LOCKFILE, PathPatterns.of(lockfiles));
+        matchers.put(SkipReason.GENERATED, PathPatterns.of(generated));
+        matchers.put(SkipReason.VENDORED, PathPatterns.of(vendored));
+        matchers.put(SkipReason.SNAPSHOT, PathPatterns.of(snapshots));
+        matchers.put(SkipReason.CUSTOM, PathPatterns.of(custom));
+    }
+
+    /**
+     * 변경 파일을 리뷰 대상과 제외 대상으로 분류
+     *
+     * @param paths 변경 파일 경로
+     * @param metadata 경로 → 변경 메타데이터 (없을 수 있음)
+     * @param diffs 경로 → diff (스트리밍/변경분 모드에서 이미 받은 경우, 없을 수 있음)
+     *              없으면 메타데이터의 새 파일 patch 앞부분으로 생성 표시를 확인
+     * @return 분류 결과
+     */
+    public TriageResult triage(List<String> paths, Map<String, ChangedFile> metadata, Map<String, String> diffs) {
+        if (!enabled) {
+            return TriageResult.builder().reviewablePaths(new ArrayList<>(paths)).build();
+        }
+
+        List<String> reviewable = new ArrayList<>();
+        Map<String, SkipReason> skipped = new LinkedHashMap<>();
+        for (String path : paths) {
+            Optional<SkipReason> reason = classify(path, metadata.get(path), diffs.get(path));
+            if (reason.isPresent()) {
+                skipped.put(path, reason.get());
+            } else {
+                reviewable.add(path);
+            }
+        }
+
+        if (!skipped.isEmpty()) {
+            log.info("Triage skipped {} of {} changed files: {}", skipped.size(), paths.size(), skipped);
+        }
+        return TriageResult.builder()
+                .reviewablePaths(reviewable)
+                .skippedFiles(skipped)
+                .build();
+    }
+
+    /**
+     * 제외된 파일을 사유별로 묶은 요약 (예: "lock 파일 2개 (package-lock.json, yarn.lock)")
+     *
+     * @param result 분류 결과
+     * @return 요약 문자열, 제외된 파일이 없으면 빈 문자열
+     */
+    public String summarize(TriageResult result) {
+        Map<SkipReason, List<String>> byReason = result.getSkippedFiles().entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue, LinkedHashMap::new,
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+
+        return byReason.entrySet().stream()
+                .map(entry -> "- " + entry.getKey().getLabel() + " " + entry.getValue().size() + "개 ("
+                        + String.join(", ", entry.getValue()) + ")")
+                .collect(Collectors.joining("\n"));
+    }
+
+    private Optional<SkipReason> classify(String path, ChangedFile metadata, String diff) {
+        if ((metadata != null && metadata.isRenameOnly()) || UnifiedDiffParser.NO_HUNK_NOTE.equals(diff)) {
+            return Optional.of(SkipReason.RENAME_ONLY);
+        }
+
+        for (Map.Entry<SkipReason, PathPatterns> entry : matchers.entrySet()) {
+            if (entry.getValue().matches(path)) {
+                return Optional.of(entry.getKey());
+            }
+        }
+
+        String head = diff != null ? diff : metadata != null ? metadata.getPatchHead() : null;
+        if (head != null && hasGeneratedMarker(head)) {
+            return Optional.of(SkipReason.GENERATED);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 생성 파일은 첫 줄 근처에 "@generated" 같은 표시가 있음
+     * 새로 추가된 파일(@@ -0,0)의 추가된 줄만 확인 (기존 파일 수정분의 문맥/삭제 줄에 있는 문구는 무시)
+     */
+    private boolean hasGeneratedMarker(String diff) {
+        if (!NEW_FILE_HUNK.matcher(diff).lookingAt()) {
+            return false;
+        }
+        return diff.lines()
+                .skip(1)
+                .limit(ChangedFile.PATCH_HEAD_LINES)
+                .filter(line -> line.startsWith("+"))
+                .anyMatch(line -> GENERATED_MARKERS.stream().anyMatch(line::contains));
+    }
+}
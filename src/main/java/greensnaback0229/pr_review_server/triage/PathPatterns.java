@@ -0,0 +1,47 @@
+package greensnaback0229.pr_review_server.triage;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 설정의 glob 패턴 목록 (lock 파일, vendor 디렉토리, 위험한 파일 등)
+ * 변경 분류(ChangeTriage)와 모델 선택(ModelRouter)이 저장소 기준 상대 경로를 같은 방식으로 매칭하도록 함
+ */
+public final class PathPatterns {
+
+    private final List<PathMatcher> matchers;
+
+    private PathPatterns(List<PathMatcher> matchers) {
+        this.matchers = matchers;
+    }
+
+    /**
+     * 패턴 목록 컴파일 (앞뒤 공백 제거, 빈 패턴 무시)
+     *
+     * @param patterns glob 패턴
+     * @return PathPatterns
+     */
+    public static PathPatterns of(String[] patterns) {
+        return new PathPatterns(Arrays.stream(patterns)
+                .map(String::strip)
+                .filter(pattern -> !pattern.isEmpty())
+                .map(pattern -> FileSystems.getDefault().getPathMatcher("glob:" + pattern))
+                .toList());
+    }
+
+    /**
+     * 경로가 패턴 중 하나에 맞는지 확인
+     *
+     * @param path 저장소 기준 상대 경로
+     * @return 매칭 여부
+     */
+    public boolean matches(String path) {
+        // "**/name" 패턴이 최상위 파일에도 매칭되도록 "/" 붙인 경로도 함께 확인
+        Path relative = Path.of(path);
+        Path rooted = Path.of("/" + path);
+        return matchers.stream().anyMatch(matcher -> matcher.matches(relative) || matcher.matches(rooted));
+    }
+}
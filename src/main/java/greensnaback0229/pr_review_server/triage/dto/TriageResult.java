@@ -0,0 +1,61 @@
+package greensnaback0229.pr_review_server.triage.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 변경 파일 분류 결과
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TriageResult {
+    /**
+     * LLM 리뷰 대상 파일 경로
+     */
+    @Builder.Default
+    private List<String> reviewablePaths = new ArrayList<>();
+    
+    /**
+     * 리뷰에서 제외된 파일 (경로 → 제외 사유)
+     */
+    @Builder.Default
+    private Map<String, SkipReason> skippedFiles = new LinkedHashMap<>();
+    
+    /**
+     * 리뷰할 파일이 하나도 없는지 여부
+     */
+    public boolean isNothingReviewable() {
+        return reviewablePaths.isEmpty();
+    }
+    
+    /**
+     * 제외 사유
+     */
+    public enum SkipReason {
+        LOCKFILE("lock 파일"),
+        GENERATED("생성된 파일"),
+        VENDORED("외부 라이브러리"),
+        SNAPSHOT("스냅샷"),
+        RENAME_ONLY("이름만 변경"),
+        CUSTOM("제외 패턴");
+        
+        private final String label;
+        
+        SkipReason(String label) {
+            this.label = label;
+        }
+        
+        public String getLabel() {
+            return label;
+        }
+    }
+}
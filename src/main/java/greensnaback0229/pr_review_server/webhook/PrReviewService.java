@@ -1,25 +1,74 @@
 package greensnaback0229.pr_review_server.webhook;
 
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
 
 import org.springframework.stereotype.Service;
 
 import greensnaback0229.pr_review_server.aggregator.ReviewAggregator;
 import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
 import greensnaback0229.pr_review_server.collector.CodeCollector;
+import greensnaback0229.pr_review_server.collector.content.ContentInterner;
+import greensnaback0229.pr_review_server.collector.index.ImportGraphService;
+import greensnaback0229.pr_review_server.collector.index.RepoIndexService;
+import greensnaback0229.pr_review_server.collector.diff.FormattingNormalizer;
+import greensnaback0229.pr_review_server.collector.diff.PrDiffStreamer;
+import greensnaback0229.pr_review_server.collector.dto.ChangedFile;
 import greensnaback0229.pr_review_server.collector.dto.CollectedCode;
 import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.collector.dto.NormalizedChanges;
 import greensnaback0229.pr_review_server.feature.FeatureRegistry;
 import greensnaback0229.pr_review_server.feature.FeatureResolver;
 import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
 import greensnaback0229.pr_review_server.feature.dto.ResolvedFeature;
+import greensnaback0229.pr_review_server.history.CoChangeIndex;
+import greensnaback0229.pr_review_server.history.CoChangeMiner;
+import greensnaback0229.pr_review_server.history.HunkReusePlanner;
+import greensnaback0229.pr_review_server.history.ReviewMemoizer;
+import greensnaback0229.pr_review_server.history.ReviewStateRepository;
+import greensnaback0229.pr_review_server.history.dto.HunkReusePlan;
+import greensnaback0229.pr_review_server.history.dto.ReviewState;
+import greensnaback0229.pr_review_server.llm.LlmCallExecutor;
 import greensnaback0229.pr_review_server.llm.LlmClient;
+import greensnaback0229.pr_review_server.llm.LlmPriority;
+import greensnaback0229.pr_review_server.llm.LlmProvider;
+import greensnaback0229.pr_review_server.llm.LlmUnavailableException;
+import greensnaback0229.pr_review_server.llm.LlmUsageTracker;
+import greensnaback0229.pr_review_server.llm.ModelRoute;
+import greensnaback0229.pr_review_server.llm.ModelRouter;
+import greensnaback0229.pr_review_server.llm.ReviewStreamListener;
+import greensnaback0229.pr_review_server.llm.dto.LlmMessage;
 import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
 import greensnaback0229.pr_review_server.parser.PrParser;
 import greensnaback0229.pr_review_server.parser.dto.PrContext;
+import greensnaback0229.pr_review_server.prompt.ContextWindower;
 import greensnaback0229.pr_review_server.prompt.PromptBuilder;
+import greensnaback0229.pr_review_server.prompt.dto.ReviewPrompt;
+import greensnaback0229.pr_review_server.triage.ChangeTriage;
+import greensnaback0229.pr_review_server.triage.dto.TriageResult;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -31,13 +80,136 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PrReviewService {
 
+	private static final String DELTA_REVIEW_NOTE = "> 이전 리뷰(`%s`) 이후 추가된 변경분(`%s`까지)만 리뷰했습니다.\n\n";
+	private static final String REUSED_FINDINGS_NOTE = "#### 이전에 리뷰된 동일 변경 (hunk %d개, 기존 지적 재사용)\n\n";
+	private static final String REUSED_NO_FINDINGS_NOTE = "이전 리뷰에서 이 변경에 대한 지적 사항은 없었습니다.";
+	private static final String NOTHING_REVIEWABLE_NOTE =
+		"✅ 리뷰할 코드 변경이 없습니다. 아래 파일은 자동 생성/lock/이름 변경 등으로 리뷰에서 제외되었습니다.\n\n";
+	private static final String SKIPPED_FILES_HEADER = "\n\n#### 리뷰에서 제외된 파일\n\n";
+	private static final String FAILED_FEATURES_NOTE =
+		"\n\n> ⚠️ 리뷰 중 오류가 발생한 기능: %s (다음 push에서 이번 변경분부터 다시 리뷰합니다)";
+	private static final String FORMATTING_ONLY_NOTE = "공백, import 순서, 줄바꿈만 바뀐 변경입니다 (파일 %d개). 리뷰할 내용이 없습니다.";
+	private static final Pattern CODE_BLOCK = Pattern.compile("```.*?```", Pattern.DOTALL);
+
 	private final PrParser prParser;
 	private final FeatureRegistry featureRegistry;
 	private final FeatureResolver featureResolver;
 	private final CodeCollector codeCollector;
+	private final RepoIndexService repoIndexService;
+	private final ImportGraphService importGraphService;
+	private final CoChangeIndex coChangeIndex;
+	private final CoChangeMiner coChangeMiner;
+	private final PrDiffStreamer prDiffStreamer;
 	private final PromptBuilder promptBuilder;
+	private final ContextWindower contextWindower;
 	private final LlmClient llmClient;
+	private final LlmUsageTracker usageTracker;
+	private final LlmCallExecutor callExecutor;
+	private final ModelRouter modelRouter;
 	private final ReviewAggregator reviewAggregator;
+	private final ReviewStateRepository reviewStateRepository;
+	private final HunkReusePlanner hunkReusePlanner;
+	private final ReviewMemoizer reviewMemoizer;
+	private final ChangeTriage changeTriage;
+	private final FormattingNormalizer formattingNormalizer;
+
+	/**
+	 * true면 PR diff를 한 번 스트리밍으로 받아 파일을 기능별로 분배 (대용량 PR용)
+	 */
+	@Value("${review.collector.streaming-diff:false}")
+	private boolean streamingDiff;
+
+	/**
+	 * true면 핵심 파일 전체 대신 변경된 줄을 감싸는 선언부만, diff는 context를 줄여서 전송
+	 */
+	@Value("${review.prompt.windowing:true}")
+	private boolean windowing = true;
+
+	/**
+	 * true면 이미 리뷰한 PR은 마지막으로 리뷰한 커밋 이후의 변경분만 리뷰
+	 */
+	@Value("${review.incremental.enabled:true}")
+	private boolean incrementalReview = true;
+
+	/**
+	 * 다음 변경분 리뷰에 넣을 기능별 이전 리뷰 요약의 최대 길이
+	 */
+	@Value("${review.incremental.summary-max-chars:1500}")
+	private int summaryMaxChars = 1500;
+
+	/**
+	 * true면 이전에 리뷰한 것과 내용이 같은 hunk(rebase, cherry-pick)는 기존 지적을 재사용
+	 */
+	@Value("${review.fingerprint.enabled:true}")
+	private boolean hunkReuse = true;
+
+	/**
+	 * true면 공백/import 순서/줄바꿈만 바뀐 hunk는 diff 대신 한 줄 안내로 대체
+	 */
+	@Value("${review.prompt.collapse-formatting:true}")
+	private boolean collapseFormatting = true;
+
+	/**
+	 * true면 변경된 Java 파일이 import하는 저장소 내부 파일의 선언부 개요를 프롬프트에 포함
+	 */
+	@Value("${review.prompt.dependency-expansion:true}")
+	private boolean dependencyExpansion = true;
+
+	/**
+	 * 의존 파일 개요에 사용할 최대 토큰 수
+	 */
+	@Value("${review.prompt.dependency-token-budget:3000}")
+	private int dependencyTokenBudget = 3000;
+
+	/**
+	 * true면 변경 파일과 자주 함께 바뀐 파일(병합된 PR 기준)도 관련 파일 후보로 포함
+	 */
+	@Value("${review.co-change.enabled:true}")
+	private boolean coChangeRanking = true;
+
+	/**
+	 * 관련 파일 후보로 쓸 최대 co-change 파일 수
+	 */
+	@Value("${review.co-change.max-files:5}")
+	private int maxCoChangedFiles = 5;
+
+	/**
+	 * 리뷰 하나가 힙에 보관할 최대 파일 내용/diff 바이트 수 (넘으면 임시 파일로 내보냄, 0이면 항상 힙)
+	 */
+	@Value("${review.workspace.spill-threshold-bytes:67108864}")
+	private long spillThresholdBytes = 64L * 1024 * 1024;
+
+	/**
+	 * 임시 파일 디렉터리 (비우면 시스템 임시 디렉터리)
+	 */
+	@Value("${review.workspace.spill-dir:}")
+	private String spillDirectory;
+
+	/**
+	 * 기능 하나당 최대 LLM 호출 수 (1차 리뷰 + 추가 파일 라운드)
+	 */
+	@Value("${review.context.max-rounds:3}")
+	private int maxContextRounds = 3;
+
+	/**
+	 * 기능 하나의 추가 파일 라운드를 시작할 수 있는 시간 (1차 요청부터)
+	 */
+	@Value("${review.context.deadline-seconds:180}")
+	private long contextDeadlineSeconds = 180;
+
+	/**
+	 * 1차 응답을 기다리는 동안 미리 조회할 최대 파일 수 (0이면 미리 조회하지 않음)
+	 */
+	@Value("${review.context.prefetch-max-files:5}")
+	private int prefetchMaxFiles = 5;
+
+	private final ExecutorService prefetchExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+	/**
+	 * 조회할 최대 관련 파일 수 (import 대상 + co-change 파일)
+	 */
+	@Value("${review.prompt.max-dependencies:10}")
+	private int maxDependencies = 10;
 
 	/**
 	 * PR 리뷰 전체 프로세스 실행
@@ -52,64 +224,468 @@ public class PrReviewService {
 	 */
 	public String reviewPullRequest(String repoFullName, int prNumber, String prTitle,
 		String prBody, String baseBranch, String headBranch) {
-		log.info("Starting PR review for {}/#{}", repoFullName, prNumber);
+		return reviewPullRequest(repoFullName, prNumber, prTitle, prBody, baseBranch, headBranch, null);
+	}
 
-		try {
+	/**
+	 * PR 리뷰 전체 프로세스 실행
+	 * 이전에 리뷰한 PR이면 마지막으로 리뷰한 커밋 이후의 변경분만, 그 변경분에 포함된 기능만 리뷰
+	 *
+	 * @param repoFullName 저장소 풀네임 (예: owner/repo)
+	 * @param prNumber PR 번호
+	 * @param prTitle PR 제목
+	 * @param prBody PR 본문
+	 * @param baseBranch Base 브랜치명
+	 * @param headBranch Head 브랜치명 (PR 브랜치)
+	 * @param headSha Head 커밋 SHA (null이면 리뷰 상태를 기록하지 않고 전체 리뷰)
+	 * @return 최종 병합된 리뷰 결과
+	 */
+	public String reviewPullRequest(String repoFullName, int prNumber, String prTitle,
+		String prBody, String baseBranch, String headBranch, String headSha) {
+		return reviewPullRequest(repoFullName, prNumber, prTitle, prBody, baseBranch, headBranch, headSha,
+			LlmPriority.INTERACTIVE);
+	}
+
+	/**
+	 * PR 리뷰 전체 프로세스 실행
+	 * DEFERRED 우선순위면 LLM 요청을 Message Batches로 제출하므로 결과가 나올 때까지(수 분 이상) 블로킹됨
+	 *
+	 * @param repoFullName 저장소 풀네임 (예: owner/repo)
+	 * @param prNumber PR 번호
+	 * @param prTitle PR 제목
+	 * @param prBody PR 본문
+	 * @param baseBranch Base 브랜치명
+	 * @param headBranch Head 브랜치명 (PR 브랜치)
+	 * @param headSha Head 커밋 SHA (null이면 리뷰 상태를 기록하지 않고 전체 리뷰)
+	 * @param priority LLM 요청 우선순위
+	 * @return 최종 병합된 리뷰 결과
+	 * @throws LlmUnavailableException LLM API 장애로 리뷰할 수 없는 경우 (나중에 다시 시도해야 함)
+	 */
+	public String reviewPullRequest(String repoFullName, int prNumber, String prTitle,
+		String prBody, String baseBranch, String headBranch, String headSha, LlmPriority priority) {
+		return reviewPullRequest(repoFullName, prNumber, prTitle, prBody, baseBranch, headBranch, headSha,
+			priority, ReviewProgressListener.NONE);
+	}
+
+	/**
+	 * PR 리뷰 전체 프로세스 실행 (기능 리뷰가 끝날 때마다 진행 상황 알림)
+	 *
+	 * @param repoFullName 저장소 풀네임 (예: owner/repo)
+	 * @param prNumber PR 번호
+	 * @param prTitle PR 제목
+	 * @param prBody PR 본문
+	 * @param baseBranch Base 브랜치명
+	 * @param headBranch Head 브랜치명 (PR 브랜치)
+	 * @param headSha Head 커밋 SHA (null이면 리뷰 상태를 기록하지 않고 전체 리뷰)
+	 * @param priority LLM 요청 우선순위
+	 * @param progress 진행 상황 리스너 (주 기능부터 리뷰가 끝나는 순서대로 호출)
+	 * @return 최종 병합된 리뷰 결과
+	 * @throws LlmUnavailableException LLM API 장애로 리뷰할 수 없는 경우 (나중에 다시 시도해야 함)
+	 */
+	public String reviewPullRequest(String repoFullName, int prNumber, String prTitle,
+		String prBody, String baseBranch, String headBranch, String headSha, LlmPriority priority,
+		ReviewProgressListener progress) {
+		log.info("Starting PR review for {}/#{} ({})", repoFullName, prNumber, priority);
+
+		// 리뷰 동안 조회한 파일/diff 보관 (한도를 넘으면 임시 파일로 내보내고, 리뷰가 끝나면 삭제)
+		try (ContentInterner contents = new ContentInterner(spillThresholdBytes, spillDirectory())) {
 			// 1. Feature Registry 초기화 (PR 브랜치에서 읽기)
 			featureRegistry.initialize(repoFullName, null, headBranch);
+			coChangeMiner.ensureBackfilled(repoFullName);
+
+			// 2. PR 파싱 (이전 리뷰가 있으면 그 이후의 변경분만)
+			ReviewState previous = findPreviousReview(repoFullName, prNumber, headSha);
+			Optional<List<FileContent>> delta = previous != null
+				? codeCollector.collectDelta(repoFullName, previous.getHeadSha(), headSha)
+				: Optional.empty();
+			if (delta.isEmpty()) {
+				previous = null; // 변경분을 구할 수 없으면(force-push 등) 전체 리뷰
+			}
+
+			Map<String, List<FileContent>> streamedChanges = null;
+			Map<String, ChangedFile> changeMetadata = new HashMap<>();
+			List<String> changedFiles;
+			String coreRef = baseBranch;
+			if (delta.isPresent()) {
+				// 변경분 diff는 이전 head 기준이므로 핵심 파일도 이전 head에서 읽음
+				Map<String, List<FileContent>> routed = new HashMap<>();
+				changedFiles = new ArrayList<>();
+				for (FileContent file : delta.get()) {
+					changedFiles.add(file.getPath());
+					FileContent retained = contents.spillDiff(file);
+					featureResolver.findFeaturesForFile(file.getPath())
+						.forEach(feature -> routed.computeIfAbsent(feature, k -> new ArrayList<>()).add(retained));
+				}
+				streamedChanges = routed;
+				coreRef = previous.getHeadSha();
+				log.info("Reviewing delta since {}: {} changed files", previous.getHeadSha(), changedFiles.size());
+			} else if (streamingDiff) {
+				// diff를 파싱되는 즉시 해당 기능들로 분배하고, 어느 기능에도 속하지 않는 파일의 hunk는 버림
+				Map<String, List<FileContent>> routed = new HashMap<>();
+				changedFiles = prDiffStreamer.streamChangedFiles(repoFullName, prNumber,
+					path -> !featureResolver.findFeaturesForFile(path).isEmpty(),
+					file -> {
+						FileContent retained = contents.spillDiff(file);
+						featureResolver.findFeaturesForFile(file.getPath())
+							.forEach(feature -> routed.computeIfAbsent(feature, k -> new ArrayList<>()).add(retained));
+					});
+				streamedChanges = routed;
+			} else {
+				changedFiles = new ArrayList<>();
+				for (ChangedFile file : codeCollector.getChangedFiles(repoFullName, prNumber)) {
+					changedFiles.add(file.getPath());
+					changeMetadata.put(file.getPath(), file);
+				}
+			}
+
+			// 2-1. lock/생성/vendor/이름만 변경된 파일은 LLM 리뷰에서 제외
+			TriageResult triage = triageChanges(changedFiles, changeMetadata, streamedChanges);
+			String skippedSummary = changeTriage.summarize(triage);
+			if (triage.isNothingReviewable()) {
+				log.info("Nothing reviewable in {}/#{}, posting canned comment", repoFullName, prNumber);
+				saveReviewState(repoFullName, prNumber, headSha, List.of());
+				return NOTHING_REVIEWABLE_NOTE + skippedSummary;
+			}
+			changedFiles = triage.getReviewablePaths();
 
-			// 2. PR 파싱
-			List<String> changedFiles = codeCollector.getChangedFilePaths(repoFullName, prNumber);
 			PrContext prContext = prParser.parse(prTitle, prBody, changedFiles);
 			log.info("Parsed PR context: main features = {}, related features = {}",
 				prContext.getMainFeatures(), prContext.getRelatedFeatures());
 
 			// 3. 각 기능별 리뷰 수행
 			List<AggregatedReview> reviews = new ArrayList<>();
+			List<String> features = new ArrayList<>(prContext.getMainFeatures());
+			features.addAll(prContext.getRelatedFeatures());
+			progress.onFeaturesPlanned(prContext.getMainFeatures(), prContext.getRelatedFeatures());
 
-			// Main features 리뷰
-			for (String feature : prContext.getMainFeatures()) {
-				AggregatedReview review = reviewFeature(repoFullName, prNumber, baseBranch,
-					feature, prContext, changedFiles);
-				if (review != null) {
-					reviews.add(review);
-				}
-			}
+			// 여러 기능이 같은 핵심 파일을 쓰면 한 번만 조회하여 공유
+			List<String> failedFeatures = new ArrayList<>();
+			ReviewState previousReview = previous;
+			String reviewRef = coreRef;
+			List<String> reviewPaths = changedFiles;
+			Map<String, List<FileContent>> featureChanges = streamedChanges;
+			Function<String, AggregatedReview> reviewer = feature -> reviewFeature(repoFullName, prNumber, reviewRef,
+				feature, prContext, reviewPaths, featureChanges,
+				previousReview != null ? previousReview.getFeatureSummaries().get(feature) : null, contents, priority);
 
-			// Related features 리뷰
-			for (String feature : prContext.getRelatedFeatures()) {
-				AggregatedReview review = reviewFeature(repoFullName, prNumber, baseBranch,
-					feature, prContext, changedFiles);
+			// 배치 요청은 제출 주기 동안 모아서 보내므로, 기능들을 동시에 시작해 첫 요청들이 같은 배치에 들어가게 함
+			List<CompletableFuture<AggregatedReview>> deferredReviews = priority == LlmPriority.DEFERRED
+				? features.stream()
+					.map(feature -> CompletableFuture.supplyAsync(() -> reviewer.apply(feature), prefetchExecutor))
+					.toList()
+				: null;
+			for (int i = 0; i < features.size(); i++) {
+				String feature = features.get(i);
+				AggregatedReview review = null;
+				try {
+					review = deferredReviews != null
+						? awaitFeatureReview(deferredReviews.get(i))
+						: reviewer.apply(feature);
+				} catch (LlmUnavailableException e) {
+					throw e;
+				} catch (RuntimeException e) {
+					log.error("Failed to review feature {}: {}", feature, e.getMessage(), e);
+					failedFeatures.add(feature);
+				}
 				if (review != null) {
 					reviews.add(review);
 				}
+				progress.onFeatureReviewed(feature, review);
 			}
+			log.info("Collected {} distinct files ({} bytes, {} spilled to disk) for {} features",
+				contents.size(), contents.retainedBytes(), contents.spilledBytes(), features.size());
 
 			// 4. 리뷰 결과 병합
 			String finalReview = reviewAggregator.mergeReviews(reviews);
+			if (previous != null) {
+				finalReview = String.format(DELTA_REVIEW_NOTE, shortSha(previous.getHeadSha()), shortSha(headSha))
+					+ (reviews.isEmpty() ? "리뷰 대상 기능의 변경이 없습니다." : finalReview);
+			}
+			if (!skippedSummary.isEmpty()) {
+				finalReview += SKIPPED_FILES_HEADER + skippedSummary;
+			}
+			// 실패한 기능이 있으면 기준 SHA를 옮기지 않아, 다음 변경분 리뷰에 이번 변경이 다시 포함되게 함
+			if (failedFeatures.isEmpty()) {
+				saveReviewState(repoFullName, prNumber, headSha, reviews);
+			} else {
+				log.warn("Keeping previous review state of {}/#{}, failed features: {}",
+					repoFullName, prNumber, failedFeatures);
+				finalReview += String.format(FAILED_FEATURES_NOTE, String.join(", ", failedFeatures));
+			}
 			log.info("Completed PR review for {}/#{}", repoFullName, prNumber);
+			logLlmStats();
 
 			return finalReview;
 
+		} catch (LlmUnavailableException e) {
+			// API 장애는 리뷰 실패로 게시하지 않고 호출 측에서 대기열에 넣어 다시 시도
+			throw e;
 		} catch (Exception e) {
 			log.error("Failed to review PR {}/{}: {}", repoFullName, prNumber, e.getMessage(), e);
 			return "❌ 리뷰 중 오류가 발생했습니다: " + e.getMessage();
 		}
 	}
 
+	/**
+	 * 변경 파일 분류 후 제외된 파일을 기능별 변경 목록에서도 제거
+	 */
+	private TriageResult triageChanges(List<String> changedFiles, Map<String, ChangedFile> metadata,
+		Map<String, List<FileContent>> streamedChanges) {
+		Map<String, String> diffs = new HashMap<>();
+		if (streamedChanges != null) {
+			streamedChanges.values().forEach(files ->
+				files.forEach(file -> diffs.putIfAbsent(file.getPath(), file.getDiff())));
+		}
+
+		TriageResult triage = changeTriage.triage(changedFiles, metadata, diffs);
+		if (streamedChanges != null) {
+			streamedChanges.values().forEach(files ->
+				files.removeIf(file -> triage.getSkippedFiles().containsKey(file.getPath())));
+		}
+		return triage;
+	}
+
+	private Path spillDirectory() {
+		return spillDirectory == null || spillDirectory.isBlank() ? null : Path.of(spillDirectory);
+	}
+
+	/**
+	 * PR이 닫히면 리뷰 상태 삭제
+	 *
+	 * @param repoFullName 저장소 풀네임
+	 * @param prNumber PR 번호
+	 */
+	public void forgetPullRequest(String repoFullName, int prNumber) {
+		reviewStateRepository.delete(repoFullName, prNumber);
+	}
+
+	/**
+	 * 변경분 리뷰의 기준이 될 이전 리뷰 상태 조회 (같은 커밋을 다시 리뷰하는 경우는 전체 리뷰)
+	 */
+	private ReviewState findPreviousReview(String repoFullName, int prNumber, String headSha) {
+		if (!incrementalReview || headSha == null) {
+			return null;
+		}
+		return reviewStateRepository.find(repoFullName, prNumber)
+			.filter(state -> !headSha.equals(state.getHeadSha()))
+			.orElse(null);
+	}
+
+	/**
+	 * 이번에 리뷰한 head SHA와 기능별 요약 기록 (이번에 리뷰하지 않은 기능의 요약은 유지)
+	 */
+	private void saveReviewState(String repoFullName, int prNumber, String headSha, List<AggregatedReview> reviews) {
+		if (headSha == null) {
+			return;
+		}
+		Map<String, String> summaries = new HashMap<>(reviewStateRepository.find(repoFullName, prNumber)
+			.map(ReviewState::getFeatureSummaries)
+			.orElse(Map.of()));
+		for (AggregatedReview review : reviews) {
+			summaries.put(review.getFeature(), summarize(review.getReview()));
+		}
+
+		reviewStateRepository.save(ReviewState.builder()
+			.repoFullName(repoFullName)
+			.prNumber(prNumber)
+			.headSha(headSha)
+			.featureSummaries(summaries)
+			.reviewedAt(LocalDateTime.now())
+			.build());
+	}
+
+	/**
+	 * 다음 변경분 리뷰에 넣을 압축된 요약 (코드 블록 제거, 길이 제한)
+	 */
+	private String summarize(String review) {
+		String text = review == null ? "" : CODE_BLOCK.matcher(review).replaceAll("").replaceAll("\\n{3,}", "\n\n").strip();
+		return text.length() <= summaryMaxChars ? text : text.substring(0, summaryMaxChars) + " ...";
+	}
+
+	/**
+	 * 재사용한 hunk의 이전 지적 (지적이 없던 hunk만 재사용했으면 그렇다고 표시)
+	 */
+	private static String reusedFindings(HunkReusePlan reusePlan) {
+		return String.format(REUSED_FINDINGS_NOTE, reusePlan.getReusedHunkCount())
+			+ (reusePlan.getReusedFindings().isEmpty()
+				? REUSED_NO_FINDINGS_NOTE
+				: String.join("\n", reusePlan.getReusedFindings()));
+	}
+
+	private static String shortSha(String sha) {
+		return sha.length() > 7 ? sha.substring(0, 7) : sha;
+	}
+
+	/**
+	 * 변경 파일과 관련된 파일(import 대상, 자주 함께 바뀐 파일) 순위
+	 * 두 방식 모두에서 관련된 파일을 가장 앞에 두고, 핵심 파일로 이미 포함된 파일은 제외
+	 */
+	private List<String> rankRelatedFiles(String repoFullName, String baseBranch,
+		CollectedCode collectedCode, ContentInterner contents) {
+		Set<String> included = collectedCode.getCoreFiles().stream()
+			.map(FileContent::getPath)
+			.collect(Collectors.toSet());
+		List<String> changedPaths = collectedCode.getChangedFiles().stream()
+			.map(FileContent::getPath)
+			.toList();
+
+		List<String> dependencies = dependencyExpansion
+			? importGraphService.directDependencies(repoFullName, baseBranch, collectedCode.getChangedFiles(), contents)
+			: List.of();
+		List<String> coChanged = coChangeRanking
+			? coChangeIndex.related(repoFullName, changedPaths, maxCoChangedFiles)
+			: List.of();
+
+		Set<String> candidates = new LinkedHashSet<>();
+		dependencies.stream().filter(coChanged::contains).forEach(candidates::add);
+		candidates.addAll(dependencies);
+		candidates.addAll(coChanged);
+		return candidates.stream()
+			.filter(path -> !included.contains(path))
+			.toList();
+	}
+
+	/**
+	 * 순위가 높은 관련 파일을 조회하여 토큰 예산 안의 선언부 개요로 변환
+	 */
+	private Map<String, String> outlineRelatedFiles(String repoFullName, String baseBranch,
+		List<String> relatedFiles, ContentInterner contents) {
+		List<String> ranked = relatedFiles.stream().limit(maxDependencies).toList();
+		if (ranked.isEmpty()) {
+			return Map.of();
+		}
+		return contextWindower.outlineDependencies(
+			codeCollector.collectAdditionalFiles(repoFullName, baseBranch, ranked, contents),
+			dependencyTokenBudget);
+	}
+
+	/**
+	 * 1차 LLM 응답을 기다리는 동안 추가로 요청될 가능성이 높은 파일을 미리 조회
+	 * (개요에 들지 못한 관련 파일, 기능 메모리의 관련 파일) 조회 결과는 리뷰 작업 공간에 보관되어
+	 * 2차 라운드에서 GitHub 조회 없이 사용
+	 */
+	private CompletableFuture<Void> prefetchLikelyRequests(String repoFullName, String baseBranch,
+		ResolvedFeature resolvedFeature, List<String> relatedFiles, ContentInterner contents) {
+		List<String> candidates = new ArrayList<>(relatedFiles.stream()
+			.skip(maxDependencies)
+			.limit(prefetchMaxFiles)
+			.toList());
+		List<String> memoryFiles = resolvedFeature.getMemory() != null && resolvedFeature.getMemory().getRelatedFiles() != null
+			? resolvedFeature.getMemory().getRelatedFiles()
+			: List.of();
+		if (prefetchMaxFiles <= 0 || (candidates.isEmpty() && memoryFiles.isEmpty())) {
+			return CompletableFuture.completedFuture(null);
+		}
+
+		return CompletableFuture.runAsync(() -> {
+			Set<String> paths = new LinkedHashSet<>(candidates);
+			paths.addAll(repoIndexService.resolve(repoFullName, baseBranch, memoryFiles));
+			List<String> prefetched = paths.stream().limit(prefetchMaxFiles).toList();
+			codeCollector.collectAdditionalFiles(repoFullName, baseBranch, prefetched, contents);
+			log.info("Prefetched {} likely requested files: {}", prefetched.size(), prefetched);
+		}, prefetchExecutor).exceptionally(e -> {
+			log.warn("Failed to prefetch likely requested files: {}", e.getMessage());
+			return null;
+		});
+	}
+
+	/**
+	 * 진행 중인 미리 조회가 끝날 때까지 대기 (마감 시각까지만)
+	 */
+	private void awaitPrefetch(CompletableFuture<Void> prefetch, long deadlineMillis) {
+		try {
+			prefetch.get(Math.max(deadlineMillis - System.currentTimeMillis(), 0), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			log.debug("Continuing without waiting for prefetch: {}", e.toString());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * 서버 시작 후 누적된 LLM 호출 통계 (토큰 캐시, 재시도/hedge/거부, 회로 상태, 모델 경로별 사용량)를 리뷰마다 기록
+	 */
+	private void logLlmStats() {
+		log.info("LLM totals: {} requests, cache hit {}%, {} retries, {} hedges ({} won), {} rejected, circuit {}",
+			usageTracker.getRequests(), Math.round(usageTracker.getCacheHitRatio() * 100),
+			callExecutor.getRetries(), callExecutor.getHedges(), callExecutor.getHedgeWins(),
+			callExecutor.getRejected(), callExecutor.getCircuitState());
+		log.info("LLM routes: fast {} requests/{} tokens/avg {} ms, standard {} requests/{} tokens/avg {} ms, "
+				+ "{} escalations",
+			usageTracker.getRouteRequests(ModelRoute.FAST), usageTracker.getRouteTokens(ModelRoute.FAST),
+			usageTracker.getRouteAverageLatencyMillis(ModelRoute.FAST),
+			usageTracker.getRouteRequests(ModelRoute.STANDARD), usageTracker.getRouteTokens(ModelRoute.STANDARD),
+			usageTracker.getRouteAverageLatencyMillis(ModelRoute.STANDARD), modelRouter.getEscalations());
+	}
+
+	/**
+	 * 동시에 시작한 기능 리뷰의 결과를 기다림 (기능 리뷰가 던진 예외는 순차 리뷰와 같은 타입으로 다시 던짐)
+	 */
+	private AggregatedReview awaitFeatureReview(CompletableFuture<AggregatedReview> review) {
+		try {
+			return review.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * 스트리밍 응답에서 추가 파일 요청 블록이 나오면 응답이 끝나기를 기다리지 않고 바로 조회를 시작하는 리스너
+	 * 조회 결과는 리뷰 작업 공간에 보관되어 다음 라운드 수집 시 GitHub 조회 없이 사용
+	 */
+	private ReviewStreamListener earlyFetchListener(String repoFullName, String baseBranch,
+		Set<String> provided, ContentInterner contents, List<CompletableFuture<Void>> earlyFetches) {
+		return new ReviewStreamListener() {
+			@Override
+			public void onContextRequest(List<String> requestedFiles) {
+				earlyFetches.add(CompletableFuture.runAsync(() -> {
+					List<String> paths = repoIndexService.resolve(repoFullName, baseBranch, requestedFiles).stream()
+						.filter(path -> !provided.contains(path))
+						.toList();
+					codeCollector.collectAdditionalFiles(repoFullName, baseBranch, paths, contents);
+					log.info("Fetched {} requested files before the LLM response finished", paths.size());
+				}, prefetchExecutor).exceptionally(e -> {
+					log.warn("Failed to fetch requested files early: {}", e.getMessage());
+					return null;
+				}));
+			}
+		};
+	}
+
+	/**
+	 * 대화 내역에 넣을 LLM 응답 (본문이 비어 있으면 요청 이유)
+	 */
+	private static LlmMessage assistantMessage(ReviewResponse response) {
+		String text = response.getReview() != null && !response.getReview().isBlank()
+			? response.getReview()
+			: "추가 파일이 필요합니다: " + String.join(", ", response.getRequestedFiles())
+				+ (response.getReason() != null ? " (" + response.getReason() + ")" : "");
+		return LlmMessage.assistant(text);
+	}
+
 	/**
 	 * 단일 기능에 대한 리뷰 수행
 	 *
 	 * @param repoFullName 저장소 풀네임
 	 * @param prNumber PR 번호
-	 * @param baseBranch Base 브랜치
+	 * @param baseBranch 핵심 파일을 읽을 ref (Base 브랜치, 변경분 리뷰면 이전 head SHA)
 	 * @param feature 기능 이름
 	 * @param prContext PR 컨텍스트
 	 * @param changedFiles 변경된 파일 목록
-	 * @return 집계된 리뷰 결과
+	 * @param streamedChanges 스트리밍 diff/변경분 모드에서 기능별로 분배된 변경 파일 (REST 모드면 null)
+	 * @param previousSummary 이 기능의 이전 리뷰 요약 (변경분 리뷰가 아니면 null)
+	 * @param contents 이번 리뷰에서 조회한 파일 내용 (기능 간 공유)
+	 * @param priority LLM 요청 우선순위
+	 * @return 집계된 리뷰 결과 (기능이 등록되지 않았거나 관련 변경이 없으면 null)
+	 * @throws IllegalStateException 기능 리뷰 실패 시 (LLM 장애는 LlmUnavailableException 그대로)
 	 */
 	private AggregatedReview reviewFeature(String repoFullName, int prNumber, String baseBranch,
-		String feature, PrContext prContext, List<String> changedFiles) {
+		String feature, PrContext prContext, List<String> changedFiles,
+		Map<String, List<FileContent>> streamedChanges, String previousSummary, ContentInterner contents,
+		LlmPriority priority) {
 		try {
 			log.info("Reviewing feature: {}", feature);
 
@@ -133,47 +709,194 @@ public class PrReviewService {
 			FeatureDefinition definition = resolvedFeature.getDefinition();
 			List<String> coreFilePaths = definition.getCoreFiles();
 
-			CollectedCode collectedCode = codeCollector.collectAll(
-				repoFullName, prNumber, baseBranch, filteredFiles, coreFilePaths);
+			List<FileContent> featureChanges = streamedChanges != null
+				? streamedChanges.getOrDefault(feature, List.of())
+				: codeCollector.collectChangedFiles(repoFullName, prNumber, filteredFiles).stream()
+					.map(contents::spillDiff)
+					.toList();
 
-			// 4. CollectedCode를 Map으로 변환
-			Map<String, String> changedFilesMap = collectedCode.getChangedFiles().stream()
-				.collect(java.util.stream.Collectors.toMap(
-					FileContent::getPath,
-					FileContent::getDiff
-				));
+			// 공백/import 순서/줄바꿈만 바뀐 hunk는 diff에서 빼고 프롬프트에 한 줄로만 표시
+			NormalizedChanges normalized = collapseFormatting
+				? formattingNormalizer.normalize(featureChanges)
+				: NormalizedChanges.builder().reviewableFiles(featureChanges).build();
+			if (normalized.isFormattingOnly()) {
+				log.info("Feature {} has formatting-only changes, skipping LLM", feature);
+				return reviewAggregator.aggregate(feature, ReviewResponse.builder()
+					.review(String.format(FORMATTING_ONLY_NOTE, normalized.getFormattingOnlyHunks().size()))
+					.needMoreContext(false)
+					.requestedFiles(List.of())
+					.build());
+			}
+			featureChanges = normalized.getReviewableFiles();
 
-			Map<String, String> coreFilesMap = collectedCode.getCoreFiles().stream()
-				.collect(java.util.stream.Collectors.toMap(
-					FileContent::getPath,
-					FileContent::getContent
-				));
+			// rebase/백포트로 내용이 같은 hunk는 이전 지적을 재사용하고 새 hunk만 리뷰
+			HunkReusePlan reusePlan = hunkReuse ? hunkReusePlanner.plan(feature, featureChanges) : null;
+			if (reusePlan != null && reusePlan.isFullyReused()) {
+				log.info("All hunks of feature {} were reviewed before, skipping LLM", feature);
+				return reviewAggregator.aggregate(feature, ReviewResponse.builder()
+					.review(reusedFindings(reusePlan))
+					.needMoreContext(false)
+					.requestedFiles(List.of())
+					.build());
+			}
+			if (reusePlan != null && reusePlan.getReusedHunkCount() > 0) {
+				featureChanges = reusePlan.getRemainingFiles();
+				previousSummary = (previousSummary != null ? previousSummary + "\n\n" : "")
+					+ String.join("\n\n", reusePlan.getReusedFindings());
+			}
 
-			// 5. 프롬프트 생성
-			String systemPrompt = promptBuilder.buildSystemPrompt();
-			String initialPrompt = promptBuilder.buildInitialPrompt(
-				resolvedFeature, changedFilesMap, coreFilesMap);
-
-			// 6. LLM 리뷰 요청
-			ReviewResponse reviewResponse = llmClient.startReview(systemPrompt, initialPrompt);
-
-			// 7. 추가 파일 요청 처리 (필요시)
-			while (reviewResponse.isNeedMoreContext()) {
-				log.info("LLM requested more context: {}", reviewResponse.getRequestedFiles());
-
-				// 추가 파일 수집
-				List<String> additionalFiles = reviewResponse.getRequestedFiles();
-				// TODO: 추가 파일 수집 및 2차 리뷰
-				// 현재는 1차 리뷰만 수행
-				break;
+			CollectedCode collectedCode = codeCollector.collectAll(repoFullName, baseBranch, featureChanges,
+				coreFilePaths, contents);
+
+			// 4. CollectedCode를 Map으로 변환 (windowing이면 변경 주변으로 좁힘)
+			Map<String, String> changedFilesMap;
+			Map<String, String> coreFilesMap;
+			if (windowing) {
+				changedFilesMap = contextWindower.windowChangedFiles(
+					collectedCode.getChangedFiles(), collectedCode.getCoreFiles());
+				coreFilesMap = contextWindower.windowCoreFiles(
+					collectedCode.getCoreFiles(), collectedCode.getChangedFiles());
+			} else {
+				changedFilesMap = collectedCode.getChangedFiles().stream()
+					.collect(java.util.stream.Collectors.toMap(
+						FileContent::getPath,
+						FileContent::getDiff
+					));
+
+				coreFilesMap = collectedCode.getCoreFiles().stream()
+					.collect(java.util.stream.Collectors.toMap(
+						FileContent::getPath,
+						FileContent::getContent
+					));
 			}
 
-			// 8. 리뷰 집계
-			return reviewAggregator.aggregate(feature, reviewResponse);
+			// 4-1. 변경된 코드가 import하거나 자주 함께 바뀐 파일의 개요를 미리 포함 (추가 파일 요청 왕복을 줄임)
+			List<String> relatedFiles = rankRelatedFiles(repoFullName, baseBranch, collectedCode, contents);
+			Map<String, String> dependencyOutlines = outlineRelatedFiles(
+				repoFullName, baseBranch, relatedFiles, contents);
+
+			// 5. 프롬프트 생성
+			// 저장소/기능별로 정한 제공자 (자체 호스팅 모델은 텍스트 응답 형식 사용)
+			LlmProvider provider = llmClient.provider(repoFullName, definition);
+			String systemPrompt = promptBuilder.buildSystemPrompt(provider.isStructuredOutput());
+			String reviewSummary = previousSummary;
+			Function<FeatureMemory, ReviewPrompt> promptWithMemory = memory -> promptBuilder.buildReviewPrompt(
+				ResolvedFeature.builder().definition(definition).memory(memory).build(), changedFilesMap, coreFilesMap,
+				windowing, reviewSummary, normalized.getFormattingOnlyHunks(), dependencyOutlines);
+			ReviewPrompt initialPrompt = promptWithMemory.apply(resolvedFeature.getMemory());
+
+			// 6. 입력이 모두 같은 리뷰는 저장된 결과를 재사용하고, 동시에 들어온 같은 리뷰는 LLM 호출을 공유
+			// 리뷰가 메모리를 갱신하면 같은 입력의 다음 리뷰는 갱신된 메모리로 키를 만들므로 그 키로도 저장
+			Function<FeatureMemory, String> memoKeyWithMemory = memory -> ReviewMemoizer.key(provider.getName(),
+				definition, memory, collectedCode.getChangedFiles(), collectedCode.getCoreFiles(), systemPrompt,
+				memory == resolvedFeature.getMemory() ? initialPrompt : promptWithMemory.apply(memory));
+			String memoKey = memoKeyWithMemory.apply(resolvedFeature.getMemory());
+			return reviewMemoizer.memoize(feature, memoKey, memoKeyWithMemory, () -> {
+				// 6-1. LLM 리뷰 요청 (응답을 기다리는 동안 추가로 요청될 파일을 미리 조회)
+				// 배치 요청은 응답까지 수 분 이상 걸리므로 마감 시각 대신 라운드 수로만 제한
+				long deadlineMillis = priority == LlmPriority.DEFERRED
+					? Long.MAX_VALUE
+					: System.currentTimeMillis() + contextDeadlineSeconds * 1000;
+				CompletableFuture<Void> prefetch = prefetchLikelyRequests(
+					repoFullName, baseBranch, resolvedFeature, relatedFiles, contents);
+				Set<String> provided = ConcurrentHashMap.newKeySet();
+				provided.addAll(coreFilesMap.keySet());
+				provided.addAll(changedFilesMap.keySet());
+				List<CompletableFuture<Void>> earlyFetches = new ArrayList<>();
+				ReviewStreamListener streamListener = earlyFetchListener(
+					repoFullName, baseBranch, provided, contents, earlyFetches);
+				List<LlmMessage> conversation = new ArrayList<>();
+				conversation.add(llmClient.userMessage(initialPrompt));
+				// 작거나 위험도가 낮은 변경은 빠른 모델로 먼저 분류하고, 문제가 보이면 기본 모델로 다시 리뷰
+				// (빠른 모델이 따로 없는 제공자는 같은 모델로 두 번 리뷰하게 되므로 라우팅하지 않음)
+				ModelRoute route = provider.hasFastModel()
+					? modelRouter.route(definition, changedFilesMap)
+					: ModelRoute.STANDARD;
+				ReviewResponse reviewResponse = llmClient.startReview(provider, systemPrompt, initialPrompt, priority,
+					route, streamListener);
+				if (route == ModelRoute.FAST && modelRouter.shouldEscalate(definition, reviewResponse)) {
+					log.info("Fast triage flagged feature {}, escalating to standard model", feature);
+					route = ModelRoute.STANDARD;
+					reviewResponse = llmClient.startReview(provider, systemPrompt, initialPrompt, priority, route,
+						streamListener);
+				}
+
+				// 7. 추가 파일 요청 처리 (최대 라운드 수와 마감 시각 안에서)
+				int round = 1;
+				while (reviewResponse.isNeedMoreContext()) {
+					if (round >= maxContextRounds || System.currentTimeMillis() >= deadlineMillis) {
+						log.warn("Stopping context rounds for feature {} (round {}, deadline reached: {})",
+							feature, round, System.currentTimeMillis() >= deadlineMillis);
+						break;
+					}
+					log.info("LLM requested more context: {} ({})", reviewResponse.getRequestedFiles(),
+						reviewResponse.getReason());
 
+					// 추가 파일 수집 (LLM은 파일명/클래스명으로 요청하므로 저장소 경로로 해석)
+					List<String> additionalFiles = new ArrayList<>();
+					List<String> unresolvedFiles = new ArrayList<>();
+					List<String> alreadyProvidedFiles = new ArrayList<>();
+					for (String requested : reviewResponse.getRequestedFiles()) {
+						List<String> resolved = repoIndexService.resolve(repoFullName, baseBranch, List.of(requested));
+						if (resolved.isEmpty()) {
+							unresolvedFiles.add(requested);
+						} else if (provided.contains(resolved.get(0))) {
+							alreadyProvidedFiles.add(resolved.get(0));
+						} else if (!additionalFiles.contains(resolved.get(0))) {
+							additionalFiles.add(resolved.get(0));
+						}
+					}
+					awaitPrefetch(prefetch, deadlineMillis);
+					earlyFetches.forEach(fetch -> awaitPrefetch(fetch, deadlineMillis));
+					earlyFetches.clear();
+					Map<String, String> requestedFilesContent = new LinkedHashMap<>();
+					for (FileContent file : codeCollector.collectAdditionalFiles(
+							repoFullName, baseBranch, additionalFiles, contents)) {
+						requestedFilesContent.put(file.getPath(), file.getContent());
+					}
+					provided.addAll(requestedFilesContent.keySet());
+					additionalFiles.stream()
+						.filter(path -> !requestedFilesContent.containsKey(path))
+						.forEach(unresolvedFiles::add);
+
+					// 이전 응답과 추가 파일로 다음 라운드 요청 (제공하지 못한 파일은 이유와 함께 알림)
+					conversation.add(assistantMessage(reviewResponse));
+					String followUpPrompt = promptBuilder.buildFollowUpPrompt(requestedFilesContent, unresolvedFiles,
+						alreadyProvidedFiles);
+					reviewResponse = llmClient.continueReview(provider, systemPrompt, conversation, followUpPrompt,
+						priority, route, streamListener);
+					conversation.add(LlmMessage.user(followUpPrompt));
+					round++;
+					if (requestedFilesContent.isEmpty()) {
+						// 더 줄 파일이 없다고 알렸으므로 다시 요청해도 새로 제공할 파일이 없음
+						break;
+					}
+				}
+
+				// 8. 새로 리뷰한 hunk의 지문 기록 후 리뷰 집계
+				if (reusePlan != null) {
+					// 지적을 hunk별로 나누려면 줄 번호가 있는 구조화된 지적이 필요하고, 중간에 멈춘 리뷰는 기록하지 않음
+					if (provider.isStructuredOutput() && !reviewResponse.isNeedMoreContext()) {
+						hunkReusePlanner.record(feature, reusePlan, reviewResponse.getFindings());
+					}
+					if (reusePlan.getReusedHunkCount() > 0) {
+						reviewResponse = ReviewResponse.builder()
+							.review(reviewResponse.getReview() + "\n\n" + reusedFindings(reusePlan))
+							.findings(reviewResponse.getFindings())
+							.needMoreContext(reviewResponse.isNeedMoreContext())
+							.requestedFiles(reviewResponse.getRequestedFiles())
+							.reason(reviewResponse.getReason())
+							.memorySuggestion(reviewResponse.getMemorySuggestion())
+							.build();
+					}
+				}
+				return reviewAggregator.aggregate(feature, reviewResponse);
+			});
+
+		} catch (LlmUnavailableException e) {
+			throw e;
 		} catch (Exception e) {
-			log.error("Failed to review feature {}: {}", feature, e.getMessage(), e);
-			return null;
+			throw new IllegalStateException("Failed to review feature " + feature, e);
 		}
 	}
 }
@@ -0,0 +1,118 @@
+package greensnaback0229.pr_review_server.webhook;
+
+import greensnaback0229.pr_review_server.aggregator.ReviewAggregator;
+import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
+import greensnaback0229.pr_review_server.github.GitHubCommentService;
+import lombok.extern.slf4j.Slf4j;
+import org.kohsuke.github.GHIssueComment;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PR 리뷰 결과를 점진적으로 게시
+ * 리뷰를 시작하면 바로 자리 표시 코멘트를 작성하고, 기능 리뷰가 끝날 때마다 주 기능부터 그 코멘트에 반영한 뒤
+ * 마지막에 전체 리뷰 결과로 한 번 더 교체
+ * (리뷰 하나에 인스턴스 하나, 코멘트 작성에 실패하면 마지막에 새 코멘트로 게시)
+ */
+@Slf4j
+public class ProgressiveCommentPublisher implements ReviewProgressListener {
+
+    static final String PLACEHOLDER = "> ⏳ 리뷰를 시작했습니다. 기능별 리뷰가 끝나는 대로 이 코멘트에 반영됩니다.";
+    static final String QUEUED = "> ⏸️ LLM API 장애로 리뷰가 대기 중입니다. API가 회복되면 이 코멘트에 결과를 반영합니다.";
+
+    private final GitHubCommentService commentService;
+    private final ReviewAggregator reviewAggregator;
+    private final String repoFullName;
+    private final int prNumber;
+
+    private GHIssueComment comment;
+    private final List<String> mainFeatures = new ArrayList<>();
+    private final Set<String> pending = new LinkedHashSet<>();
+    private final List<AggregatedReview> completed = new ArrayList<>();
+    private int total;
+
+    public ProgressiveCommentPublisher(GitHubCommentService commentService, ReviewAggregator reviewAggregator,
+                                       String repoFullName, int prNumber) {
+        this.commentService = commentService;
+        this.reviewAggregator = reviewAggregator;
+        this.repoFullName = repoFullName;
+        this.prNumber = prNumber;
+    }
+
+    /**
+     * 자리 표시 코멘트 작성
+     */
+    public synchronized void start() {
+        try {
+            comment = commentService.postReviewComment(repoFullName, prNumber, PLACEHOLDER);
+        } catch (Exception e) {
+            log.warn("Failed to post placeholder comment for {}/#{}, publishing once at the end: {}",
+                    repoFullName, prNumber, e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void onFeaturesPlanned(List<String> mainFeatures, List<String> relatedFeatures) {
+        this.mainFeatures.clear();
+        this.mainFeatures.addAll(mainFeatures);
+        pending.clear();
+        pending.addAll(mainFeatures);
+        pending.addAll(relatedFeatures);
+        completed.clear();
+        total = pending.size();
+        update(reviewAggregator.renderProgress(completed, List.copyOf(pending), total));
+    }
+
+    @Override
+    public synchronized void onFeatureReviewed(String feature, AggregatedReview review) {
+        pending.remove(feature);
+        if (review != null) {
+            completed.add(review);
+            // 관련 기능이 먼저 끝나도 주 기능의 리뷰가 위에 오도록 정렬
+            completed.sort(Comparator.comparingInt(done -> mainFeatures.contains(done.getFeature()) ? 0 : 1));
+        }
+        if (!pending.isEmpty()) {
+            update(reviewAggregator.renderProgress(completed, List.copyOf(pending), total));
+        }
+    }
+
+    /**
+     * LLM API 장애로 리뷰가 대기열에 들어갔음을 표시
+     */
+    public synchronized void queued() {
+        update(QUEUED);
+    }
+
+    /**
+     * 전체 리뷰 결과로 마지막 교체 (자리 표시 코멘트가 없으면 새로 작성)
+     *
+     * @param finalReview 최종 병합된 리뷰 결과
+     * @throws IOException 코멘트 작성/수정 실패 시
+     */
+    public synchronized void complete(String finalReview) throws IOException {
+        if (comment == null) {
+            commentService.postReviewComment(repoFullName, prNumber, finalReview);
+            return;
+        }
+        commentService.updateReviewComment(comment, finalReview);
+    }
+
+    /**
+     * 중간 결과 반영 (실패해도 리뷰는 계속하고 마지막 교체에서 다시 시도)
+     */
+    private void update(String content) {
+        if (comment == null) {
+            return;
+        }
+        try {
+            commentService.updateReviewComment(comment, content);
+        } catch (Exception e) {
+            log.warn("Failed to update progress comment for {}/#{}: {}", repoFullName, prNumber, e.getMessage());
+        }
+    }
+}
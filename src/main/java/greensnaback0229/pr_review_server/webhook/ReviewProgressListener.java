@@ -0,0 +1,36 @@
+package greensnaback0229.pr_review_server.webhook;
+
+import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
+
+import java.util.List;
+
+/**
+ * PR 리뷰 진행 상황을 받는 리스너
+ * 모든 기능의 리뷰가 끝나기 전에 끝난 기능부터 게시할 때 사용
+ */
+public interface ReviewProgressListener {
+
+    /**
+     * 아무것도 하지 않는 리스너
+     */
+    ReviewProgressListener NONE = new ReviewProgressListener() {
+    };
+
+    /**
+     * 리뷰할 기능이 정해졌을 때 호출 (주 기능부터 순서대로 리뷰)
+     *
+     * @param mainFeatures 주 기능
+     * @param relatedFeatures 관련 기능
+     */
+    default void onFeaturesPlanned(List<String> mainFeatures, List<String> relatedFeatures) {
+    }
+
+    /**
+     * 기능 하나의 리뷰가 끝났을 때 호출
+     *
+     * @param feature 기능 이름
+     * @param review 리뷰 결과 (리뷰할 내용이 없었거나 실패했으면 null)
+     */
+    default void onFeatureReviewed(String feature, AggregatedReview review) {
+    }
+}
@@ -1,11 +1,21 @@
 package greensnaback0229.pr_review_server.webhook;
 
+import greensnaback0229.pr_review_server.aggregator.ReviewAggregator;
+import greensnaback0229.pr_review_server.history.CoChangeMiner;
+import greensnaback0229.pr_review_server.llm.LlmCallExecutor;
+import greensnaback0229.pr_review_server.llm.LlmPriority;
+import greensnaback0229.pr_review_server.llm.LlmUnavailableException;
 import greensnaback0229.pr_review_server.webhook.dto.WebhookPayload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
 /**
  * GitHub Webhook 이벤트를 수신하는 컨트롤러
  */
@@ -17,6 +27,38 @@ public class WebhookController {
     
     private final PrReviewService prReviewService;
     private final greensnaback0229.pr_review_server.github.GitHubCommentService gitHubCommentService;
+    private final CoChangeMiner coChangeMiner;
+    private final LlmCallExecutor llmCallExecutor;
+    private final ReviewAggregator reviewAggregator;
+    
+    /**
+     * true면 리뷰 시작 시 자리 표시 코멘트를 작성하고 기능 리뷰가 끝날 때마다 그 코멘트를 수정
+     */
+    @Value("${review.publish.progressive:false}")
+    private boolean progressivePublishing = false;
+    
+    /**
+     * LLM API 장애로 대기열에 넣은 리뷰를 다시 시도할 최대 횟수
+     */
+    @Value("${review.llm.circuit.max-queued-attempts:5}")
+    private int maxQueuedAttempts = 5;
+    
+    /**
+     * 대기열에 넣은 리뷰를 다시 시도하기 전 최소 대기 (시도마다 두 배, 예외가 알려준 시각이 더 늦으면 그 시각까지)
+     */
+    @Value("${review.llm.circuit.queued-retry-base-delay-ms:15000}")
+    private long queuedRetryBaseDelayMillis = 15000;
+    
+    /**
+     * 대기열에 넣은 리뷰를 다시 시도하기 전 최대 대기
+     */
+    @Value("${review.llm.circuit.queued-retry-max-delay-ms:600000}")
+    private long queuedRetryMaxDelayMillis = 600000;
+    
+    /**
+     * Draft PR 리뷰와 LLM 장애로 대기열에 넣은 리뷰 실행용 (결과를 기다리는 동안 요청 스레드를 점유하지 않도록)
+     */
+    private final ExecutorService deferredReviewExecutor = Executors.newVirtualThreadPerTaskExecutor();
     
     /**
      * GitHub PR 이벤트 Webhook 엔드포인트
@@ -30,6 +72,17 @@ public class WebhookController {
             String action = payload.getAction();
             log.info("Received PR webhook event: action={}", action);
             
+            // 닫힌 PR은 리뷰 상태만 정리 (병합된 PR은 함께 바뀐 파일을 co-change 색인에 반영)
+            if ("closed".equals(action)) {
+                prReviewService.forgetPullRequest(payload.getRepository().getFullName(),
+                        payload.getPullRequest().getNumber());
+                if (payload.getPullRequest().isMerged()) {
+                    coChangeMiner.recordMergedPullRequest(payload.getRepository().getFullName(),
+                            payload.getPullRequest().getNumber());
+                }
+                return ResponseEntity.ok("Cleared review state for closed PR");
+            }
+            
             // opened, synchronize 이벤트만 처리
             if (!isReviewableAction(action)) {
                 log.info("Ignoring action: {}", action);
@@ -46,23 +99,45 @@ public class WebhookController {
             String prBody = pr.getBody();
             String baseBranch = pr.getBase().getRef();
             String headBranch = pr.getHead().getRef();
+            String headSha = pr.getHead().getSha();
             
             log.info("Processing PR: {}/#{} - {}", repoFullName, prNumber, prTitle);
             
-            // 리뷰 수행
-            String review = prReviewService.reviewPullRequest(
-                    repoFullName, prNumber, prTitle, prBody, baseBranch, headBranch);
+            // Draft PR은 급하지 않으므로 배치로 리뷰하고 결과가 나오면 코멘트 작성
+            if (pr.isDraft()) {
+                reviewInBackground(repoFullName, prNumber, null, () -> prReviewService.reviewPullRequest(
+                        repoFullName, prNumber, prTitle, prBody, baseBranch, headBranch, headSha,
+                        LlmPriority.DEFERRED));
+                return ResponseEntity.accepted().body("Review queued for draft PR #" + prNumber);
+            }
+            
+            // 점진적 게시 모드면 자리 표시 코멘트를 먼저 작성하고 기능 리뷰가 끝날 때마다 수정
+            ProgressiveCommentPublisher publisher = progressivePublishing
+                    ? new ProgressiveCommentPublisher(gitHubCommentService, reviewAggregator, repoFullName, prNumber)
+                    : null;
+            ReviewProgressListener progress = publisher != null ? publisher : ReviewProgressListener.NONE;
+            if (publisher != null) {
+                publisher.start();
+            }
             
-            // GitHub에 코멘트 작성
+            // 리뷰 수행 (LLM API 장애 중이면 회복 후 다시 리뷰하도록 대기열에 넣음)
+            String review;
             try {
-                gitHubCommentService.postReviewComment(repoFullName, prNumber, review);
-                log.info("Review comment posted successfully for {}/#{}", repoFullName, prNumber);
-            } catch (Exception e) {
-                log.error("Failed to post comment, but review completed: {}", e.getMessage());
-                // 코멘트 작성 실패해도 리뷰는 완료된 것으로 처리
+                review = prReviewService.reviewPullRequest(repoFullName, prNumber, prTitle, prBody,
+                        baseBranch, headBranch, headSha, LlmPriority.INTERACTIVE, progress);
+            } catch (LlmUnavailableException e) {
+                log.warn("LLM unavailable, queueing review for {}/#{}: {}", repoFullName, prNumber, e.getMessage());
+                if (publisher != null) {
+                    publisher.queued();
+                }
+                reviewInBackground(repoFullName, prNumber, publisher, () -> prReviewService.reviewPullRequest(
+                        repoFullName, prNumber, prTitle, prBody, baseBranch, headBranch, headSha,
+                        LlmPriority.INTERACTIVE, progress));
+                return ResponseEntity.accepted().body("LLM unavailable, review queued for PR #" + prNumber);
             }
             
-            log.info("Review completed for {}/#{}", repoFullName, prNumber);
+            // GitHub에 코멘트 작성 (점진적 게시 모드면 전체 결과로 마지막 수정)
+            postReview(repoFullName, prNumber, publisher, review);
             
             return ResponseEntity.ok("Review completed for PR #" + prNumber);
             
@@ -73,6 +148,85 @@ public class WebhookController {
         }
     }
     
+    /**
+     * 백그라운드에서 리뷰 후 코멘트 작성
+     * LLM API 장애로 실패하면 예외가 알려준 시각(지수 백오프보다 이르면 백오프)까지 기다렸다가 최대 횟수까지 다시 리뷰
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param prNumber PR 번호
+     * @param publisher 점진적 게시 중인 코멘트 (없으면 null)
+     * @param review 리뷰 수행 (최종 리뷰 내용 반환)
+     */
+    private void reviewInBackground(String repoFullName, int prNumber, ProgressiveCommentPublisher publisher,
+                                    Supplier<String> review) {
+        deferredReviewExecutor.execute(() -> {
+            for (int attempt = 1; attempt <= maxQueuedAttempts; attempt++) {
+                long retryAtMillis;
+                try {
+                    llmCallExecutor.awaitAvailable();
+                    postReview(repoFullName, prNumber, publisher, review.get());
+                    return;
+                } catch (LlmUnavailableException e) {
+                    log.warn("LLM still unavailable for {}/#{} (attempt {}/{}): {}",
+                            repoFullName, prNumber, attempt, maxQueuedAttempts, e.getMessage());
+                    retryAtMillis = e.getRetryAtMillis();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (attempt < maxQueuedAttempts && !sleepBeforeRetry(attempt, retryAtMillis)) {
+                    return;
+                }
+            }
+            log.error("Giving up review for {}/#{} after {} attempts while LLM unavailable",
+                    repoFullName, prNumber, maxQueuedAttempts);
+        });
+    }
+    
+    /**
+     * 대기열에 넣은 리뷰를 다시 시도하기 전 대기
+     *
+     * @param attempt 방금 실패한 시도 번호 (1부터)
+     * @param retryAtMillis 예외가 알려준 다시 시도할 수 있는 시각
+     * @return 인터럽트되면 false
+     */
+    private boolean sleepBeforeRetry(int attempt, long retryAtMillis) {
+        long backoff = Math.min(queuedRetryMaxDelayMillis,
+                queuedRetryBaseDelayMillis << Math.min(attempt - 1, 20));
+        long delay = Math.max(retryAtMillis - System.currentTimeMillis(), backoff);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    /**
+     * 리뷰 결과를 PR 코멘트로 작성
+     * 코멘트 작성에 실패해도 리뷰는 완료된 것으로 처리
+     *
+     * @param repoFullName 저장소 풀네임
+     * @param prNumber PR 번호
+     * @param publisher 점진적 게시 중인 코멘트 (있으면 새로 작성하지 않고 그 코멘트를 최종 결과로 수정)
+     * @param review 리뷰 내용
+     */
+    private void postReview(String repoFullName, int prNumber, ProgressiveCommentPublisher publisher, String review) {
+        try {
+            if (publisher != null) {
+                publisher.complete(review);
+            } else {
+                gitHubCommentService.postReviewComment(repoFullName, prNumber, review);
+            }
+            log.info("Review comment posted successfully for {}/#{}", repoFullName, prNumber);
+        } catch (Exception e) {
+            log.error("Failed to post comment, but review completed: {}", e.getMessage());
+        }
+        
+        log.info("Review completed for {}/#{}", repoFullName, prNumber);
+    }
+    
     /**
      * 리뷰 가능한 액션인지 확인
      *
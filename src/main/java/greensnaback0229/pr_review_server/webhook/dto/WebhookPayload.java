@@ -56,6 +56,16 @@ public class WebhookPayload {
          */
         private String body;
         
+        /**
+         * 병합 여부 (closed 이벤트에서 병합으로 닫혔는지 구분)
+         */
+        private boolean merged;
+        
+        /**
+         * Draft PR 여부 (급하지 않으므로 배치로 리뷰)
+         */
+        private boolean draft;
+        
         /**
          * Base 브랜치
          */
@@ -4,6 +4,7 @@ import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
 import greensnaback0229.pr_review_server.feature.FeatureMemoryRepository;
 import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
 import greensnaback0229.pr_review_server.llm.dto.MemorySuggestion;
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
 import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -58,6 +59,30 @@ class ReviewAggregatorTest {
         verify(featureMemoryRepository, never()).save(any());
     }
     
+    @Test
+    @DisplayName("구조화된 지적 사항을 우선순위 순으로 리뷰 본문에 붙인다")
+    void aggregate_withFindings() {
+        // given
+        ReviewResponse reviewResponse = ReviewResponse.builder()
+                .review("전반적으로 좋습니다.")
+                .findings(List.of(
+                        ReviewFinding.builder().path("A.java").severity("MINOR").message("이름 개선").build(),
+                        ReviewFinding.builder().path("B.java").line(10).severity("CRITICAL").message("검증 누락").build()))
+                .build();
+        
+        // when
+        AggregatedReview result = reviewAggregator.aggregate("PAYMENT", reviewResponse);
+        
+        // then
+        assertThat(result.getFindings()).hasSize(2);
+        assertThat(result.getReview()).isEqualTo(String.join("\n",
+                "전반적으로 좋습니다.",
+                "",
+                "### 지적 사항",
+                "- **[CRITICAL]** `B.java:10` 검증 누락",
+                "- **[MINOR]** `A.java` 이름 개선"));
+    }
+    
     @Test
     @DisplayName("LLM 제안으로 새로운 Feature Memory를 생성한다")
     void aggregate_createNewMemory() {
@@ -215,4 +240,23 @@ class ReviewAggregatorTest {
         // then
         assertThat(result).isEqualTo("리뷰 결과가 없습니다.");
     }
+    
+    @Test
+    @DisplayName("진행 중 결과는 끝난 기능의 리뷰와 남은 기능을 함께 보여준다")
+    void renderProgress_completedAndPending() {
+        // given
+        AggregatedReview payment = AggregatedReview.builder()
+                .feature("PAYMENT")
+                .review("결제 리뷰")
+                .build();
+        
+        // when
+        String result = reviewAggregator.renderProgress(List.of(payment), List.of("ALERT", "ORDER"), 3);
+        
+        // then
+        assertThat(result).startsWith("> ⏳ 리뷰 진행 중입니다 (1/3 기능 완료) - 남은 기능: ALERT, ORDER");
+        assertThat(result).contains("## PAYMENT 기능");
+        assertThat(result).contains("결제 리뷰");
+        assertThat(result).doesNotContain("## ALERT 기능");
+    }
 }
@@ -1,7 +1,11 @@
 package greensnaback0229.pr_review_server.collector;
 
+import greensnaback0229.pr_review_server.collector.content.BoundedFileReader;
+import greensnaback0229.pr_review_server.collector.content.ContentInterner;
 import greensnaback0229.pr_review_server.collector.dto.CollectedCode;
 import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
+import greensnaback0229.pr_review_server.github.GitHubHttpClient;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,7 +44,11 @@ class CodeCollectorTest {
     @BeforeEach
     void setUp() throws IOException {
         MockitoAnnotations.openMocks(this);
-        codeCollector = new CodeCollector(github);
+        GitHubCallScheduler scheduler = new GitHubCallScheduler(github);
+        BoundedFileReader fileReader = new BoundedFileReader(65536, 8000);
+        codeCollector = new CodeCollector(scheduler,
+                new GraphQlFileFetcher(scheduler, new GitHubHttpClient(), fileReader, "http://localhost/graphql", 1048576, 50),
+                fileReader);
         
         // PagedIterable toList() mock 설정
         when(pagedIterable.toList()).thenReturn(Arrays.asList());
@@ -108,6 +116,32 @@ class CodeCollectorTest {
         assertThat(result.get(0).getType()).isEqualTo(FileContent.FileType.CORE);
     }
     
+    @Test
+    @DisplayName("같은 리뷰에서 이미 조회한 핵심 파일은 다시 조회하지 않는다")
+    void collectCoreFiles_reusesInternedContent() throws IOException {
+        // given
+        String repoFullName = "owner/repo";
+        String branch = "main";
+        ContentInterner contents = new ContentInterner();
+        
+        when(github.getRepository(repoFullName)).thenReturn(repository);
+        when(repository.getFileContent(anyString(), eq(branch))).thenReturn(ghContent);
+        when(ghContent.getContent()).thenReturn("public class PaymentValidator {}");
+        when(ghContent.getSha()).thenReturn("abc123");
+        
+        // when
+        codeCollector.collectCoreFiles(repoFullName, branch, List.of("PaymentValidator.java"), contents);
+        List<FileContent> result = codeCollector.collectCoreFiles(repoFullName, branch,
+                List.of("PaymentValidator.java", "OrderService.java"), contents);
+        
+        // then
+        assertThat(result).extracting(FileContent::getPath)
+                .containsExactly("PaymentValidator.java", "OrderService.java");
+        assertThat(result.get(0).getSha()).isEqualTo("abc123");
+        verify(repository, times(1)).getFileContent("PaymentValidator.java", branch);
+        verify(repository, times(1)).getFileContent("OrderService.java", branch);
+    }
+    
     @Test
     @DisplayName("추가 요청 파일의 전체 코드를 수집한다")
     void collectAdditionalFiles() throws IOException {
@@ -232,4 +266,73 @@ class CodeCollectorTest {
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getPath()).isEqualTo("src/main/java/PaymentValidator.java");
     }
+    
+    @Test
+    @DisplayName("마지막 리뷰 커밋 이후의 변경분만 수집한다")
+    void collectDelta() throws IOException {
+        // given
+        GHCompare compare = mock(GHCompare.class);
+        GHCommit.File file = mock(GHCommit.File.class);
+        when(file.getFileName()).thenReturn("src/main/java/PaymentService.java");
+        when(file.getPatch()).thenReturn("@@ -1,1 +1,2 @@\n+fixed line");
+        
+        when(github.getRepository("owner/repo")).thenReturn(repository);
+        when(repository.getCompare("abc123", "def456")).thenReturn(compare);
+        when(compare.getStatus()).thenReturn(GHCompare.Status.ahead);
+        when(compare.getFiles()).thenReturn(new GHCommit.File[]{file});
+        
+        // when
+        var result = codeCollector.collectDelta("owner/repo", "abc123", "def456");
+        
+        // then
+        assertThat(result).isPresent();
+        assertThat(result.get()).hasSize(1);
+        assertThat(result.get().get(0).getDiff()).contains("fixed line");
+    }
+    
+    @Test
+    @DisplayName("force-push로 이력이 갈라지면 변경분 대신 empty를 반환한다")
+    void collectDelta_diverged() throws IOException {
+        // given
+        GHCompare compare = mock(GHCompare.class);
+        when(github.getRepository("owner/repo")).thenReturn(repository);
+        when(repository.getCompare("abc123", "def456")).thenReturn(compare);
+        when(compare.getStatus()).thenReturn(GHCompare.Status.diverged);
+        
+        // when & then
+        assertThat(codeCollector.collectDelta("owner/repo", "abc123", "def456")).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("변경분에 base 브랜치를 병합한 커밋이 있으면 empty를 반환한다")
+    void collectDelta_mergeCommit() throws IOException {
+        // given
+        GHCompare compare = mock(GHCompare.class);
+        GHCompare.Commit merge = mock(GHCompare.Commit.class);
+        when(merge.getParentSHA1s()).thenReturn(List.of("abc123", "base999"));
+        when(github.getRepository("owner/repo")).thenReturn(repository);
+        when(repository.getCompare("abc123", "def456")).thenReturn(compare);
+        when(compare.getStatus()).thenReturn(GHCompare.Status.ahead);
+        when(compare.getCommits()).thenReturn(new GHCompare.Commit[]{merge});
+        when(compare.getFiles()).thenReturn(new GHCommit.File[0]);
+        
+        // when & then
+        assertThat(codeCollector.collectDelta("owner/repo", "abc123", "def456")).isEmpty();
+    }
+    
+    @Test
+    @DisplayName("compare 파일 목록이 잘렸을 수 있을 만큼 많으면 empty를 반환한다")
+    void collectDelta_tooManyFiles() throws IOException {
+        // given
+        GHCompare compare = mock(GHCompare.class);
+        GHCommit.File[] files = new GHCommit.File[300];
+        Arrays.fill(files, mock(GHCommit.File.class));
+        when(github.getRepository("owner/repo")).thenReturn(repository);
+        when(repository.getCompare("abc123", "def456")).thenReturn(compare);
+        when(compare.getStatus()).thenReturn(GHCompare.Status.ahead);
+        when(compare.getFiles()).thenReturn(files);
+        
+        // when & then
+        assertThat(codeCollector.collectDelta("owner/repo", "abc123", "def456")).isEmpty();
+    }
 }
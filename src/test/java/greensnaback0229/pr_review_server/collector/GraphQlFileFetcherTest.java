@@ -0,0 +1,188 @@
+package greensnaback0229.pr_review_server.collector;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import greensnaback0229.pr_review_server.collector.content.BoundedFileReader;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
+import greensnaback0229.pr_review_server.github.GitHubHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GitHub;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("GraphQlFileFetcher 테스트")
+class GraphQlFileFetcherTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requests = new ArrayList<>();
+    private final Map<String, Integer> blobSizes = new HashMap<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/graphql", exchange -> {
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            requests.add(request);
+
+            // 큰 응답으로 게이트웨이 시간 초과가 나는 상황 흉내: "slow/" 파일은 단독으로만 조회됨
+            int fileCount = request.path("variables").size() - 2;
+            if (fileCount > 1 && request.path("variables").toString().contains(":slow/")) {
+                exchange.sendResponseHeaders(502, -1);
+                exchange.close();
+                return;
+            }
+
+            // 변수로 받은 "ref:path"마다 Blob을 돌려주는 GraphQL 응답 흉내
+            var repository = objectMapper.createObjectNode();
+            request.path("variables").fields().forEachRemaining(entry -> {
+                if (!entry.getKey().startsWith("e")) {
+                    return;
+                }
+                String alias = "f" + entry.getKey().substring(1);
+                String path = entry.getValue().asText().substring(entry.getValue().asText().indexOf(':') + 1);
+                if (path.startsWith("missing")) {
+                    repository.putNull(alias);
+                } else if (path.endsWith(".png")) {
+                    repository.putObject(alias).put("oid", "b").put("byteSize", 1000).put("isBinary", true)
+                            .putNull("text");
+                } else {
+                    String text = "content of " + path;
+                    repository.putObject(alias).put("oid", "a")
+                            .put("byteSize", blobSizes.getOrDefault(path, text.length()))
+                            .put("isBinary", false).put("isTruncated", false).put("text", text);
+                }
+            });
+            var body = objectMapper.createObjectNode();
+            body.putObject("data").set("repository", repository);
+
+            byte[] bytes = objectMapper.writeValueAsBytes(body);
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("여러 파일을 별칭으로 묶어 한 번의 쿼리로 조회한다")
+    void fetchFiles_singleBatch() throws Exception {
+        // given
+        GraphQlFileFetcher fetcher = fetcher(16384, 50);
+
+        // when
+        List<FileContent> files = fetcher.fetchFiles("owner/repo", "main",
+                List.of("src/A.java", "src/B.java", "src/C.java"), FileContent.FileType.CORE);
+
+        // then
+        assertThat(contentRequests()).hasSize(1);
+        assertThat(contentRequests().get(0).path("variables").path("e1").asText()).isEqualTo("main:src/B.java");
+        assertThat(files).extracting(FileContent::getPath)
+                .containsExactly("src/A.java", "src/B.java", "src/C.java");
+        assertThat(files.get(0).getContent()).isEqualTo("content of src/A.java");
+        assertThat(files).allMatch(file -> file.getType() == FileContent.FileType.CORE);
+    }
+
+    @Test
+    @DisplayName("배치당 파일 수 제한을 넘으면 여러 쿼리로 나눈다")
+    void fetchFiles_splitsByFileCount() throws Exception {
+        // given
+        GraphQlFileFetcher fetcher = fetcher(16384, 2);
+
+        // when
+        List<FileContent> files = fetcher.fetchFiles("owner/repo", "main",
+                List.of("a.java", "b.java", "c.java", "d.java", "e.java"), FileContent.FileType.ADDITIONAL);
+
+        // then
+        assertThat(contentRequests()).hasSize(3);
+        assertThat(files).hasSize(5);
+        assertThat(files.get(4).getContent()).isEqualTo("content of e.java");
+    }
+
+    @Test
+    @DisplayName("Blob 크기를 따로 조회하지 않고, 응답이 크기 상한을 넘으면 다음 배치의 파일 수를 줄인다")
+    void fetchFiles_shrinksBatchAfterOversizedResponse() throws Exception {
+        // given
+        GraphQlFileFetcher fetcher = fetcher(2000, 2);
+        blobSizes.put("Big1.java", 1500);
+        blobSizes.put("Big2.java", 1500);
+
+        // when
+        List<FileContent> files = fetcher.fetchFiles("owner/repo", "main",
+                List.of("Big1.java", "Big2.java", "C.java", "D.java", "E.java", "F.java"), FileContent.FileType.CORE);
+
+        // then
+        assertThat(requests).hasSize(4);
+        assertThat(contentRequests()).hasSize(4);
+        assertThat(requests).extracting(request -> request.path("variables").size() - 2)
+                .containsExactly(2, 1, 2, 1);
+        assertThat(files).extracting(FileContent::getPath)
+                .containsExactly("Big1.java", "Big2.java", "C.java", "D.java", "E.java", "F.java");
+    }
+
+    @Test
+    @DisplayName("여러 파일을 묶은 쿼리가 실패하면 배치를 반으로 나누어 다시 조회한다")
+    void fetchFiles_splitsFailedBatch() throws Exception {
+        // given
+        GraphQlFileFetcher fetcher = fetcher(16384, 50);
+
+        // when
+        List<FileContent> files = fetcher.fetchFiles("owner/repo", "main",
+                List.of("a.java", "slow/B.java", "c.java", "d.java"), FileContent.FileType.CORE);
+
+        // then
+        assertThat(requests).extracting(request -> request.path("variables").size() - 2)
+                .containsExactly(4, 2, 1, 1, 2);
+        assertThat(files).extracting(FileContent::getPath)
+                .containsExactly("a.java", "slow/B.java", "c.java", "d.java");
+    }
+
+    @Test
+    @DisplayName("존재하지 않거나 바이너리인 파일은 제외한다")
+    void fetchFiles_skipsMissingAndBinary() throws Exception {
+        // given
+        GraphQlFileFetcher fetcher = fetcher(16384, 50);
+
+        // when
+        List<FileContent> files = fetcher.fetchFiles("owner/repo", "main",
+                List.of("missing/Gone.java", "docs/logo.png", "src/Kept.java"), FileContent.FileType.CORE);
+
+        // then
+        assertThat(files).extracting(FileContent::getPath).containsExactly("src/Kept.java");
+        assertThat(requests.get(0).path("query").asText()).contains("f0: object(expression: $e0)");
+    }
+
+    /**
+     * 본문(text)을 함께 조회하는 요청
+     */
+    private List<JsonNode> contentRequests() {
+        return requests.stream()
+                .filter(request -> request.path("query").asText().contains("text"))
+                .toList();
+    }
+
+    private GraphQlFileFetcher fetcher(long maxResponseBytes, int maxFilesPerBatch) {
+        return new GraphQlFileFetcher(new GitHubCallScheduler(mock(GitHub.class)), new GitHubHttpClient(),
+                new BoundedFileReader(65536, 8000),
+                "http://localhost:" + server.getAddress().getPort() + "/graphql", maxResponseBytes, maxFilesPerBatch);
+    }
+}
@@ -0,0 +1,108 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("BoundedFileReader 테스트")
+class BoundedFileReaderTest {
+
+    private final BoundedFileReader reader = new BoundedFileReader(300, 100);
+
+    @Test
+    @DisplayName("한도 이내의 파일은 그대로 읽는다")
+    void read_small() throws Exception {
+        // given
+        String text = "public class Small {}\n";
+
+        // when
+        String result = reader.read(stream(text), "Small.java", FileContent.FileType.ADDITIONAL);
+
+        // then
+        assertThat(result).isEqualTo(text);
+    }
+
+    @Test
+    @DisplayName("앞부분에 NUL 바이트가 있으면 바이너리로 보고 null을 반환한다")
+    void read_binary() throws Exception {
+        // given
+        byte[] png = {(byte) 0x89, 'P', 'N', 'G', 0, 0, 0, 13};
+
+        // when
+        String result = reader.read(new ByteArrayInputStream(png), "logo.png", FileContent.FileType.ADDITIONAL);
+
+        // then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    @DisplayName("한도를 넘는 파일은 줄 경계에서 앞/뒤만 남기고 중략 표시를 넣는다")
+    void read_truncatesHeadAndTail() throws Exception {
+        // given
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            text.append("line ").append(i).append('\n');
+        }
+
+        // when
+        String result = reader.read(stream(text.toString()), "Big.java", FileContent.FileType.ADDITIONAL);
+
+        // then
+        assertThat(result).startsWith("line 0\n").endsWith("line 99\n").contains("(중략: ");
+        assertThat(result).doesNotContain("line 50\n");
+        assertThat(result.getBytes(StandardCharsets.UTF_8).length).isLessThan(400);
+        assertThat(result.lines().filter(line -> line.startsWith("line")))
+                .allMatch(line -> line.matches("line \\d+"));
+    }
+
+    @Test
+    @DisplayName("줄바꿈이 없는 파일은 UTF-8 문자 경계에서 자른다")
+    void read_truncatesMinifiedOnCharBoundary() throws Exception {
+        // given
+        String text = "가".repeat(500);
+
+        // when
+        String result = reader.read(stream(text), "bundle.min.js", FileContent.FileType.ADDITIONAL);
+
+        // then
+        assertThat(result).doesNotContain("�").contains("(중략: ");
+    }
+
+    @Test
+    @DisplayName("한도를 넘는 핵심 파일은 선언부 개요로 축약한다")
+    void read_outlinesCoreFile() throws Exception {
+        // given
+        StringBuilder text = new StringBuilder("public class Service {\n");
+        for (int i = 0; i < 20; i++) {
+            text.append("    public void method").append(i).append("() {\n")
+                    .append("        doSomething();\n")
+                    .append("    }\n");
+        }
+        text.append("}\n");
+
+        // when
+        String result = reader.read(stream(text.toString()), "Service.java", FileContent.FileType.CORE);
+
+        // then
+        assertThat(result).startsWith("(원본 ").contains("public void method19() { ... }");
+        assertThat(result).doesNotContain("doSomething");
+    }
+
+    @Test
+    @DisplayName("메모리에 있는 내용에도 같은 한도를 적용한다")
+    void limit() {
+        // when & then
+        assertThat(reader.limit("short", "a.txt", FileContent.FileType.ADDITIONAL)).isEqualTo("short");
+        assertThat(reader.limit("x\n".repeat(500), "a.txt", FileContent.FileType.ADDITIONAL)).contains("(중략: ");
+        assertThat(reader.limit("a\0b", "a.bin", FileContent.FileType.ADDITIONAL)).isNull();
+    }
+
+    private ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
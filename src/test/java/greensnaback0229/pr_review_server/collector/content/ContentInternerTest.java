@@ -0,0 +1,120 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ContentInterner 테스트")
+class ContentInternerTest {
+
+    private final ContentInterner interner = new ContentInterner();
+
+    @Test
+    @DisplayName("조회한 파일을 다른 타입으로 다시 꺼낼 수 있다")
+    void find() {
+        // given
+        interner.intern("main", file("A.java", "class A {}", "sha-a", FileContent.FileType.CORE));
+
+        // when
+        FileContent found = interner.find("main", "A.java", FileContent.FileType.ADDITIONAL).orElseThrow();
+
+        // then
+        assertThat(found.getContent()).isEqualTo("class A {}");
+        assertThat(found.getSha()).isEqualTo("sha-a");
+        assertThat(found.getType()).isEqualTo(FileContent.FileType.ADDITIONAL);
+        assertThat(interner.find("develop", "A.java", FileContent.FileType.CORE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 blob은 경로가 달라도 한 번만 보관한다")
+    void intern_sameBlob() {
+        // given
+        interner.intern("main", file("A.java", "class 가 {}", "sha-a", FileContent.FileType.CORE));
+        interner.intern("main", file("copy/A.java", "class 가 {}", "sha-a", FileContent.FileType.CORE));
+
+        // then
+        assertThat(interner.size()).isEqualTo(1);
+        assertThat(interner.retainedBytes()).isEqualTo("class 가 {}".getBytes(java.nio.charset.StandardCharsets.UTF_8).length);
+        assertThat(interner.find("main", "copy/A.java", FileContent.FileType.CORE)).isPresent();
+    }
+
+    @Test
+    @DisplayName("SHA가 없으면 ref와 경로로 보관하고, 축약된 내용은 보관하지 않는다")
+    void intern_withoutShaOrReduced() {
+        // given
+        interner.intern("main", file("A.java", "class A {}", null, FileContent.FileType.CORE));
+        interner.intern("main", file("B.java", String.format(BoundedFileReader.OUTLINE_NOTE, 100000) + "class B", "sha-b",
+                FileContent.FileType.CORE));
+
+        // then
+        assertThat(interner.find("main", "A.java", FileContent.FileType.CORE))
+                .hasValueSatisfying(file -> assertThat(file.getSha()).isNull());
+        assertThat(interner.find("main", "B.java", FileContent.FileType.CORE)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("힙 한도를 넘는 내용과 diff는 임시 파일에 보관하고, close하면 삭제한다")
+    void spill(@TempDir Path spillDir) throws IOException {
+        // given
+        ContentInterner workspace = new ContentInterner(16, spillDir);
+        FileContent changed = FileContent.builder()
+                .path("Big.java")
+                .diff("@@ -1,1 +1,1 @@\n-int x = 1;\n+int x = 2;")
+                .type(FileContent.FileType.CHANGED)
+                .build();
+
+        // when
+        workspace.intern("main", file("A.java", "class A {}", "sha-a", FileContent.FileType.CORE));
+        workspace.intern("main", file("B.java", "class 큰파일 { int value; }", "sha-b", FileContent.FileType.CORE));
+        FileContent spilledDiff = workspace.spillDiff(changed);
+
+        // then
+        assertThat(workspace.spilledBytes()).isPositive();
+        assertThat(spilledDiff).isNotSameAs(changed);
+        assertThat(spilledDiff.getDiff()).isEqualTo(changed.getDiff());
+        assertThat(workspace.find("main", "B.java", FileContent.FileType.CORE).orElseThrow().getContent())
+                .isEqualTo("class 큰파일 { int value; }");
+        assertThat(workspace.find("main", "A.java", FileContent.FileType.CORE).orElseThrow().getContent())
+                .isEqualTo("class A {}");
+        workspace.close();
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertThat(files.count()).isZero();
+        }
+    }
+
+    @Test
+    @DisplayName("close 뒤에 도착한 diff는 임시 파일을 다시 만들지 않고 그대로 반환한다")
+    void spillDiff_afterClose(@TempDir Path spillDir) throws IOException {
+        // given
+        ContentInterner workspace = new ContentInterner(1, spillDir);
+        FileContent changed = FileContent.builder()
+                .path("Late.java")
+                .diff("@@ -1,1 +1,1 @@\n-int x = 1;\n+int x = 2;")
+                .type(FileContent.FileType.CHANGED)
+                .build();
+        workspace.close();
+
+        // when
+        FileContent result = workspace.spillDiff(changed);
+        workspace.intern("main", file("Late.java", "class Late {}", "sha-late", FileContent.FileType.CORE));
+
+        // then
+        assertThat(result).isSameAs(changed);
+        assertThat(workspace.spilledBytes()).isZero();
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertThat(files.count()).isZero();
+        }
+    }
+
+    private FileContent file(String path, String content, String sha, FileContent.FileType type) {
+        return FileContent.builder().path(path).content(content).sha(sha).type(type).build();
+    }
+}
@@ -0,0 +1,72 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import greensnaback0229.pr_review_server.collector.diff.LineRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("DeclarationLocator 테스트")
+class DeclarationLocatorTest {
+
+    private final DeclarationLocator locator = new DeclarationLocator();
+
+    private static final String SOURCE = String.join("\n",
+            "public class Payment {",               // 1
+            "    private int amount;",              // 2
+            "",                                     // 3
+            "    @Override",                        // 4
+            "    public String toString() {",       // 5
+            "        return \"}\";",                // 6
+            "    }",                                // 7
+            "",                                     // 8
+            "    public void pay(",                 // 9
+            "            int value) {",             // 10
+            "        if (value > 0) {",             // 11
+            "            amount += value;",         // 12
+            "        }",                            // 13
+            "    }",                                // 14
+            "}");                                   // 15
+
+    @Test
+    @DisplayName("변경된 줄을 감싸는 메서드 전체(어노테이션, 여러 줄 시그니처 포함)를 찾는다")
+    void enclosingDeclarations() {
+        // when
+        List<LineRange> spans = locator.enclosingDeclarations(SOURCE, "Payment.java", List.of(6, 12));
+
+        // then
+        assertThat(spans).containsExactly(new LineRange(4, 7), new LineRange(9, 14));
+    }
+
+    @Test
+    @DisplayName("선언 밖의 줄은 그 줄만 포함하고, 맞닿은 범위는 합친다")
+    void enclosingDeclarations_fieldAndMerge() {
+        // when
+        List<LineRange> spans = locator.enclosingDeclarations(SOURCE, "Payment.java", List.of(2, 3, 5));
+
+        // then
+        assertThat(spans).containsExactly(new LineRange(2, 7));
+    }
+
+    @Test
+    @DisplayName("Python은 들여쓰기로 함수 범위를 찾는다")
+    void enclosingDeclarations_python() {
+        // given
+        String source = String.join("\n",
+                "class Client:",
+                "    @retry",
+                "    def fetch(self):",
+                "        return 1",
+                "",
+                "    def close(self):",
+                "        pass");
+
+        // when
+        List<LineRange> spans = locator.enclosingDeclarations(source, "client.py", List.of(4));
+
+        // then
+        assertThat(spans).containsExactly(new LineRange(2, 4));
+    }
+}
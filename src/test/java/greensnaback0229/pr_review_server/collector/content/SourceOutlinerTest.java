@@ -0,0 +1,80 @@
+package greensnaback0229.pr_review_server.collector.content;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("SourceOutliner 테스트")
+class SourceOutlinerTest {
+
+    private final SourceOutliner outliner = new SourceOutliner();
+
+    @Test
+    @DisplayName("Java 파일에서 선언만 남기고 메서드 본문은 접는다")
+    void outline_java() throws Exception {
+        // given
+        String source = """
+                package com.example;
+
+                import java.util.List;
+
+                /**
+                 * 결제 서비스 { 주석 안의 괄호 }
+                 */
+                public class PaymentService {
+                    private final String name = "{";
+
+                    public void pay(int amount) {
+                        if (amount > 0) {
+                            charge(amount);
+                        }
+                    }
+
+                    static class Inner
+                    {
+                        int value() { return 1; }
+                    }
+                }
+                """;
+
+        // when
+        String outline = outliner.outline(new BufferedReader(new StringReader(source)), "PaymentService.java");
+
+        // then
+        assertThat(outline).contains(
+                "package com.example;",
+                "import java.util.List;",
+                "public class PaymentService {",
+                "private final String name = \"{\";",
+                "public void pay(int amount) { ... }",
+                "static class Inner",
+                "int value() { return 1; }");
+        assertThat(outline).doesNotContain("charge(amount)", "결제 서비스");
+    }
+
+    @Test
+    @DisplayName("Python 파일은 import와 def/class 선언만 남긴다")
+    void outline_python() throws Exception {
+        // given
+        String source = """
+                import os
+
+                TIMEOUT = 30
+
+                class Client:
+                    def fetch(self, url):
+                        return os.path.join(url)
+                """;
+
+        // when
+        String outline = outliner.outline(new BufferedReader(new StringReader(source)), "client.py");
+
+        // then
+        assertThat(outline).contains("import os", "TIMEOUT = 30", "class Client:", "def fetch(self, url):");
+        assertThat(outline).doesNotContain("return");
+    }
+}
@@ -0,0 +1,132 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.collector.dto.NormalizedChanges;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("FormattingNormalizer 테스트")
+class FormattingNormalizerTest {
+
+    private final FormattingNormalizer normalizer = new FormattingNormalizer();
+    private final PatchParser parser = new PatchParser();
+
+    @Test
+    @DisplayName("들여쓰기와 줄바꿈만 바뀐 hunk는 포맷팅 전용이다")
+    void isFormattingOnly_whitespaceAndWrapping() {
+        // given
+        String patch = String.join("\n",
+                "@@ -1,2 +1,4 @@",
+                "-  int total = calculate(a, b, c);",
+                "+    int total = calculate(",
+                "+            a, b,",
+                "+            c);",
+                " return total;");
+
+        // when & then
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(patch))).isTrue();
+    }
+
+    @Test
+    @DisplayName("import 순서만 바뀐 hunk는 포맷팅 전용이다")
+    void isFormattingOnly_importReorder() {
+        // given
+        String patch = String.join("\n",
+                "@@ -1,2 +1,2 @@",
+                "-import java.util.Map;",
+                "-import java.util.List;",
+                "+import java.util.List;",
+                "+import java.util.Map;");
+
+        // when & then
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(patch))).isTrue();
+    }
+
+    @Test
+    @DisplayName("글자가 바뀌거나 import가 추가되면 실제 변경이다")
+    void isFormattingOnly_realChanges() {
+        // given
+        String valueChange = "@@ -1,1 +1,1 @@\n-int x = 1;\n+int x = 2;";
+        String sameLengthChange = "@@ -1,1 +1,1 @@\n-int x = a;\n+int x = b;";
+        String newImport = "@@ -1,1 +1,2 @@\n import java.util.List;\n+import java.util.Map;";
+
+        // when & then
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(valueChange))).isFalse();
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(sameLengthChange))).isFalse();
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(newImport))).isFalse();
+    }
+
+    @Test
+    @DisplayName("문자열 리터럴 안의 공백이 바뀌면 실제 변경이다")
+    void isFormattingOnly_whitespaceInsideLiteral() {
+        // given
+        String stringLiteral = "@@ -1,1 +1,1 @@\n-String s = \"a b\";\n+String s = \"ab\";";
+        String charLiteral = "@@ -1,1 +1,1 @@\n-char c = ' ';\n+char c = '';";
+        String outsideLiteral = "@@ -1,1 +1,1 @@\n-String s  =  \"a b\";\n+String s = \"a b\";";
+
+        // when & then
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(stringLiteral))).isFalse();
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(charLiteral))).isFalse();
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(outsideLiteral))).isTrue();
+    }
+
+    @Test
+    @DisplayName("Python/YAML처럼 들여쓰기가 의미를 갖는 파일은 들여쓰기 변경을 실제 변경으로 본다")
+    void isFormattingOnly_indentSensitiveFiles() {
+        // given
+        String pythonReindent = String.join("\n",
+                "@@ -1,3 +1,3 @@",
+                " if ready:",
+                "     start()",
+                "-    notify()",
+                "+notify()");
+        String pythonSpacing = "@@ -1,1 +1,1 @@\n-    total = a+b\n+    total = a + b";
+        String yamlReindent = "@@ -1,2 +1,2 @@\n-  timeout: 30\n+timeout: 30";
+
+        // when & then
+        assertThat(normalizer.isFormattingOnly("app/job.py", hunk(pythonReindent))).isFalse();
+        assertThat(normalizer.isFormattingOnly("app/job.py", hunk(pythonSpacing))).isTrue();
+        assertThat(normalizer.isFormattingOnly("config/application.yml", hunk(yamlReindent))).isFalse();
+        assertThat(normalizer.isFormattingOnly("A.java", hunk(pythonReindent))).isTrue();
+    }
+
+    @Test
+    @DisplayName("포맷팅 전용 hunk를 diff에서 빼고 파일별 개수를 센다")
+    void normalize() {
+        // given
+        FileContent mixed = FileContent.builder()
+                .path("A.java")
+                .diff(String.join("\n",
+                        "@@ -1,1 +1,1 @@",
+                        "-int  x = 1;",
+                        "+int x = 1;",
+                        "@@ -10,1 +10,1 @@",
+                        "-int y = 1;",
+                        "+int y = 2;"))
+                .type(FileContent.FileType.CHANGED)
+                .build();
+        FileContent formattingOnly = FileContent.builder()
+                .path("B.java")
+                .diff("@@ -1,1 +1,1 @@\n-foo( );\n+foo();")
+                .type(FileContent.FileType.CHANGED)
+                .build();
+
+        // when
+        NormalizedChanges result = normalizer.normalize(List.of(mixed, formattingOnly));
+
+        // then
+        assertThat(result.getReviewableFiles()).hasSize(1);
+        assertThat(result.getReviewableFiles().get(0).getDiff())
+                .isEqualTo("@@ -10,1 +10,1 @@\n-int y = 1;\n+int y = 2;");
+        assertThat(result.getFormattingOnlyHunks()).containsEntry("A.java", 1).containsEntry("B.java", 1);
+        assertThat(result.isFormattingOnly()).isFalse();
+    }
+
+    private Hunk hunk(String patch) {
+        return parser.parse("A.java", patch).getHunks().get(0);
+    }
+}
@@ -0,0 +1,88 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PatchParser 테스트")
+class PatchParserTest {
+
+    private final PatchParser parser = new PatchParser();
+
+    private static final String PATCH = String.join("\n",
+            "@@ -10,9 +10,9 @@ public class Payment {",
+            " line10",
+            " line11",
+            "-line12",
+            "+line12 changed",
+            " line13",
+            " line14",
+            " line15",
+            " line16",
+            "-line17",
+            "+line17 changed",
+            " line18");
+
+    @Test
+    @DisplayName("hunk 헤더와 줄 번호를 파싱한다")
+    void parse() {
+        // when
+        FilePatch patch = parser.parse("Payment.java", PATCH);
+
+        // then
+        assertThat(patch.getHunks()).hasSize(1);
+        Hunk hunk = patch.getHunks().get(0);
+        assertThat(hunk.getOldRange()).isEqualTo(new LineRange(10, 18));
+        assertThat(hunk.getSection()).isEqualTo("public class Payment {");
+        assertThat(hunk.getLines()).hasSize(11);
+        assertThat(hunk.getLines().get(3).getType()).isEqualTo(DiffLine.Type.ADDED);
+        assertThat(hunk.getLines().get(3).getNewLine()).isEqualTo(12);
+        assertThat(patch.touchedOldLines()).containsExactly(12, 17);
+    }
+
+    @Test
+    @DisplayName("context를 줄이면 멀어진 변경은 별도 hunk로 나눈다")
+    void toPatch_trimsContext() {
+        // when
+        String trimmed = parser.parse("Payment.java", PATCH).toPatch(1);
+
+        // then
+        assertThat(trimmed).isEqualTo(String.join("\n",
+                "@@ -11,3 +11,3 @@ public class Payment {",
+                " line11",
+                "-line12",
+                "+line12 changed",
+                " line13",
+                "@@ -16,3 +16,3 @@ public class Payment {",
+                " line16",
+                "-line17",
+                "+line17 changed",
+                " line18"));
+    }
+
+    @Test
+    @DisplayName("context가 없는 순수 추가는 git 관례대로 앞 줄 번호를 쓴다")
+    void toPatch_pureAddition() {
+        // given
+        String patch = String.join("\n", "@@ -3,2 +3,3 @@", " a", "+b", " c");
+
+        // when
+        FilePatch parsed = parser.parse("A.java", patch);
+
+        // then
+        assertThat(parsed.toPatch(0)).isEqualTo("@@ -3,0 +4,1 @@\n+b");
+        assertThat(parsed.touchedOldLines()).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("hunk가 없는 patch는 안내 문구를 그대로 유지한다")
+    void parse_noHunks() {
+        // when
+        FilePatch patch = parser.parse("logo.png", "(바이너리 파일 변경)");
+
+        // then
+        assertThat(patch.getHunks()).isEmpty();
+        assertThat(patch.toPatch(3)).isEqualTo("(바이너리 파일 변경)");
+    }
+}
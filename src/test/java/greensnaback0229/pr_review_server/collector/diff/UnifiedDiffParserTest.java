@@ -0,0 +1,89 @@
+package greensnaback0229.pr_review_server.collector.diff;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("UnifiedDiffParser 테스트")
+class UnifiedDiffParserTest {
+
+    private final UnifiedDiffParser parser = new UnifiedDiffParser();
+
+    private static final String DIFF = """
+            diff --git a/src/main/java/payment/PaymentService.java b/src/main/java/payment/PaymentService.java
+            index 1111111..2222222 100644
+            --- a/src/main/java/payment/PaymentService.java
+            +++ b/src/main/java/payment/PaymentService.java
+            @@ -1,3 +1,4 @@
+             class PaymentService {
+            --- not a header, a removed SQL comment
+            +++ not a header, an added line
+            +    int amount;
+             }
+            diff --git a/src/main/java/user/UserService.java b/src/main/java/user/UserService.java
+            index 3333333..4444444 100644
+            --- a/src/main/java/user/UserService.java
+            +++ b/src/main/java/user/UserService.java
+            @@ -10 +10 @@ class UserService {
+            -    old();
+            +    renamed();
+            diff --git a/src/main/java/payment/Old.java b/src/main/java/payment/New.java
+            similarity index 100%
+            rename from src/main/java/payment/Old.java
+            rename to src/main/java/payment/New.java
+            diff --git a/assets/logo.png b/assets/logo.png
+            index 5555555..6666666 100644
+            Binary files a/assets/logo.png and b/assets/logo.png differ
+            """;
+
+    @Test
+    @DisplayName("파일별 patch로 나누고 hunk 안의 ---/+++ 줄을 헤더로 오인하지 않는다")
+    void parse_splitsFiles() throws IOException {
+        // given
+        List<FileContent> retained = new ArrayList<>();
+
+        // when
+        List<String> paths = parser.parse(new StringReader(DIFF), path -> true, retained::add);
+
+        // then
+        assertThat(paths).containsExactly(
+                "src/main/java/payment/PaymentService.java",
+                "src/main/java/user/UserService.java",
+                "src/main/java/payment/New.java",
+                "assets/logo.png");
+        assertThat(retained).hasSize(4);
+
+        FileContent payment = retained.get(0);
+        assertThat(payment.getType()).isEqualTo(FileContent.FileType.CHANGED);
+        assertThat(payment.getDiff()).startsWith("@@ -1,3 +1,4 @@");
+        assertThat(payment.getDiff()).contains("--- not a header", "+++ not a header", "+    int amount;");
+        assertThat(payment.getDiff()).doesNotContain("index 1111111");
+
+        assertThat(retained.get(1).getDiff()).isEqualTo("@@ -10 +10 @@ class UserService {\n-    old();\n+    renamed();");
+        assertThat(retained.get(2).getDiff()).contains("내용 변경 없음");
+        assertThat(retained.get(3).getDiff()).contains("바이너리");
+    }
+
+    @Test
+    @DisplayName("보관 대상이 아닌 파일은 경로만 반환하고 patch는 전달하지 않는다")
+    void parse_dropsUnretainedFiles() throws IOException {
+        // given
+        List<FileContent> retained = new ArrayList<>();
+
+        // when
+        List<String> paths = parser.parse(new StringReader(DIFF),
+                path -> path.contains("/payment/"), retained::add);
+
+        // then
+        assertThat(paths).hasSize(4);
+        assertThat(retained).extracting(FileContent::getPath)
+                .containsExactly("src/main/java/payment/PaymentService.java", "src/main/java/payment/New.java");
+    }
+}
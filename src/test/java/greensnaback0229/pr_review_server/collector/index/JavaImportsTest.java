@@ -0,0 +1,69 @@
+package greensnaback0229.pr_review_server.collector.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("JavaImports 테스트")
+class JavaImportsTest {
+
+    @Test
+    @DisplayName("import 대상 타입을 읽고 와일드카드는 제외한다")
+    void parse() {
+        // given
+        String source = String.join("\n",
+                "package com.example.order;",
+                "",
+                "import com.example.payment.PaymentService;",
+                "import static com.example.order.OrderStatus.PAID;",
+                "import java.util.*;",
+                "import  java.util.List ;",
+                "",
+                "public class OrderService {",
+                "    // import com.example.ignored.AfterType;",
+                "}");
+
+        // when
+        List<String> imports = JavaImports.parse(source);
+
+        // then
+        assertThat(imports).containsExactly(
+                "com.example.payment.PaymentService",
+                "com.example.order.OrderStatus",
+                "java.util.List");
+    }
+
+    @Test
+    @DisplayName("diff에서 추가된 import만 읽는다")
+    void parseAdded() {
+        // given
+        String diff = String.join("\n",
+                "@@ -1,3 +1,3 @@",
+                " import com.example.Kept;",
+                "-import com.example.Removed;",
+                "+import com.example.Added;");
+
+        // when & then
+        assertThat(JavaImports.parseAdded(diff)).containsExactly("com.example.Added");
+    }
+
+    @Test
+    @DisplayName("저장소 내부 타입만 경로로 해석하고, 중첩 타입은 바깥 타입 파일로 해석한다")
+    void resolve() {
+        // given
+        RepoIndex index = new RepoIndex("c1", List.of(
+                "src/main/java/com/example/order/Order.java",
+                "src/main/java/com/example/order/List.java"));
+
+        // when & then
+        assertThat(JavaImports.resolve(index, "com.example.order.Order"))
+                .hasValue("src/main/java/com/example/order/Order.java");
+        assertThat(JavaImports.resolve(index, "com.example.order.Order.Line"))
+                .hasValue("src/main/java/com/example/order/Order.java");
+        assertThat(JavaImports.resolve(index, "java.util.List")).isEmpty();
+        assertThat(JavaImports.resolve(index, "com.example.Missing")).isEmpty();
+    }
+}
@@ -0,0 +1,60 @@
+package greensnaback0229.pr_review_server.collector.index;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("RepoIndex 테스트")
+class RepoIndexTest {
+
+    private final RepoIndex index = new RepoIndex("c1", List.of(
+            "README.md",
+            "src/main/java/com/example/order/OrderService.java",
+            "src/test/java/com/example/order/OrderService.java",
+            "src/main/java/com/example/payment/PaymentService.java",
+            "legacy/com/example/payment/PaymentService.java",
+            "src/main/resources/application.yml"
+    ));
+
+    @Test
+    @DisplayName("파일명과 경로 접미사로 경로를 찾고, 테스트가 아닌 파일을 우선한다")
+    void resolve_fileName() {
+        assertThat(index.resolve("OrderService.java"))
+                .containsExactly("src/main/java/com/example/order/OrderService.java",
+                        "src/test/java/com/example/order/OrderService.java");
+        assertThat(index.resolve("resources/application.yml"))
+                .containsExactly("src/main/resources/application.yml");
+        assertThat(index.resolve("/README.md")).containsExactly("README.md");
+    }
+
+    @Test
+    @DisplayName("Java 클래스명과 정규화된 이름으로 경로를 찾는다")
+    void resolve_className() {
+        assertThat(index.resolve("PaymentService"))
+                .containsExactly("legacy/com/example/payment/PaymentService.java",
+                        "src/main/java/com/example/payment/PaymentService.java");
+        assertThat(index.resolve("com.example.order.OrderService"))
+                .first().isEqualTo("src/main/java/com/example/order/OrderService.java");
+        assertThat(index.resolve("com.other.OrderService")).isEmpty();
+        assertThat(index.resolve("Missing.java")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("변경된 경로만 반영한 새 색인을 만든다")
+    void withChanges() {
+        // when
+        RepoIndex updated = index.withChanges("c2",
+                List.of("src/main/java/com/example/order/OrderFacade.java"),
+                List.of("legacy/com/example/payment/PaymentService.java"));
+
+        // then
+        assertThat(updated.getCommitSha()).isEqualTo("c2");
+        assertThat(updated.size()).isEqualTo(index.size());
+        assertThat(updated.resolve("OrderFacade")).hasSize(1);
+        assertThat(updated.resolve("PaymentService")).hasSize(1);
+        assertThat(index.resolve("OrderFacade")).isEmpty();
+    }
+}
@@ -1,6 +1,7 @@
 package greensnaback0229.pr_review_server.feature;
 
 import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.github.GitHubCallScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.kohsuke.github.GitHub;
@@ -20,7 +21,7 @@ class FeatureRegistryLoaderTest {
     @BeforeEach
     void setUp() {
         GitHub github = mock(GitHub.class);
-        loader = new FeatureRegistryLoader(github);
+        loader = new FeatureRegistryLoader(new GitHubCallScheduler(github));
     }
 
     @Test
@@ -105,6 +106,28 @@ class FeatureRegistryLoaderTest {
         assertTrue(result.containsKey("ALERT"));
         FeatureDefinition alert = result.get("ALERT");
         assertEquals("알림 발송", alert.getDescription());
+        assertNull(alert.getCriticality());
+    }
+
+    @Test
+    void parseYaml_기능_중요도() throws Exception {
+        // given
+        String yaml = """
+                features:
+                  PAYMENT:
+                    description: "결제 및 금액 처리"
+                    criticality: HIGH
+                    paths:
+                      - "src/main/java/com/app/payment/"
+                    coreFiles:
+                      - "PaymentService.java"
+                """;
+
+        // when
+        Map<String, FeatureDefinition> result = parseYamlFromString(yaml);
+
+        // then
+        assertEquals("HIGH", result.get("PAYMENT").getCriticality());
     }
 
     /**
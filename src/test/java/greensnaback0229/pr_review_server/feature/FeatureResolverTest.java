@@ -176,4 +176,22 @@ class FeatureResolverTest {
         // then
         assertTrue(result.isEmpty());
     }
+
+    @Test
+    void findFeaturesForFile_파일이_속한_모든_기능_조회() {
+        // given
+        FeatureDefinition ledgerDefinition = FeatureDefinition.builder()
+                .name("LEDGER")
+                .paths(List.of("src/main/java/com/app/ledger/"))
+                .build();
+        when(registry.getAllFeatures()).thenReturn(List.of(paymentDefinition, ledgerDefinition));
+
+        // when
+        List<String> ledgerFile = resolver.findFeaturesForFile("src/main/java/com/app/ledger/Entry.java");
+        List<String> otherFile = resolver.findFeaturesForFile("src/main/java/com/app/user/User.java");
+
+        // then
+        assertEquals(List.of("PAYMENT", "LEDGER"), ledgerFile);
+        assertTrue(otherFile.isEmpty());
+    }
 }
@@ -0,0 +1,71 @@
+package greensnaback0229.pr_review_server.github;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("GitHubAppTokenProvider 테스트")
+class GitHubAppTokenProviderTest {
+
+    private KeyPair keyPair;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+        keyPair = generator.generateKeyPair();
+    }
+
+    @Test
+    @DisplayName("App 개인키로 서명된 RS256 JWT를 생성한다")
+    void createJwt() throws Exception {
+        // given
+        String pem = pem("PRIVATE KEY", keyPair.getPrivate().getEncoded());
+        GitHubAppTokenProvider provider = new GitHubAppTokenProvider(
+                "12345", 1L, pem, "https://api.github.com", Duration.ofMinutes(5));
+        Instant now = Instant.ofEpochSecond(1_700_000_000L);
+
+        // when
+        String jwt = provider.createJwt(now);
+
+        // then
+        String[] parts = jwt.split("\\.");
+        assertThat(parts).hasSize(3);
+        String payload = new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        assertThat(payload).contains("\"iss\":\"12345\"", "\"iat\":1699999940", "\"exp\":1700000540");
+
+        Signature verifier = Signature.getInstance("SHA256withRSA");
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+        assertThat(verifier.verify(Base64.getUrlDecoder().decode(parts[2]))).isTrue();
+    }
+
+    @Test
+    @DisplayName("GitHub가 발급하는 PKCS#1 형식 개인키를 읽는다")
+    void parsePrivateKey_pkcs1() {
+        // given - PKCS#8 구조에서 내부 PKCS#1 RSAPrivateKey만 추출
+        byte[] pkcs8 = keyPair.getPrivate().getEncoded();
+        byte[] pkcs1 = Arrays.copyOfRange(pkcs8, 26, pkcs8.length);
+        String pem = pem("RSA PRIVATE KEY", pkcs1);
+
+        // when & then
+        assertThat(GitHubAppTokenProvider.parsePrivateKey(pem).getEncoded()).isEqualTo(pkcs8);
+    }
+
+    private String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n"
+                + Base64.getMimeEncoder().encodeToString(der)
+                + "\n-----END " + type + "-----\n";
+    }
+}
@@ -0,0 +1,192 @@
+package greensnaback0229.pr_review_server.github;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHRateLimit;
+import org.kohsuke.github.GitHub;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("GitHubCallScheduler 테스트")
+class GitHubCallSchedulerTest {
+
+    private GitHub github;
+
+    @BeforeEach
+    void setUp() {
+        github = mock(GitHub.class);
+    }
+
+    @Test
+    @DisplayName("호출 후 응답의 Rate Limit으로 예산을 갱신한다")
+    void execute_updatesBudget() throws IOException {
+        // given
+        GitHubCallScheduler scheduler = new GitHubCallScheduler(github);
+        long reset = System.currentTimeMillis() / 1000 + 3600;
+        GHRateLimit rateLimit = rateLimit(4000, 5000, reset);
+        when(github.lastRateLimit()).thenReturn(rateLimit);
+
+        // when
+        String result = scheduler.execute(GitHubCallPriority.URGENT, gh -> "ok");
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        verify(github, never()).getRateLimit();
+        assertThat(budgetOf(scheduler).getRemaining()).isEqualTo(4000);
+        assertThat(budgetOf(scheduler).getResetEpochSeconds()).isEqualTo(reset);
+    }
+
+    @Test
+    @DisplayName("Rate Limit 예외가 발생하면 대기 후 재시도한다")
+    void execute_retriesOnRateLimit() throws IOException {
+        // given
+        GitHubCallScheduler scheduler = new GitHubCallScheduler(GitHubClientPool.of(github), 0, 5, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        String result = scheduler.execute(GitHubCallPriority.URGENT, gh -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new GitHubRateLimitException("limited", System.currentTimeMillis() / 1000, true);
+            }
+            return "ok";
+        });
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Rate Limit이 아닌 예외는 그대로 전달한다")
+    void execute_propagatesOtherErrors() {
+        // given
+        GitHubCallScheduler scheduler = new GitHubCallScheduler(github);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when & then
+        assertThatThrownBy(() -> scheduler.execute(GitHubCallPriority.URGENT, gh -> {
+            attempts.incrementAndGet();
+            throw new IOException("Not Found");
+        })).isInstanceOf(IOException.class).hasMessage("Not Found");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 대기 시간을 넘는 대기가 필요하면 즉시 실패한다")
+    void execute_failsWhenWaitExceedsMax() {
+        // given
+        GitHubCallScheduler scheduler = new GitHubCallScheduler(GitHubClientPool.of(github), 0, 1, 3);
+        budgetOf(scheduler).update(rateLimit(0, 5000, System.currentTimeMillis() / 1000 + 3600));
+
+        // when & then
+        assertThatThrownBy(() -> scheduler.execute(GitHubCallPriority.URGENT, gh -> "ok"))
+                .isInstanceOf(GitHubRateLimitException.class);
+    }
+
+    @Test
+    @DisplayName("백그라운드 호출은 예약분 이하로 남으면 reset까지 대기하고, 긴급 호출은 바로 실행된다")
+    void reserveDelay_backgroundKeepsReserve() {
+        // given
+        RateLimitBudget budget = new RateLimitBudget("test");
+        long now = System.currentTimeMillis();
+        budget.update(rateLimit(100, 5000, now / 1000 + 600));
+
+        // when
+        long backgroundDelay = budget.reserveDelayMillis(GitHubCallPriority.BACKGROUND, 500, now);
+        long urgentDelay = budget.reserveDelayMillis(GitHubCallPriority.URGENT, 500, now);
+
+        // then
+        assertThat(backgroundDelay).isGreaterThan(0);
+        assertThat(urgentDelay).isZero();
+    }
+
+    @Test
+    @DisplayName("백그라운드 호출은 reset 시각까지 균등한 간격으로 분산된다")
+    void reserveDelay_backgroundIsPaced() {
+        // given
+        RateLimitBudget budget = new RateLimitBudget("test");
+        long now = System.currentTimeMillis();
+        budget.update(rateLimit(110, 5000, now / 1000 + 100));
+
+        // when
+        long first = budget.reserveDelayMillis(GitHubCallPriority.BACKGROUND, 10, now);
+        long second = budget.reserveDelayMillis(GitHubCallPriority.BACKGROUND, 10, now);
+
+        // then
+        assertThat(first).isZero();
+        assertThat(second).isGreaterThan(0).isLessThanOrEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("예산이 소진된 토큰 대신 남은 예산이 있는 토큰을 선택한다")
+    void select_prefersTokenWithBudget() throws IOException {
+        // given
+        GitHub other = mock(GitHub.class);
+        PooledGitHubClient exhausted = new PooledGitHubClient("token-1", github, null);
+        PooledGitHubClient available = new PooledGitHubClient("token-2", other, null);
+        long reset = System.currentTimeMillis() / 1000 + 3600;
+        exhausted.getBudget().update(rateLimit(0, 5000, reset));
+        available.getBudget().update(rateLimit(3000, 5000, reset));
+        GitHubCallScheduler scheduler = new GitHubCallScheduler(
+                new GitHubClientPool(List.of(exhausted, available)), 0, 1, 3);
+
+        // when
+        GitHub used = scheduler.execute(GitHubCallPriority.URGENT, gh -> gh);
+
+        // then
+        assertThat(used).isSameAs(other);
+    }
+
+    @Test
+    @DisplayName("무효한 자격 증명은 선택하지 않는다")
+    void select_skipsInvalidCredentials() {
+        // given
+        GitHub other = mock(GitHub.class);
+        PooledGitHubClient invalid = new PooledGitHubClient("token-1", github, null);
+        PooledGitHubClient valid = new PooledGitHubClient("token-2", other, null);
+        invalid.setValid(false);
+        GitHubClientPool pool = new GitHubClientPool(List.of(invalid, valid));
+
+        // when
+        PooledGitHubClient selected = pool.select(GitHubCallPriority.URGENT, 0, System.currentTimeMillis());
+
+        // then
+        assertThat(selected).isSameAs(valid);
+    }
+
+    @Test
+    @DisplayName("다른 계정에 설치된 App 토큰은 예산이 많아도 선택하지 않는다")
+    void select_routesByInstallationOwner() throws IOException {
+        // given
+        GitHub other = mock(GitHub.class);
+        PooledGitHubClient orgA = new PooledGitHubClient("app-installation-1", github, null, "org-a"::equals);
+        PooledGitHubClient orgB = new PooledGitHubClient("app-installation-2", other, null, "org-b"::equals);
+        long reset = System.currentTimeMillis() / 1000 + 3600;
+        orgA.getBudget().update(rateLimit(100, 5000, reset));
+        orgB.getBudget().update(rateLimit(4000, 5000, reset));
+        GitHubCallScheduler scheduler = new GitHubCallScheduler(
+                new GitHubClientPool(List.of(orgA, orgB)), 0, 1, 3);
+
+        // when
+        GitHub used = scheduler.execute(GitHubCallPriority.URGENT, "org-a/repo", gh -> gh);
+
+        // then
+        assertThat(used).isSameAs(github);
+    }
+
+    private RateLimitBudget budgetOf(GitHubCallScheduler scheduler) {
+        return scheduler.getPool().getClients().get(0).getBudget();
+    }
+
+    private GHRateLimit rateLimit(int remaining, int limit, long reset) {
+        GHRateLimit rateLimit = mock(GHRateLimit.class);
+        when(rateLimit.getCore()).thenReturn(new GHRateLimit.Record(limit, remaining, reset));
+        return rateLimit;
+    }
+}
@@ -0,0 +1,117 @@
+package greensnaback0229.pr_review_server.history;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoChangeIndexTest {
+
+    private static final String REPO = "owner/repo";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void related_자주_함께_바뀐_파일_순으로_반환() {
+        // given
+        CoChangeIndex index = index("", 50, 2);
+        index.record(REPO, "#1", List.of("Order.java", "OrderTest.java", "Payment.java"));
+        index.record(REPO, "#2", List.of("Order.java", "OrderTest.java"));
+        index.record(REPO, "#3", List.of("Order.java", "OrderTest.java", "Payment.java"));
+        index.record(REPO, "#4", List.of("Order.java", "Delivery.java"));
+
+        // when
+        List<String> related = index.related(REPO, List.of("Order.java"), 5);
+
+        // then
+        assertEquals(List.of("OrderTest.java", "Payment.java"), related); // Delivery는 1회뿐이라 제외
+        assertTrue(index.related("other/repo", List.of("Order.java"), 5).isEmpty());
+    }
+
+    @Test
+    void record_같은_변경과_너무_큰_변경은_반영하지_않음() {
+        // given
+        CoChangeIndex index = index("", 3, 1);
+
+        // when & then
+        assertTrue(index.record(REPO, "#1", List.of("A.java", "B.java")));
+        assertFalse(index.record(REPO, "#1", List.of("A.java", "B.java")));
+        assertFalse(index.record(REPO, "#2", List.of("A.java", "C.java", "D.java", "E.java")));
+        assertTrue(index.isRecorded(REPO, "#2"));
+        assertEquals(List.of("B.java"), index.related(REPO, List.of("A.java"), 5));
+    }
+
+    @Test
+    void load_저장된_색인을_다시_읽음() {
+        // given
+        String storePath = tempDir.resolve("co-change.json").toString();
+        CoChangeIndex index = index(storePath, 50, 1);
+        index.record(REPO, "#1", List.of("A.java", "B.java"));
+        index.flush();
+
+        // when
+        CoChangeIndex reloaded = index(storePath, 50, 1);
+        reloaded.load();
+
+        // then
+        assertTrue(reloaded.isRecorded(REPO, "#1"));
+        assertEquals(List.of("A.java"), reloaded.related(REPO, List.of("B.java"), 5));
+    }
+
+    @Test
+    void record_파일을_바로_쓰지_않고_flush에서_한_번에_저장() {
+        // given
+        Path storePath = tempDir.resolve("co-change.json");
+        CoChangeIndex index = index(storePath.toString(), 50, 1);
+
+        // when
+        index.record(REPO, "#1", List.of("A.java", "B.java"));
+        index.record(REPO, "#2", List.of("A.java", "C.java"));
+        boolean writtenBeforeFlush = Files.exists(storePath);
+        index.flush();
+
+        // then
+        assertFalse(writtenBeforeFlush);
+        assertTrue(Files.exists(storePath));
+    }
+
+    @Test
+    void record_파일_수_상한_초과시_가장_오래_바뀌지_않은_파일과_관계_제거() {
+        // given
+        CoChangeIndex index = new CoChangeIndex("", 50, 1, 3, 100, 0);
+        index.record(REPO, "#1", List.of("Old.java", "A.java"));
+        index.record(REPO, "#2", List.of("A.java", "B.java"));
+
+        // when
+        index.record(REPO, "#3", List.of("B.java", "C.java"));
+
+        // then
+        assertTrue(index.related(REPO, List.of("A.java"), 5).contains("B.java"));
+        assertFalse(index.related(REPO, List.of("A.java"), 5).contains("Old.java"));
+        assertTrue(index.related(REPO, List.of("Old.java"), 5).isEmpty());
+    }
+
+    @Test
+    void record_기억할_변경_ID_수를_넘으면_오래된_ID부터_잊음() {
+        // given
+        CoChangeIndex index = new CoChangeIndex("", 50, 1, 100, 2, 0);
+
+        // when
+        index.record(REPO, "#1", List.of("A.java", "B.java"));
+        index.record(REPO, "#2", List.of("A.java", "B.java"));
+        index.record(REPO, "#3", List.of("A.java", "B.java"));
+
+        // then
+        assertFalse(index.isRecorded(REPO, "#1"));
+        assertTrue(index.isRecorded(REPO, "#3"));
+    }
+
+    private static CoChangeIndex index(String storePath, int maxFilesPerChange, int minSupport) {
+        return new CoChangeIndex(storePath, maxFilesPerChange, minSupport, 5000, 2000, 0);
+    }
+}
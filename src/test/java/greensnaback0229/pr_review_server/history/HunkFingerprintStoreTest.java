@@ -0,0 +1,81 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.collector.diff.PatchParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HunkFingerprintStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void record_기능별_지문으로_지적_조회() {
+        // given
+        HunkFingerprintStore store = new HunkFingerprintStore("", 100, 0);
+
+        // when
+        store.record("PAYMENT", Map.of("fp1", "금액 검증 누락", "fp2", ""));
+
+        // then
+        assertEquals("금액 검증 누락", store.find("PAYMENT", "fp1").orElseThrow());
+        assertEquals("", store.find("PAYMENT", "fp2").orElseThrow());
+        assertTrue(store.find("ORDER", "fp1").isEmpty());
+        assertTrue(store.find("PAYMENT", "fp3").isEmpty());
+    }
+
+    @Test
+    void record_상한_초과시_오래_사용되지_않은_지문부터_제거() {
+        // given
+        HunkFingerprintStore store = new HunkFingerprintStore("", 2, 0);
+        store.record("PAYMENT", Map.of("fp1", "A"));
+        store.record("PAYMENT", Map.of("fp2", "B"));
+        store.find("PAYMENT", "fp1"); // fp1 최근 사용
+
+        // when
+        store.record("PAYMENT", Map.of("fp3", "C"));
+
+        // then
+        assertEquals(2, store.size());
+        assertTrue(store.find("PAYMENT", "fp1").isPresent());
+        assertTrue(store.find("PAYMENT", "fp2").isEmpty());
+    }
+
+    @Test
+    void load_파일에서_다시_읽기() {
+        // given
+        String path = tempDir.resolve("store/fingerprints.json").toString();
+        HunkFingerprintStore store = new HunkFingerprintStore(path, 100, 0);
+        store.record("PAYMENT", Map.of("fp1", "금액 검증 누락"));
+        store.flush();
+
+        // when
+        HunkFingerprintStore reloaded = new HunkFingerprintStore(path, 100, 0);
+        reloaded.load();
+
+        // then
+        assertEquals("금액 검증 누락", reloaded.find("PAYMENT", "fp1").orElseThrow());
+    }
+
+    @Test
+    void fingerprint_줄번호와_공백이_달라도_같은_변경은_같은_지문() {
+        // given
+        PatchParser parser = new PatchParser();
+        String original = "@@ -10,3 +10,3 @@\n a\n-int x = 1;\n+int x = 2;\n b";
+        String rebased = "@@ -42,4 +42,4 @@ class Foo {\n c\n d\n-int  x = 1;\n+int x =  2;";
+        String different = "@@ -10,3 +10,3 @@\n a\n-int x = 1;\n+int x = 3;\n b";
+
+        // when
+        String fingerprint = parser.parse("A.java", original).getHunks().get(0).fingerprint("A.java");
+
+        // then
+        assertEquals(fingerprint, parser.parse("A.java", rebased).getHunks().get(0).fingerprint("A.java"));
+        assertNotEquals(fingerprint, parser.parse("A.java", different).getHunks().get(0).fingerprint("A.java"));
+        assertNotEquals(fingerprint, parser.parse("B.java", original).getHunks().get(0).fingerprint("B.java"));
+    }
+}
@@ -0,0 +1,78 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.history.dto.HunkReusePlan;
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HunkReusePlannerTest {
+
+    private static final String AMOUNT_HUNK = "@@ -10,2 +10,2 @@\n"
+            + "-if (amount > 0) { return paymentGateway.charge(amount); }\n"
+            + "+if (amount >= 0) { return paymentGateway.charge(amount); }";
+    private static final String CURRENCY_HUNK = "@@ -40,2 +40,2 @@\n"
+            + "-String currency = request.getCurrency().toUpperCase();\n"
+            + "+String currency = request.getCurrency().toLowerCase(Locale.ROOT);";
+
+    private final HunkReusePlanner planner = new HunkReusePlanner(new HunkFingerprintStore("", 100, 0), 40);
+
+    @Test
+    void record_지적은_줄번호로_해당_hunk에만_기록() {
+        // given
+        List<FileContent> changes = List.of(change("Pay.java", AMOUNT_HUNK + "\n" + CURRENCY_HUNK));
+        HunkReusePlan first = planner.plan("PAYMENT", changes);
+        planner.record("PAYMENT", first, List.of(ReviewFinding.builder()
+                .path("Pay.java").line(10).severity("MAJOR").message("0원 결제 허용").build()));
+
+        // when
+        HunkReusePlan rebased = planner.plan("PAYMENT", List.of(change("Pay.java", CURRENCY_HUNK)));
+        HunkReusePlan again = planner.plan("PAYMENT", List.of(change("Pay.java", AMOUNT_HUNK)));
+
+        // then
+        assertTrue(rebased.isFullyReused());
+        assertTrue(rebased.getReusedFindings().isEmpty());
+        assertEquals(List.of("- **[MAJOR]** `Pay.java` 0원 결제 허용"), again.getReusedFindings());
+    }
+
+    @Test
+    void plan_다른_파일의_같은_hunk는_재사용하지_않음() {
+        // given
+        HunkReusePlan first = planner.plan("PAYMENT", List.of(change("Pay.java", AMOUNT_HUNK)));
+        planner.record("PAYMENT", first, List.of());
+
+        // when
+        HunkReusePlan other = planner.plan("PAYMENT", List.of(change("Refund.java", AMOUNT_HUNK)));
+
+        // then
+        assertEquals(0, other.getReusedHunkCount());
+        assertEquals(1, other.getRemainingFiles().size());
+    }
+
+    @Test
+    void plan_작은_hunk는_지문을_쓰지_않고_항상_리뷰() {
+        // given
+        String closingBrace = "@@ -5,1 +5,2 @@\n }\n+}";
+        HunkReusePlan first = planner.plan("PAYMENT", List.of(change("Pay.java", closingBrace)));
+        planner.record("PAYMENT", first, List.of());
+
+        // when
+        HunkReusePlan again = planner.plan("PAYMENT", List.of(change("Pay.java", closingBrace)));
+
+        // then
+        assertTrue(first.getNewHunks().isEmpty());
+        assertEquals(0, again.getReusedHunkCount());
+        assertEquals(1, again.getRemainingFiles().size());
+    }
+
+    private static FileContent change(String path, String diff) {
+        return FileContent.builder()
+                .path(path)
+                .diff(diff)
+                .type(FileContent.FileType.CHANGED)
+                .build();
+    }
+}
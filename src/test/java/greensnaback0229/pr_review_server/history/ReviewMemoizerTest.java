@@ -0,0 +1,210 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
+import greensnaback0229.pr_review_server.collector.dto.FileContent;
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
+import greensnaback0229.pr_review_server.prompt.dto.ReviewPrompt;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewMemoizerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void memoize_같은_입력이면_저장된_결과_재사용() {
+        // given
+        ReviewMemoizer memoizer = new ReviewMemoizer(new ReviewMemoStore("", 100, 0), true);
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        AggregatedReview first = memoizer.memoize("PAYMENT", "key1", () -> review(calls.incrementAndGet()));
+        AggregatedReview second = memoizer.memoize("PAYMENT", "key1", () -> review(calls.incrementAndGet()));
+
+        // then
+        assertEquals(1, calls.get());
+        assertEquals("리뷰 1", first.getReview());
+        assertEquals("리뷰 1", second.getReview());
+        assertNull(second.getUpdatedMemory());
+        assertEquals(1, memoizer.getHits());
+        assertEquals(1, memoizer.getMisses());
+    }
+
+    @Test
+    void memoize_동시에_들어온_같은_리뷰는_한_번만_실행() throws Exception {
+        // given
+        ReviewMemoizer memoizer = new ReviewMemoizer(new ReviewMemoStore("", 100, 0), true);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // when
+        CompletableFuture<AggregatedReview> leader = CompletableFuture.supplyAsync(() ->
+                memoizer.memoize("PAYMENT", "key1", () -> {
+                    started.countDown();
+                    await(release);
+                    return review(calls.incrementAndGet());
+                }));
+        started.await(5, TimeUnit.SECONDS);
+        CompletableFuture<AggregatedReview> follower = CompletableFuture.supplyAsync(() ->
+                memoizer.memoize("PAYMENT", "key1", () -> review(calls.incrementAndGet())));
+        while (memoizer.getShared() == 0) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        // then
+        assertEquals("리뷰 1", leader.get(5, TimeUnit.SECONDS).getReview());
+        assertEquals("리뷰 1", follower.get(5, TimeUnit.SECONDS).getReview());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void memoize_실패는_저장하지_않고_다음_요청에서_다시_실행() {
+        // given
+        ReviewMemoizer memoizer = new ReviewMemoizer(new ReviewMemoStore("", 100, 0), true);
+
+        // when
+        assertThrows(IllegalStateException.class, () -> memoizer.memoize("PAYMENT", "key1", () -> {
+            throw new IllegalStateException("LLM 실패");
+        }));
+        AggregatedReview retried = memoizer.memoize("PAYMENT", "key1", () -> review(2));
+
+        // then
+        assertEquals("리뷰 2", retried.getReview());
+    }
+
+    @Test
+    void memoize_리뷰가_갱신한_메모리로_다시_리뷰해도_재사용() {
+        // given
+        ReviewMemoizer memoizer = new ReviewMemoizer(new ReviewMemoStore("", 100, 0), true);
+        AtomicInteger calls = new AtomicInteger();
+        FeatureDefinition definition = FeatureDefinition.builder().name("PAYMENT").build();
+        List<FileContent> changed = List.of(FileContent.builder().path("src/payment/Pay.java").diff("+a").build());
+        Function<FeatureMemory, String> keyWithMemory = memory -> ReviewMemoizer.key("anthropic", definition, memory,
+                changed, List.of(), "시스템", ReviewPrompt.builder()
+                        .content("메모리: " + (memory != null ? memory.getSummary() : "없음"))
+                        .build());
+
+        // when
+        // 첫 리뷰가 메모리 제안을 반영하고, 다음 리뷰는 갱신된 메모리로 같은 변경을 다시 리뷰
+        AggregatedReview first = memoizer.memoize("PAYMENT", keyWithMemory.apply(null), keyWithMemory,
+                () -> review(calls.incrementAndGet()));
+        AggregatedReview again = memoizer.memoize("PAYMENT", keyWithMemory.apply(first.getUpdatedMemory()),
+                keyWithMemory, () -> review(calls.incrementAndGet()));
+
+        // then
+        assertEquals(1, calls.get());
+        assertEquals("리뷰 1", again.getReview());
+        assertEquals(1, memoizer.getHits());
+    }
+
+    @Test
+    void memoize_추가_파일_요청이_남은_채로_끝난_리뷰는_저장하지_않음() {
+        // given
+        ReviewMemoizer memoizer = new ReviewMemoizer(new ReviewMemoStore("", 100, 0), true);
+        AggregatedReview truncated = AggregatedReview.builder()
+                .feature("PAYMENT")
+                .review("파일이 더 필요합니다")
+                .reviewedAt(LocalDateTime.now())
+                .truncated(true)
+                .build();
+
+        // when
+        memoizer.memoize("PAYMENT", "key1", () -> truncated);
+        AggregatedReview retried = memoizer.memoize("PAYMENT", "key1", () -> review(2));
+
+        // then
+        assertEquals("리뷰 2", retried.getReview());
+        assertEquals(0, memoizer.getHits());
+    }
+
+    @Test
+    void load_파일에서_다시_읽기() {
+        // given
+        String storePath = tempDir.resolve("review-memo.json").toString();
+        ReviewMemoStore store = new ReviewMemoStore(storePath, 100, 0);
+        new ReviewMemoizer(store, true)
+                .memoize("PAYMENT", "key1", () -> review(1));
+        assertFalse(Files.exists(Path.of(storePath))); // 저장은 flush 때만
+        store.flush();
+
+        // when
+        ReviewMemoStore reloaded = new ReviewMemoStore(storePath, 100, 0);
+        reloaded.load();
+
+        // then
+        assertEquals("리뷰 1", reloaded.find("key1").orElseThrow().getReview());
+    }
+
+    @Test
+    void save_상한_초과시_오래_사용되지_않은_결과부터_제거() {
+        // given
+        ReviewMemoizer memoizer = new ReviewMemoizer(new ReviewMemoStore("", 1, 0), true);
+        AtomicInteger calls = new AtomicInteger();
+        memoizer.memoize("PAYMENT", "key1", () -> review(calls.incrementAndGet()));
+        memoizer.memoize("PAYMENT", "key2", () -> review(calls.incrementAndGet()));
+
+        // when
+        memoizer.memoize("PAYMENT", "key1", () -> review(calls.incrementAndGet()));
+
+        // then
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void key_diff_핵심파일_메모리_제공자가_바뀌면_달라짐() {
+        // given
+        FeatureDefinition definition = FeatureDefinition.builder()
+                .name("PAYMENT")
+                .paths(List.of("src/payment/"))
+                .coreFiles(List.of("PaymentService.java"))
+                .build();
+        List<FileContent> changed = List.of(FileContent.builder().path("src/payment/Pay.java").diff("+a").build());
+        List<FileContent> core = List.of(FileContent.builder().path("PaymentService.java").sha("abc").build());
+        ReviewPrompt prompt = ReviewPrompt.builder().content("프롬프트").build();
+        String base = ReviewMemoizer.key("anthropic", definition, null, changed, core, "시스템", prompt);
+
+        // when & then
+        assertEquals(base, ReviewMemoizer.key("anthropic", definition, null, changed, core, "시스템", prompt));
+        assertNotEquals(base, ReviewMemoizer.key("anthropic", definition, null,
+                List.of(FileContent.builder().path("src/payment/Pay.java").diff("+b").build()),
+                core, "시스템", prompt));
+        assertNotEquals(base, ReviewMemoizer.key("anthropic", definition, null, changed,
+                List.of(FileContent.builder().path("PaymentService.java").sha("def").build()), "시스템", prompt));
+        assertNotEquals(base, ReviewMemoizer.key("openai-compatible", definition, null, changed, core, "시스템", prompt));
+        assertNotEquals(base, ReviewMemoizer.key("anthropic", definition,
+                FeatureMemory.builder().feature("PAYMENT").summary("요약").build(), changed, core, "시스템", prompt));
+    }
+
+    private static AggregatedReview review(int n) {
+        return AggregatedReview.builder()
+                .feature("PAYMENT")
+                .review("리뷰 " + n)
+                .reviewedAt(LocalDateTime.now())
+                .updatedMemory(FeatureMemory.builder().feature("PAYMENT").summary("요약").build())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
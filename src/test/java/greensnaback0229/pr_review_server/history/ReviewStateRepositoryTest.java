@@ -0,0 +1,66 @@
+package greensnaback0229.pr_review_server.history;
+
+import greensnaback0229.pr_review_server.history.dto.ReviewState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReviewStateRepositoryTest {
+
+    private ReviewStateRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new ReviewStateRepository();
+    }
+
+    @Test
+    void save_PR별_상태_저장() {
+        // given
+        ReviewState state = ReviewState.builder()
+                .repoFullName("owner/repo")
+                .prNumber(1)
+                .headSha("abc123")
+                .featureSummaries(Map.of("PAYMENT", "금액 검증 누락 지적"))
+                .reviewedAt(LocalDateTime.now())
+                .build();
+
+        // when
+        repository.save(state);
+
+        // then
+        Optional<ReviewState> found = repository.find("owner/repo", 1);
+        assertTrue(found.isPresent());
+        assertEquals("abc123", found.get().getHeadSha());
+        assertTrue(repository.find("owner/repo", 2).isEmpty());
+    }
+
+    @Test
+    void save_같은_PR은_덮어쓰기() {
+        // given
+        repository.save(ReviewState.builder().repoFullName("owner/repo").prNumber(1).headSha("abc123").build());
+
+        // when
+        repository.save(ReviewState.builder().repoFullName("owner/repo").prNumber(1).headSha("def456").build());
+
+        // then
+        assertEquals("def456", repository.find("owner/repo", 1).orElseThrow().getHeadSha());
+    }
+
+    @Test
+    void delete_상태_삭제() {
+        // given
+        repository.save(ReviewState.builder().repoFullName("owner/repo").prNumber(1).headSha("abc123").build());
+
+        // when
+        repository.delete("owner/repo", 1);
+
+        // then
+        assertTrue(repository.find("owner/repo", 1).isEmpty());
+    }
+}
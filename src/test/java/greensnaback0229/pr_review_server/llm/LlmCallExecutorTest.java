@@ -0,0 +1,125 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.anthropic.core.JsonValue;
+import com.anthropic.core.http.Headers;
+import com.anthropic.errors.BadRequestException;
+import com.anthropic.errors.RateLimitException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LlmCallExecutor 테스트")
+class LlmCallExecutorTest {
+
+    @Test
+    @DisplayName("429 응답은 retry-after만큼 기다린 뒤 재시도한다")
+    void execute_retriesWithRetryAfter() {
+        // given
+        LlmCallExecutor executor = executor(3, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when
+        long start = System.currentTimeMillis();
+        String result = executor.execute(false, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw rateLimited("0.2");
+            }
+            return "ok";
+        });
+
+        // then
+        assertThat(result).isEqualTo("ok");
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(System.currentTimeMillis() - start).isGreaterThanOrEqualTo(200);
+        assertThat(executor.getRetries()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("요청 자체의 오류는 재시도하지 않고 그대로 던진다")
+    void execute_doesNotRetryClientErrors() {
+        // given
+        LlmCallExecutor executor = executor(3, 3);
+        AtomicInteger attempts = new AtomicInteger();
+
+        // when & then
+        assertThatThrownBy(() -> executor.execute(false, () -> {
+            attempts.incrementAndGet();
+            throw BadRequestException.builder()
+                    .headers(Headers.builder().build())
+                    .body(JsonValue.from(Map.of()))
+                    .build();
+        })).isInstanceOf(BadRequestException.class);
+        assertThat(attempts.get()).isEqualTo(1);
+        assertThat(executor.getCircuitState()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    @DisplayName("재시도를 소진한 실패가 이어지면 회로를 열고 이후 호출은 바로 거부한다")
+    void execute_opensCircuit() {
+        // given
+        LlmCallExecutor executor = executor(2, 1);
+        AtomicInteger attempts = new AtomicInteger();
+        LlmCall<String> failing = () -> {
+            attempts.incrementAndGet();
+            throw rateLimited("0");
+        };
+
+        // when
+        assertThatThrownBy(() -> executor.execute(false, failing)).isInstanceOf(LlmUnavailableException.class);
+        assertThatThrownBy(() -> executor.execute(false, () -> "ok"))
+                .isInstanceOf(LlmUnavailableException.class)
+                .satisfies(e -> assertThat(((LlmUnavailableException) e).getRetryAtMillis())
+                        .isGreaterThan(System.currentTimeMillis()));
+
+        // then
+        assertThat(attempts.get()).isEqualTo(2);
+        assertThat(executor.getRejected()).isEqualTo(1);
+        assertThat(executor.getCircuitState()).isEqualTo("OPEN");
+    }
+
+    @Test
+    @DisplayName("응답이 최근 지연 기준보다 늦으면 hedge 요청을 보내 먼저 온 응답을 사용한다")
+    void execute_hedgesSlowCalls() {
+        // given
+        LlmCallExecutor executor = new LlmCallExecutor(1, 0, 0, true, 0.95, 50, 1, 3, 60);
+        executor.execute(true, () -> "warm-up");
+        AtomicInteger calls = new AtomicInteger();
+
+        // when
+        String result = executor.execute(true, () -> {
+            if (calls.incrementAndGet() == 1) {
+                sleep(2000);
+                return "slow";
+            }
+            return "fast";
+        });
+
+        // then
+        assertThat(result).isEqualTo("fast");
+        assertThat(executor.getHedges()).isEqualTo(1);
+        assertThat(executor.getHedgeWins()).isEqualTo(1);
+    }
+
+    private static LlmCallExecutor executor(int maxAttempts, int failureThreshold) {
+        return new LlmCallExecutor(maxAttempts, 1, 10, false, 0.95, 0, 20, failureThreshold, 60);
+    }
+
+    private static RateLimitException rateLimited(String retryAfterSeconds) {
+        return RateLimitException.builder()
+                .headers(Headers.builder().put("retry-after", retryAfterSeconds).build())
+                .body(JsonValue.from(Map.of()))
+                .build();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
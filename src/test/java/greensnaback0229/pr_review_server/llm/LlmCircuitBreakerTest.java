@@ -0,0 +1,60 @@
+package greensnaback0229.pr_review_server.llm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LlmCircuitBreaker 테스트")
+class LlmCircuitBreakerTest {
+
+    @Test
+    @DisplayName("열린 시간이 지나면 시험 호출 하나만 허용하고 성공하면 닫는다")
+    void allowRequest_halfOpenProbe() {
+        // given
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(2, 1000);
+        breaker.recordFailure(0);
+        breaker.recordFailure(0);
+
+        // when & then
+        assertThat(breaker.allowRequest(500)).isFalse();
+        assertThat(breaker.retryAtMillis(500)).isEqualTo(1000);
+        assertThat(breaker.allowRequest(1000)).isTrue();
+        assertThat(breaker.allowRequest(1000)).isFalse();
+
+        breaker.recordSuccess();
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.CLOSED);
+        assertThat(breaker.allowRequest(1000)).isTrue();
+    }
+
+    @Test
+    @DisplayName("시험 호출이 진행 중이면 지금이 아니라 시험 호출의 결과를 기다릴 시각을 알려준다")
+    void retryAtMillis_halfOpenWaitsForProbe() {
+        // given
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(1, 1000);
+        breaker.recordFailure(0);
+        breaker.allowRequest(1000);
+
+        // when & then
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.retryAtMillis(1200)).isEqualTo(2000);
+        assertThat(breaker.retryAtMillis(2500)).isEqualTo(3500);
+    }
+
+    @Test
+    @DisplayName("시험 호출이 실패하면 다시 연다")
+    void recordFailure_reopensAfterFailedProbe() {
+        // given
+        LlmCircuitBreaker breaker = new LlmCircuitBreaker(1, 1000);
+        breaker.recordFailure(0);
+        breaker.allowRequest(1000);
+
+        // when
+        breaker.recordFailure(1000);
+
+        // then
+        assertThat(breaker.getState()).isEqualTo(LlmCircuitBreaker.State.OPEN);
+        assertThat(breaker.allowRequest(1500)).isFalse();
+        assertThat(breaker.allowRequest(2000)).isTrue();
+    }
+}
@@ -0,0 +1,81 @@
+package greensnaback0229.pr_review_server.llm;
+
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.llm.dto.LlmMessage;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("LlmProviderRegistry 테스트")
+class LlmProviderRegistryTest {
+
+    private final LlmProvider anthropic = new StubProvider("anthropic");
+    private final LlmProvider local = new StubProvider("openai-compatible");
+
+    private final LlmProviderRegistry registry = new LlmProviderRegistry(List.of(anthropic, local), "anthropic",
+            new String[]{"owner/private-repo = openai-compatible", "owner/typo-repo=unknown"});
+
+    @Test
+    @DisplayName("기능 정의의 provider가 저장소 설정보다 우선한다")
+    void resolve_featureProviderFirst() {
+        // given
+        FeatureDefinition definition = FeatureDefinition.builder()
+                .name("PAYMENT")
+                .provider("anthropic")
+                .build();
+
+        // when & then
+        assertThat(registry.resolve("owner/private-repo", definition)).isSameAs(anthropic);
+    }
+
+    @Test
+    @DisplayName("기능 정의에 provider가 없으면 저장소 설정, 그것도 없으면 기본 제공자를 사용한다")
+    void resolve_repositoryThenDefault() {
+        // given
+        FeatureDefinition definition = FeatureDefinition.builder().name("PAYMENT").build();
+
+        // when & then
+        assertThat(registry.resolve("owner/private-repo", definition)).isSameAs(local);
+        assertThat(registry.resolve("owner/other-repo", definition)).isSameAs(anthropic);
+    }
+
+    @Test
+    @DisplayName("등록되지 않은 제공자 이름은 기본 제공자로 대체한다")
+    void resolve_unknownFallsBackToDefault() {
+        // given
+        FeatureDefinition definition = FeatureDefinition.builder().name("PAYMENT").build();
+
+        // when & then
+        assertThat(registry.resolve("owner/typo-repo", definition)).isSameAs(anthropic);
+    }
+
+    @Test
+    @DisplayName("기본 제공자가 등록되지 않았으면 시작 시 실패한다")
+    void constructor_unknownDefault() {
+        assertThatThrownBy(() -> new LlmProviderRegistry(List.of(anthropic), "openai-compatible", new String[0]))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private record StubProvider(String name) implements LlmProvider {
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isStructuredOutput() {
+            return false;
+        }
+
+        @Override
+        public ReviewResponse send(String systemPrompt, List<LlmMessage> messages, LlmPriority priority,
+                                   ModelRoute route, ReviewStreamListener listener) {
+            return ReviewResponse.builder().review(name).build();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.anthropic.client.AnthropicClient;
+import com.anthropic.client.okhttp.AnthropicOkHttpClient;
+import com.anthropic.models.messages.Message;
+import com.anthropic.models.messages.MessageCreateParams;
+import com.anthropic.models.messages.Model;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 로컬 Message Batches 스텁 서버로 제출/조회/결과 전달 흐름을 확인
+ */
+@DisplayName("MessageBatchQueue 테스트")
+class MessageBatchQueueTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> customIds = new ArrayList<>();
+    private final List<String> prompts = new ArrayList<>();
+    private final AtomicInteger createCalls = new AtomicInteger();
+    private final AtomicInteger pollCalls = new AtomicInteger();
+    private final AtomicInteger cancelCalls = new AtomicInteger();
+    private volatile boolean neverEnds;
+    private volatile boolean pollFails;
+
+    private HttpServer server;
+    private AnthropicClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/messages/batches", this::handle);
+        server.start();
+        client = AnthropicOkHttpClient.builder()
+                .apiKey("test-key")
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .maxRetries(0)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("모인 요청을 한 배치로 제출하고 배치가 끝나면 custom_id별로 결과를 전달한다")
+    void submit_batchesAndResumes() throws Exception {
+        // given
+        MessageBatchQueue queue = new MessageBatchQueue(client, LlmCallExecutor.direct(), true, 2, 60_000, 10, 60_000, 3);
+
+        // when
+        CompletableFuture<Message> first = queue.submit(request("첫 번째 리뷰"));
+        CompletableFuture<Message> second = queue.submit(request("두 번째 리뷰"));
+
+        // then
+        assertThat(text(first.get(5, TimeUnit.SECONDS))).isEqualTo("답변: 첫 번째 리뷰");
+        assertThat(text(second.get(5, TimeUnit.SECONDS))).isEqualTo("답변: 두 번째 리뷰");
+        assertThat(createCalls.get()).isEqualTo(1);
+        assertThat(pollCalls.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("개수가 모자라도 제출 주기가 지나면 모인 만큼 제출한다")
+    void submit_flushesAfterInterval() throws Exception {
+        // given
+        MessageBatchQueue queue = new MessageBatchQueue(client, LlmCallExecutor.direct(), true, 100, 50, 10, 60_000, 3);
+
+        // when
+        CompletableFuture<Message> result = queue.submit(request("단독 리뷰"));
+
+        // then
+        assertThat(text(result.get(5, TimeUnit.SECONDS))).isEqualTo("답변: 단독 리뷰");
+        assertThat(createCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("배치가 대기 한도 안에 끝나지 않으면 배치를 취소하고 LlmUnavailableException으로 실패 처리한다")
+    void poll_givesUpAfterMaxWait() {
+        // given
+        neverEnds = true;
+        MessageBatchQueue queue = new MessageBatchQueue(client, LlmCallExecutor.direct(), true, 1, 60_000, 10, 50, 100);
+
+        // when
+        CompletableFuture<Message> result = queue.submit(request("끝나지 않는 리뷰"));
+
+        // then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(LlmUnavailableException.class);
+        assertThat(cancelCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("상태 조회가 연속으로 한도만큼 실패하면 더 예약하지 않고 LlmUnavailableException으로 실패 처리한다")
+    void poll_givesUpAfterConsecutiveFailures() {
+        // given
+        pollFails = true;
+        MessageBatchQueue queue = new MessageBatchQueue(client, LlmCallExecutor.direct(), true, 1, 60_000, 10, 60_000, 3);
+
+        // when
+        CompletableFuture<Message> result = queue.submit(request("조회가 실패하는 리뷰"));
+
+        // then
+        assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(LlmUnavailableException.class);
+        assertThat(pollCalls.get()).isEqualTo(3);
+    }
+
+    private MessageCreateParams request(String prompt) {
+        return MessageCreateParams.builder()
+                .model(Model.CLAUDE_SONNET_4_20250514)
+                .maxTokens(100L)
+                .system("시스템")
+                .addUserMessage(prompt)
+                .build();
+    }
+
+    private static String text(Message message) {
+        return message.content().get(0).asText().text();
+    }
+
+    /**
+     * 배치 생성 → 상태 조회(첫 조회는 진행 중) → 결과(JSONL) 순서로 응답하는 스텁 (취소/조회 실패/끝나지 않는 배치도 흉내)
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        if (path.endsWith("/cancel")) {
+            cancelCalls.incrementAndGet();
+            respond(exchange, "application/json", batch("canceling"));
+        } else if ("POST".equals(exchange.getRequestMethod())) {
+            createCalls.incrementAndGet();
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            body.path("requests").forEach(request -> {
+                customIds.add(request.path("custom_id").asText());
+                prompts.add(request.path("params").path("messages").get(0).path("content").asText());
+            });
+            respond(exchange, "application/json", batch("in_progress"));
+        } else if (path.endsWith("/results")) {
+            StringBuilder lines = new StringBuilder();
+            for (int i = 0; i < customIds.size(); i++) {
+                lines.append(objectMapper.writeValueAsString(objectMapper.createObjectNode()
+                        .put("custom_id", customIds.get(i))
+                        .set("result", objectMapper.createObjectNode()
+                                .put("type", "succeeded")
+                                .set("message", objectMapper.readTree(message("답변: " + prompts.get(i)))))))
+                        .append("\n");
+            }
+            respond(exchange, "application/x-jsonl", lines.toString());
+        } else if (pollFails) {
+            pollCalls.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        } else {
+            String status = pollCalls.incrementAndGet() == 1 || neverEnds ? "in_progress" : "ended";
+            respond(exchange, "application/json", batch(status));
+        }
+    }
+
+    private String batch(String status) {
+        return """
+                {"id": "msgbatch_test", "type": "message_batch", "processing_status": "%s",
+                 "request_counts": {"processing": 0, "succeeded": 0, "errored": 0, "canceled": 0, "expired": 0},
+                 "created_at": "2025-01-01T00:00:00Z", "expires_at": "2025-01-02T00:00:00Z",
+                 "ended_at": null, "archived_at": null, "cancel_initiated_at": null,
+                 "results_url": "http://localhost:%d/v1/messages/batches/msgbatch_test/results"}
+                """.formatted(status, server.getAddress().getPort());
+    }
+
+    private static String message(String text) {
+        return """
+                {"id": "msg_test", "type": "message", "role": "assistant", "model": "claude-sonnet-4-20250514",
+                 "content": [{"type": "text", "text": "%s", "citations": null}],
+                 "stop_reason": "end_turn", "stop_sequence": null,
+                 "usage": {"input_tokens": 10, "output_tokens": 5}}
+                """.formatted(text);
+    }
+
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
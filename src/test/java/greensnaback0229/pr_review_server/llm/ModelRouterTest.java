@@ -0,0 +1,153 @@
+package greensnaback0229.pr_review_server.llm;
+
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.llm.dto.ReviewFinding;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ModelRouter 테스트")
+class ModelRouterTest {
+
+    private static final String SMALL_DIFF = """
+            --- a/Alert.java
+            +++ b/Alert.java
+            @@ -1,3 +1,3 @@
+             class Alert {
+            -    int retries = 1;
+            +    int retries = 3;
+             }
+            """;
+
+    private final ModelRouter router = new ModelRouter(true, "fast", "standard", 2000, 4000, 10,
+            new String[]{"**/*.sql", "**/auth/**"});
+
+    @Test
+    @DisplayName("작은 변경은 빠른 모델로 분류한다")
+    void route_smallChangeGoesFast() {
+        // when
+        ModelRoute route = router.route(feature(null), Map.of("src/alert/Alert.java", SMALL_DIFF));
+
+        // then
+        assertThat(route).isEqualTo(ModelRoute.FAST);
+        assertThat(router.model(route)).isEqualTo("fast");
+        assertThat(router.maxTokens(route)).isEqualTo(2000);
+    }
+
+    @Test
+    @DisplayName("중요한 기능, 위험한 파일, 큰 변경은 기본 모델로 리뷰한다")
+    void route_standardForCriticalRiskyOrLarge() {
+        // given
+        String largeDiff = "+ line\n".repeat(11);
+
+        // when & then
+        assertThat(router.route(feature("HIGH"), Map.of("src/alert/Alert.java", SMALL_DIFF)))
+                .isEqualTo(ModelRoute.STANDARD);
+        assertThat(router.route(feature(null), Map.of("db/V2__alert.sql", SMALL_DIFF)))
+                .isEqualTo(ModelRoute.STANDARD);
+        assertThat(router.route(feature(null), Map.of("src/auth/Login.java", SMALL_DIFF)))
+                .isEqualTo(ModelRoute.STANDARD);
+        assertThat(router.route(feature("LOW"), Map.of("src/alert/Alert.java", largeDiff)))
+                .isEqualTo(ModelRoute.STANDARD);
+    }
+
+    @Test
+    @DisplayName("라우팅을 끄면 항상 기본 모델을 사용한다")
+    void route_disabled() {
+        // given
+        ModelRouter disabled = new ModelRouter(false, "fast", "standard", 2000, 4000, 10, new String[0]);
+
+        // when & then
+        assertThat(disabled.route(feature(null), Map.of("src/alert/Alert.java", SMALL_DIFF)))
+                .isEqualTo(ModelRoute.STANDARD);
+    }
+
+    @Test
+    @DisplayName("CRITICAL/MAJOR 지적이나 추가 파일 요청이 있으면 기본 모델로 다시 리뷰한다")
+    void shouldEscalate() {
+        // given
+        ReviewResponse minorOnly = response(false, "MINOR");
+        ReviewResponse major = response(false, "MAJOR");
+        ReviewResponse needsContext = response(true, "MINOR");
+        ReviewResponse textReview = ReviewResponse.builder()
+                .review("**[CRITICAL]** null 체크 누락")
+                .requestedFiles(List.of())
+                .build();
+
+        // when & then
+        assertThat(router.shouldEscalate(null, minorOnly)).isFalse();
+        assertThat(router.shouldEscalate(null, major)).isTrue();
+        assertThat(router.shouldEscalate(null, needsContext)).isTrue();
+        assertThat(router.shouldEscalate(null, textReview)).isTrue();
+        assertThat(router.getEscalations()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("텍스트 리뷰는 텍스트 프롬프트가 안내하는 우선순위 표시(Critical/Major)로 판단하고 문장 속 단어는 무시한다")
+    void shouldEscalate_textMarkers() {
+        // given
+        ReviewResponse majorHeading = text("### 🟠 Major\n- 재시도 횟수 검증 누락");
+        ReviewResponse majorLabel = text("1. **Major**: 예외를 삼킵니다");
+        ReviewResponse bracketed = text("- [Critical] SQL 인젝션");
+        ReviewResponse minorOnly = text("- **Minor**: 변수명이 모호합니다. critical path는 아닙니다.");
+
+        // when & then
+        assertThat(router.shouldEscalate(null, majorHeading)).isTrue();
+        assertThat(router.shouldEscalate(null, majorLabel)).isTrue();
+        assertThat(router.shouldEscalate(null, bracketed)).isTrue();
+        assertThat(router.shouldEscalate(null, minorOnly)).isFalse();
+    }
+
+    @Test
+    @DisplayName("중요도 LOW 기능은 CRITICAL 지적이나 추가 파일 요청이 있을 때만 기본 모델로 다시 리뷰한다")
+    void shouldEscalate_lowCriticality() {
+        // given
+        FeatureDefinition low = feature("LOW");
+
+        // when & then
+        assertThat(router.shouldEscalate(low, response(false, "MAJOR"))).isFalse();
+        assertThat(router.shouldEscalate(low, text("- **Major**: 예외를 삼킵니다"))).isFalse();
+        assertThat(router.shouldEscalate(low, response(false, "CRITICAL"))).isTrue();
+        assertThat(router.shouldEscalate(low, response(true, "MINOR"))).isTrue();
+        assertThat(router.shouldEscalate(feature(null), response(false, "MAJOR"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("diff 헤더를 제외한 추가/삭제 줄 수를 센다")
+    void changedLines() {
+        assertThat(ModelRouter.changedLines(List.of(SMALL_DIFF, SMALL_DIFF))).isEqualTo(4);
+    }
+
+    private static FeatureDefinition feature(String criticality) {
+        return FeatureDefinition.builder()
+                .name("ALERT")
+                .criticality(criticality)
+                .build();
+    }
+
+    private static ReviewResponse text(String review) {
+        return ReviewResponse.builder()
+                .review(review)
+                .requestedFiles(List.of())
+                .build();
+    }
+
+    private static ReviewResponse response(boolean needMoreContext, String severity) {
+        return ReviewResponse.builder()
+                .review("리뷰")
+                .needMoreContext(needMoreContext)
+                .requestedFiles(List.of())
+                .findings(List.of(ReviewFinding.builder()
+                        .path("src/alert/Alert.java")
+                        .line(2)
+                        .severity(severity)
+                        .message("지적")
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,231 @@
+package greensnaback0229.pr_review_server.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import greensnaback0229.pr_review_server.llm.dto.LlmMessage;
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import greensnaback0229.pr_review_server.prompt.dto.ReviewPrompt;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * 로컬 Chat Completions 스텁 서버로 요청 변환/응답 파싱/과부하 처리를 확인
+ */
+@DisplayName("OpenAiCompatibleLlmProvider 테스트")
+class OpenAiCompatibleLlmProviderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelRouter modelRouter = new ModelRouter(true, "fast", "standard", 2000, 4000, 10, new String[0]);
+    private final LlmUsageTracker usageTracker = new LlmUsageTracker();
+    private final AtomicReference<JsonNode> lastRequest = new AtomicReference<>();
+    private final AtomicReference<String> authorization = new AtomicReference<>();
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final CountDownLatch received = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile boolean blocking;
+    private volatile String retryAfter;
+
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/chat/completions", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("시스템 프롬프트와 대화 내역을 Chat Completions 메시지로 바꾸고, 캐시 블록은 하나로 이어 붙인다")
+    void requestBody_convertsConversation() {
+        // given
+        OpenAiCompatibleLlmProvider provider = provider(2, 1000);
+        LlmClient llmClient = new LlmClient(null, true);
+        LlmMessage user = llmClient.userMessage(ReviewPrompt.builder()
+                .cachedBlocks(List.of("기능 정보"))
+                .content("변경 diff")
+                .build());
+        LlmMessage assistant = LlmMessage.assistant("파일이 더 필요합니다");
+
+        // when
+        JsonNode body = provider.requestBody("시스템", List.of(user, assistant), ModelRoute.FAST);
+
+        // then
+        assertThat(body.path("model").asText()).isEqualTo("local-fast");
+        assertThat(body.path("max_tokens").asLong()).isEqualTo(2000);
+        assertThat(body.path("messages")).hasSize(3);
+        assertThat(body.path("messages").get(0).path("role").asText()).isEqualTo("system");
+        assertThat(body.path("messages").get(1).path("role").asText()).isEqualTo("user");
+        assertThat(body.path("messages").get(1).path("content").asText()).isEqualTo("기능 정보\n\n변경 diff");
+        assertThat(body.path("messages").get(2).path("role").asText()).isEqualTo("assistant");
+    }
+
+    @Test
+    @DisplayName("fast-model을 비우면 빠른 모델이 따로 없으므로 라우팅하지 않는다")
+    void hasFastModel_onlyWhenConfigured() {
+        // given
+        OpenAiCompatibleLlmProvider withoutFastModel = new OpenAiCompatibleLlmProvider(usageTracker, modelRouter,
+                "http://localhost:" + server.getAddress().getPort(), "", "local-model", "", 1, 1000, 1000, 5000, 3, 60_000);
+
+        // when & then
+        assertThat(provider(2, 1000).hasFastModel()).isTrue();
+        assertThat(withoutFastModel.hasFastModel()).isFalse();
+    }
+
+    @Test
+    @DisplayName("응답 본문을 리뷰로 파싱하고 토큰 사용량을 기록한다")
+    void send_parsesResponseAndRecordsUsage() {
+        // given
+        OpenAiCompatibleLlmProvider provider = provider(2, 1000);
+
+        // when
+        ReviewResponse response = provider.send("시스템", List.of(LlmMessage.user("리뷰해 주세요")),
+                LlmPriority.INTERACTIVE, ModelRoute.STANDARD, ReviewStreamListener.NONE);
+
+        // then
+        assertThat(response.getReview()).contains("문제 없습니다");
+        assertThat(response.isNeedMoreContext()).isFalse();
+        assertThat(lastRequest.get().path("model").asText()).isEqualTo("local-model");
+        assertThat(authorization.get()).isEqualTo("Bearer local-key");
+        assertThat(usageTracker.getInputTokens()).isEqualTo(120);
+        assertThat(usageTracker.getOutputTokens()).isEqualTo(30);
+        assertThat(usageTracker.getRouteRequests(ModelRoute.STANDARD)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("서버가 과부하(503)면 나중에 다시 시도하도록 LlmUnavailableException을 던진다")
+    void send_serverOverloaded() {
+        // given
+        OpenAiCompatibleLlmProvider provider = provider(2, 1000);
+        status.set(503);
+
+        // when & then
+        assertThatThrownBy(() -> provider.send("시스템", List.of(userMessage()), LlmPriority.INTERACTIVE,
+                ModelRoute.STANDARD, ReviewStreamListener.NONE))
+                .isInstanceOf(LlmUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("서버 실패가 이어지면 회로를 열고, 서버가 알려준 시각까지 요청을 보내지 않는다")
+    void send_opensCircuitAndHonorsRetryAfter() {
+        // given
+        OpenAiCompatibleLlmProvider provider = provider(2, 1000);
+        status.set(503);
+        retryAfter = "120";
+        long before = System.currentTimeMillis();
+
+        // when
+        Throwable first = catchThrowable(() -> provider.send("시스템", List.of(userMessage()),
+                LlmPriority.INTERACTIVE, ModelRoute.STANDARD, ReviewStreamListener.NONE));
+        catchThrowable(() -> provider.send("시스템", List.of(userMessage()),
+                LlmPriority.INTERACTIVE, ModelRoute.STANDARD, ReviewStreamListener.NONE));
+        status.set(200);
+        Throwable rejected = catchThrowable(() -> provider.send("시스템", List.of(userMessage()),
+                LlmPriority.INTERACTIVE, ModelRoute.STANDARD, ReviewStreamListener.NONE));
+
+        // then
+        assertThat(first).isInstanceOf(LlmUnavailableException.class);
+        assertThat(((LlmUnavailableException) first).getRetryAtMillis()).isGreaterThanOrEqualTo(before + 120_000);
+        assertThat(rejected).isInstanceOf(LlmUnavailableException.class).hasMessageContaining("circuit");
+        assertThat(((LlmUnavailableException) rejected).getRetryAtMillis()).isGreaterThan(before);
+        assertThat(requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("잘못된 요청(400)은 다시 시도하지 않고 IllegalStateException을 던진다")
+    void send_badRequest() {
+        // given
+        OpenAiCompatibleLlmProvider provider = provider(2, 1000);
+        status.set(400);
+
+        // when & then
+        assertThatThrownBy(() -> provider.send("시스템", List.of(userMessage()), LlmPriority.INTERACTIVE,
+                ModelRoute.STANDARD, ReviewStreamListener.NONE))
+                .isInstanceOf(IllegalStateException.class)
+                .isNotInstanceOf(LlmUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("동시 요청 상한이 차 있고 대기 시간 안에 자리가 나지 않으면 LlmUnavailableException을 던진다")
+    void send_noFreeSlot() throws Exception {
+        // given
+        OpenAiCompatibleLlmProvider provider = provider(1, 0);
+        blocking = true;
+        CompletableFuture<ReviewResponse> first = CompletableFuture.supplyAsync(() -> provider.send("시스템",
+                List.of(userMessage()), LlmPriority.INTERACTIVE, ModelRoute.STANDARD, ReviewStreamListener.NONE));
+        assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when & then
+        assertThatThrownBy(() -> provider.send("시스템", List.of(userMessage()), LlmPriority.INTERACTIVE,
+                ModelRoute.STANDARD, ReviewStreamListener.NONE))
+                .isInstanceOf(LlmUnavailableException.class)
+                .hasMessageContaining("busy");
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getReview()).contains("문제 없습니다");
+    }
+
+    private OpenAiCompatibleLlmProvider provider(int maxConcurrency, long queueTimeoutMillis) {
+        return new OpenAiCompatibleLlmProvider(usageTracker, modelRouter,
+                "http://localhost:" + server.getAddress().getPort() + "/", "local-key", "local-model", "local-fast",
+                maxConcurrency, queueTimeoutMillis, 1000, 5000, 2, 60_000);
+    }
+
+    private static LlmMessage userMessage() {
+        return LlmMessage.user("리뷰해 주세요");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        lastRequest.set(objectMapper.readTree(exchange.getRequestBody()));
+        authorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+        requests.incrementAndGet();
+        received.countDown();
+        if (blocking) {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        String body = status.get() == 200
+                ? """
+                {"id": "chatcmpl-test", "object": "chat.completion",
+                 "choices": [{"index": 0, "message": {"role": "assistant", "content": "## 리뷰\\n문제 없습니다."},
+                              "finish_reason": "stop"}],
+                 "usage": {"prompt_tokens": 120, "completion_tokens": 30, "total_tokens": 150}}
+                """
+                : "{\"error\": {\"message\": \"unavailable\"}}";
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if (retryAfter != null) {
+            exchange.getResponseHeaders().add("Retry-After", retryAfter);
+        }
+        exchange.sendResponseHeaders(status.get(), bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+}
@@ -0,0 +1,65 @@
+package greensnaback0229.pr_review_server.llm;
+
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ReviewResponseParser 테스트")
+class ReviewResponseParserTest {
+
+    private final ReviewResponseParser parser = new ReviewResponseParser();
+
+    @Test
+    @DisplayName("추가 파일 요청 JSON 블록을 읽고 리뷰 본문에서 제거한다")
+    void parse_requestedFiles() {
+        // given
+        String content = String.join("\n",
+                "## 리뷰",
+                "금액 검증이 누락되었습니다.",
+                "```json",
+                "{ \"needMoreContext\": true, \"requestedFiles\": [\"PaymentValidator.java\"], \"reason\": \"검증 로직 확인\" }",
+                "```");
+
+        // when
+        ReviewResponse response = parser.parse(content);
+
+        // then
+        assertThat(response.isNeedMoreContext()).isTrue();
+        assertThat(response.getRequestedFiles()).containsExactly("PaymentValidator.java");
+        assertThat(response.getReason()).isEqualTo("검증 로직 확인");
+        assertThat(response.getReview()).isEqualTo("## 리뷰\n금액 검증이 누락되었습니다.");
+    }
+
+    @Test
+    @DisplayName("리뷰 본문의 JSON 예시는 요청 블록으로 보지 않는다")
+    void parse_codeExampleIsKept() {
+        // given
+        String content = String.join("\n",
+                "응답 형식을 다음처럼 바꾸세요:",
+                "```json",
+                "{ \"status\": \"OK\" }",
+                "```",
+                "```json",
+                "{ \"needMoreContext\": false }",
+                "```");
+
+        // when
+        ReviewResponse response = parser.parse(content);
+
+        // then
+        assertThat(response.isNeedMoreContext()).isFalse();
+        assertThat(response.getReview()).contains("\"status\"").doesNotContain("needMoreContext");
+    }
+
+    @Test
+    @DisplayName("요청 파일이 없거나 JSON이 깨졌으면 추가 요청이 없는 것으로 본다")
+    void parse_invalidOrEmpty() {
+        assertThat(parser.parse("```json\n{ \"needMoreContext\": true, \"requestedFiles\": [] }\n```")
+                .isNeedMoreContext()).isFalse();
+        assertThat(parser.parse("리뷰\n```json\n{ needMoreContext: true\n```").getReview())
+                .startsWith("리뷰");
+        assertThat(parser.parse("리뷰만 있음").getRequestedFiles()).isEmpty();
+    }
+}
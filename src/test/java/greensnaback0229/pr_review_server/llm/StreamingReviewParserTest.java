@@ -0,0 +1,50 @@
+package greensnaback0229.pr_review_server.llm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("StreamingReviewParser 테스트")
+class StreamingReviewParserTest {
+
+    private final StreamingReviewParser parser = new StreamingReviewParser(new ReviewResponseParser());
+
+    @Test
+    @DisplayName("조각 경계에 걸친 요청 블록도 닫히는 순간 감지한다")
+    void append_detectsAcrossChunks() {
+        // given
+        List<String> chunks = List.of(
+                "## 리뷰\n금액 검증이 누락되었습니다.\n``",
+                "`js",
+                "on\n{ \"needMoreContext\": true, \"requestedFiles\": [\"Payment",
+                "Validator.java\"] }\n``",
+                "`\n나머지 리뷰");
+
+        // when
+        List<Optional<List<String>>> results = chunks.stream().map(parser::append).toList();
+
+        // then
+        assertThat(results.subList(0, 4)).allMatch(Optional::isEmpty);
+        assertThat(results.get(4)).contains(List.of("PaymentValidator.java"));
+        assertThat(parser.getText()).isEqualTo(String.join("", chunks));
+    }
+
+    @Test
+    @DisplayName("코드 예시 블록이나 요청 없는 블록은 무시하고 요청은 한 번만 알린다")
+    void append_ignoresExamplesAndNotifiesOnce() {
+        // given
+        String example = "```json\n{ \"status\": \"OK\" }\n```\n";
+        String noRequest = "```json\n{ \"needMoreContext\": false, \"requestedFiles\": [] }\n```\n";
+        String request = "```json\n{ \"needMoreContext\": true, \"requestedFiles\": [\"A.java\"] }\n```\n";
+
+        // when & then
+        assertThat(parser.append(example)).isEmpty();
+        assertThat(parser.append(noRequest)).isEmpty();
+        assertThat(parser.append(request)).contains(List.of("A.java"));
+        assertThat(parser.append(request)).isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+package greensnaback0229.pr_review_server.llm;
+
+import greensnaback0229.pr_review_server.llm.dto.ReviewResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ToolInputReader 테스트")
+class ToolInputReaderTest {
+
+    @Test
+    @DisplayName("조각으로 받은 도구 입력에서 추가 파일 요청을 응답이 끝나기 전에 감지한다")
+    void append_detectsRequestBeforeEnd() {
+        // given
+        ToolInputReader reader = new ToolInputReader();
+
+        // when
+        Optional<List<String>> first = reader.append("{\"needMoreContext\": tr");
+        Optional<List<String>> second = reader.append("ue, \"requestedFiles\": [\"PaymentValidator.java\", \"Money");
+        Optional<List<String>> third = reader.append("Utils.java\"], \"reason\": \"검증 로직 확인\", \"rev");
+        Optional<List<String>> fourth = reader.append("iew\": \"검증 로직을 확인해야 합니다.\"}");
+
+        // then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        assertThat(third).contains(List.of("PaymentValidator.java", "MoneyUtils.java"));
+        assertThat(fourth).isEmpty();
+
+        ReviewResponse response = reader.result();
+        assertThat(response.isNeedMoreContext()).isTrue();
+        assertThat(response.getReason()).isEqualTo("검증 로직 확인");
+        assertThat(response.getReview()).isEqualTo("검증 로직을 확인해야 합니다.");
+    }
+
+    @Test
+    @DisplayName("지적 사항과 메모리 제안을 DTO로 변환한다")
+    void read_findingsAndMemorySuggestion() {
+        // given
+        String json = """
+                {
+                  "needMoreContext": false,
+                  "review": "전반적으로 좋습니다.",
+                  "findings": [
+                    {"path": "src/Payment.java", "line": 42, "severity": "CRITICAL", "message": "음수 금액 검증 누락"}
+                  ],
+                  "memorySuggestion": {
+                    "summary": "할인 로직 추가",
+                    "keyPoints": ["금액 검증"],
+                    "relatedFiles": ["MoneyUtils.java"],
+                    "confidence": 0.9
+                  }
+                }
+                """;
+
+        // when
+        ReviewResponse response = ToolInputReader.read(json);
+
+        // then
+        assertThat(response.isNeedMoreContext()).isFalse();
+        assertThat(response.getRequestedFiles()).isEmpty();
+        assertThat(response.getFindings()).hasSize(1);
+        assertThat(response.getFindings().get(0).getPath()).isEqualTo("src/Payment.java");
+        assertThat(response.getFindings().get(0).getLine()).isEqualTo(42);
+        assertThat(response.getFindings().get(0).getSeverity()).isEqualTo("CRITICAL");
+        assertThat(response.getMemorySuggestion().getSummary()).isEqualTo("할인 로직 추가");
+        assertThat(response.getMemorySuggestion().getRelatedFiles()).containsExactly("MoneyUtils.java");
+    }
+}
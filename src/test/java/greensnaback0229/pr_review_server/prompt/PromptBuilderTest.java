@@ -0,0 +1,105 @@
+package greensnaback0229.pr_review_server.prompt;
+
+import greensnaback0229.pr_review_server.feature.dto.FeatureDefinition;
+import greensnaback0229.pr_review_server.feature.dto.FeatureMemory;
+import greensnaback0229.pr_review_server.feature.dto.ResolvedFeature;
+import greensnaback0229.pr_review_server.prompt.dto.ReviewPrompt;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptBuilderTest {
+
+    private final PromptBuilder promptBuilder = new PromptBuilder();
+
+    private final ResolvedFeature feature = ResolvedFeature.builder()
+            .definition(FeatureDefinition.builder()
+                    .name("PAYMENT")
+                    .description("결제 및 금액 처리")
+                    .paths(List.of("src/main/java/com/app/payment/"))
+                    .coreFiles(List.of("PaymentService.java"))
+                    .build())
+            .memory(FeatureMemory.builder()
+                    .feature("PAYMENT")
+                    .summary("할인 정책 로직 추가됨")
+                    .keyPoints(List.of("금액 검증"))
+                    .relatedFiles(List.of())
+                    .updatedAt(LocalDateTime.now())
+                    .build())
+            .build();
+
+    @Test
+    void buildReviewPrompt_안정적인_블록을_앞에_두고_diff는_마지막() {
+        // when
+        ReviewPrompt prompt = promptBuilder.buildReviewPrompt(
+                feature,
+                Map.of("src/main/java/com/app/payment/Order.java", "+int amount = 1;"),
+                Map.of("src/main/java/com/app/payment/PaymentService.java", "class PaymentService {}"),
+                false,
+                null,
+                Map.of(),
+                Map.of("src/main/java/com/app/payment/Money.java", "class Money {}"));
+
+        // then
+        assertEquals(2, prompt.getCachedBlocks().size());
+        assertTrue(prompt.getCachedBlocks().get(0).contains("PAYMENT"));
+        assertTrue(prompt.getCachedBlocks().get(0).contains("할인 정책 로직 추가됨"));
+        assertTrue(prompt.getCachedBlocks().get(1).contains("class PaymentService {}"));
+        assertFalse(prompt.getCachedBlocks().get(1).contains("+int amount = 1;"));
+
+        String content = prompt.getContent();
+        assertTrue(content.indexOf("class Money {}") < content.indexOf("+int amount = 1;"));
+    }
+
+    @Test
+    void buildReviewPrompt_diff만_달라도_캐시_블록은_동일() {
+        // given
+        Map<String, String> core = Map.of("src/main/java/com/app/payment/PaymentService.java", "class PaymentService {}");
+
+        // when
+        ReviewPrompt first = promptBuilder.buildReviewPrompt(
+                feature, Map.of("A.java", "+a"), core, false, null, Map.of(), Map.of());
+        ReviewPrompt second = promptBuilder.buildReviewPrompt(
+                feature, Map.of("B.java", "+b"), core, false, "이전 리뷰 요약", Map.of(), Map.of());
+
+        // then
+        assertEquals(first.getCachedBlocks(), second.getCachedBlocks());
+        assertNotEquals(first.getContent(), second.getContent());
+        assertEquals(String.join("", first.getCachedBlocks()) + first.getContent(), first.getText());
+    }
+
+    @Test
+    void buildReviewPrompt_관련_파일_코드블록은_확장자에_맞는_언어() {
+        // when
+        ReviewPrompt prompt = promptBuilder.buildReviewPrompt(feature, Map.of("A.java", "+a"), Map.of(), false, null,
+                Map.of(), Map.of("web/src/api.ts", "export function pay(): void", "scripts/Makefile", "all:"));
+
+        // then
+        assertTrue(prompt.getContent().contains("```typescript\nexport function pay(): void"));
+        assertTrue(prompt.getContent().contains("```\nall:"));
+        assertFalse(prompt.getContent().contains("```java"));
+        assertEquals("java", PromptBuilder.fenceLanguage("src/Order.java"));
+        assertEquals("yaml", PromptBuilder.fenceLanguage("config/application.yml"));
+    }
+
+    @Test
+    void buildFollowUpPrompt_제공하지_못한_파일은_이유와_함께_알림() {
+        // when
+        String withFiles = promptBuilder.buildFollowUpPrompt(Map.of("src/Order.java", "class Order {}"),
+                List.of("Missing.java"), List.of());
+        String nothingNew = promptBuilder.buildFollowUpPrompt(Map.of(),
+                List.of("Missing.java"), List.of("src/Payment.java"));
+
+        // then
+        assertTrue(withFiles.contains("## src/Order.java"));
+        assertTrue(withFiles.contains("저장소에서 찾을 수 없습니다: Missing.java"));
+        assertTrue(withFiles.endsWith("이제 최종 리뷰를 진행해주세요."));
+        assertFalse(nothingNew.contains("# 요청하신 추가 파일"));
+        assertTrue(nothingNew.contains("앞의 메시지에 이미 포함되어 있습니다: src/Payment.java"));
+        assertTrue(nothingNew.contains("더 제공할 수 있는 파일이 없습니다"));
+    }
+}
@@ -0,0 +1,105 @@
+package greensnaback0229.pr_review_server.triage;
+
+import greensnaback0229.pr_review_server.collector.diff.UnifiedDiffParser;
+import greensnaback0229.pr_review_server.collector.dto.ChangedFile;
+import greensnaback0229.pr_review_server.triage.dto.TriageResult;
+import greensnaback0229.pr_review_server.triage.dto.TriageResult.SkipReason;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("ChangeTriage 테스트")
+class ChangeTriageTest {
+
+    private final ChangeTriage triage = new ChangeTriage(true,
+            new String[]{"**/package-lock.json", "**/*.lock"},
+            new String[]{"**/generated/**"},
+            new String[]{"**/vendor/**"},
+            new String[]{"**/*.snap"},
+            new String[]{"docs/**"});
+
+    @Test
+    @DisplayName("lock, 생성, vendor, 스냅샷, 사용자 지정 패턴 파일을 제외한다")
+    void triage_byPath() {
+        // given
+        List<String> paths = List.of(
+                "package-lock.json",
+                "web/yarn.lock",
+                "src/generated/Api.java",
+                "vendor/lib/a.go",
+                "ui/__tests__/Button.test.js.snap",
+                "docs/guide.md",
+                "src/main/java/PaymentService.java");
+
+        // when
+        TriageResult result = triage.triage(paths, Map.of(), Map.of());
+
+        // then
+        assertThat(result.getReviewablePaths()).containsExactly("src/main/java/PaymentService.java");
+        assertThat(result.getSkippedFiles()).containsEntry("package-lock.json", SkipReason.LOCKFILE)
+                .containsEntry("web/yarn.lock", SkipReason.LOCKFILE)
+                .containsEntry("src/generated/Api.java", SkipReason.GENERATED)
+                .containsEntry("vendor/lib/a.go", SkipReason.VENDORED)
+                .containsEntry("ui/__tests__/Button.test.js.snap", SkipReason.SNAPSHOT)
+                .containsEntry("docs/guide.md", SkipReason.CUSTOM);
+    }
+
+    @Test
+    @DisplayName("내용 변경 없는 rename과 생성 표시가 있는 새 파일을 제외한다")
+    void triage_byMetadataAndContent() {
+        // given
+        ChangedFile renamed = ChangedFile.builder()
+                .path("src/NewName.java").previousPath("src/OldName.java").status("renamed").build();
+        Map<String, String> diffs = Map.of(
+                "src/Moved.java", UnifiedDiffParser.NO_HUNK_NOTE,
+                "src/Proto.java", "@@ -0,0 +1,3 @@\n+// Code generated by protoc. DO NOT EDIT.\n+package a;",
+                "src/Edited.java", "@@ -10,2 +10,2 @@\n-// DO NOT EDIT below\n+// edited");
+
+        // when
+        TriageResult result = triage.triage(
+                List.of("src/NewName.java", "src/Moved.java", "src/Proto.java", "src/Edited.java"),
+                Map.of("src/NewName.java", renamed), diffs);
+
+        // then
+        assertThat(result.getReviewablePaths()).containsExactly("src/Edited.java");
+        assertThat(result.getSkippedFiles()).containsEntry("src/NewName.java", SkipReason.RENAME_ONLY)
+                .containsEntry("src/Moved.java", SkipReason.RENAME_ONLY)
+                .containsEntry("src/Proto.java", SkipReason.GENERATED);
+    }
+
+    @Test
+    @DisplayName("diff가 없으면 새 파일 patch 앞부분의 추가된 줄에서만 생성 표시를 찾는다")
+    void triage_byPatchHead() {
+        // given
+        ChangedFile generated = ChangedFile.builder().path("src/Api.java").status("added")
+                .patchHead("@@ -0,0 +1,2 @@\n+// @generated by openapi\n+class Api {}").build();
+        ChangedFile contextOnly = ChangedFile.builder().path("src/Legacy.java").status("modified")
+                .patchHead(null).build();
+        Map<String, String> diffs = Map.of(
+                "src/Legacy.java", "@@ -1,3 +1,3 @@\n // DO NOT EDIT manually\n-int a;\n+int b;",
+                "src/Notes.java", "@@ -0,0 +1,2 @@\n+// auto-generated notes are welcome\n+class Notes {}");
+
+        // when
+        TriageResult result = triage.triage(List.of("src/Api.java", "src/Legacy.java", "src/Notes.java"),
+                Map.of("src/Api.java", generated, "src/Legacy.java", contextOnly), diffs);
+
+        // then
+        assertThat(result.getReviewablePaths()).containsExactly("src/Legacy.java", "src/Notes.java");
+        assertThat(result.getSkippedFiles()).containsEntry("src/Api.java", SkipReason.GENERATED);
+    }
+
+    @Test
+    @DisplayName("리뷰할 파일이 없으면 사유별 요약을 만든다")
+    void summarize_nothingReviewable() {
+        // when
+        TriageResult result = triage.triage(List.of("package-lock.json", "a.lock"), Map.of(), Map.of());
+
+        // then
+        assertThat(result.isNothingReviewable()).isTrue();
+        assertThat(triage.summarize(result)).isEqualTo("- lock 파일 2개 (package-lock.json, a.lock)");
+    }
+}
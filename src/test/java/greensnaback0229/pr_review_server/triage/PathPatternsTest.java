@@ -0,0 +1,24 @@
+package greensnaback0229.pr_review_server.triage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@DisplayName("PathPatterns 테스트")
+class PathPatternsTest {
+
+    @Test
+    @DisplayName("\"**/\" 패턴은 최상위 파일에도 매칭되고, 빈 패턴은 무시한다")
+    void matches() {
+        // given
+        PathPatterns patterns = PathPatterns.of(new String[]{" **/pom.xml", "**/auth/**", ""});
+
+        // when & then
+        assertThat(patterns.matches("pom.xml")).isTrue();
+        assertThat(patterns.matches("module/pom.xml")).isTrue();
+        assertThat(patterns.matches("src/auth/Login.java")).isTrue();
+        assertThat(patterns.matches("src/author/Book.java")).isFalse();
+        assertThat(PathPatterns.of(new String[]{""}).matches("pom.xml")).isFalse();
+    }
+}
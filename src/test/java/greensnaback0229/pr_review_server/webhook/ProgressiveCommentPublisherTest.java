@@ -0,0 +1,84 @@
+package greensnaback0229.pr_review_server.webhook;
+
+import greensnaback0229.pr_review_server.aggregator.ReviewAggregator;
+import greensnaback0229.pr_review_server.aggregator.dto.AggregatedReview;
+import greensnaback0229.pr_review_server.feature.FeatureMemoryRepository;
+import greensnaback0229.pr_review_server.github.GitHubCommentService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.kohsuke.github.GHIssueComment;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ProgressiveCommentPublisher 테스트")
+class ProgressiveCommentPublisherTest {
+
+    private final GitHubCommentService commentService = mock(GitHubCommentService.class);
+    private final ReviewAggregator reviewAggregator = new ReviewAggregator(mock(FeatureMemoryRepository.class));
+    private final GHIssueComment comment = mock(GHIssueComment.class);
+
+    @Test
+    @DisplayName("자리 표시 코멘트를 먼저 작성하고 기능이 끝날 때마다 주 기능부터 반영한 뒤 최종 결과로 교체한다")
+    void publishesProgressively() throws IOException {
+        // given
+        when(commentService.postReviewComment(eq("owner/repo"), eq(1), anyString())).thenReturn(comment);
+        ProgressiveCommentPublisher publisher =
+                new ProgressiveCommentPublisher(commentService, reviewAggregator, "owner/repo", 1);
+
+        // when
+        publisher.start();
+        publisher.onFeaturesPlanned(List.of("PAYMENT"), List.of("ALERT", "ORDER"));
+        publisher.onFeatureReviewed("ALERT", review("ALERT", "알림 리뷰"));
+        publisher.onFeatureReviewed("PAYMENT", review("PAYMENT", "결제 리뷰"));
+        publisher.onFeatureReviewed("ORDER", null);
+        publisher.complete("최종 리뷰");
+
+        // then
+        ArgumentCaptor<String> updates = ArgumentCaptor.forClass(String.class);
+        InOrder inOrder = inOrder(commentService);
+        inOrder.verify(commentService).postReviewComment("owner/repo", 1, ProgressiveCommentPublisher.PLACEHOLDER);
+        inOrder.verify(commentService, times(4)).updateReviewComment(eq(comment), updates.capture());
+
+        List<String> contents = updates.getAllValues();
+        assertThat(contents.get(0)).contains("(0/3 기능 완료)");
+        assertThat(contents.get(1)).contains("(1/3 기능 완료)").contains("알림 리뷰");
+        assertThat(contents.get(2)).contains("(2/3 기능 완료)");
+        assertThat(contents.get(2).indexOf("## PAYMENT")).isLessThan(contents.get(2).indexOf("## ALERT"));
+        assertThat(contents.get(3)).isEqualTo("최종 리뷰");
+        verify(commentService, times(1)).postReviewComment(anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("자리 표시 코멘트 작성에 실패하면 마지막에 한 번만 새로 게시한다")
+    void fallsBackToSingleComment() throws IOException {
+        // given
+        when(commentService.postReviewComment(eq("owner/repo"), eq(1), eq(ProgressiveCommentPublisher.PLACEHOLDER)))
+                .thenThrow(new IOException("GitHub 장애"));
+        ProgressiveCommentPublisher publisher =
+                new ProgressiveCommentPublisher(commentService, reviewAggregator, "owner/repo", 1);
+
+        // when
+        publisher.start();
+        publisher.onFeaturesPlanned(List.of("PAYMENT"), List.of());
+        publisher.onFeatureReviewed("PAYMENT", review("PAYMENT", "결제 리뷰"));
+        publisher.complete("최종 리뷰");
+
+        // then
+        verify(commentService, never()).updateReviewComment(any(), anyString());
+        verify(commentService).postReviewComment("owner/repo", 1, "최종 리뷰");
+    }
+
+    private static AggregatedReview review(String feature, String content) {
+        return AggregatedReview.builder()
+                .feature(feature)
+                .review(content)
+                .build();
+    }
+}